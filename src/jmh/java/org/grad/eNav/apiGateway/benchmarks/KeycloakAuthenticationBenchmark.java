@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.benchmarks;
+
+import org.grad.eNav.apiGateway.TestingFixtures;
+import org.grad.eNav.apiGateway.components.AuthorityRegistry;
+import org.grad.eNav.apiGateway.config.keycloak.KeycloakGrantedAuthoritiesMapper;
+import org.grad.eNav.apiGateway.config.keycloak.KeycloakJwtAuthenticationConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.security.KeyPair;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Keycloak Authentication Benchmark.
+ *
+ * Measures the Keycloak token handling hot path of the API-Gateway, i.e. the
+ * conversion of the bearer tokens into authentication tokens for the
+ * resource server, and the authority mapping of the OAuth2 client logins.
+ * The inputs are Keycloak style access tokens, generated and signed locally.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeycloakAuthenticationBenchmark {
+
+    // Benchmark Variables
+    private Jwt jwt;
+    private List<GrantedAuthority> oidcAuthorities;
+    private List<GrantedAuthority> oauth2Authorities;
+    private KeycloakJwtAuthenticationConverter keycloakJwtAuthenticationConverter;
+    private KeycloakGrantedAuthoritiesMapper keycloakGrantedAuthoritiesMapper;
+
+    /**
+     * Set up the components under test.
+     */
+    @Setup
+    public void setUp() {
+        final KeyPair keyPair = TestingFixtures.generateRsaKeyPair();
+        this.jwt = TestingFixtures.toJwt(TestingFixtures.generateKeycloakToken(keyPair, "test-key", "test-user", List.of("user", "admin", "aton-service", "msg-broker")));
+        this.oidcAuthorities = List.of(TestingFixtures.toOidcUserAuthority(this.jwt));
+        this.oauth2Authorities = List.of(TestingFixtures.toOAuth2UserAuthority(this.jwt));
+        final AuthorityRegistry authorityRegistry = new AuthorityRegistry(4096);
+        this.keycloakJwtAuthenticationConverter = new KeycloakJwtAuthenticationConverter(TestingFixtures.RESOURCE_ID, authorityRegistry);
+        this.keycloakGrantedAuthoritiesMapper = new KeycloakGrantedAuthoritiesMapper(TestingFixtures.RESOURCE_ID, authorityRegistry);
+    }
+
+    /**
+     * The resource server bearer token conversion.
+     */
+    @Benchmark
+    public AbstractAuthenticationToken convertJwt() {
+        return this.keycloakJwtAuthenticationConverter.convert(this.jwt).block();
+    }
+
+    /**
+     * The authority mapping of the OIDC client logins.
+     */
+    @Benchmark
+    public Collection<? extends GrantedAuthority> mapOidcAuthorities() {
+        return this.keycloakGrantedAuthoritiesMapper.mapAuthorities(this.oidcAuthorities);
+    }
+
+    /**
+     * The authority mapping of the plain OAuth2 client logins.
+     */
+    @Benchmark
+    public Collection<? extends GrantedAuthority> mapOAuth2Authorities() {
+        return this.keycloakGrantedAuthoritiesMapper.mapAuthorities(this.oauth2Authorities);
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.benchmarks;
+
+import org.grad.eNav.apiGateway.components.StripContextAndPrefixGatewayFilterFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.StripPrefixGatewayFilterFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * The StripContextAndPrefixGatewayFilterFactory Benchmark.
+ *
+ * Compares the single-pass path rewriting of the filter against the original
+ * two-pass tokenizing implementation, and also measures the complete filter
+ * operation. Run with the GC profiler (the default of the benchmark profile)
+ * to compare the allocation rates per operation.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StripContextAndPrefixBenchmark {
+
+    /**
+     * The raw request paths to be rewritten.
+     */
+    @Param({"/enav/aton-service/api/secom/v1/capability", "/enav/msg-broker/", "/enav//vdes-ctrl//api/stations"})
+    public String path;
+
+    // Benchmark Variables
+    private final int parts = 2;
+    private GatewayFilter gatewayFilter;
+    private GatewayFilterChain gatewayFilterChain;
+
+    /**
+     * Set up the filter under test.
+     */
+    @Setup
+    public void setUp() {
+        final StripPrefixGatewayFilterFactory.Config config = new StripPrefixGatewayFilterFactory.Config();
+        config.setParts(this.parts);
+        this.gatewayFilter = new StripContextAndPrefixGatewayFilterFactory().apply(config);
+        this.gatewayFilterChain = exchange -> Mono.empty();
+    }
+
+    /**
+     * The original path rewriting implementation, used as the baseline.
+     */
+    @Benchmark
+    public void legacyRewrite(Blackhole blackhole) {
+        String[] originalParts = StringUtils.tokenizeToStringArray(this.path, "/");
+        StringBuilder newPath = new StringBuilder("/");
+        for(int i = 0; i < originalParts.length; ++i) {
+            if (i >= this.parts) {
+                if (newPath.length() > 1) {
+                    newPath.append('/');
+                }
+                newPath.append(originalParts[i]);
+            }
+        }
+        if (newPath.length() > 1 && this.path.endsWith("/")) {
+            newPath.append('/');
+        }
+        String contextPath = "/" + Arrays
+                .stream(StringUtils.tokenizeToStringArray(this.path, "/"))
+                .skip(this.parts)
+                .collect(Collectors.joining("/"));
+        blackhole.consume(newPath.toString());
+        blackhole.consume(contextPath);
+    }
+
+    /**
+     * The single-pass path rewriting implementation.
+     */
+    @Benchmark
+    public void rewrite(Blackhole blackhole) {
+        final String newPath = StripContextAndPrefixGatewayFilterFactory.stripPath(this.path, this.parts);
+        final String contextPath = newPath.length() > 1 && newPath.charAt(newPath.length() - 1) == '/' ?
+                newPath.substring(0, newPath.length() - 1) :
+                newPath;
+        blackhole.consume(newPath);
+        blackhole.consume(contextPath);
+    }
+
+    /**
+     * The complete filter operation, including the request mutation.
+     */
+    @Benchmark
+    public Void filter() {
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(this.path));
+        return this.gatewayFilter.filter(exchange, this.gatewayFilterChain).block();
+    }
+
+}
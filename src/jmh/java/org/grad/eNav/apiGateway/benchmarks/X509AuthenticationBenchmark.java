@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.benchmarks;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.grad.eNav.apiGateway.TestingFixtures;
+import org.grad.eNav.apiGateway.components.*;
+import org.grad.eNav.apiGateway.models.CertificateIdentity;
+import org.grad.eNav.apiGateway.utils.RevokedSerialIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.cert.CertificateEncodingException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The X.509 Authentication Benchmark.
+ *
+ * Measures the X.509 client certificate authentication hot path of the
+ * API-Gateway, i.e. the conversion of the forwarded certificate headers, the
+ * authentication manager decision, and the population of the SECOM headers
+ * for the downstream services. The inputs are MCP style certificates
+ * generated locally, while the authentication manager is configured with a
+ * realistic organisation MRN access list and CRL index.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class X509AuthenticationBenchmark {
+
+    /**
+     * The number of revoked certificates in the CRL index.
+     */
+    @Param({"10000"})
+    public int revokedCertificates;
+
+    // Benchmark Variables
+    private String forwardedHeader;
+    private TestingFixtures.McpCertificate mcpCertificate;
+    private CertificateIdentity certificateIdentity;
+    private ForwardedX509AuthenticationConverter cachedConverter;
+    private ForwardedX509AuthenticationConverter uncachedConverter;
+    private X509AuthenticationManager x509AuthenticationManager;
+    private X509ClientCertificateFilter x509ClientCertificateFilter;
+    private WebFilterChain webFilterChain;
+
+    /**
+     * Set up the components under test.
+     */
+    @Setup
+    public void setUp() throws CertificateEncodingException {
+        final TestingFixtures.McpCertificate ca = TestingFixtures.generateMcpCa();
+        this.mcpCertificate = TestingFixtures.generateMcpCertificate(ca, "device", "Test Device");
+        this.forwardedHeader = this.mcpCertificate.toForwardedHeader();
+        this.certificateIdentity = CertificateIdentity.of(this.mcpCertificate.certificate());
+
+        // The forwarded certificate converters, with and without the cache
+        final ForwardedX509CertificateCache certificateCache = new ForwardedX509CertificateCache();
+        ReflectionTestUtils.setField(certificateCache, "maxSize", 1000L);
+        ReflectionTestUtils.setField(certificateCache, "meterRegistry", new SimpleMeterRegistry());
+        certificateCache.init();
+        this.cachedConverter = new ForwardedX509AuthenticationConverter(certificateCache);
+        this.uncachedConverter = new ForwardedX509AuthenticationConverter(null);
+
+        // The organisation MRN access list
+        final OrganisationMrnAccessList organisationMrnAccessList = new OrganisationMrnAccessList();
+        ReflectionTestUtils.setField(organisationMrnAccessList, "allowedOrganisationMrns", new String[]{"urn:mrn:mcp:org:mcc", "urn:mrn:mcp:org:iala"});
+        ReflectionTestUtils.setField(organisationMrnAccessList, "deniedOrganisationMrns", new String[]{"urn:mrn:mcp:org:mcc:test"});
+        ReflectionTestUtils.setField(organisationMrnAccessList, "accessListFile", "");
+        organisationMrnAccessList.reload();
+
+        // The certificate revocation checker, with a populated CRL index
+        final CertificateRevocationChecker certificateRevocationChecker = new CertificateRevocationChecker();
+        ReflectionTestUtils.setField(certificateRevocationChecker, "enabled", true);
+        ReflectionTestUtils.setField(certificateRevocationChecker, "crlFiles", new String[0]);
+        ReflectionTestUtils.setField(certificateRevocationChecker, "crlUrls", new String[0]);
+        ReflectionTestUtils.setField(certificateRevocationChecker, "useBloomFilter", true);
+        ReflectionTestUtils.setField(certificateRevocationChecker, "stalePolicy", "soft-fail");
+        ReflectionTestUtils.setField(certificateRevocationChecker, "fetchTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(certificateRevocationChecker, "meterRegistry", new SimpleMeterRegistry());
+        certificateRevocationChecker.init();
+        final X500Principal issuer = ca.certificate().getSubjectX500Principal();
+        final Random random = new Random(0);
+        final List<RevokedSerialIndex.RevokedEntry> revokedEntries = new ArrayList<>();
+        for(int i = 0; i < this.revokedCertificates; i++) {
+            revokedEntries.add(new RevokedSerialIndex.RevokedEntry(issuer, new BigInteger(128, random)));
+        }
+        ReflectionTestUtils.setField(certificateRevocationChecker, "revokedSerialIndex", RevokedSerialIndex.build(revokedEntries, true));
+
+        // The authentication manager
+        this.x509AuthenticationManager = new X509AuthenticationManager();
+        ReflectionTestUtils.setField(this.x509AuthenticationManager, "organisationMrnAccessList", organisationMrnAccessList);
+        ReflectionTestUtils.setField(this.x509AuthenticationManager, "certificateRevocationChecker", certificateRevocationChecker);
+
+        // The SECOM client certificate filter
+        this.x509ClientCertificateFilter = new X509ClientCertificateFilter();
+        this.webFilterChain = exchange -> Mono.empty();
+    }
+
+    /**
+     * The forwarded certificate conversion, for a repeat caller.
+     */
+    @Benchmark
+    public Authentication convertForwardedCached() {
+        return this.cachedConverter.convert(this.forwardedExchange()).block();
+    }
+
+    /**
+     * The forwarded certificate conversion, parsing the certificate every
+     * time.
+     */
+    @Benchmark
+    public Authentication convertForwardedUncached() {
+        return this.uncachedConverter.convert(this.forwardedExchange()).block();
+    }
+
+    /**
+     * The authentication decision, with the identity already resolved by the
+     * converters.
+     */
+    @Benchmark
+    public Authentication authenticateResolved() {
+        return this.x509AuthenticationManager.authenticate(this.authentication(true)).block();
+    }
+
+    /**
+     * The authentication decision, resolving the identity from the
+     * certificate.
+     */
+    @Benchmark
+    public Authentication authenticateUnresolved() {
+        return this.x509AuthenticationManager.authenticate(this.authentication(false)).block();
+    }
+
+    /**
+     * The population of the SECOM headers for the downstream services.
+     */
+    @Benchmark
+    public Void clientCertificateFilter() {
+        return this.x509ClientCertificateFilter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/enav/aton-service/api/secom/v1/capability")), this.webFilterChain)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(this.authentication(true)))
+                .block();
+    }
+
+    /**
+     * Generates a new exchange carrying the forwarded certificate header.
+     *
+     * @return the server web exchange
+     */
+    private MockServerWebExchange forwardedExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/enav/aton-service/api/secom/v1/capability")
+                .header(ForwardedX509AuthenticationConverter.X_SSL_CERT_HEADER, this.forwardedHeader));
+    }
+
+    /**
+     * Generates a new X.509 authentication, as produced by the converters.
+     *
+     * @param resolved whether the certificate identity should be included
+     * @return the X.509 authentication
+     */
+    private Authentication authentication(boolean resolved) {
+        final PreAuthenticatedAuthenticationToken authentication = new PreAuthenticatedAuthenticationToken(this.certificateIdentity.ou(), this.mcpCertificate.certificate());
+        if(resolved) {
+            authentication.setDetails(this.certificateIdentity);
+        }
+        return authentication;
+    }
+
+}
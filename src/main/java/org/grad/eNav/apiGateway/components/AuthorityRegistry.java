@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The Authority Registry Component.
+ *
+ * Interns the granted authorities of the gateway, so that each distinct
+ * authority, e.g. "ROLE_ADMIN", is normally represented by a single
+ * canonical instance, however many users or tokens it is granted to. The
+ * Keycloak roles are also looked up by their raw names, so mapping a role
+ * that has been seen before neither allocates a new authority nor the
+ * prefixed and upper-cased authority name.
+ * <p/>
+ * Since the roles come from the tokens, the registry is bounded, and the
+ * least used authorities are evicted once it is full. An evicted authority
+ * is simply interned again the next time it is seen; authorities are
+ * compared by their names, so the instances already granted remain valid.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class AuthorityRegistry {
+
+    /**
+     * The prefix of the role authorities.
+     */
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    // Class Variables
+    private final Cache<String, GrantedAuthority> authorities;
+    private final Cache<String, GrantedAuthority> roles;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param maxSize the maximum number of authorities to be interned
+     */
+    public AuthorityRegistry(@Value("${gla.rad.api-gateway.authorities.max-size:4096}") long maxSize) {
+        log.info("initialising the Authority Registry with a maximum size of {}", maxSize);
+        this.authorities = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+        this.roles = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Returns the canonical authority of the provided name.
+     *
+     * @param authority the authority name
+     * @return the canonical authority
+     */
+    public GrantedAuthority authority(String authority) {
+        return this.authorities.get(authority, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * Returns the canonical authority of the provided Keycloak role, i.e. of
+     * its prefixed and upper-cased authority name.
+     *
+     * @param role the raw role name
+     * @return the canonical role authority
+     */
+    public GrantedAuthority role(String role) {
+        return this.roles.get(role, name -> this.authority(toRoleAuthority(name)));
+    }
+
+    /**
+     * Returns the canonical authorities of the provided granted authorities,
+     * without any duplicates.
+     *
+     * @param authorities the granted authorities
+     * @return the canonical authorities
+     */
+    public List<GrantedAuthority> authorities(Collection<? extends GrantedAuthority> authorities) {
+        final Set<GrantedAuthority> canonical = new LinkedHashSet<>();
+        for(GrantedAuthority authority : authorities) {
+            canonical.add(Objects.nonNull(authority.getAuthority()) ? this.authority(authority.getAuthority()) : authority);
+        }
+        return List.copyOf(canonical);
+    }
+
+    /**
+     * Returns the canonical role authorities of the provided raw Keycloak
+     * roles, without any duplicates.
+     *
+     * @param roles the raw role names
+     * @return the canonical role authorities
+     */
+    public List<GrantedAuthority> roles(Collection<?> roles) {
+        final Set<GrantedAuthority> canonical = new LinkedHashSet<>();
+        for(Object role : roles) {
+            canonical.add(this.role(Objects.toString(role)));
+        }
+        return List.copyOf(canonical);
+    }
+
+    /**
+     * Returns the estimated number of the interned authorities.
+     *
+     * @return the number of interned authorities
+     */
+    public long size() {
+        this.authorities.cleanUp();
+        return this.authorities.estimatedSize();
+    }
+
+    /**
+     * Translates the provided Keycloak role into the authority understood
+     * by Spring Security, i.e. upper-cased with the "ROLE_" prefix.
+     *
+     * @param role the raw role name
+     * @return the role authority name
+     */
+    public static String toRoleAuthority(String role) {
+        return ROLE_PREFIX + role.toUpperCase(Locale.ROOT);
+    }
+
+}
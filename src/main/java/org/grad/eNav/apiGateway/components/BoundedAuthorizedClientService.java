@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.endpoint.OAuth2RefreshTokenGrantRequest;
+import org.springframework.security.oauth2.client.endpoint.ReactiveOAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.endpoint.WebClientReactiveRefreshTokenTokenResponseClient;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The Bounded Authorized Client Service Component.
+ *
+ * Replaces the default unbounded in-memory store of the OAuth2 authorized
+ * clients (i.e. the access and refresh tokens of the users that logged in
+ * through the browser), which is used both by the login flow and the token
+ * controller. The clients are kept in a bounded cache, and are evicted once
+ * they have not been used for the configured idle time.
+ * <p/>
+ * The access tokens that are about to expire are refreshed in the
+ * background, so that no user request has to wait for the round trip to
+ * the OpenID Connect provider. A background refresh does not count as a
+ * use of the client, so the idle clients still get evicted. Both the idle
+ * expiry and the refresh threshold follow the same clock, which can be
+ * replaced for testing.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class BoundedAuthorizedClientService implements ReactiveOAuth2AuthorizedClientService {
+
+    /**
+     * The name of the cache, as reported in the metrics.
+     */
+    public static final String CACHE_NAME = "oauth2.authorized-clients";
+
+    // Class Variables
+    private final Duration refreshSkew;
+    private final Duration refreshTimeout;
+    private final int refreshConcurrency;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final Cache<ClientKey, StoredClient> clients;
+    private final Counter refreshedCounter;
+    private final Counter failedCounter;
+    private ReactiveOAuth2AccessTokenResponseClient<OAuth2RefreshTokenGrantRequest> refreshTokenResponseClient = new WebClientReactiveRefreshTokenTokenResponseClient();
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * The Class Constructor.
+     *
+     * @param meterRegistry         the meter registry
+     * @param maxSize               the maximum number of authorized clients to be kept
+     * @param idleTimeout           the idle time after which an authorized client is evicted
+     * @param refreshSkew           how long before their expiry the access tokens are refreshed
+     * @param refreshTimeout        the timeout of each background refresh
+     * @param refreshConcurrency    the maximum number of concurrent background refreshes
+     */
+    public BoundedAuthorizedClientService(MeterRegistry meterRegistry,
+                                          @Value("${gla.rad.api-gateway.oauth2.clients.max-size:10000}") long maxSize,
+                                          @Value("${gla.rad.api-gateway.oauth2.clients.idle-timeout:30m}") Duration idleTimeout,
+                                          @Value("${gla.rad.api-gateway.oauth2.clients.refresh-skew:60s}") Duration refreshSkew,
+                                          @Value("${gla.rad.api-gateway.oauth2.clients.refresh-timeout:10s}") Duration refreshTimeout,
+                                          @Value("${gla.rad.api-gateway.oauth2.clients.refresh-concurrency:4}") int refreshConcurrency) {
+        this.refreshSkew = refreshSkew;
+        this.refreshTimeout = refreshTimeout;
+        this.refreshConcurrency = refreshConcurrency;
+        final long idleNanos = idleTimeout.toNanos();
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<ClientKey, StoredClient>() {
+                    @Override
+                    public long expireAfterCreate(ClientKey key, StoredClient value, long currentTime) {
+                        return idleNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(ClientKey key, StoredClient value, long currentTime, long currentDuration) {
+                        // A background refresh keeps the idle time running
+                        return value.refreshed() ? currentDuration : idleNanos;
+                    }
+
+                    @Override
+                    public long expireAfterRead(ClientKey key, StoredClient value, long currentTime, long currentDuration) {
+                        return idleNanos;
+                    }
+                })
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(this.clock.millis()))
+                .recordStats()
+                .build();
+
+        // Register the authorized client metrics
+        CaffeineCacheMetrics.monitor(meterRegistry, this.clients, CACHE_NAME);
+        this.refreshedCounter = Counter.builder("oauth2.authorized-clients.refreshes")
+                .tag("outcome", "refreshed")
+                .description("The background access token refreshes of the authorized clients")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("oauth2.authorized-clients.refreshes")
+                .tag("outcome", "failed")
+                .description("The background access token refreshes of the authorized clients")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sets the clock used for the client expiry and the refresh threshold,
+     * mainly for testing.
+     *
+     * @param clock the clock to be used
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Sets the client used for the access token refreshes, mainly for
+     * testing.
+     *
+     * @param refreshTokenResponseClient the refresh token response client
+     */
+    public void setRefreshTokenResponseClient(ReactiveOAuth2AccessTokenResponseClient<OAuth2RefreshTokenGrantRequest> refreshTokenResponseClient) {
+        this.refreshTokenResponseClient = refreshTokenResponseClient;
+    }
+
+    /**
+     * Loads the authorized client of the provided registration and
+     * principal, if it is still held.
+     *
+     * @param clientRegistrationId  the client registration ID
+     * @param principalName         the principal name
+     * @return the authorized client
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends OAuth2AuthorizedClient> Mono<T> loadAuthorizedClient(String clientRegistrationId, String principalName) {
+        return Mono.justOrEmpty(this.clients.getIfPresent(new ClientKey(clientRegistrationId, principalName)))
+                .map(storedClient -> (T) storedClient.client());
+    }
+
+    /**
+     * Saves the provided authorized client of the provided principal.
+     *
+     * @param authorizedClient  the authorized client
+     * @param principal         the principal
+     * @return the completion signal
+     */
+    @Override
+    public Mono<Void> saveAuthorizedClient(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
+        return Mono.fromRunnable(() -> this.clients.put(
+                new ClientKey(authorizedClient.getClientRegistration().getRegistrationId(), principal.getName()),
+                new StoredClient(authorizedClient, false)));
+    }
+
+    /**
+     * Removes the authorized client of the provided registration and
+     * principal.
+     *
+     * @param clientRegistrationId  the client registration ID
+     * @param principalName         the principal name
+     * @return the completion signal
+     */
+    @Override
+    public Mono<Void> removeAuthorizedClient(String clientRegistrationId, String principalName) {
+        return Mono.fromRunnable(() -> this.clients.invalidate(new ClientKey(clientRegistrationId, principalName)));
+    }
+
+    /**
+     * Refreshes the access tokens that are about to expire in the
+     * background. A new run is skipped while the previous one is still in
+     * progress.
+     */
+    @Scheduled(fixedDelayString = "${gla.rad.api-gateway.oauth2.clients.refresh-interval:15000}",
+               initialDelayString = "${gla.rad.api-gateway.oauth2.clients.refresh-interval:15000}")
+    public void refreshExpiring() {
+        if(!this.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        final Instant threshold = this.clock.instant().plus(this.refreshSkew);
+        Flux.fromIterable(List.copyOf(this.clients.asMap().entrySet()))
+                .filter(entry -> isExpiring(entry.getValue().client(), threshold))
+                .flatMap(entry -> this.refresh(entry.getKey(), entry.getValue()), Math.max(this.refreshConcurrency, 1))
+                .doFinally(signal -> this.refreshing.set(false))
+                .subscribe();
+    }
+
+    /**
+     * Checks whether the access token of the provided client expires before
+     * the provided threshold, and can be refreshed.
+     *
+     * @param client    the authorized client
+     * @param threshold the expiry threshold
+     * @return whether the client should be refreshed
+     */
+    protected static boolean isExpiring(OAuth2AuthorizedClient client, Instant threshold) {
+        return Objects.nonNull(client.getRefreshToken())
+                && Objects.nonNull(client.getAccessToken().getExpiresAt())
+                && client.getAccessToken().getExpiresAt().isBefore(threshold);
+    }
+
+    /**
+     * Refreshes the access token of the provided client. The refreshed
+     * client only replaces the stored one if that has not changed in the
+     * meantime, e.g. by a new login. Clients with a rejected refresh token
+     * are removed, so that the users are asked to log in again. Refreshes
+     * that time out are counted as failed, so that a hung connection cannot
+     * hold the next runs back.
+     *
+     * @param key           the client key
+     * @param storedClient  the stored client
+     * @return the completion signal
+     */
+    private Mono<Void> refresh(ClientKey key, StoredClient storedClient) {
+        final OAuth2AuthorizedClient client = storedClient.client();
+        return this.refreshTokenResponseClient.getTokenResponse(new OAuth2RefreshTokenGrantRequest(
+                        client.getClientRegistration(),
+                        client.getAccessToken(),
+                        client.getRefreshToken()))
+                .timeout(this.refreshTimeout)
+                .doOnNext(response -> {
+                    final OAuth2AuthorizedClient refreshed = new OAuth2AuthorizedClient(
+                            client.getClientRegistration(),
+                            client.getPrincipalName(),
+                            response.getAccessToken(),
+                            Optional.ofNullable(response.getRefreshToken()).orElse(client.getRefreshToken()));
+                    this.clients.asMap().replace(key, storedClient, new StoredClient(refreshed, true));
+                    this.refreshedCounter.increment();
+                })
+                .onErrorResume(ex -> {
+                    log.debug("Access token refresh failed for {}: {}", key.principalName(), ex.getMessage());
+                    this.failedCounter.increment();
+                    if(ex instanceof OAuth2AuthorizationException authorizationException
+                            && OAuth2ErrorCodes.INVALID_GRANT.equals(authorizationException.getError().getErrorCode())) {
+                        this.clients.asMap().remove(key, storedClient);
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Returns the number of authorized clients currently held, once any
+     * pending evictions have been performed.
+     *
+     * @return the estimated number of authorized clients
+     */
+    public long size() {
+        this.clients.cleanUp();
+        return this.clients.estimatedSize();
+    }
+
+    /**
+     * The Client Key Record.
+     *
+     * @param clientRegistrationId  the client registration ID
+     * @param principalName         the principal name
+     */
+    private record ClientKey(String clientRegistrationId, String principalName) {}
+
+    /**
+     * The Stored Client Record.
+     *
+     * @param client    the authorized client
+     * @param refreshed whether the client was refreshed in the background
+     */
+    private record StoredClient(OAuth2AuthorizedClient client, boolean refreshed) {}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtReactiveAuthenticationManager;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * The Caching JWT Authentication Manager Class.
+ *
+ * A reactive authentication manager for the bearer JWT tokens of the
+ * resource server. Repeat requests with the same token are served directly
+ * from the JWT authentication cache, skipping both the signature
+ * verification and the authority mapping, although each request still gets
+ * its own authentication instance. Otherwise, the authentication is
+ * performed by the standard JWT authentication manager, and the result is
+ * cached until the token expires.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class CachingJwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    // Class Variables
+    private final JwtReactiveAuthenticationManager delegate;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param jwtDecoder                the JWT decoder
+     * @param jwtAuthenticationConverter the JWT authentication converter
+     * @param jwtAuthenticationCache    the JWT authentication cache
+     */
+    public CachingJwtAuthenticationManager(ReactiveJwtDecoder jwtDecoder,
+                                           Converter<Jwt, ? extends Mono<? extends AbstractAuthenticationToken>> jwtAuthenticationConverter,
+                                           JwtAuthenticationCache jwtAuthenticationCache) {
+        this.delegate = new JwtReactiveAuthenticationManager(new CachingReactiveJwtDecoder(jwtDecoder, jwtAuthenticationCache));
+        this.delegate.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+        this.jwtAuthenticationCache = jwtAuthenticationCache;
+    }
+
+    /**
+     * Authenticates the provided bearer token, using the cached
+     * authentication if the same token has already been authenticated.
+     *
+     * @param authentication the bearer token authentication
+     * @return the authentication result
+     */
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if(!(authentication instanceof BearerTokenAuthenticationToken bearerToken)) {
+            return Mono.empty();
+        }
+
+        // Check if the token has already been authenticated
+        final String token = bearerToken.getToken();
+        final JwtAuthenticationCache.CachedJwt cachedJwt = this.jwtAuthenticationCache.get(token);
+        if(Objects.nonNull(cachedJwt) && cachedJwt.isConverted()) {
+            return Mono.just(cachedJwt.toAuthentication());
+        }
+
+        // Otherwise authenticate and cache the result
+        return this.delegate.authenticate(authentication)
+                .doOnNext(result -> {
+                    if(result instanceof JwtAuthenticationToken jwtAuthenticationToken) {
+                        this.jwtAuthenticationCache.putAuthentication(token, jwtAuthenticationToken);
+                    }
+                });
+    }
+
+}
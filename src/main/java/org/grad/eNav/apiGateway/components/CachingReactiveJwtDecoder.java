@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+/**
+ * The Caching Reactive JWT Decoder Class.
+ *
+ * A reactive JWT decoder that wraps the actual decoder of the resource
+ * server, so that tokens that have already been validated are served
+ * directly from the JWT authentication cache, without verifying their
+ * signature again. Only the successfully validated tokens are ever cached.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    // Class Variables
+    private final ReactiveJwtDecoder delegate;
+    private final JwtAuthenticationCache jwtAuthenticationCache;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param delegate                  the actual JWT decoder
+     * @param jwtAuthenticationCache    the JWT authentication cache
+     */
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, JwtAuthenticationCache jwtAuthenticationCache) {
+        this.delegate = delegate;
+        this.jwtAuthenticationCache = jwtAuthenticationCache;
+    }
+
+    /**
+     * Decodes and validates the provided token, unless that has already been
+     * validated before, in which case the cached JWT is returned.
+     *
+     * @param token the raw JWT token value
+     * @return the validated JWT
+     * @throws JwtException if the token cannot be decoded or validated
+     */
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        final JwtAuthenticationCache.CachedJwt cachedJwt = this.jwtAuthenticationCache.get(token);
+        if(Objects.nonNull(cachedJwt)) {
+            return Mono.just(cachedJwt.jwt());
+        }
+        return this.delegate.decode(token)
+                .doOnNext(jwt -> this.jwtAuthenticationCache.putJwt(token, jwt));
+    }
+
+}
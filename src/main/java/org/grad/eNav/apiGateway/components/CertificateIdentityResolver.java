@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.netty.channel.Channel;
+import io.netty.handler.ssl.SslHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.models.CertificateIdentity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import reactor.netty.Connection;
+
+import javax.net.ssl.SSLSession;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.Objects;
+
+/**
+ * The Certificate Identity Resolver Component.
+ *
+ * Clients connecting through mTLS usually keep their connections alive, so
+ * the same client certificate is presented for every request of the same
+ * SSL session. This component computes the certificate identity once and
+ * binds it onto the underlying SSL session of the connection, so that every
+ * later request on that session can simply reuse it.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class CertificateIdentityResolver {
+
+    /**
+     * The SSL session value name used to bind the certificate identity.
+     */
+    public static final String SSL_SESSION_IDENTITY = CertificateIdentity.class.getName();
+
+    /**
+     * Resolves the certificate identity of the provided client certificate
+     * for the current exchange. If the certificate was received through the
+     * SSL session of the connection, the identity will only be computed once
+     * per session and then re-used.
+     *
+     * @param exchangeRequest   the server exchange request
+     * @param certificate       the client X.509 certificate
+     * @return the certificate identity
+     * @throws CertificateEncodingException if the certificate cannot be encoded
+     */
+    public CertificateIdentity resolve(ServerHttpRequest exchangeRequest, X509Certificate certificate) throws CertificateEncodingException {
+        final SSLSession sslSession = this.getSslSession(exchangeRequest);
+        if(Objects.isNull(sslSession)) {
+            return CertificateIdentity.of(certificate);
+        }
+
+        // Check if the identity has already been bound to the session
+        if(sslSession.getValue(SSL_SESSION_IDENTITY) instanceof SessionIdentity sessionIdentity
+                && sessionIdentity.certificate().equals(certificate)) {
+            return sessionIdentity.identity();
+        }
+
+        // Otherwise compute and bind it for the next requests
+        final CertificateIdentity identity = CertificateIdentity.of(certificate);
+        sslSession.putValue(SSL_SESSION_IDENTITY, new SessionIdentity(certificate, identity));
+        log.debug("Bound the certificate identity of {} to the SSL session", identity.cn());
+        return identity;
+    }
+
+    /**
+     * Retrieves the SSL session of the connection the provided request was
+     * received from, following the same approach as the reactor request when
+     * building its SSL information.
+     *
+     * @param exchangeRequest the server exchange request
+     * @return the SSL session of the connection if available, otherwise null
+     */
+    protected SSLSession getSslSession(ServerHttpRequest exchangeRequest) {
+        final Object nativeRequest;
+        try {
+            nativeRequest = ServerHttpRequestDecorator.getNativeRequest(exchangeRequest);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+
+        // Reactor Netty requests are also the connection they arrived on
+        if(nativeRequest instanceof Connection connection) {
+            final Channel channel = connection.channel();
+            SslHandler sslHandler = channel.pipeline().get(SslHandler.class);
+            // For HTTP/2 streams the SSL handler lives on the parent channel
+            if(Objects.isNull(sslHandler) && Objects.nonNull(channel.parent())) {
+                sslHandler = channel.parent().pipeline().get(SslHandler.class);
+            }
+            if(Objects.nonNull(sslHandler)) {
+                return sslHandler.engine().getSession();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The identity bound to an SSL session, along with the certificate it
+     * was computed for.
+     *
+     * @param certificate   the client X.509 certificate
+     * @param identity      the certificate identity
+     */
+    record SessionIdentity(X509Certificate certificate, CertificateIdentity identity) {
+
+    }
+
+}
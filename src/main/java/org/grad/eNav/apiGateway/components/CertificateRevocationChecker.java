@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.utils.RevokedSerialIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ResourceUtils;
+
+import javax.security.auth.x500.X500Principal;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.cert.CRL;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Certificate Revocation Checker Component.
+ *
+ * This component performs offline CRL-based revocation checking for the
+ * X.509 client certificates. The CRLs are loaded from local files and/or
+ * configurable URLs in the background, and indexed into a compact in-memory
+ * structure, which is atomically swapped in after every refresh. This way the
+ * revocation check on the request path is a simple in-memory lookup that
+ * never performs any I/O.
+ * <p/>
+ * Each CRL is only accepted if it is signed by a CA certificate of the
+ * configured trust store (by default the server SSL one), whose subject
+ * matches the CRL issuer and which is allowed to sign CRLs. Since no CRL
+ * could ever be verified without it, the startup fails if the checker is
+ * enabled without a usable trust store. If a CRL source cannot be
+ * refreshed, or any of its CRLs cannot be verified, its last successfully
+ * loaded CRLs remain in use.
+ * <p/>
+ * The CRLs past their next update time are handled according to the
+ * configured stale policy; either "soft-fail", where the stale CRL is still
+ * used and a warning is logged, or "reject", where the certificates of that
+ * issuer are rejected until a current CRL is loaded. The certificates of
+ * issuers without any verified CRL cannot be checked either, so they are
+ * treated the same way.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class CertificateRevocationChecker {
+
+    /**
+     * Whether the CRL revocation checking is enabled.
+     */
+    @Value("${gla.rad.api-gateway.x509.crl.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * The local CRL files to be loaded.
+     */
+    @Value("${gla.rad.api-gateway.x509.crl.files:}")
+    private String[] crlFiles;
+
+    /**
+     * The remote CRL URLs to be loaded.
+     */
+    @Value("${gla.rad.api-gateway.x509.crl.urls:}")
+    private String[] crlUrls;
+
+    /**
+     * Whether to front the revoked serial index with a Bloom filter.
+     */
+    @Value("${gla.rad.api-gateway.x509.crl.bloom-filter:true}")
+    private boolean useBloomFilter;
+
+    /**
+     * The trust store holding the CA certificates that sign the CRLs.
+     */
+    @Value("${gla.rad.api-gateway.x509.crl.trust-store:${server.ssl.trust-store:}}")
+    private String trustStore;
+
+    /**
+     * The password of the trust store.
+     */
+    @Value("${gla.rad.api-gateway.x509.crl.trust-store-password:${server.ssl.trust-store-password:}}")
+    private String trustStorePassword;
+
+    /**
+     * The type of the trust store.
+     */
+    @Value("${gla.rad.api-gateway.x509.crl.trust-store-type:${server.ssl.trust-store-type:PKCS12}}")
+    private String trustStoreType;
+
+    /**
+     * The policy for the CRLs past their next update time, i.e. "soft-fail"
+     * or "reject".
+     */
+    @Value("${gla.rad.api-gateway.x509.crl.stale-policy:soft-fail}")
+    private String stalePolicy;
+
+    /**
+     * The timeout for retrieving the remote CRLs.
+     */
+    @Value("${gla.rad.api-gateway.x509.crl.fetch-timeout:10s}")
+    private Duration fetchTimeout;
+
+    /**
+     * The Meter Registry.
+     */
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    /**
+     * The currently active revoked serial index.
+     */
+    private volatile RevokedSerialIndex revokedSerialIndex = RevokedSerialIndex.EMPTY;
+
+    /**
+     * The latest next update time of the loaded CRLs of each issuer. The
+     * CRLs without a next update time never become stale.
+     */
+    private volatile Map<X500Principal, Date> nextUpdates = Collections.emptyMap();
+
+    /**
+     * The CA certificates that can sign the CRLs, by their subject.
+     */
+    private Map<X500Principal, List<X509Certificate>> issuers = Collections.emptyMap();
+
+    /**
+     * The last successfully loaded CRLs of each source.
+     */
+    private final Map<String, List<X509CRL>> loadedCrls = new LinkedHashMap<>();
+
+    // Class Variables
+    private static final Date NO_NEXT_UPDATE = new Date(Long.MAX_VALUE);
+    private HttpClient httpClient;
+    private Timer lookupTimer;
+
+    /**
+     * The Component initialisation function.
+     */
+    @PostConstruct
+    public void init() {
+        if(!this.enabled) {
+            return;
+        }
+        log.info("initialising the X.509 Certificate Revocation Checker");
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(this.fetchTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+
+        // Register the index metrics
+        Gauge.builder("x509.crl.index.size", this, checker -> checker.revokedSerialIndex.size())
+                .description("The number of revoked certificates in the CRL index")
+                .register(this.meterRegistry);
+        this.lookupTimer = Timer.builder("x509.crl.lookup")
+                .description("The latency of the CRL index revocation lookups")
+                .register(this.meterRegistry);
+
+        // Without a usable trust store no CRL could ever be verified
+        try {
+            this.issuers = this.loadIssuers();
+        } catch (IOException | GeneralSecurityException ex) {
+            throw new IllegalStateException("Could not load the CRL trust store: " + ex.getMessage(), ex);
+        }
+
+        // Perform the initial load so no requests get through unchecked
+        this.refresh();
+    }
+
+    /**
+     * Checks whether the provided certificate has been revoked, according to
+     * the currently loaded CRLs. Under the "reject" stale policy, the
+     * certificates of an issuer without any verified CRL, or whose CRLs are
+     * past their next update time, are also considered revoked, since they
+     * cannot be checked.
+     *
+     * @param certificate the X.509 certificate to be checked
+     * @return whether the certificate has been revoked
+     */
+    public boolean isRevoked(X509Certificate certificate) {
+        if(!this.enabled || Objects.isNull(certificate)) {
+            return false;
+        }
+        final long start = System.nanoTime();
+        boolean revoked = this.revokedSerialIndex.isRevoked(certificate.getIssuerX500Principal(), certificate.getSerialNumber());
+        if(!revoked && this.isRejectingStale()) {
+            final Date nextUpdate = this.nextUpdates.get(certificate.getIssuerX500Principal());
+            if(Objects.isNull(nextUpdate)) {
+                log.debug("No verified CRL of {} is loaded, rejecting the certificate", certificate.getIssuerX500Principal());
+                revoked = true;
+            } else if(nextUpdate.before(new Date())) {
+                log.debug("The CRL of {} is stale, rejecting the certificate", certificate.getIssuerX500Principal());
+                revoked = true;
+            }
+        }
+        this.lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return revoked;
+    }
+
+    /**
+     * Returns the number of revoked certificates currently indexed.
+     *
+     * @return the number of revoked certificates currently indexed
+     */
+    public int size() {
+        return this.revokedSerialIndex.size();
+    }
+
+    /**
+     * Periodically reloads all the configured CRL sources in the background,
+     * and swaps the newly built index in.
+     */
+    @Scheduled(fixedDelayString = "${gla.rad.api-gateway.x509.crl.refresh-interval:3600000}",
+               initialDelayString = "${gla.rad.api-gateway.x509.crl.refresh-interval:3600000}")
+    public synchronized void refresh() {
+        if(!this.enabled) {
+            return;
+        }
+
+        // Reload the CA certificates that sign the CRLs
+        try {
+            this.issuers = this.loadIssuers();
+        } catch (IOException | GeneralSecurityException ex) {
+            log.error("Could not reload the CRL trust store {}, keeping the previous one: {}", this.trustStore, ex.getMessage());
+        }
+
+        // Reload each of the configured sources
+        for(String crlFile : this.crlFiles) {
+            this.loadSource(crlFile, () -> Files.newInputStream(Path.of(crlFile)));
+        }
+        for(String crlUrl : this.crlUrls) {
+            this.loadSource(crlUrl, () -> this.fetch(crlUrl));
+        }
+
+        // Index all the revoked entries of the loaded CRLs
+        final List<RevokedSerialIndex.RevokedEntry> entries = new ArrayList<>();
+        final Map<X500Principal, Date> nextUpdates = new HashMap<>();
+        for(List<X509CRL> crls : this.loadedCrls.values()) {
+            for(X509CRL crl : crls) {
+                final Date nextUpdate = Objects.requireNonNullElse(crl.getNextUpdate(), NO_NEXT_UPDATE);
+                nextUpdates.merge(crl.getIssuerX500Principal(), nextUpdate, (a, b) -> a.after(b) ? a : b);
+                if(nextUpdate.before(new Date())) {
+                    log.warn("The CRL of {} is past its next update time {}, {}", crl.getIssuerX500Principal(), nextUpdate,
+                            this.isRejectingStale() ? "rejecting its certificates" : "still using it");
+                }
+                final Collection<? extends X509CRLEntry> revokedCertificates = Objects.requireNonNullElse(crl.getRevokedCertificates(), List.of());
+                for(X509CRLEntry revokedCertificate : revokedCertificates) {
+                    final X500Principal issuer = Objects.requireNonNullElse(revokedCertificate.getCertificateIssuer(), crl.getIssuerX500Principal());
+                    entries.add(new RevokedSerialIndex.RevokedEntry(issuer, revokedCertificate.getSerialNumber()));
+                }
+            }
+        }
+        this.revokedSerialIndex = RevokedSerialIndex.build(entries, this.useBloomFilter);
+        this.nextUpdates = nextUpdates;
+        log.info("Indexed {} revoked certificates from {} CRL sources", this.revokedSerialIndex.size(), this.loadedCrls.size());
+    }
+
+    /**
+     * Loads the CRLs of the specified source, keeping the previously loaded
+     * ones if the operation fails.
+     *
+     * @param source        the source name
+     * @param inputSupplier the supplier of the source input stream
+     */
+    private void loadSource(String source, CrlInputSupplier inputSupplier) {
+        if(Objects.isNull(source) || source.isBlank()) {
+            return;
+        }
+        try(InputStream inputStream = inputSupplier.get()) {
+            final List<X509CRL> crls = new ArrayList<>();
+            for(CRL crl : CertificateFactory.getInstance("X.509").generateCRLs(inputStream)) {
+                this.verify((X509CRL) crl);
+                crls.add((X509CRL) crl);
+            }
+            this.loadedCrls.put(source, crls);
+        } catch (Exception ex) {
+            log.error("Could not load the CRL source {}: {}", source, ex.getMessage());
+        }
+    }
+
+    /**
+     * Verifies that the provided CRL is signed by one of the trusted CA
+     * certificates with a subject matching the CRL issuer, which are allowed
+     * to sign CRLs.
+     *
+     * @param crl the CRL to be verified
+     * @throws GeneralSecurityException if the CRL cannot be verified
+     */
+    protected void verify(X509CRL crl) throws GeneralSecurityException {
+        for(X509Certificate issuer : this.issuers.getOrDefault(crl.getIssuerX500Principal(), List.of())) {
+            final boolean[] keyUsage = issuer.getKeyUsage();
+            if(Objects.nonNull(keyUsage) && (keyUsage.length < 7 || !keyUsage[6])) {
+                continue;
+            }
+            try {
+                crl.verify(issuer.getPublicKey());
+                return;
+            } catch (GeneralSecurityException ex) {
+                log.debug("The CRL of {} was not signed by the CA certificate {}", crl.getIssuerX500Principal(), issuer.getSerialNumber());
+            }
+        }
+        throw new GeneralSecurityException("The CRL of " + crl.getIssuerX500Principal() + " is not signed by a trusted CA");
+    }
+
+    /**
+     * Loads the CA certificates of the configured trust store, by their
+     * subject.
+     *
+     * @return the CA certificates by their subject
+     * @throws IOException if the trust store is not configured or cannot be read
+     * @throws GeneralSecurityException if the trust store cannot be loaded
+     */
+    private Map<X500Principal, List<X509Certificate>> loadIssuers() throws IOException, GeneralSecurityException {
+        if(Objects.isNull(this.trustStore) || this.trustStore.isBlank()) {
+            throw new IOException("No trust store is configured to verify the CRLs with");
+        }
+        try(InputStream inputStream = ResourceUtils.getURL(this.trustStore).openStream()) {
+            final KeyStore keyStore = KeyStore.getInstance(this.trustStoreType);
+            keyStore.load(inputStream, Objects.requireNonNullElse(this.trustStorePassword, "").toCharArray());
+            final Map<X500Principal, List<X509Certificate>> issuers = new HashMap<>();
+            for(String alias : Collections.list(keyStore.aliases())) {
+                final Certificate certificate = keyStore.getCertificate(alias);
+                if(certificate instanceof X509Certificate x509Certificate) {
+                    issuers.computeIfAbsent(x509Certificate.getSubjectX500Principal(), subject -> new ArrayList<>()).add(x509Certificate);
+                }
+            }
+            if(issuers.isEmpty()) {
+                throw new GeneralSecurityException("The trust store " + this.trustStore + " holds no CA certificates");
+            }
+            return issuers;
+        }
+    }
+
+    /**
+     * Checks whether the certificates of issuers with stale CRLs are to be
+     * rejected.
+     *
+     * @return whether the stale CRL policy is "reject"
+     */
+    private boolean isRejectingStale() {
+        return "reject".equalsIgnoreCase(this.stalePolicy);
+    }
+
+    /**
+     * Retrieves the CRL contents of the provided URL.
+     *
+     * @param crlUrl the CRL URL
+     * @return the input stream of the CRL contents
+     * @throws IOException if the CRL could not be retrieved
+     * @throws InterruptedException if the operation was interrupted
+     */
+    private InputStream fetch(String crlUrl) throws IOException, InterruptedException {
+        final HttpResponse<byte[]> response = this.httpClient.send(HttpRequest.newBuilder(URI.create(crlUrl))
+                .timeout(this.fetchTimeout)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        if(response.statusCode() / 100 != 2) {
+            throw new IOException("Unexpected HTTP status " + response.statusCode());
+        }
+        return new ByteArrayInputStream(response.body());
+    }
+
+    /**
+     * A supplier of CRL input streams that may fail.
+     */
+    @FunctionalInterface
+    private interface CrlInputSupplier {
+        InputStream get() throws Exception;
+    }
+
+}
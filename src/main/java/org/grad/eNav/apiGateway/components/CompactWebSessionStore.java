@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.models.StoredSession;
+import org.grad.eNav.apiGateway.utils.SessionSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.server.context.WebSessionServerSecurityContextRepository;
+import org.springframework.web.server.WebSession;
+import org.springframework.web.server.session.WebSessionStore;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The Compact Web Session Store Class.
+ *
+ * Replaces the default in-memory web session store of the browser login
+ * flow, which keeps the full attribute object graphs of a fixed maximum
+ * number of sessions. The sessions are instead handed over to a pluggable
+ * {@link SessionBackend} in a compact serialised form, so the memory they
+ * take up can be budgeted, and they can also be shared between nodes.
+ * <p/>
+ * The sessions expire both after an idle timeout and after an absolute
+ * timeout since their creation, whichever comes first. The expired sessions
+ * are removed incrementally by a periodic sweep of the backend. The
+ * attributes are only serialised again when they have actually been
+ * changed, i.e. set or removed, during a request; otherwise, only the last
+ * access time of the session is updated.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Slf4j
+public class CompactWebSessionStore implements WebSessionStore {
+
+    // Class Variables
+    private final SessionBackend backend;
+    private final Duration idleTimeout;
+    private final Duration absoluteTimeout;
+    private final int sweepLimit;
+    private final Counter createdCounter;
+    private final Counter expiredCounter;
+    private final Counter invalidatedCounter;
+    private final DistributionSummary sizeSummary;
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * The Class Constructor.
+     *
+     * @param backend           the session backend
+     * @param idleTimeout       the default maximum idle time of the sessions
+     * @param absoluteTimeout   the maximum lifetime of the sessions
+     * @param sweepLimit        the maximum number of sessions examined per sweep
+     * @param meterRegistry     the meter registry
+     */
+    public CompactWebSessionStore(SessionBackend backend,
+                                  Duration idleTimeout,
+                                  Duration absoluteTimeout,
+                                  int sweepLimit,
+                                  MeterRegistry meterRegistry) {
+        this.backend = backend;
+        this.idleTimeout = idleTimeout;
+        this.absoluteTimeout = absoluteTimeout;
+        this.sweepLimit = sweepLimit;
+        this.createdCounter = Counter.builder("gateway.sessions.created")
+                .description("The web sessions created")
+                .register(meterRegistry);
+        this.expiredCounter = Counter.builder("gateway.sessions.expired")
+                .description("The web sessions found expired when retrieved")
+                .register(meterRegistry);
+        this.invalidatedCounter = Counter.builder("gateway.sessions.invalidated")
+                .description("The web sessions invalidated, e.g. on logout")
+                .register(meterRegistry);
+        this.sizeSummary = DistributionSummary.builder("gateway.sessions.size")
+                .description("The size of the serialised web sessions")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        if(backend instanceof MeterBinder meterBinder) {
+            meterBinder.bindTo(meterRegistry);
+        }
+    }
+
+    /**
+     * Sets the clock used for the session times, mainly for testing.
+     *
+     * @param clock the clock to be used
+     */
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a new session, which is only stored once it is started and
+     * saved.
+     *
+     * @return the new session
+     */
+    @Override
+    public Mono<WebSession> createWebSession() {
+        return Mono.fromSupplier(() -> {
+            final Instant now = this.clock.instant();
+            return new CompactWebSession(UUID.randomUUID().toString(), now, now, this.idleTimeout, new ConcurrentHashMap<>(), null);
+        });
+    }
+
+    /**
+     * Retrieves the session with the provided ID from the backend, unless it
+     * has expired.
+     *
+     * @param id the session ID
+     * @return the session, if found
+     */
+    @Override
+    public Mono<WebSession> retrieveSession(String id) {
+        return this.backend.load(id)
+                .flatMap(stored -> {
+                    if(stored.isExpired(this.clock.instant())) {
+                        this.expiredCounter.increment();
+                        return this.backend.remove(id).then(Mono.empty());
+                    }
+                    try {
+                        final Map<String, Object> attributes = new ConcurrentHashMap<>(SessionSerializer.deserialize(stored.attributes()));
+                        return Mono.just(new CompactWebSession(stored.id(), stored.creationTime(), stored.lastAccessTime(), stored.maxIdleTime(), attributes, Map.copyOf(attributes)));
+                    } catch (IOException ex) {
+                        log.warn("Discarding the unreadable web session {}: {}", id, ex.getMessage());
+                        return this.backend.remove(id).then(Mono.empty());
+                    }
+                });
+    }
+
+    /**
+     * Removes the session with the provided ID.
+     *
+     * @param id the session ID
+     * @return the completion signal
+     */
+    @Override
+    public Mono<Void> removeSession(String id) {
+        return this.backend.remove(id);
+    }
+
+    /**
+     * Updates the last access time of the provided session. The new time
+     * is stored once the session is saved.
+     *
+     * @param webSession the session to be updated
+     * @return the updated session
+     */
+    @Override
+    public Mono<WebSession> updateLastAccessTime(WebSession webSession) {
+        return Mono.fromSupplier(() -> {
+            ((CompactWebSession) webSession).lastAccessTime = this.clock.instant();
+            return webSession;
+        });
+    }
+
+    /**
+     * Removes a bounded number of the expired sessions from the backend.
+     */
+    @Scheduled(fixedDelayString = "${gla.rad.api-gateway.sessions.sweep-interval:1000}",
+               initialDelayString = "${gla.rad.api-gateway.sessions.sweep-interval:1000}")
+    public void sweep() {
+        final int removed = this.backend.sweep(this.clock.instant(), this.sweepLimit);
+        if(removed > 0) {
+            log.debug("Swept {} expired web sessions", removed);
+        }
+    }
+
+    /**
+     * Checks whether the provided session attributes hold the security
+     * context of an authenticated user.
+     *
+     * @param attributes the session attributes
+     * @return whether the session is authenticated
+     */
+    protected static boolean isAuthenticated(Map<String, Object> attributes) {
+        return attributes.get(WebSessionServerSecurityContextRepository.DEFAULT_SPRING_SECURITY_CONTEXT_ATTR_NAME) instanceof SecurityContext securityContext
+                && Objects.nonNull(securityContext.getAuthentication())
+                && securityContext.getAuthentication().isAuthenticated();
+    }
+
+    /**
+     * The Compact Web Session Class.
+     *
+     * A web session whose attributes are serialised into the backend on
+     * save. A snapshot of the attribute values as last stored is kept, so
+     * that unchanged attributes are not serialised again.
+     */
+    private class CompactWebSession implements WebSession {
+
+        // Class Variables
+        private volatile String id;
+        private final Instant creationTime;
+        private volatile Instant lastAccessTime;
+        private volatile Duration maxIdleTime;
+        private final Map<String, Object> attributes;
+        private volatile Map<String, Object> storedAttributes;
+        private volatile boolean invalidated;
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        /**
+         * The Class Constructor.
+         *
+         * @param id                the session ID
+         * @param creationTime      the creation time
+         * @param lastAccessTime    the last access time
+         * @param maxIdleTime       the maximum idle time
+         * @param attributes        the session attributes
+         * @param storedAttributes  the attributes as last stored, or null for new sessions
+         */
+        CompactWebSession(String id,
+                          Instant creationTime,
+                          Instant lastAccessTime,
+                          Duration maxIdleTime,
+                          Map<String, Object> attributes,
+                          Map<String, Object> storedAttributes) {
+            this.id = id;
+            this.creationTime = creationTime;
+            this.lastAccessTime = lastAccessTime;
+            this.maxIdleTime = maxIdleTime;
+            this.attributes = attributes;
+            this.storedAttributes = storedAttributes;
+            this.started.set(Objects.nonNull(storedAttributes));
+        }
+
+        @Override
+        public String getId() {
+            return this.id;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return this.attributes;
+        }
+
+        @Override
+        public void start() {
+            this.started.set(true);
+        }
+
+        @Override
+        public boolean isStarted() {
+            return this.started.get() || !this.attributes.isEmpty();
+        }
+
+        @Override
+        public Mono<Void> changeSessionId() {
+            final String previousId = this.id;
+            this.id = UUID.randomUUID().toString();
+            // Force the whole session to be stored under the new ID
+            this.storedAttributes = null;
+            return backend.remove(previousId);
+        }
+
+        @Override
+        public Mono<Void> invalidate() {
+            this.invalidated = true;
+            this.attributes.clear();
+            invalidatedCounter.increment();
+            return backend.remove(this.id);
+        }
+
+        @Override
+        public Mono<Void> save() {
+            if(this.invalidated || !this.isStarted()) {
+                return Mono.empty();
+            }
+            if(!this.isModified()) {
+                return backend.touch(this.id, this.lastAccessTime, this.getExpiresAt());
+            }
+            return Mono.defer(() -> {
+                final Map<String, Object> snapshot = Map.copyOf(this.attributes);
+                final byte[] bytes = SessionSerializer.serialize(snapshot);
+                if(Objects.isNull(this.storedAttributes)) {
+                    createdCounter.increment();
+                }
+                sizeSummary.record(bytes.length);
+                this.storedAttributes = snapshot;
+                return backend.save(new StoredSession(this.id, this.creationTime, this.lastAccessTime, this.maxIdleTime, this.getExpiresAt(), bytes, isAuthenticated(snapshot)));
+            });
+        }
+
+        @Override
+        public boolean isExpired() {
+            return this.invalidated || !clock.instant().isBefore(this.getExpiresAt());
+        }
+
+        @Override
+        public Instant getCreationTime() {
+            return this.creationTime;
+        }
+
+        @Override
+        public Instant getLastAccessTime() {
+            return this.lastAccessTime;
+        }
+
+        @Override
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+            // The maximum idle time is only stored along with the attributes
+            this.storedAttributes = null;
+        }
+
+        @Override
+        public Duration getMaxIdleTime() {
+            return this.maxIdleTime;
+        }
+
+        /**
+         * Returns the time the session expires at, i.e. the earliest of its
+         * idle and absolute expiry times. A negative maximum idle time means
+         * the session never expires due to inactivity.
+         *
+         * @return the expiry time of the session
+         */
+        private Instant getExpiresAt() {
+            final Instant absoluteExpiry = this.creationTime.plus(absoluteTimeout);
+            if(this.maxIdleTime.isNegative()) {
+                return absoluteExpiry;
+            }
+            final Instant idleExpiry = this.lastAccessTime.plus(this.maxIdleTime);
+            return idleExpiry.isBefore(absoluteExpiry) ? idleExpiry : absoluteExpiry;
+        }
+
+        /**
+         * Checks whether any attributes have been set or removed since the
+         * session was last stored. The values are compared by identity, as
+         * the attributes are replaced rather than mutated when changed.
+         *
+         * @return whether the session attributes have been modified
+         */
+        private boolean isModified() {
+            final Map<String, Object> stored = this.storedAttributes;
+            if(Objects.isNull(stored) || stored.size() != this.attributes.size()) {
+                return true;
+            }
+            for(Map.Entry<String, Object> entry : this.attributes.entrySet()) {
+                if(stored.get(entry.getKey()) != entry.getValue()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+}
@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.utils.NegotiationUtils;
+import org.grad.eNav.apiGateway.utils.StreamingCompressor;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.GatewayToStringStyler;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CompressionGatewayFilterFactory Class.
+ *
+ * This filter factory compresses the responses of a route at the gateway,
+ * using the "gzip" or "deflate" content encoding, depending on what the
+ * client accepts. The bodies are compressed in a streaming fashion, chunk by
+ * chunk, without ever being buffered as a whole. Responses are only
+ * compressed when:
+ * <ul>
+ *     <li>They are not already compressed by the backend, in which case they
+ *     are passed through as they are.</li>
+ *     <li>Their content type is one of the configured ones.</li>
+ *     <li>Their content length is unknown, or at least the configured minimum
+ *     size.</li>
+ *     <li>They are not partial, i.e. "206 Partial Content", responses, since
+ *     their byte ranges refer to the uncompressed representation.</li>
+ *     <li>Their "Cache-Control" header does not include the "no-transform"
+ *     directive.</li>
+ * </ul>
+ * The minimum size and content types can be configured per route, e.g.:
+ * <p>
+ *  spring.cloud.gateway.routes[0].filters[1]=Compression=2048
+ * </p>
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Slf4j
+@Component
+public class CompressionGatewayFilterFactory extends AbstractGatewayFilterFactory<CompressionGatewayFilterFactory.Config> {
+
+    // Class Variables
+    public static final String MIN_SIZE_KEY = "minSize";
+    private static final String OUTCOME_PRECOMPRESSED = "precompressed";
+    private static final String OUTCOME_SKIPPED = "skipped";
+    private static final String OUTCOME_COMPRESSED = "compressed";
+    private final int level;
+    private final Map<String, Counter> responseCounters = new HashMap<>();
+    private final Map<String, Counter> bytesSavedCounters = new HashMap<>();
+    private final Map<String, Timer> compressionTimers = new HashMap<>();
+
+    /**
+     * The Class Constructor.
+     *
+     * @param meterRegistry the meter registry
+     * @param level         the compression level (1-9)
+     */
+    public CompressionGatewayFilterFactory(MeterRegistry meterRegistry,
+                                           @Value("${gla.rad.api-gateway.compression.level:6}") int level) {
+        super(Config.class);
+        this.level = level;
+
+        // Register the meters once, rather than on every response
+        for(String outcome : List.of(OUTCOME_PRECOMPRESSED, OUTCOME_SKIPPED, OUTCOME_COMPRESSED)) {
+            this.responseCounters.put(outcome, Counter.builder("gateway.compression.responses")
+                    .tag("outcome", outcome)
+                    .description("The responses of the compressed routes by compression outcome")
+                    .register(meterRegistry));
+        }
+        for(String encoding : List.of(StreamingCompressor.GZIP, StreamingCompressor.DEFLATE)) {
+            this.bytesSavedCounters.put(encoding, Counter.builder("gateway.compression.bytes.saved")
+                    .tag("encoding", encoding)
+                    .baseUnit("bytes")
+                    .description("The bytes saved by compressing the responses")
+                    .register(meterRegistry));
+            this.compressionTimers.put(encoding, Timer.builder("gateway.compression.time")
+                    .tag("encoding", encoding)
+                    .description("The time spent compressing each response")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Extending the field ordering function of the
+     * AbstractGatewayFilterFactory. In this case only the minimum size, since
+     * the content types can only be set through the full configuration.
+     *
+     * @return the list with the ordering fields
+     */
+    public List<String> shortcutFieldOrder() {
+        return Collections.singletonList(MIN_SIZE_KEY);
+    }
+
+    /**
+     * Applies the filter's operation. In this case the response is decorated
+     * so that its body gets compressed while it is being written out.
+     *
+     * @param config the gateway filter factory configuration
+     * @return the initialised gateway filter
+     */
+    public GatewayFilter apply(final Config config) {
+        final List<MediaType> contentTypes = MediaType.parseMediaTypes(config.getContentTypes());
+        return new GatewayFilter() {
+            public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+                final String encoding = NegotiationUtils.selectEncoding(exchange.getRequest().getHeaders().getValuesAsList(HttpHeaders.ACCEPT_ENCODING));
+                if(Objects.isNull(encoding) || exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+                    return chain.filter(exchange);
+                }
+                return chain.filter(exchange.mutate()
+                        .response(new CompressingResponseDecorator(exchange.getResponse(), encoding, config.getMinSize(), contentTypes))
+                        .build());
+            }
+
+            public String toString() {
+                return GatewayToStringStyler.filterToStringCreator(CompressionGatewayFilterFactory.this)
+                        .append(MIN_SIZE_KEY, config.getMinSize())
+                        .append("contentTypes", config.getContentTypes())
+                        .toString();
+            }
+        };
+    }
+
+    /**
+     * Checks whether the "Cache-Control" header of the provided response
+     * headers includes the "no-transform" directive, in which case the
+     * response must not be compressed by the gateway.
+     *
+     * @param headers the response headers
+     * @return whether the response must not be transformed
+     */
+    protected static boolean isNoTransform(HttpHeaders headers) {
+        for(String cacheControl : headers.getValuesAsList(HttpHeaders.CACHE_CONTROL)) {
+            if(cacheControl.trim().equalsIgnoreCase("no-transform")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The Compressing Response Decorator Class.
+     *
+     * Compresses the response body while it is being written out, if the
+     * response qualifies for compression.
+     */
+    private class CompressingResponseDecorator extends ServerHttpResponseDecorator {
+
+        // Class Variables
+        private final String encoding;
+        private final int minSize;
+        private final List<MediaType> contentTypes;
+
+        /**
+         * The Class Constructor.
+         *
+         * @param delegate      the response to be compressed
+         * @param encoding      the selected content encoding
+         * @param minSize       the minimum response size to be compressed
+         * @param contentTypes  the content types to be compressed
+         */
+        CompressingResponseDecorator(ServerHttpResponse delegate, String encoding, int minSize, List<MediaType> contentTypes) {
+            super(delegate);
+            this.encoding = encoding;
+            this.minSize = minSize;
+            this.contentTypes = contentTypes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            final HttpHeaders headers = this.getDelegate().getHeaders();
+
+            // Pass through the already compressed responses
+            final String contentEncoding = headers.getFirst(HttpHeaders.CONTENT_ENCODING);
+            if(Objects.nonNull(contentEncoding) && !contentEncoding.equalsIgnoreCase("identity")) {
+                this.countResponse(OUTCOME_PRECOMPRESSED);
+                return super.writeWith(body);
+            }
+
+            // And skip the ones that do not qualify
+            final HttpStatusCode status = this.getDelegate().getStatusCode();
+            final MediaType contentType = headers.getContentType();
+            final long contentLength = headers.getContentLength();
+            if((Objects.nonNull(status) && (status.value() == HttpStatus.NO_CONTENT.value()
+                        || status.value() == HttpStatus.NOT_MODIFIED.value()
+                        || status.value() == HttpStatus.PARTIAL_CONTENT.value()))
+                    || isNoTransform(headers)
+                    || Objects.isNull(contentType)
+                    || this.contentTypes.stream().noneMatch(type -> type.includes(contentType))
+                    || (contentLength >= 0 && contentLength < this.minSize)) {
+                this.countResponse(OUTCOME_SKIPPED);
+                return super.writeWith(body);
+            }
+
+            // Update the headers for the compressed representation
+            headers.set(HttpHeaders.CONTENT_ENCODING, this.encoding);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            if(!headers.getValuesAsList(HttpHeaders.VARY).contains(HttpHeaders.ACCEPT_ENCODING)) {
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+            final String etag = headers.getETag();
+            if(Objects.nonNull(etag) && !etag.startsWith("W/")) {
+                headers.setETag("W/" + etag);
+            }
+            this.countResponse(OUTCOME_COMPRESSED);
+
+            // And compress the body chunk by chunk, flushing each chunk of the
+            // streamed bodies (i.e. without a length) so that it is not held back
+            final boolean flush = contentLength < 0;
+            final StreamingCompressor compressor = new StreamingCompressor(this.encoding, level);
+            return super.writeWith(Flux.from(body)
+                    .<DataBuffer>handle((dataBuffer, sink) -> {
+                        final byte[] input = new byte[dataBuffer.readableByteCount()];
+                        dataBuffer.read(input);
+                        DataBufferUtils.release(dataBuffer);
+                        final byte[] output = compressor.compress(input, flush);
+                        if(output.length > 0) {
+                            sink.next(this.bufferFactory().wrap(output));
+                        }
+                    })
+                    .concatWith(Mono.fromSupplier(() -> this.bufferFactory().wrap(compressor.finish())))
+                    .doOnComplete(() -> this.recordCompression(compressor))
+                    .doFinally(signal -> compressor.end()));
+        }
+
+        /**
+         * Counts the response by its compression outcome.
+         *
+         * @param outcome the compression outcome
+         */
+        private void countResponse(String outcome) {
+            responseCounters.get(outcome).increment();
+        }
+
+        /**
+         * Records the bytes saved and the time spent compressing.
+         *
+         * @param compressor the compressor of the completed response
+         */
+        private void recordCompression(StreamingCompressor compressor) {
+            bytesSavedCounters.get(compressor.getEncoding()).increment(compressor.getInputBytes() - compressor.getOutputBytes());
+            compressionTimers.get(compressor.getEncoding()).record(compressor.getNanos(), TimeUnit.NANOSECONDS);
+        }
+
+    }
+
+    /**
+     * The Compression Configuration Class.
+     */
+    @Data
+    public static class Config {
+
+        /**
+         * The minimum size of the responses to be compressed, when their
+         * content length is known.
+         */
+        private int minSize = 1024;
+
+        /**
+         * The content types of the responses to be compressed.
+         */
+        private List<String> contentTypes = new ArrayList<>(List.of(
+                "application/json",
+                "application/*+json",
+                "application/xml",
+                "application/*+xml",
+                "text/*"
+        ));
+
+    }
+
+}
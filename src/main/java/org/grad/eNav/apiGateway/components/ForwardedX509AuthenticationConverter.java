@@ -17,9 +17,6 @@
 package org.grad.eNav.apiGateway.components;
 
 import lombok.extern.slf4j.Slf4j;
-import org.bouncycastle.asn1.x500.X500Name;
-import org.bouncycastle.asn1.x500.style.BCStyle;
-import org.bouncycastle.asn1.x500.style.IETFUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.core.Authentication;
@@ -28,12 +25,6 @@ import org.springframework.security.web.server.authentication.ServerAuthenticati
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import javax.security.auth.x500.X500Principal;
-import java.io.ByteArrayInputStream;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
-import java.security.cert.CertificateFactory;
-import java.security.cert.X509Certificate;
 import java.util.Objects;
 
 /**
@@ -53,6 +44,21 @@ public class ForwardedX509AuthenticationConverter implements ServerAuthenticatio
      */
     public static String X_SSL_CERT_HEADER = "X-SSL-CERT";
 
+    /**
+     * The parsed certificate cache.
+     */
+    private final ForwardedX509CertificateCache certificateCache;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param certificateCache the parsed certificate cache, or null if every
+     *                         certificate should be parsed on each request
+     */
+    public ForwardedX509AuthenticationConverter(ForwardedX509CertificateCache certificateCache) {
+        this.certificateCache = certificateCache;
+    }
+
     /**
      * This is the actual function that performs the authentication token
      * conversion into the X.509 certificate information provided in the
@@ -66,24 +72,24 @@ public class ForwardedX509AuthenticationConverter implements ServerAuthenticatio
         ServerHttpRequest request = exchange.getRequest();
         try {
             // Initialise the local variables
-            final CertificateFactory fact = CertificateFactory.getInstance("X.509");
             final HttpHeaders httpHeaders = request.getHeaders();
+            final String certificateHeader = httpHeaders.getFirst(X_SSL_CERT_HEADER);
 
             // Check if there is a certificate in the headers being forwarded
-            if(!httpHeaders.containsHeader(X_SSL_CERT_HEADER) || Objects.isNull(httpHeaders.getFirst(X_SSL_CERT_HEADER))) {
+            if(Objects.isNull(certificateHeader)) {
                 return Mono.just(new PreAuthenticatedAuthenticationToken("unauthorised", "unauthorised"));
             }
             log.debug("Accessing the X509 authentication due to an SSL certificate in the header...");
 
-            // Extract the certificate and it's OU principal
-            final String decodedPem = URLDecoder.decode(httpHeaders.getFirst(X_SSL_CERT_HEADER), StandardCharsets.UTF_8);
-            final ByteArrayInputStream inputStream = new ByteArrayInputStream(decodedPem.getBytes());
-            final X509Certificate certificate = (X509Certificate) fact.generateCertificate(inputStream);
-            final X500Name x500name = new X500Name(certificate.getSubjectX500Principal().getName(X500Principal.RFC1779));
-            final String principal = IETFUtils.valueToString(x500name.getRDNs(BCStyle.OU)[0].getFirst());
+            // Extract the certificate and it's OU principal - use the cache
+            // if available to avoid parsing the same certificates again
+            final ForwardedX509CertificateCache.CachedCertificate cachedCertificate = Objects.nonNull(this.certificateCache) ?
+                    this.certificateCache.get(certificateHeader) :
+                    ForwardedX509CertificateCache.parse(certificateHeader);
 
             // Finally assign the new authentication token to be used
-            final Authentication authentication =  new PreAuthenticatedAuthenticationToken(principal, certificate);
+            final PreAuthenticatedAuthenticationToken authentication =  new PreAuthenticatedAuthenticationToken(cachedCertificate.principal(), cachedCertificate.certificate());
+            authentication.setDetails(cachedCertificate.identity());
             return Mono.just(authentication);
         } catch (Exception ex) {
             log.error(ex.getMessage());
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.models.CertificateIdentity;
+import org.grad.eNav.apiGateway.utils.HashingUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Forwarded X.509 Certificate Cache Component.
+ *
+ * Forwarded X.509 certificates arrive URL-encoded in the request headers and
+ * need to be decoded and parsed before the principal can be extracted. Since
+ * the same (small) set of clients keep on sending the same certificates, this
+ * component keeps a bounded cache of the parsed certificates, keyed by the
+ * SHA-256 digest of the raw header value, so that repeat callers skip the
+ * parsing completely. Entries are evicted based on the cache size, and in
+ * any case no later than the expiry date of the certificate itself.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class ForwardedX509CertificateCache {
+
+    /**
+     * The name of the cache, as reported in the metrics.
+     */
+    public static final String CACHE_NAME = "x509.forwarded.certificates";
+
+    /**
+     * The maximum number of certificates to be cached.
+     */
+    @Value("${gla.rad.api-gateway.x509.forwarded-cache.max-size:1000}")
+    private long maxSize;
+
+    /**
+     * The Meter Registry.
+     */
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    /**
+     * The parsed certificate cache.
+     */
+    private Cache<String, CachedCertificate> cache;
+
+    /**
+     * The Component initialisation function.
+     */
+    @PostConstruct
+    public void init() {
+        log.info("initialising the Forwarded X.509 Certificate Cache with a maximum size of {}", this.maxSize);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(this.maxSize)
+                .expireAfter(new CertificateExpiry())
+                .recordStats()
+                .build();
+
+        // Expose the hit/miss statistics
+        CaffeineCacheMetrics.monitor(this.meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Retrieves the parsed certificate for the provided raw (URL-encoded) PEM
+     * header value. If the certificate has not been seen before, it will be
+     * parsed and cached for subsequent requests.
+     *
+     * @param headerValue the raw X.509 certificate header value
+     * @return the parsed certificate and its identity
+     * @throws CertificateException if the header value cannot be parsed
+     */
+    public CachedCertificate get(String headerValue) throws CertificateException {
+        final String key = HashingUtils.sha256Hex(headerValue);
+        final CachedCertificate cached = this.cache.getIfPresent(key);
+        if(Objects.nonNull(cached)) {
+            return cached;
+        }
+
+        // Not cached yet, so parse and store for the next request
+        final CachedCertificate parsed = parse(headerValue);
+        this.cache.put(key, parsed);
+        return parsed;
+    }
+
+    /**
+     * Returns the number of certificates currently cached.
+     *
+     * @return the estimated number of cached certificates
+     */
+    public long size() {
+        return this.cache.estimatedSize();
+    }
+
+    /**
+     * Clears all the cached certificates.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * Parses the provided raw (URL-encoded) PEM header value into an X.509
+     * certificate, and computes its certificate identity.
+     *
+     * @param headerValue the raw X.509 certificate header value
+     * @return the parsed certificate and its identity
+     * @throws CertificateException if the header value cannot be parsed
+     */
+    static CachedCertificate parse(String headerValue) throws CertificateException {
+        final CertificateFactory fact = CertificateFactory.getInstance("X.509");
+        final String decodedPem = URLDecoder.decode(headerValue, StandardCharsets.UTF_8);
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream(decodedPem.getBytes(StandardCharsets.UTF_8));
+        final X509Certificate certificate = (X509Certificate) fact.generateCertificate(inputStream);
+        final CertificateIdentity identity = CertificateIdentity.of(certificate);
+        if(Objects.isNull(identity.ou())) {
+            throw new CertificateException("No OU principal found in the forwarded certificate subject");
+        }
+        return new CachedCertificate(certificate, identity);
+    }
+
+    /**
+     * The cached certificate entry, holding both the parsed X.509 certificate
+     * and its certificate identity.
+     *
+     * @param certificate the parsed X.509 certificate
+     * @param identity the certificate identity
+     */
+    public record CachedCertificate(X509Certificate certificate, CertificateIdentity identity) {
+
+        /**
+         * Returns the OU principal of the certificate.
+         *
+         * @return the OU principal of the certificate
+         */
+        public String principal() {
+            return this.identity.ou();
+        }
+
+    }
+
+    /**
+     * The cache expiry policy, which makes sure that no certificate outlives
+     * its own validity period inside the cache.
+     */
+    static class CertificateExpiry implements Expiry<String, CachedCertificate> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedCertificate value, long currentTime) {
+            final long remainingMillis = value.certificate().getNotAfter().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedCertificate value, long currentTime, long currentDuration) {
+            return this.expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedCertificate value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
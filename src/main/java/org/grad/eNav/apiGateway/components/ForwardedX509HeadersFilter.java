@@ -48,12 +48,14 @@ public class ForwardedX509HeadersFilter extends AuthenticationWebFilter {
      * that the included information is accurate and valid.
      *
      * @param authenticationManager The current X.509 authentication manager
+     * @param certificateCache The forwarded X.509 certificate cache
      */
-    public ForwardedX509HeadersFilter(@Autowired X509AuthenticationManager authenticationManager) {
+    public ForwardedX509HeadersFilter(@Autowired X509AuthenticationManager authenticationManager,
+                                      @Autowired ForwardedX509CertificateCache certificateCache) {
         super(authenticationManager);
 
         // Set the authentication converter
-        this.setServerAuthenticationConverter(new ForwardedX509AuthenticationConverter());
+        this.setServerAuthenticationConverter(new ForwardedX509AuthenticationConverter(certificateCache));
 
         // And define the authentication matcher
         this.setRequiresAuthenticationMatcher(exchange -> {
@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.util.JSONObjectUtils;
+import com.nimbusds.jwt.SignedJWT;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.logging.log4j.util.Strings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The JWK Set Provider Component.
+ *
+ * This component provides the signing keys of the OpenID Connect provider
+ * (i.e. Keycloak) to the resource server JWT decoder. The keys are
+ * prefetched at startup and refreshed periodically in the background, so the
+ * request path always validates against the keys already in memory, while
+ * a refresh is in progress (stale-while-revalidate). Only tokens signed with
+ * an unknown key ID trigger an on-demand refresh, which is rate limited.
+ * <p/>
+ * Optionally, the last successfully retrieved OIDC discovery document and
+ * JWK set are persisted into a local snapshot file, so that after a restart
+ * the gateway can validate tokens immediately, even before the provider
+ * answers. Since the snapshot decides which token signatures are trusted,
+ * it is only used when explicitly configured, and only loaded if it is a
+ * regular file owned by the gateway user, which no other user can modify.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@ConditionalOnProperty("spring.security.oauth2.resourceserver.jwt.issuer-uri")
+@Slf4j
+public class JwkSetProvider {
+
+    // Class Variables
+    private static final String DISCOVERY_PATH = "/.well-known/openid-configuration";
+    private static final String JWKS_URI = "jwks_uri";
+    private static final String ISSUER = "issuer";
+    private static final String SNAPSHOT_DISCOVERY = "discovery";
+    private static final String SNAPSHOT_JWKS = "jwks";
+    private final WebClient webClient;
+
+    /**
+     * The OpenID Connect provider issuer URI.
+     */
+    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
+    private String issuerUri;
+
+    /**
+     * The local snapshot file of the discovery document and JWK set.
+     */
+    @Value("${gla.rad.api-gateway.jwt.jwks.snapshot-file:}")
+    private String snapshotFile;
+
+    /**
+     * The timeout for retrieving the discovery document and JWK set.
+     */
+    @Value("${gla.rad.api-gateway.jwt.jwks.fetch-timeout:10s}")
+    private Duration fetchTimeout;
+
+    /**
+     * The minimum interval between the on-demand refreshes caused by tokens
+     * with unknown key IDs.
+     */
+    @Value("${gla.rad.api-gateway.jwt.jwks.min-refresh-interval:30s}")
+    private Duration minRefreshInterval;
+
+    /**
+     * The currently active JWK set.
+     */
+    private volatile JWKSet jwkSet = new JWKSet();
+
+    /**
+     * The currently active discovery document.
+     */
+    private volatile Map<String, Object> discovery;
+
+    /**
+     * The time of the last refresh attempt.
+     */
+    private volatile long lastRefreshAttempt;
+
+    /**
+     * The refresh operation currently in progress, if any.
+     */
+    private final AtomicReference<Mono<JWKSet>> inflightRefresh = new AtomicReference<>();
+
+    /**
+     * The Class Constructor.
+     *
+     * @param webClientBuilder the application web client builder, if any
+     */
+    public JwkSetProvider(ObjectProvider<WebClient.Builder> webClientBuilder) {
+        this.webClient = webClientBuilder.getIfAvailable(WebClient::builder).build();
+    }
+
+    /**
+     * The Component initialisation function.
+     */
+    @PostConstruct
+    public void init() {
+        log.info("initialising the JWK Set Provider for {}", this.issuerUri);
+
+        // Start with the local snapshot, if available
+        this.loadSnapshot();
+
+        // And prefetch the latest keys in the background
+        this.refresh()
+                .onErrorResume(ex -> Mono.empty())
+                .subscribe();
+    }
+
+    /**
+     * Returns the currently active JWK set.
+     *
+     * @return the currently active JWK set
+     */
+    public JWKSet getJwkSet() {
+        return this.jwkSet;
+    }
+
+    /**
+     * Selects the keys that match the header of the provided signed JWT. If
+     * no key matches, e.g. after a key rotation, the refresh already in
+     * progress is awaited, or otherwise an on-demand refresh is performed,
+     * provided that one has not been attempted very recently.
+     *
+     * @param signedJWT the signed JWT
+     * @return the matching keys
+     */
+    public Flux<JWK> getKeys(SignedJWT signedJWT) {
+        final JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(signedJWT.getHeader()));
+        final List<JWK> keys = selector.select(this.jwkSet);
+        if(!keys.isEmpty()) {
+            return Flux.fromIterable(keys);
+        }
+
+        // Wait for any refresh in progress, e.g. the one started at startup
+        final Mono<JWKSet> inflight = this.inflightRefresh.get();
+        if(Objects.isNull(inflight)
+                && System.currentTimeMillis() - this.lastRefreshAttempt < this.minRefreshInterval.toMillis()) {
+            // A refresh may have completed since the keys were selected
+            return Flux.fromIterable(selector.select(this.jwkSet));
+        }
+        log.debug("No key found for key ID {}, refreshing the JWK set", signedJWT.getHeader().getKeyID());
+        return Optional.ofNullable(inflight)
+                .orElseGet(this::refresh)
+                .onErrorResume(ex -> Mono.just(this.jwkSet))
+                .flatMapIterable(selector::select);
+    }
+
+    /**
+     * Periodically refreshes the discovery document and JWK set in the
+     * background. If this fails, the current keys remain in use.
+     */
+    @Scheduled(fixedDelayString = "${gla.rad.api-gateway.jwt.jwks.refresh-interval:300000}",
+               initialDelayString = "${gla.rad.api-gateway.jwt.jwks.refresh-interval:300000}")
+    public void scheduledRefresh() {
+        this.refresh()
+                .onErrorResume(ex -> Mono.empty())
+                .block();
+    }
+
+    /**
+     * Refreshes the discovery document and JWK set from the provider. Any
+     * concurrent callers share the same refresh operation.
+     *
+     * @return the refreshed JWK set
+     */
+    public Mono<JWKSet> refresh() {
+        final Mono<JWKSet> existing = this.inflightRefresh.get();
+        if(Objects.nonNull(existing)) {
+            return existing;
+        }
+        // Only clear this refresh once done, never a newer one
+        final AtomicReference<Mono<JWKSet>> holder = new AtomicReference<>();
+        final Mono<JWKSet> refresh = this.fetch()
+                .doOnSubscribe(subscription -> this.lastRefreshAttempt = System.currentTimeMillis())
+                .doOnError(ex -> log.error("Could not refresh the JWK set of {}: {}", this.issuerUri, ex.getMessage()))
+                .doFinally(signal -> this.inflightRefresh.compareAndSet(holder.get(), null))
+                .cache();
+        holder.set(refresh);
+        return this.inflightRefresh.compareAndSet(null, refresh) ? refresh : this.refresh();
+    }
+
+    /**
+     * Retrieves the discovery document and the JWK set from the provider,
+     * swaps them in, and persists them into the local snapshot.
+     *
+     * @return the retrieved JWK set
+     */
+    private Mono<JWKSet> fetch() {
+        return this.get(this.issuerUri.replaceAll("/$", "") + DISCOVERY_PATH)
+                .map(this::parseDiscovery)
+                .flatMap(discovery -> this.get(discovery.get(JWKS_URI).toString())
+                        .map(this::parseJwkSet)
+                        .publishOn(Schedulers.boundedElastic())
+                        .doOnNext(jwkSet -> {
+                            this.discovery = discovery;
+                            this.jwkSet = jwkSet;
+                            log.debug("Refreshed the JWK set of {} with {} keys", this.issuerUri, jwkSet.size());
+                            this.saveSnapshot();
+                        }));
+    }
+
+    /**
+     * Performs a GET request to the provided URI.
+     *
+     * @param uri the URI to be retrieved
+     * @return the response body
+     */
+    private Mono<String> get(String uri) {
+        return this.webClient.get()
+                .uri(uri)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(this.fetchTimeout);
+    }
+
+    /**
+     * Parses and validates the provided discovery document.
+     *
+     * @param json the discovery document JSON
+     * @return the parsed discovery document
+     */
+    private Map<String, Object> parseDiscovery(String json) {
+        try {
+            final Map<String, Object> discovery = JSONObjectUtils.parse(json);
+            if(!this.issuerUri.equals(discovery.get(ISSUER))) {
+                throw new IllegalStateException("The discovery document issuer " + discovery.get(ISSUER) + " does not match " + this.issuerUri);
+            }
+            if(Objects.isNull(discovery.get(JWKS_URI))) {
+                throw new IllegalStateException("The discovery document does not include a JWK set URI");
+            }
+            return discovery;
+        } catch (ParseException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Parses the provided JWK set.
+     *
+     * @param json the JWK set JSON
+     * @return the parsed JWK set
+     */
+    private JWKSet parseJwkSet(String json) {
+        try {
+            return JWKSet.parse(json);
+        } catch (ParseException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Loads the discovery document and JWK set from the local snapshot file,
+     * if that exists and belongs to the configured issuer.
+     */
+    private void loadSnapshot() {
+        if(Strings.isBlank(this.snapshotFile) || !Files.exists(Path.of(this.snapshotFile), LinkOption.NOFOLLOW_LINKS)) {
+            return;
+        }
+        try {
+            if(!isTrusted(Path.of(this.snapshotFile))) {
+                log.warn("Ignoring the JWK set snapshot {} as it could have been modified by another user", this.snapshotFile);
+                return;
+            }
+            final Map<String, Object> snapshot = JSONObjectUtils.parse(Files.readString(Path.of(this.snapshotFile), StandardCharsets.UTF_8));
+            final Map<String, Object> discovery = JSONObjectUtils.getJSONObject(snapshot, SNAPSHOT_DISCOVERY);
+            if(Objects.isNull(discovery) || !this.issuerUri.equals(discovery.get(ISSUER))) {
+                log.warn("Ignoring the JWK set snapshot {} of a different issuer", this.snapshotFile);
+                return;
+            }
+            this.discovery = discovery;
+            this.jwkSet = JWKSet.parse(JSONObjectUtils.getJSONObject(snapshot, SNAPSHOT_JWKS));
+            log.info("Loaded the JWK set snapshot {} with {} keys", this.snapshotFile, this.jwkSet.size());
+        } catch (IOException | ParseException ex) {
+            log.error("Could not load the JWK set snapshot {}: {}", this.snapshotFile, ex.getMessage());
+        }
+    }
+
+    /**
+     * Persists the current discovery document and public JWK set into the
+     * local snapshot file. The file is replaced atomically so that a partial
+     * write never corrupts the last good snapshot.
+     */
+    private void saveSnapshot() {
+        if(Strings.isBlank(this.snapshotFile)) {
+            return;
+        }
+        try {
+            final Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put(SNAPSHOT_DISCOVERY, this.discovery);
+            snapshot.put(SNAPSHOT_JWKS, this.jwkSet.toJSONObject(true));
+            final Path path = Path.of(this.snapshotFile).toAbsolutePath();
+            if(isPosix(path.getParent())) {
+                Files.createDirectories(path.getParent(), PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            } else {
+                Files.createDirectories(path.getParent());
+            }
+            // The temporary files are only readable and writable by the owner
+            final Path tempFile = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+            Files.writeString(tempFile, JSONObjectUtils.toJSONString(snapshot), StandardCharsets.UTF_8);
+            Files.move(tempFile, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            log.error("Could not save the JWK set snapshot {}: {}", this.snapshotFile, ex.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether the provided snapshot file can be trusted, i.e. it is a
+     * regular file (not a link), owned by the gateway user, and neither the
+     * file nor its directory can be modified by any other user.
+     *
+     * @param path the snapshot file path
+     * @return whether the snapshot file can be trusted
+     * @throws IOException if the file attributes cannot be read
+     */
+    protected static boolean isTrusted(Path path) throws IOException {
+        final Path file = path.toAbsolutePath();
+        if(!Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)) {
+            return false;
+        }
+        final UserPrincipal user = file.getFileSystem()
+                .getUserPrincipalLookupService()
+                .lookupPrincipalByName(System.getProperty("user.name"));
+        if(!user.equals(Files.getOwner(file, LinkOption.NOFOLLOW_LINKS))) {
+            return false;
+        }
+        if(!isPosix(file)) {
+            return true;
+        }
+        final Set<PosixFilePermission> filePermissions = Files.getPosixFilePermissions(file, LinkOption.NOFOLLOW_LINKS);
+        final Set<PosixFilePermission> directoryPermissions = Files.getPosixFilePermissions(file.getParent());
+        return !filePermissions.contains(PosixFilePermission.GROUP_WRITE)
+                && !filePermissions.contains(PosixFilePermission.OTHERS_WRITE)
+                && !directoryPermissions.contains(PosixFilePermission.GROUP_WRITE)
+                && !directoryPermissions.contains(PosixFilePermission.OTHERS_WRITE);
+    }
+
+    /**
+     * Checks whether the file system of the provided path supports the POSIX
+     * file permissions.
+     *
+     * @param path the path
+     * @return whether the POSIX file permissions are supported
+     */
+    private static boolean isPosix(Path path) {
+        return path.getFileSystem().supportedFileAttributeViews().contains("posix");
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.utils.HashingUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The JWT Authentication Cache Component.
+ *
+ * Machine clients tend to reuse the same bearer token for its whole lifetime,
+ * so there is little point in verifying its signature and mapping its
+ * authorities again on every request. This component keeps a bounded cache
+ * of the already validated JWTs, alongside their mapped authorities and
+ * principal name, keyed by the SHA-256 digest of the raw token value. Since
+ * authentication tokens are mutable, a new one is built from the cached
+ * entry for every request, rather than sharing a single instance. Entries are
+ * evicted based on the cache size, and in any case no later than the expiry
+ * time of the JWT itself. Tokens without an expiry time are never cached.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class JwtAuthenticationCache {
+
+    /**
+     * The name of the cache, as reported in the metrics.
+     */
+    public static final String CACHE_NAME = "jwt.authentications";
+
+    /**
+     * The validated JWT cache.
+     */
+    private final Cache<String, CachedJwt> cache;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param meterRegistry the meter registry
+     * @param maxSize       the maximum number of JWTs to be cached
+     */
+    public JwtAuthenticationCache(MeterRegistry meterRegistry,
+                                  @Value("${gla.rad.api-gateway.jwt.cache.max-size:10000}") long maxSize) {
+        log.info("initialising the JWT Authentication Cache with a maximum size of {}", maxSize);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new JwtExpiry())
+                .recordStats()
+                .build();
+
+        // Expose the hit/miss statistics
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Retrieves the cached entry of the provided raw token value, if that has
+     * already been validated.
+     *
+     * @param token the raw token value
+     * @return the cached entry or null if not found
+     */
+    public CachedJwt get(String token) {
+        return this.cache.getIfPresent(HashingUtils.sha256Hex(token));
+    }
+
+    /**
+     * Caches the validated JWT of the provided raw token value. Any already
+     * cached authentication of the same token is retained.
+     *
+     * @param token the raw token value
+     * @param jwt   the validated JWT
+     */
+    public void putJwt(String token, Jwt jwt) {
+        this.cache.asMap().compute(HashingUtils.sha256Hex(token), (key, cached) ->
+                Objects.nonNull(cached) ? cached : new CachedJwt(jwt, null, null));
+    }
+
+    /**
+     * Caches the authorities and principal name of the converted
+     * authentication of the provided raw token value, alongside its
+     * validated JWT.
+     *
+     * @param token             the raw token value
+     * @param authentication    the converted authentication
+     */
+    public void putAuthentication(String token, JwtAuthenticationToken authentication) {
+        this.cache.put(HashingUtils.sha256Hex(token),
+                new CachedJwt(authentication.getToken(), List.copyOf(authentication.getAuthorities()), authentication.getName()));
+    }
+
+    /**
+     * Returns the number of JWTs currently cached.
+     *
+     * @return the estimated number of cached JWTs
+     */
+    public long size() {
+        return this.cache.estimatedSize();
+    }
+
+    /**
+     * Clears all the cached JWTs.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    /**
+     * The cached JWT entry, holding the validated JWT and, once available,
+     * the authorities and principal name of its converted authentication.
+     *
+     * @param jwt           the validated JWT
+     * @param authorities   the mapped authorities, or null if not converted yet
+     * @param name          the principal name, or null if not converted yet
+     */
+    public record CachedJwt(Jwt jwt, Collection<GrantedAuthority> authorities, String name) {
+
+        /**
+         * Checks whether the JWT has already been converted into an
+         * authentication.
+         *
+         * @return whether the JWT has been converted
+         */
+        public boolean isConverted() {
+            return Objects.nonNull(this.authorities);
+        }
+
+        /**
+         * Builds a new authentication of the cached JWT, so that no request
+         * ever shares its authentication with another.
+         *
+         * @return the new authentication
+         */
+        public JwtAuthenticationToken toAuthentication() {
+            return new JwtAuthenticationToken(this.jwt, this.authorities, this.name);
+        }
+
+    }
+
+    /**
+     * The cache expiry policy, which makes sure that no JWT outlives its own
+     * expiry time inside the cache.
+     */
+    static class JwtExpiry implements Expiry<String, CachedJwt> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedJwt value, long currentTime) {
+            final Instant expiresAt = value.jwt().getExpiresAt();
+            if(Objects.isNull(expiresAt)) {
+                return 0L;
+            }
+            final long remainingMillis = expiresAt.toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedJwt value, long currentTime, long currentDuration) {
+            return this.expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedJwt value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The Latency Histograms Component.
+ *
+ * Keeps high-precision HdrHistograms of the upstream and total latency of
+ * the gateway exchanges, for each route and response status class. Each
+ * histogram is fed through an HdrHistogram recorder, so that recording a
+ * value is wait-free and never contends with the readers. The recorded
+ * values are collected into a new interval histogram at a fixed interval,
+ * and only the last few intervals are retained, which gives a rolling view
+ * of the latency distribution.
+ * <p/>
+ * The histograms are packed, i.e. their memory footprint follows the number
+ * of distinct latency values recorded, and auto-resizing, so there is no
+ * upper latency limit to be configured. The latencies are recorded in
+ * nanoseconds.
+ * <p/>
+ * The histograms are only fed by the {@link StageTimingFilter}, so they are
+ * only available while the stage timing is enabled.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@ConditionalOnProperty(value = "gla.rad.api-gateway.stage-timing.enabled", matchIfMissing = true)
+@Slf4j
+public class LatencyHistograms {
+
+    // Class Variables
+    public static final String UPSTREAM = "upstream";
+    public static final String TOTAL = "total";
+    private final Map<HistogramKey, RollingHistogram> histograms = new ConcurrentHashMap<>();
+
+    private final int significantDigits;
+    private final int intervals;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param significantDigits the number of significant value digits of the histograms
+     * @param intervals         the number of intervals retained in the rolling window
+     */
+    public LatencyHistograms(@Value("${gla.rad.api-gateway.latency-histograms.significant-digits:3}") int significantDigits,
+                             @Value("${gla.rad.api-gateway.latency-histograms.intervals:5}") int intervals) {
+        this.significantDigits = significantDigits;
+        this.intervals = intervals;
+    }
+
+    /**
+     * Records the provided latency.
+     *
+     * @param routeId       the route ID
+     * @param statusClass   the response status class, e.g. "2xx"
+     * @param type          the latency type, i.e. upstream or total
+     * @param nanos         the latency in nanoseconds
+     */
+    public void record(String routeId, String statusClass, String type, long nanos) {
+        this.histograms.computeIfAbsent(new HistogramKey(routeId, statusClass, type), key -> new RollingHistogram(this.significantDigits))
+                .recorder.recordValue(Math.max(nanos, 0));
+    }
+
+    /**
+     * Closes the current interval of all histograms, and drops the intervals
+     * that fall out of the rolling window.
+     */
+    @Scheduled(fixedRateString = "${gla.rad.api-gateway.latency-histograms.interval:60000}",
+               initialDelayString = "${gla.rad.api-gateway.latency-histograms.interval:60000}")
+    public void roll() {
+        this.histograms.forEach((key, histogram) -> histogram.roll(key.toTag(), Math.max(this.intervals, 1)));
+    }
+
+    /**
+     * Resets all histograms, discarding both the current interval and the
+     * retained ones.
+     */
+    public void reset() {
+        this.histograms.values().forEach(RollingHistogram::reset);
+        log.info("Latency histograms have been reset");
+    }
+
+    /**
+     * Returns the histogram keys, sorted by route, status class and type.
+     *
+     * @return the histogram keys
+     */
+    public List<HistogramKey> getKeys() {
+        return this.histograms.keySet().stream()
+                .sorted(Comparator.comparing(HistogramKey::routeId)
+                        .thenComparing(HistogramKey::statusClass)
+                        .thenComparing(HistogramKey::type))
+                .toList();
+    }
+
+    /**
+     * Returns the aggregated histogram of the rolling window for the
+     * provided key.
+     *
+     * @param key the histogram key
+     * @return the aggregated histogram, or an empty one if none exists
+     */
+    public Histogram getHistogram(HistogramKey key) {
+        final RollingHistogram histogram = this.histograms.get(key);
+        return Objects.nonNull(histogram) ? histogram.aggregate(this.significantDigits) : new Histogram(this.significantDigits);
+    }
+
+    /**
+     * Exports all the retained interval histograms in the HdrHistogram log
+     * format, tagged as "route/statusClass/type", so that they can be
+     * processed by the standard HdrHistogram log tools.
+     *
+     * @return the HdrHistogram log
+     */
+    public String exportLog() {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final HistogramLogWriter writer = new HistogramLogWriter(output);
+        final long startTime = this.histograms.values().stream()
+                .mapToLong(RollingHistogram::getStartTime)
+                .min()
+                .orElse(System.currentTimeMillis());
+        writer.outputLogFormatVersion();
+        writer.outputStartTime(startTime);
+        writer.setBaseTime(startTime);
+        writer.outputLegend();
+        this.getKeys().forEach(key -> this.histograms.get(key).getIntervals().forEach(writer::outputIntervalHistogram));
+        writer.close();
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The Histogram Key Record.
+     *
+     * @param routeId       the route ID
+     * @param statusClass   the response status class
+     * @param type          the latency type
+     */
+    public record HistogramKey(String routeId, String statusClass, String type) {
+
+        /**
+         * Returns the HdrHistogram log tag of the key, which may not contain
+         * any commas or whitespace.
+         *
+         * @return the log tag
+         */
+        String toTag() {
+            return (this.routeId + "/" + this.statusClass + "/" + this.type).replaceAll("[,\\s]", "_");
+        }
+
+    }
+
+    /**
+     * The Rolling Histogram Class.
+     *
+     * Wraps the recorder of a single histogram along with its retained
+     * interval histograms. Only the readers synchronise on it.
+     */
+    private static class RollingHistogram {
+
+        // Class Variables
+        private final Recorder recorder;
+        private final Deque<Histogram> intervals = new ArrayDeque<>();
+        private final long startTime = System.currentTimeMillis();
+
+        /**
+         * The Class Constructor.
+         *
+         * @param significantDigits the number of significant value digits
+         */
+        RollingHistogram(int significantDigits) {
+            this.recorder = new Recorder(significantDigits, true);
+        }
+
+        /**
+         * Returns the time the histogram was created in milliseconds.
+         *
+         * @return the start time of the histogram
+         */
+        long getStartTime() {
+            return this.startTime;
+        }
+
+        /**
+         * Closes the current interval and drops the oldest intervals beyond
+         * the provided window size.
+         *
+         * @param tag       the log tag of the interval histogram
+         * @param window    the number of intervals to retain
+         */
+        synchronized void roll(String tag, int window) {
+            final Histogram interval = this.recorder.getIntervalHistogram();
+            interval.setTag(tag);
+            this.intervals.addLast(interval);
+            while(this.intervals.size() > window) {
+                this.intervals.removeFirst();
+            }
+        }
+
+        /**
+         * Discards the current interval and all retained ones.
+         */
+        synchronized void reset() {
+            this.recorder.reset();
+            this.intervals.clear();
+        }
+
+        /**
+         * Returns a copy of the retained intervals.
+         *
+         * @return the retained interval histograms
+         */
+        synchronized List<Histogram> getIntervals() {
+            return List.copyOf(this.intervals);
+        }
+
+        /**
+         * Aggregates the retained intervals into a single histogram.
+         *
+         * @param significantDigits the number of significant value digits
+         * @return the aggregated histogram
+         */
+        synchronized Histogram aggregate(int significantDigits) {
+            final Histogram aggregate = new Histogram(significantDigits);
+            this.intervals.forEach(aggregate::add);
+            if(!this.intervals.isEmpty()) {
+                aggregate.setStartTimeStamp(this.intervals.getFirst().getStartTimeStamp());
+                aggregate.setEndTimeStamp(this.intervals.getLast().getEndTimeStamp());
+            }
+            return aggregate;
+        }
+
+    }
+
+}
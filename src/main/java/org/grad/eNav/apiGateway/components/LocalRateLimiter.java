@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Local Rate Limiter Component.
+ *
+ * An in-memory implementation of the gateway rate limiter, so that the
+ * "RequestRateLimiter" filter can be used without a Redis instance. Each key
+ * (e.g. the caller MRN, JWT subject or IP address) of each route gets its own
+ * token bucket, implemented through the Generic Cell Rate Algorithm (GCRA).
+ * The bucket state is just a single "theoretical arrival time", updated
+ * through a compare-and-set operation, so there are no locks on the request
+ * path and different keys never contend with each other.
+ * <p/>
+ * The buckets are kept in a cache, where each one expires once it has been
+ * full, i.e. completely refilled, for longer than the idle timeout. Since a
+ * full bucket is no different from a new one, this never changes the rate
+ * limiting outcome, while a bucket that is still throttling its key is
+ * never evicted, however many other keys are seen. The number of the live
+ * buckets is still capped; once that is reached, the requests of any new
+ * keys are checked against a single overflow bucket shared by all of them
+ * on each route, rather than forgetting the throttled keys. The untracked
+ * keys are therefore still limited, as a group, by the route limits.
+ * The limits can be defined per route, as follows:
+ * <p>
+ *  spring.cloud.gateway.routes[0].filters[0].name=RequestRateLimiter
+ *  spring.cloud.gateway.routes[0].filters[0].args.key-resolver=#{@identityKeyResolver}
+ *  spring.cloud.gateway.routes[0].filters[0].args.local-rate-limiter.replenish-rate=10
+ *  spring.cloud.gateway.routes[0].filters[0].args.local-rate-limiter.burst-capacity=20
+ * </p>
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Primary
+@Component
+@Slf4j
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    // Class Variables
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+    private final Config defaultConfig;
+    private final long maxKeys;
+    private final Cache<String, AtomicLong> buckets;
+    private final Map<String, AtomicLong> overflowBuckets = new ConcurrentHashMap<>();
+    private final Counter allowedCounter;
+    private final Counter deniedCounter;
+    private final Counter untrackedCounter;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param configurationService  the gateway configuration service
+     * @param meterRegistry         the meter registry
+     * @param replenishRate         the default replenish rate
+     * @param burstCapacity         the default burst capacity
+     * @param maxKeys               the maximum number of live buckets to track
+     * @param idleTimeout           the time a full bucket is kept for before it is evicted
+     */
+    public LocalRateLimiter(ConfigurationService configurationService,
+                            MeterRegistry meterRegistry,
+                            @Value("${gla.rad.api-gateway.rate-limiter.replenish-rate:100}") int replenishRate,
+                            @Value("${gla.rad.api-gateway.rate-limiter.burst-capacity:200}") int burstCapacity,
+                            @Value("${gla.rad.api-gateway.rate-limiter.max-keys:1000000}") long maxKeys,
+                            @Value("${gla.rad.api-gateway.rate-limiter.idle-timeout:10m}") Duration idleTimeout) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = new Config();
+        this.defaultConfig.setReplenishRate(replenishRate);
+        this.defaultConfig.setBurstCapacity(burstCapacity);
+        this.maxKeys = maxKeys;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfter(new BucketExpiry(idleTimeout.toNanos()))
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+
+        // Register the rate limiting metrics
+        CaffeineCacheMetrics.monitor(meterRegistry, this.buckets, "gateway.rate-limiter.keys");
+        this.allowedCounter = Counter.builder("gateway.rate-limiter.requests")
+                .tag("outcome", "allowed")
+                .description("The requests checked by the local rate limiter")
+                .register(meterRegistry);
+        this.deniedCounter = Counter.builder("gateway.rate-limiter.requests")
+                .tag("outcome", "denied")
+                .description("The requests checked by the local rate limiter")
+                .register(meterRegistry);
+        this.untrackedCounter = Counter.builder("gateway.rate-limiter.untracked")
+                .description("The requests of new keys checked against the overflow bucket of their route, since the maximum number of keys was reached")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether the request of the provided key is allowed on the
+     * provided route, consuming the requested tokens if so.
+     *
+     * @param routeId   the route ID
+     * @param id        the key of the request
+     * @return the rate limiting response
+     */
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        final Config config = this.getConfig().getOrDefault(routeId, this.defaultConfig);
+        final AtomicLong bucket = this.getBucket(routeId, id);
+        final long remaining = tryAcquire(bucket, System.nanoTime(), config);
+        if(remaining >= 0) {
+            this.allowedCounter.increment();
+        } else {
+            this.deniedCounter.increment();
+        }
+        return Mono.just(new Response(remaining >= 0, Map.of(
+                REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)),
+                REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()),
+                REQUESTED_TOKENS_HEADER, String.valueOf(config.getRequestedTokens()))));
+    }
+
+    /**
+     * Returns the bucket of the provided key on the provided route, creating
+     * it if required. If the maximum number of buckets is already tracked, a
+     * new key gets the overflow bucket of the route, which is shared by all
+     * the untracked keys, so that the live buckets are never evicted to make
+     * room for it, while the new keys are still rate limited.
+     *
+     * @param routeId   the route ID
+     * @param id        the key of the request
+     * @return the bucket of the key
+     */
+    protected AtomicLong getBucket(String routeId, String id) {
+        final String key = routeId + '|' + id;
+        final AtomicLong bucket = this.buckets.getIfPresent(key);
+        if(Objects.nonNull(bucket)) {
+            return bucket;
+        }
+        if(this.buckets.estimatedSize() >= this.maxKeys) {
+            this.untrackedCounter.increment();
+            return this.overflowBuckets.computeIfAbsent(routeId, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        return this.buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    /**
+     * Tries to acquire the requested tokens of the provided bucket, using
+     * the GCRA algorithm. The bucket holds the theoretical arrival time of
+     * the next request, i.e. the time at which the bucket would be full.
+     *
+     * @param bucket    the bucket state
+     * @param now       the current time in nanoseconds
+     * @param config    the rate limiter configuration
+     * @return the remaining tokens, or -1 if the request is denied
+     */
+    protected static long tryAcquire(AtomicLong bucket, long now, Config config) {
+        final long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.getReplenishRate());
+        final long tolerance = interval * (config.getBurstCapacity() > 0 ? config.getBurstCapacity() : config.getReplenishRate());
+        final long increment = interval * config.getRequestedTokens();
+        while(true) {
+            final long tat = bucket.get();
+            final long base = tat == Long.MIN_VALUE || tat - now < 0 ? now : tat;
+            final long newTat = base + increment;
+            final long allowAt = newTat - tolerance;
+            if(now - allowAt < 0) {
+                return -1;
+            }
+            if(bucket.compareAndSet(tat, newTat)) {
+                return (now - allowAt) / interval;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys currently tracked.
+     *
+     * @return the estimated number of keys
+     */
+    public long size() {
+        return this.buckets.estimatedSize();
+    }
+
+    /**
+     * The Bucket Expiry Class.
+     *
+     * Expires each bucket once it has been full for longer than the idle
+     * timeout, i.e. the idle timeout after its theoretical arrival time. The
+     * expiry is evaluated when the bucket is accessed, i.e. just before its
+     * tokens are acquired, so the idle timeout should be longer than the
+     * time it takes to replenish the tokens of a single request.
+     */
+    private static class BucketExpiry implements Expiry<String, AtomicLong> {
+
+        // Class Variables
+        private final long idleTimeout;
+
+        /**
+         * The Class Constructor.
+         *
+         * @param idleTimeout the idle timeout in nanoseconds
+         */
+        BucketExpiry(long idleTimeout) {
+            this.idleTimeout = idleTimeout;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, AtomicLong bucket, long currentTime) {
+            return this.expireAfter(bucket, currentTime);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, AtomicLong bucket, long currentTime, long currentDuration) {
+            return this.expireAfter(bucket, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, AtomicLong bucket, long currentTime, long currentDuration) {
+            return this.expireAfter(bucket, currentTime);
+        }
+
+        /**
+         * Computes the time to expiry of the provided bucket, i.e. the time
+         * until it is full, plus the idle timeout.
+         *
+         * @param bucket        the bucket state
+         * @param currentTime   the current time in nanoseconds
+         * @return the time to expiry in nanoseconds
+         */
+        private long expireAfter(AtomicLong bucket, long currentTime) {
+            final long tat = bucket.get();
+            final long untilFull = tat == Long.MIN_VALUE ? 0 : Math.max(tat - currentTime, 0);
+            return untilFull + this.idleTimeout;
+        }
+
+    }
+
+    /**
+     * The Local Rate Limiter Configuration Class.
+     */
+    @Data
+    public static class Config {
+
+        /**
+         * The number of tokens replenished per second.
+         */
+        private int replenishRate;
+
+        /**
+         * The maximum number of tokens that can be consumed in a burst.
+         */
+        private int burstCapacity;
+
+        /**
+         * The number of tokens each request consumes.
+         */
+        private int requestedTokens = 1;
+
+    }
+
+}
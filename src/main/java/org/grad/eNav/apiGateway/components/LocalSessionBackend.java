@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.grad.eNav.apiGateway.models.StoredSession;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The Local Session Backend Class.
+ *
+ * Keeps the web sessions in the memory of the current node, split into a
+ * number of independently locked shards, so that concurrent requests of
+ * different sessions rarely contend. Each shard is given an equal part of
+ * the memory budget and keeps its sessions in access order, so once its
+ * budget is exceeded, the least recently used sessions are evicted. The
+ * anonymous sessions, e.g. of abandoned login redirects, are capped to a
+ * share of the budget and are always evicted before any authenticated
+ * ones, so that a flood of them cannot log out the authenticated users.
+ * <p/>
+ * The expired sessions are removed incrementally; each sweep only examines
+ * a bounded number of the least recently used sessions of a single shard,
+ * moving on to the next shard on the following sweep. Any expired sessions
+ * that are not reached by the sweeper are removed once they are loaded.
+ * <p/>
+ * Since several session stores can share a single instance, it can also
+ * stand in for a distributed backend when testing.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class LocalSessionBackend implements SessionBackend, MeterBinder {
+
+    // Class Variables
+    private final Shard[] shards;
+    private final int mask;
+    private final AtomicInteger sweepCursor = new AtomicInteger();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+
+    /**
+     * The Class Constructor.
+     *
+     * @param shards          the number of shards, rounded up to a power of two
+     * @param memoryBudget    the total memory budget of the sessions in bytes
+     * @param anonymousShare  the share of the memory budget for the anonymous sessions
+     */
+    public LocalSessionBackend(int shards, long memoryBudget, double anonymousShare) {
+        final int size = shards > 1 ? Integer.highestOneBit(shards - 1) << 1 : 1;
+        this.shards = new Shard[size];
+        this.mask = size - 1;
+        for(int i = 0; i < size; i++) {
+            final long budget = Math.max(memoryBudget / size, 1);
+            this.shards[i] = new Shard(budget, (long) (budget * Math.min(Math.max(anonymousShare, 0.0), 1.0)));
+        }
+    }
+
+    /**
+     * Loads the session with the provided ID, unless it has expired.
+     *
+     * @param id the session ID
+     * @return the stored session, if found
+     */
+    @Override
+    public Mono<StoredSession> load(String id) {
+        return Mono.fromSupplier(() -> this.getShard(id).get(id, Instant.now()));
+    }
+
+    /**
+     * Saves the provided session, evicting the least recently used sessions
+     * of its shard if the memory budget is exceeded.
+     *
+     * @param session the session to be saved
+     * @return the completion signal
+     */
+    @Override
+    public Mono<Void> save(StoredSession session) {
+        return Mono.fromRunnable(() -> this.getShard(session.id()).put(session));
+    }
+
+    /**
+     * Updates the last access and expiry times of the session with the
+     * provided ID.
+     *
+     * @param id                the session ID
+     * @param lastAccessTime    the last access time
+     * @param expiresAt         the new expiry time
+     * @return the completion signal
+     */
+    @Override
+    public Mono<Void> touch(String id, Instant lastAccessTime, Instant expiresAt) {
+        return Mono.fromRunnable(() -> this.getShard(id).touch(id, lastAccessTime, expiresAt));
+    }
+
+    /**
+     * Removes the session with the provided ID.
+     *
+     * @param id the session ID
+     * @return the completion signal
+     */
+    @Override
+    public Mono<Void> remove(String id) {
+        return Mono.fromRunnable(() -> this.getShard(id).remove(id));
+    }
+
+    /**
+     * Removes the expired sessions among the least recently used ones of
+     * the next shard in turn.
+     *
+     * @param now   the current time
+     * @param limit the maximum number of sessions to be examined
+     * @return the number of sessions removed
+     */
+    @Override
+    public int sweep(Instant now, int limit) {
+        return this.shards[this.sweepCursor.getAndIncrement() & this.mask].sweep(now, limit);
+    }
+
+    /**
+     * Returns the number of sessions currently held.
+     *
+     * @return the number of sessions
+     */
+    public long size() {
+        long size = 0;
+        for(Shard shard : this.shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the estimated memory used by the sessions in bytes.
+     *
+     * @return the estimated memory used
+     */
+    public long getUsedBytes() {
+        long bytes = 0;
+        for(Shard shard : this.shards) {
+            bytes += shard.getBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the number of sessions evicted to stay within the memory
+     * budget.
+     *
+     * @return the number of evicted sessions
+     */
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    /**
+     * Registers the session count, memory and eviction metrics.
+     *
+     * @param registry the meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("gateway.sessions.active", this, LocalSessionBackend::size)
+                .description("The number of web sessions held locally")
+                .register(registry);
+        Gauge.builder("gateway.sessions.memory", this, LocalSessionBackend::getUsedBytes)
+                .description("The estimated memory used by the web sessions held locally")
+                .baseUnit("bytes")
+                .register(registry);
+        FunctionCounter.builder("gateway.sessions.removed", this.evictions, AtomicLong::get)
+                .tag("cause", "evicted")
+                .description("The web sessions removed by the local backend")
+                .register(registry);
+        FunctionCounter.builder("gateway.sessions.removed", this.expirations, AtomicLong::get)
+                .tag("cause", "expired")
+                .description("The web sessions removed by the local backend")
+                .register(registry);
+    }
+
+    /**
+     * Returns the shard of the provided session ID.
+     *
+     * @param id the session ID
+     * @return the shard of the session
+     */
+    private Shard getShard(String id) {
+        final int hash = id.hashCode();
+        return this.shards[(hash ^ (hash >>> 16)) & this.mask];
+    }
+
+    /**
+     * The Shard Class.
+     *
+     * Holds a part of the sessions in access order, along with their
+     * estimated memory size. The anonymous sessions are held apart from the
+     * authenticated ones, within their own share of the budget, and are
+     * always evicted first. All operations are synchronised on the shard.
+     */
+    private class Shard {
+
+        // Class Variables
+        private final Partition anonymous = new Partition();
+        private final Partition authenticated = new Partition();
+        private final long budget;
+        private final long anonymousBudget;
+
+        /**
+         * The Class Constructor.
+         *
+         * @param budget            the memory budget of the shard in bytes
+         * @param anonymousBudget   the memory budget of the anonymous sessions in bytes
+         */
+        Shard(long budget, long anonymousBudget) {
+            this.budget = budget;
+            this.anonymousBudget = anonymousBudget;
+        }
+
+        /**
+         * Returns the session with the provided ID, removing it if expired.
+         */
+        synchronized StoredSession get(String id, Instant now) {
+            StoredSession session = this.authenticated.sessions.get(id);
+            if(Objects.isNull(session)) {
+                session = this.anonymous.sessions.get(id);
+            }
+            if(Objects.nonNull(session) && session.isExpired(now)) {
+                this.remove(id);
+                expirations.incrementAndGet();
+                return null;
+            }
+            return session;
+        }
+
+        /**
+         * Stores the provided session and enforces the memory budgets,
+         * evicting the anonymous sessions before the authenticated ones.
+         */
+        synchronized void put(StoredSession session) {
+            this.remove(session.id());
+            (session.authenticated() ? this.authenticated : this.anonymous).put(session);
+            // Evict the least recently used sessions, but never the one just saved
+            while(this.anonymous.bytes > this.anonymousBudget && this.anonymous.evictEldest(session.id())) {
+                evictions.incrementAndGet();
+            }
+            while(this.anonymous.bytes + this.authenticated.bytes > this.budget
+                    && (this.anonymous.evictEldest(session.id()) || this.authenticated.evictEldest(session.id()))) {
+                evictions.incrementAndGet();
+            }
+        }
+
+        /**
+         * Updates the access and expiry times of an existing session.
+         */
+        synchronized void touch(String id, Instant lastAccessTime, Instant expiresAt) {
+            this.authenticated.sessions.computeIfPresent(id, (key, session) -> session.touch(lastAccessTime, expiresAt));
+            this.anonymous.sessions.computeIfPresent(id, (key, session) -> session.touch(lastAccessTime, expiresAt));
+        }
+
+        /**
+         * Removes the session with the provided ID, if held.
+         */
+        synchronized void remove(String id) {
+            this.authenticated.remove(id);
+            this.anonymous.remove(id);
+        }
+
+        /**
+         * Removes the expired ones among the least recently used sessions,
+         * starting with the anonymous ones.
+         */
+        synchronized int sweep(Instant now, int limit) {
+            final int removed = this.anonymous.sweep(now, limit) + this.authenticated.sweep(now, limit);
+            expirations.addAndGet(removed);
+            return removed;
+        }
+
+        /**
+         * Returns the number of sessions of the shard.
+         */
+        synchronized int size() {
+            return this.anonymous.sessions.size() + this.authenticated.sessions.size();
+        }
+
+        /**
+         * Returns the estimated memory used by the shard.
+         */
+        synchronized long getBytes() {
+            return this.anonymous.bytes + this.authenticated.bytes;
+        }
+
+    }
+
+    /**
+     * The Partition Class.
+     *
+     * Holds either the anonymous or the authenticated sessions of a shard in
+     * access order, along with their estimated memory size. It is only ever
+     * accessed while holding the lock of its shard.
+     */
+    private static class Partition {
+
+        // Class Variables
+        private final Map<String, StoredSession> sessions = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes;
+
+        /**
+         * Stores the provided session.
+         */
+        void put(StoredSession session) {
+            this.sessions.put(session.id(), session);
+            this.bytes += session.getSize();
+        }
+
+        /**
+         * Removes the session with the provided ID, if held.
+         */
+        void remove(String id) {
+            final StoredSession session = this.sessions.remove(id);
+            if(Objects.nonNull(session)) {
+                this.bytes -= session.getSize();
+            }
+        }
+
+        /**
+         * Evicts the least recently used session, unless it is the one to be
+         * kept, i.e. the only session left.
+         */
+        boolean evictEldest(String keepId) {
+            final Iterator<StoredSession> iterator = this.sessions.values().iterator();
+            if(!iterator.hasNext()) {
+                return false;
+            }
+            final StoredSession eldest = iterator.next();
+            if(eldest.id().equals(keepId)) {
+                return false;
+            }
+            iterator.remove();
+            this.bytes -= eldest.getSize();
+            return true;
+        }
+
+        /**
+         * Removes the expired ones among the least recently used sessions.
+         */
+        int sweep(Instant now, int limit) {
+            int removed = 0;
+            final Iterator<StoredSession> iterator = this.sessions.values().iterator();
+            for(int examined = 0; examined < limit && iterator.hasNext(); examined++) {
+                final StoredSession session = iterator.next();
+                if(session.isExpired(now)) {
+                    iterator.remove();
+                    this.bytes -= session.getSize();
+                    removed++;
+                }
+            }
+            return removed;
+        }
+
+    }
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.logging.log4j.util.Strings;
+import org.grad.eNav.apiGateway.utils.MrnPrefixTrie;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The Organisation MRN Access List Component.
+ *
+ * This component holds the compiled allow/deny list of the organisation MRN
+ * prefixes that are permitted to access the API-Gateway through X.509
+ * certificates. The prefixes can be provided directly in the configuration
+ * and/or in a local file, which is monitored and reloaded whenever it
+ * changes. Reloads compile a completely new trie which is then swapped in, so
+ * the request path never has to wait for a lock.
+ * <p/>
+ * The access list file contains one prefix per line. Lines starting with
+ * "deny " are denied, while lines that are either plain or start with
+ * "allow " are allowed. Empty lines and lines starting with "#" are ignored.
+ * <p/>
+ * The access list fails closed; if a configured file cannot be read at
+ * startup, all organisations are denied until it can be loaded, while if a
+ * later reload fails, the previously loaded access list remains active.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class OrganisationMrnAccessList {
+
+    // Class Variables
+    private static final String ALLOW_DIRECTIVE = "allow ";
+    private static final String DENY_DIRECTIVE = "deny ";
+    private static final String COMMENT_DIRECTIVE = "#";
+
+    /**
+     * The allowed organisation MRN prefixes.
+     */
+    @Value("${gla.rad.api-gateway.x509.organisation.mrn:}")
+    private String[] allowedOrganisationMrns;
+
+    /**
+     * The denied organisation MRN prefixes.
+     */
+    @Value("${gla.rad.api-gateway.x509.organisation.denied-mrn:}")
+    private String[] deniedOrganisationMrns;
+
+    /**
+     * The local access list file with additional organisation MRN prefixes.
+     */
+    @Value("${gla.rad.api-gateway.x509.organisation.mrn-file:}")
+    private String accessListFile;
+
+    /**
+     * The currently active compiled access list.
+     */
+    private volatile MrnPrefixTrie accessList = MrnPrefixTrie.EMPTY;
+
+    /**
+     * Whether all organisations are denied, since no access list could be
+     * loaded yet.
+     */
+    private volatile boolean denyAll = false;
+
+    /**
+     * The last modification time of the loaded access list file.
+     */
+    private volatile long accessListFileModified = -1;
+
+    /**
+     * The Component initialisation function.
+     */
+    @PostConstruct
+    public void init() {
+        log.info("initialising the Organisation MRN Access List");
+        if(!this.reload()) {
+            log.error("Denying all organisations until the organisation MRN access list file {} can be loaded", this.accessListFile);
+            this.denyAll = true;
+        }
+    }
+
+    /**
+     * Returns whether the provided organisation MRN is allowed access, based
+     * on the longest matching configured prefix.
+     *
+     * @param organisationMrn the organisation MRN
+     * @return whether the organisation MRN is allowed access
+     */
+    public boolean isAllowed(String organisationMrn) {
+        return !this.denyAll && this.accessList.isAllowed(organisationMrn);
+    }
+
+    /**
+     * Returns whether the access list is restricted in any way.
+     *
+     * @return whether the access list is restricted in any way
+     */
+    public boolean isRestricted() {
+        return this.denyAll || !this.accessList.isEmpty();
+    }
+
+    /**
+     * Periodically checks whether the access list file has been modified and
+     * if so, reloads the access list.
+     */
+    @Scheduled(fixedDelayString = "${gla.rad.api-gateway.x509.organisation.mrn-file-reload-interval:30000}",
+               initialDelayString = "${gla.rad.api-gateway.x509.organisation.mrn-file-reload-interval:30000}")
+    public void checkForUpdates() {
+        if(Strings.isBlank(this.accessListFile)) {
+            return;
+        }
+        try {
+            final long lastModified = Files.getLastModifiedTime(Path.of(this.accessListFile)).toMillis();
+            if(lastModified != this.accessListFileModified) {
+                this.reload();
+            }
+        } catch (IOException ex) {
+            log.warn("Could not check the organisation MRN access list file {}: {}", this.accessListFile, ex.getMessage());
+        }
+    }
+
+    /**
+     * Compiles the configured and file-based organisation MRN prefixes into
+     * a new access list and swaps it in. If the file cannot be read, the
+     * current access list remains active.
+     *
+     * @return whether the access list was loaded successfully
+     */
+    public synchronized boolean reload() {
+        final List<String> allowed = new ArrayList<>(Arrays.asList(this.allowedOrganisationMrns));
+        final List<String> denied = new ArrayList<>(Arrays.asList(this.deniedOrganisationMrns));
+
+        // Append the file entries if a file has been provided
+        if(Strings.isNotBlank(this.accessListFile)) {
+            try {
+                final Path path = Path.of(this.accessListFile);
+                final long lastModified = Files.getLastModifiedTime(path).toMillis();
+                parseAccessListLines(Files.readAllLines(path, StandardCharsets.UTF_8), allowed, denied);
+                this.accessListFileModified = lastModified;
+            } catch (IOException ex) {
+                log.error("Could not load the organisation MRN access list file {}: {}", this.accessListFile, ex.getMessage());
+                return false;
+            }
+        }
+
+        // Compile and swap the new access list in
+        this.accessList = MrnPrefixTrie.compile(allowed, denied);
+        this.denyAll = false;
+        log.info("Loaded the organisation MRN access list with {} allowed and {} denied prefixes", allowed.size(), denied.size());
+        return true;
+    }
+
+    /**
+     * Parses the provided access list file lines into the allowed and denied
+     * prefix lists.
+     *
+     * @param lines     the access list file lines
+     * @param allowed   the allowed prefixes to be populated
+     * @param denied    the denied prefixes to be populated
+     */
+    static void parseAccessListLines(List<String> lines, List<String> allowed, List<String> denied) {
+        for(String line : lines) {
+            final String entry = Objects.requireNonNullElse(line, "").trim();
+            if(entry.isEmpty() || entry.startsWith(COMMENT_DIRECTIVE)) {
+                continue;
+            }
+            if(entry.regionMatches(true, 0, DENY_DIRECTIVE, 0, DENY_DIRECTIVE.length())) {
+                denied.add(entry.substring(DENY_DIRECTIVE.length()).trim());
+            } else if(entry.regionMatches(true, 0, ALLOW_DIRECTIVE, 0, ALLOW_DIRECTIVE.length())) {
+                allowed.add(entry.substring(ALLOW_DIRECTIVE.length()).trim());
+            } else {
+                allowed.add(entry);
+            }
+        }
+    }
+
+}
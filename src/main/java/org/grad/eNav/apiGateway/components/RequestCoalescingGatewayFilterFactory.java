@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.utils.IdentityUtils;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.GatewayToStringStyler;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The RequestCoalescingGatewayFilterFactory Class.
+ *
+ * This filter factory collapses concurrent identical idempotent requests
+ * (i.e. GET and HEAD) into a single upstream request (single-flight). The
+ * first request (the leader) is routed as normal, while any identical
+ * requests arriving before it completes (the followers) wait for its
+ * response and receive a copy of it.
+ * <p/>
+ * Requests are considered identical when they share the same route, method,
+ * rewritten path and query, the same authenticated identity, however that
+ * was established (e.g. a bearer token, a session cookie or a client
+ * certificate), as well as the same values for the configured identity
+ * headers (by default the "Authorization" header), so that callers never
+ * receive each other's data. The filter should therefore be placed
+ * after any path rewriting filters, such as the StripContextAndPrefix one.
+ * For example:
+ * <p>
+ *  spring.cloud.gateway.routes[0].filters[0]=StripContextAndPrefix=2
+ *  spring.cloud.gateway.routes[0].filters[1]=RequestCoalescing=Authorization,Accept
+ * </p>
+ * If the leader fails, is cancelled, sets cookies or returns a body larger
+ * than the configured maximum, its followers are simply routed upstream on
+ * their own.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Slf4j
+@Component
+public class RequestCoalescingGatewayFilterFactory extends AbstractGatewayFilterFactory<RequestCoalescingGatewayFilterFactory.Config> {
+
+    // Class Variables
+    public static final String HEADERS_KEY = "headers";
+    private static final Set<String> UNSHARED_HEADERS = Set.of(
+            HttpHeaders.SET_COOKIE.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT),
+            "keep-alive"
+    );
+
+    /**
+     * The maximum size of a response body that can be shared.
+     */
+    private final int maxBodySize;
+
+    /**
+     * The requests currently in flight, by their coalescing key.
+     */
+    private final Map<String, Sinks.One<SharedResponse>> inflight = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong followers = new AtomicLong();
+    private final Counter fallbackCounter;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param meterRegistry the meter registry
+     * @param maxBodySize   the maximum size of a response body that can be shared
+     */
+    public RequestCoalescingGatewayFilterFactory(MeterRegistry meterRegistry,
+                                                 @Value("${gla.rad.api-gateway.coalescing.max-body-size:1048576}") int maxBodySize) {
+        super(Config.class);
+        this.maxBodySize = maxBodySize;
+        FunctionCounter.builder("gateway.requests.coalescing", this.leaders, AtomicLong::get)
+                .tag("role", "leader")
+                .description("The coalescable requests routed upstream")
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.requests.coalescing", this.followers, AtomicLong::get)
+                .tag("role", "follower")
+                .description("The coalescable requests answered by another in-flight request")
+                .register(meterRegistry);
+        Gauge.builder("gateway.requests.coalescing.ratio", this, RequestCoalescingGatewayFilterFactory::getCollapseRatio)
+                .description("The fraction of the coalescable requests that did not reach the upstream")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder("gateway.requests.coalescing.fallbacks")
+                .description("The followers routed upstream because the leader response could not be shared")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the list of the configuration fields, in this case the identity
+     * headers.
+     *
+     * @return the list with the ordering fields
+     */
+    public List<String> shortcutFieldOrder() {
+        return Collections.singletonList(HEADERS_KEY);
+    }
+
+    /**
+     * All the shortcut arguments are gathered into the identity headers list.
+     *
+     * @return the shortcut type
+     */
+    public ShortcutType shortcutType() {
+        return ShortcutType.GATHER_LIST;
+    }
+
+    /**
+     * Returns the fraction of the coalescable requests that were answered by
+     * another in-flight request instead of reaching the upstream.
+     *
+     * @return the request collapse ratio
+     */
+    public double getCollapseRatio() {
+        final long total = this.leaders.get() + this.followers.get();
+        return total > 0 ? (double) this.followers.get() / total : 0.0;
+    }
+
+    /**
+     * Applies the filter's operation. In this case the identical requests
+     * already in flight are joined, otherwise the request becomes the leader
+     * of its key and is routed as normal.
+     *
+     * @param config the gateway filter factory configuration
+     * @return the initialised gateway filter
+     */
+    public GatewayFilter apply(final Config config) {
+        return new GatewayFilter() {
+            public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+                final HttpMethod method = exchange.getRequest().getMethod();
+                if(method != HttpMethod.GET && method != HttpMethod.HEAD) {
+                    return chain.filter(exchange);
+                }
+
+                return exchange.getPrincipal()
+                        .map(IdentityUtils::getIdentity)
+                        .defaultIfEmpty("")
+                        .flatMap(identity -> this.coalesce(exchange, chain, getCoalescingKey(exchange, config, identity)));
+            }
+
+            private Mono<Void> coalesce(ServerWebExchange exchange, GatewayFilterChain chain, String key) {
+                // Join the in-flight request, or lead a new one
+                final Sinks.One<SharedResponse> sink = Sinks.one();
+                final Sinks.One<SharedResponse> existing = inflight.putIfAbsent(key, sink);
+                if(Objects.nonNull(existing)) {
+                    followers.incrementAndGet();
+                    return existing.asMono()
+                            .flatMap(shared -> writeSharedResponse(exchange.getRequest(), exchange.getResponse(), shared))
+                            .switchIfEmpty(Mono.defer(() -> {
+                                fallbackCounter.increment();
+                                return chain.filter(exchange);
+                            }));
+                }
+
+                leaders.incrementAndGet();
+                return chain.filter(exchange.mutate()
+                                .response(new SharingResponseDecorator(exchange.getResponse(), key, sink))
+                                .build())
+                        .doFinally(signal -> {
+                            // Release any followers not served by now
+                            inflight.remove(key, sink);
+                            sink.tryEmitEmpty();
+                        });
+            }
+
+            public String toString() {
+                return GatewayToStringStyler.filterToStringCreator(RequestCoalescingGatewayFilterFactory.this)
+                        .append(HEADERS_KEY, config.getHeaders())
+                        .toString();
+            }
+        };
+    }
+
+    /**
+     * Builds the coalescing key of the request, based on the route, the
+     * method, the rewritten path and query, the authenticated identity and
+     * the identity headers.
+     *
+     * @param exchange  the server web exchange
+     * @param config    the gateway filter factory configuration
+     * @param identity  the authenticated identity, or empty if anonymous
+     * @return the request coalescing key
+     */
+    protected String getCoalescingKey(ServerWebExchange exchange, Config config, String identity) {
+        final ServerHttpRequest request = exchange.getRequest();
+        final String rawQuery = request.getURI().getRawQuery();
+        final StringBuilder key = new StringBuilder()
+                .append(Optional.ofNullable(exchange.<Route>getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR))
+                        .map(Route::getId)
+                        .orElse(""))
+                .append('|')
+                .append(request.getMethod().name())
+                .append('|')
+                .append(request.getURI().getRawPath());
+        if(Objects.nonNull(rawQuery)) {
+            key.append('?').append(rawQuery);
+        }
+        key.append('\n').append(identity);
+        for(String header : config.getHeaders()) {
+            key.append('\n')
+                    .append(header.toLowerCase(Locale.ROOT))
+                    .append(':')
+                    .append(String.join(",", request.getHeaders().getValuesAsList(header)));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Writes a copy of the shared leader response. The HEAD responses keep
+     * the headers of the leader as they are, including its content length,
+     * since they carry no body.
+     *
+     * @param request   the follower request
+     * @param response  the follower response
+     * @param shared    the shared leader response
+     * @return the completion of the response
+     */
+    protected Mono<Void> writeSharedResponse(ServerHttpRequest request, ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(HttpStatusCode.valueOf(shared.status()));
+        shared.headers().forEach(response.getHeaders()::put);
+        if(request.getMethod() == HttpMethod.HEAD) {
+            return response.setComplete();
+        }
+        response.getHeaders().setContentLength(shared.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(shared.body())));
+    }
+
+    /**
+     * The Shared Response Record.
+     *
+     * @param status    the response status code
+     * @param headers   the response headers
+     * @param body      the response body
+     */
+    public record SharedResponse(int status, HttpHeaders headers, byte[] body) {
+
+    }
+
+    /**
+     * The Sharing Response Decorator Class.
+     *
+     * Copies the leader response while it is being written out, and shares
+     * it with the followers once complete.
+     */
+    private class SharingResponseDecorator extends ServerHttpResponseDecorator {
+
+        // Class Variables
+        private final String key;
+        private final Sinks.One<SharedResponse> sink;
+        private volatile boolean released;
+
+        /**
+         * The Class Constructor.
+         *
+         * @param delegate  the leader response
+         * @param key       the request coalescing key
+         * @param sink      the sink of the shared response
+         */
+        SharingResponseDecorator(ServerHttpResponse delegate, String key, Sinks.One<SharedResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            final HttpHeaders headers = this.getDelegate().getHeaders();
+            if(headers.containsHeader(HttpHeaders.SET_COOKIE) || headers.getContentLength() > maxBodySize) {
+                this.release();
+                return super.writeWith(body);
+            }
+
+            // Copy the body while it is being written
+            final ByteArrayOutputStream copy = new ByteArrayOutputStream(headers.getContentLength() > 0 ?
+                    (int) headers.getContentLength() : 1024);
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(dataBuffer -> {
+                        if(this.released) {
+                            return;
+                        }
+                        if(copy.size() + dataBuffer.readableByteCount() > maxBodySize) {
+                            this.release();
+                            return;
+                        }
+                        final byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                        final int readPosition = dataBuffer.readPosition();
+                        dataBuffer.read(bytes);
+                        dataBuffer.readPosition(readPosition);
+                        copy.writeBytes(bytes);
+                    })
+                    .doOnComplete(() -> this.share(copy.toByteArray())));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return super.setComplete()
+                    .doOnSuccess(v -> this.share(new byte[0]));
+        }
+
+        /**
+         * Shares the completed leader response with the followers.
+         *
+         * @param body the leader response body
+         */
+        private void share(byte[] body) {
+            if(inflight.remove(this.key, this.sink)) {
+                final HttpHeaders sharedHeaders = new HttpHeaders();
+                this.getDelegate().getHeaders().forEach((name, values) -> {
+                    final String lowerCaseName = name.toLowerCase(Locale.ROOT);
+                    if(!UNSHARED_HEADERS.contains(lowerCaseName) && !lowerCaseName.startsWith("access-control-")) {
+                        sharedHeaders.put(name, new ArrayList<>(values));
+                    }
+                });
+                final HttpStatusCode status = this.getDelegate().getStatusCode();
+                this.sink.tryEmitValue(new SharedResponse(Objects.nonNull(status) ? status.value() : 200, sharedHeaders, body));
+            }
+        }
+
+        /**
+         * Stops new followers from joining and releases the existing ones,
+         * so that they are routed upstream on their own.
+         */
+        private void release() {
+            this.released = true;
+            if(inflight.remove(this.key, this.sink)) {
+                log.debug("The response for {} cannot be shared", this.key);
+                this.sink.tryEmitEmpty();
+            }
+        }
+
+    }
+
+    /**
+     * The Request Coalescing Configuration Class.
+     */
+    @Data
+    public static class Config {
+
+        /**
+         * The request headers that identify the caller, and need to match
+         * for requests to be coalesced.
+         */
+        private List<String> headers = new ArrayList<>(List.of(HttpHeaders.AUTHORIZATION));
+
+    }
+
+}
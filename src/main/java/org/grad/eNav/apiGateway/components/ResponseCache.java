@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.util.IllegalReferenceCountException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Response Cache Component.
+ *
+ * This component holds the whole responses cached by the response cache
+ * gateway filter. The cache is bounded by the total size of the cached
+ * responses and uses the Caffeine W-TinyLFU eviction policy, so that one-off
+ * requests do not push the popular responses out. Each response is evicted
+ * no later than its freshness lifetime.
+ * <p/>
+ * The response bodies can be stored either on the heap, or off-heap in
+ * direct buffers, so that large caches do not add to the garbage collection
+ * work. In both cases the cached bodies are written out without copying.
+ * The bodies are reference counted, so that the direct buffers are freed
+ * explicitly as soon as their response is removed from the cache and no
+ * longer being written out, rather than whenever the garbage collector
+ * gets to them. For the same reason, the expired responses are removed
+ * promptly and the removals are handled on the calling thread.
+ * <p/>
+ * Since responses can vary on some of the request headers, the names of
+ * those headers are kept per request in a separate small cache, and their
+ * values become part of the final response key.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class ResponseCache {
+
+    /**
+     * The name of the cache, as reported in the metrics.
+     */
+    public static final String CACHE_NAME = "gateway.responses";
+
+    /**
+     * The storage of the cached response bodies, i.e. "heap" or "direct".
+     */
+    private final String storage;
+
+    /**
+     * The cached responses.
+     */
+    private final Cache<String, CachedResponse> cache;
+
+    /**
+     * The names of the headers each response varies on.
+     */
+    private final Cache<String, List<String>> varyCache;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param meterRegistry the meter registry
+     * @param maxSize       the maximum total size of the cached responses in bytes
+     * @param storage       the storage of the cached response bodies, i.e. "heap" or "direct"
+     */
+    public ResponseCache(MeterRegistry meterRegistry,
+                         @Value("${gla.rad.api-gateway.response-cache.max-size:67108864}") long maxSize,
+                         @Value("${gla.rad.api-gateway.response-cache.storage:heap}") String storage) {
+        log.info("initialising the Response Cache with a maximum size of {} bytes on {} storage", maxSize, storage);
+        this.storage = storage;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize)
+                .weigher((String key, CachedResponse response) -> key.length() + response.weight())
+                .expireAfter(new ResponseExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                .executor(Runnable::run)
+                .removalListener((String key, CachedResponse response, RemovalCause cause) -> {
+                    if(Objects.nonNull(response)) {
+                        response.release();
+                    }
+                })
+                .recordStats()
+                .build();
+        this.varyCache = Caffeine.newBuilder()
+                .maximumSize(10000)
+                .expireAfterAccess(Duration.ofHours(1))
+                .build();
+
+        // Expose the hit/miss statistics
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Retrieves the cached response of the provided request, if one is
+     * available and still fresh. The returned response holds its own
+     * reference to the cached body, which the caller has to either release,
+     * or hand over through {@link CachedResponse#toDataBuffer(DataBufferFactory)}.
+     *
+     * @param key               the request key
+     * @param requestHeaders    the request headers
+     * @return the cached response or null if not found
+     */
+    public CachedResponse get(String key, HttpHeaders requestHeaders) {
+        final List<String> varyHeaders = this.varyCache.getIfPresent(key);
+        if(Objects.isNull(varyHeaders)) {
+            return null;
+        }
+        final CachedResponse cached = this.cache.getIfPresent(this.getResponseKey(key, varyHeaders, requestHeaders));
+        return Objects.nonNull(cached) ? cached.retainedDuplicate() : null;
+    }
+
+    /**
+     * Caches the provided response of a request, for the provided freshness
+     * lifetime.
+     *
+     * @param key               the request key
+     * @param requestHeaders    the request headers
+     * @param status            the response status code
+     * @param headers           the response headers to be cached
+     * @param body              the response body
+     * @param etag              the response entity tag
+     * @param timeToLive        the response freshness lifetime
+     */
+    public void put(String key, HttpHeaders requestHeaders, int status, HttpHeaders headers, byte[] body, String etag, Duration timeToLive) {
+        final List<String> varyHeaders = headers.getValuesAsList(HttpHeaders.VARY).stream()
+                .map(header -> header.toLowerCase(Locale.ROOT))
+                .sorted()
+                .toList();
+        final ByteBuf buffer = "direct".equalsIgnoreCase(this.storage) ?
+                Unpooled.directBuffer(body.length).writeBytes(body) :
+                Unpooled.wrappedBuffer(body);
+        final long now = System.currentTimeMillis();
+        this.varyCache.put(key, varyHeaders);
+        this.cache.put(this.getResponseKey(key, varyHeaders, requestHeaders),
+                new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), buffer, etag, now, now + timeToLive.toMillis()));
+    }
+
+    /**
+     * Returns the number of responses currently cached.
+     *
+     * @return the estimated number of cached responses
+     */
+    public long size() {
+        return this.cache.estimatedSize();
+    }
+
+    /**
+     * Clears all the cached responses.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+        this.varyCache.invalidateAll();
+    }
+
+    /**
+     * Builds the final response key, by appending the values of the request
+     * headers the response varies on to the request key.
+     *
+     * @param key               the request key
+     * @param varyHeaders       the names of the headers the response varies on
+     * @param requestHeaders    the request headers
+     * @return the final response key
+     */
+    private String getResponseKey(String key, List<String> varyHeaders, HttpHeaders requestHeaders) {
+        if(varyHeaders.isEmpty()) {
+            return key;
+        }
+        final StringBuilder responseKey = new StringBuilder(key);
+        for(String varyHeader : varyHeaders) {
+            responseKey.append('\n')
+                    .append(varyHeader)
+                    .append(':')
+                    .append(String.join(",", requestHeaders.getValuesAsList(varyHeader)));
+        }
+        return responseKey.toString();
+    }
+
+    /**
+     * The Cached Response Record.
+     *
+     * @param status    the response status code
+     * @param headers   the response headers
+     * @param body      the reference counted response body
+     * @param etag      the response entity tag
+     * @param created   the time the response was cached
+     * @param expiresAt the time the response stops being fresh
+     */
+    public record CachedResponse(int status, HttpHeaders headers, ByteBuf body, String etag, long created, long expiresAt) {
+
+        /**
+         * Returns the length of the response body in bytes.
+         *
+         * @return the response body length
+         */
+        public int contentLength() {
+            return this.body.readableBytes();
+        }
+
+        /**
+         * Hands the response body over as a data buffer of the provided
+         * factory, along with its reference. The Netty buffers are shared
+         * without copying and are released once written out, while for any
+         * other factory the body is copied and released at once.
+         *
+         * @param bufferFactory the data buffer factory of the response
+         * @return the response body data buffer
+         */
+        public DataBuffer toDataBuffer(DataBufferFactory bufferFactory) {
+            if(bufferFactory instanceof NettyDataBufferFactory nettyBufferFactory) {
+                return nettyBufferFactory.wrap(this.body);
+            }
+            try {
+                return bufferFactory.wrap(ByteBufUtil.getBytes(this.body));
+            } finally {
+                this.release();
+            }
+        }
+
+        /**
+         * Releases the reference to the response body held by this instance.
+         */
+        public void release() {
+            this.body.release();
+        }
+
+        /**
+         * Returns a copy of the response, holding its own reference to the
+         * body, so that it can be written out even if the cached one is
+         * removed in the meantime.
+         *
+         * @return the response copy or null if the body was already freed
+         */
+        CachedResponse retainedDuplicate() {
+            try {
+                return new CachedResponse(this.status, this.headers, this.body.retainedDuplicate(), this.etag, this.created, this.expiresAt);
+            } catch (IllegalReferenceCountException ex) {
+                return null;
+            }
+        }
+
+        /**
+         * Returns the age of the cached response in seconds.
+         *
+         * @return the age of the cached response in seconds
+         */
+        public long age() {
+            return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - this.created);
+        }
+
+        /**
+         * Estimates the size of the cached response.
+         *
+         * @return the estimated size of the cached response in bytes
+         */
+        int weight() {
+            final long headersSize = this.headers.headerSet().stream()
+                    .mapToLong(header -> header.getKey().length() + header.getValue().stream().mapToLong(String::length).sum())
+                    .sum();
+            return (int) Math.min(Integer.MAX_VALUE, this.body.readableBytes() + headersSize);
+        }
+
+    }
+
+    /**
+     * The Response Expiry Class.
+     *
+     * Evicts the cached responses when their freshness lifetime ends.
+     */
+    static class ResponseExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, response.expiresAt() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return this.expireAfterCreate(key, response, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse response, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
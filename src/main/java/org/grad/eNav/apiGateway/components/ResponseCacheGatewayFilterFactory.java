@@ -0,0 +1,432 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.utils.HashingUtils;
+import org.grad.eNav.apiGateway.utils.IdentityUtils;
+import org.grad.eNav.apiGateway.utils.NegotiationUtils;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.GatewayToStringStyler;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The ResponseCacheGatewayFilterFactory Class.
+ *
+ * This filter factory caches the whole responses of idempotent GET requests
+ * into the {@link ResponseCache}, so that repeated requests for data that
+ * rarely changes can be answered directly by the gateway. It acts as a
+ * shared cache and therefore:
+ * <ul>
+ *     <li>Responses marked as "no-store", "no-cache" or "private", or that
+ *     set cookies, are never cached.</li>
+ *     <li>The freshness lifetime is taken from the "s-maxage" or "max-age"
+ *     directives, and only falls back to the configured time-to-live if
+ *     neither is present.</li>
+ *     <li>Responses are cached separately per value of their "Vary" request
+ *     headers, while "Vary: *" responses are never cached.</li>
+ *     <li>Conditional "If-None-Match" requests are answered locally with a
+ *     304 (Not Modified) response, when the cached entity tag matches. If
+ *     the backend does not provide an entity tag, a weak one is generated
+ *     from the response body.</li>
+ *     <li>The responses to requests carrying credentials, i.e. an
+ *     "Authorization" header, a cookie or an authenticated principal, are
+ *     only shared if explicitly marked as "public" or with "s-maxage" or
+ *     "must-revalidate", as per RFC 9111 section 3.5.</li>
+ * </ul>
+ * For routes serving caller specific data, the cache entries can be
+ * partitioned by the caller identity, i.e. the MRN of the X.509 certificate
+ * or the subject of the JWT, so that the authenticated responses can be
+ * cached without being shared. For example:
+ * <p>
+ *  spring.cloud.gateway.routes[0].filters[1]=ResponseCache=60s,true
+ * </p>
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Slf4j
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    // Class Variables
+    public static final String TIME_TO_LIVE_KEY = "timeToLive";
+    public static final String PARTITION_BY_IDENTITY_KEY = "partitionByIdentity";
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            HttpHeaders.SET_COOKIE.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+            HttpHeaders.AGE.toLowerCase(Locale.ROOT),
+            "keep-alive"
+    );
+
+    /**
+     * The Response Cache.
+     */
+    private final ResponseCache responseCache;
+
+    /**
+     * The maximum size of an individual cached response in bytes.
+     */
+    private final int maxEntrySize;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param responseCache the response cache
+     * @param maxEntrySize  the maximum size of an individual cached response in bytes
+     */
+    public ResponseCacheGatewayFilterFactory(ResponseCache responseCache,
+                                             @Value("${gla.rad.api-gateway.response-cache.max-entry-size:1048576}") int maxEntrySize) {
+        super(Config.class);
+        this.responseCache = responseCache;
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    /**
+     * Extending the field ordering function of the
+     * AbstractGatewayFilterFactory. In this case the time-to-live and the
+     * identity partitioning.
+     *
+     * @return the list with the ordering fields
+     */
+    public List<String> shortcutFieldOrder() {
+        return Arrays.asList(TIME_TO_LIVE_KEY, PARTITION_BY_IDENTITY_KEY);
+    }
+
+    /**
+     * Applies the filter's operation. In this case GET requests are served
+     * from the response cache if possible, otherwise they are routed as
+     * normal and their responses are cached, if allowed to.
+     *
+     * @param config the gateway filter factory configuration
+     * @return the initialised gateway filter
+     */
+    public GatewayFilter apply(final Config config) {
+        return new GatewayFilter() {
+            public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+                final ServerHttpRequest request = exchange.getRequest();
+                final List<String> requestCacheControl = getDirectives(request.getHeaders());
+                if(request.getMethod() != HttpMethod.GET || requestCacheControl.contains("no-store")) {
+                    return chain.filter(exchange);
+                }
+
+                // Identify the caller, to partition the cache or to detect credentials
+                return exchange.getPrincipal().map(IdentityUtils::getIdentity).defaultIfEmpty("").flatMap(identity -> {
+                    final String key = getRequestKey(exchange, config.isPartitionByIdentity() ? identity : "");
+                    final boolean credentialed = !config.isPartitionByIdentity() && (!identity.isEmpty() || hasCredentials(request));
+
+                    // Serve the cached response, unless asked to revalidate
+                    final ResponseCache.CachedResponse cached = requestCacheControl.contains("no-cache") ?
+                            null :
+                            responseCache.get(key, request.getHeaders());
+                    if(Objects.nonNull(cached)) {
+                        log.debug("Serving cached response for {}", key);
+                        return writeCachedResponse(exchange, cached);
+                    }
+
+                    // Otherwise route the request and cache the response
+                    return chain.filter(exchange.mutate()
+                            .response(new CachingResponseDecorator(exchange, key, config, credentialed))
+                            .build());
+                });
+            }
+
+            public String toString() {
+                return GatewayToStringStyler.filterToStringCreator(ResponseCacheGatewayFilterFactory.this)
+                        .append(TIME_TO_LIVE_KEY, config.getTimeToLive())
+                        .append(PARTITION_BY_IDENTITY_KEY, config.isPartitionByIdentity())
+                        .toString();
+            }
+        };
+    }
+
+    /**
+     * Builds the cache key of the request, based on the route, the caller
+     * identity (if partitioned) and the request path and query.
+     *
+     * @param exchange  the server web exchange
+     * @param identity  the caller identity
+     * @return the request cache key
+     */
+    protected String getRequestKey(ServerWebExchange exchange, String identity) {
+        final String routeId = Optional.ofNullable(exchange.<Route>getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR))
+                .map(Route::getId)
+                .orElse("");
+        final String rawQuery = exchange.getRequest().getURI().getRawQuery();
+        return routeId + '|' + identity + '|' + exchange.getRequest().getURI().getRawPath()
+                + (Objects.nonNull(rawQuery) ? '?' + rawQuery : "");
+    }
+
+    /**
+     * Checks whether the provided request carries any credentials, i.e. an
+     * "Authorization" header or a cookie, such as a session one.
+     *
+     * @param request the server HTTP request
+     * @return whether the request carries credentials
+     */
+    protected static boolean hasCredentials(ServerHttpRequest request) {
+        return request.getHeaders().containsHeader(HttpHeaders.AUTHORIZATION)
+                || !request.getCookies().isEmpty();
+    }
+
+    /**
+     * Writes the cached response, or a 304 (Not Modified) response if the
+     * request entity tags match the cached one. Either way, the reference
+     * of the cached response to its body is handed over or released.
+     *
+     * @param exchange  the server web exchange
+     * @param cached    the cached response
+     * @return the completion of the response
+     */
+    protected Mono<Void> writeCachedResponse(ServerWebExchange exchange, ResponseCache.CachedResponse cached) {
+        final ServerHttpResponse response = exchange.getResponse();
+        final HttpHeaders responseHeaders = response.getHeaders();
+        cached.headers().forEach(responseHeaders::put);
+        responseHeaders.set(HttpHeaders.AGE, String.valueOf(cached.age()));
+
+        // Answer conditional requests locally
+        if(NegotiationUtils.matchesETag(exchange.getRequest().getHeaders().getIfNoneMatch(), cached.etag())) {
+            cached.release();
+            responseHeaders.remove(HttpHeaders.CONTENT_TYPE);
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        responseHeaders.setContentLength(cached.contentLength());
+        return response.writeWith(Mono.just(cached.toDataBuffer(response.bufferFactory())));
+    }
+
+    /**
+     * Returns the lower-case Cache-Control directives of the provided
+     * headers.
+     *
+     * @param headers the HTTP headers
+     * @return the list of Cache-Control directives
+     */
+    protected static List<String> getDirectives(HttpHeaders headers) {
+        return headers.getValuesAsList(HttpHeaders.CACHE_CONTROL).stream()
+                .map(directive -> directive.trim().toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    /**
+     * Determines the freshness lifetime of the provided response headers, if
+     * the response is cacheable by a shared cache. The responses to requests
+     * with credentials are only cacheable if explicitly allowed to be shared.
+     *
+     * @param headers       the response headers
+     * @param timeToLive    the default freshness lifetime
+     * @param credentialed  whether the request carried credentials
+     * @return the freshness lifetime or null if the response is not cacheable
+     */
+    protected static Duration getFreshnessLifetime(HttpHeaders headers, Duration timeToLive, boolean credentialed) {
+        if(headers.containsHeader(HttpHeaders.SET_COOKIE)
+                || headers.getValuesAsList(HttpHeaders.VARY).contains("*")) {
+            return null;
+        }
+        Long maxAge = null;
+        Long sharedMaxAge = null;
+        boolean explicitlyShared = false;
+        for(String directive : getDirectives(headers)) {
+            if(directive.equals("no-store") || directive.equals("no-cache") || directive.equals("private")) {
+                return null;
+            } else if(directive.startsWith("s-maxage=")) {
+                sharedMaxAge = parseSeconds(directive.substring(9));
+                explicitlyShared = true;
+            } else if(directive.startsWith("max-age=")) {
+                maxAge = parseSeconds(directive.substring(8));
+            } else if(directive.equals("public") || directive.equals("must-revalidate")) {
+                explicitlyShared = true;
+            }
+        }
+        if(credentialed && !explicitlyShared) {
+            return null;
+        }
+        final Duration lifetime = Objects.nonNull(sharedMaxAge) ? Duration.ofSeconds(sharedMaxAge) :
+                Objects.nonNull(maxAge) ? Duration.ofSeconds(maxAge) :
+                timeToLive;
+
+        // Deduct the time already spent in upstream caches
+        final Long age = parseSeconds(headers.getFirst(HttpHeaders.AGE));
+        final Duration remaining = Objects.nonNull(age) ? lifetime.minusSeconds(age) : lifetime;
+        return Objects.nonNull(remaining) && remaining.isPositive() ? remaining : null;
+    }
+
+    /**
+     * Parses the provided delta-seconds value.
+     *
+     * @param value the delta-seconds value
+     * @return the parsed seconds or null if invalid
+     */
+    private static Long parseSeconds(String value) {
+        try {
+            return Objects.nonNull(value) ? Long.parseLong(value.replace("\"", "").trim()) : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * The Caching Response Decorator Class.
+     *
+     * Copies the response body into the cache while it is being written out,
+     * as long as the response is cacheable and within the maximum entry size.
+     */
+    private class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+        // Class Variables
+        private final HttpHeaders requestHeaders;
+        private final String key;
+        private final Config config;
+        private final boolean credentialed;
+
+        /**
+         * The Class Constructor.
+         *
+         * @param exchange      the server web exchange
+         * @param key           the request cache key
+         * @param config        the gateway filter factory configuration
+         * @param credentialed  whether the request carries credentials and the cache is shared
+         */
+        CachingResponseDecorator(ServerWebExchange exchange, String key, Config config, boolean credentialed) {
+            super(exchange.getResponse());
+            this.requestHeaders = exchange.getRequest().getHeaders();
+            this.key = key;
+            this.config = config;
+            this.credentialed = credentialed;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            final HttpHeaders headers = this.getDelegate().getHeaders();
+            final HttpStatusCode status = this.getDelegate().getStatusCode();
+            final Duration lifetime = Objects.nonNull(status) && status.value() == HttpStatus.OK.value() ?
+                    getFreshnessLifetime(headers, this.config.getTimeToLive(), this.credentialed) :
+                    null;
+            if(Objects.isNull(lifetime) || headers.getContentLength() > maxEntrySize) {
+                return super.writeWith(body);
+            }
+
+            // Copy the body while it is being written
+            final ByteArrayOutputStream copy = new ByteArrayOutputStream(headers.getContentLength() > 0 ?
+                    (int) headers.getContentLength() : 1024);
+            final boolean[] overflow = { false };
+            return super.writeWith(Flux.from(body)
+                    .doOnNext(dataBuffer -> {
+                        if(overflow[0]) {
+                            return;
+                        }
+                        if(copy.size() + dataBuffer.readableByteCount() > maxEntrySize) {
+                            overflow[0] = true;
+                            copy.reset();
+                            return;
+                        }
+                        final byte[] bytes = new byte[dataBuffer.readableByteCount()];
+                        final int readPosition = dataBuffer.readPosition();
+                        dataBuffer.read(bytes);
+                        dataBuffer.readPosition(readPosition);
+                        copy.writeBytes(bytes);
+                    })
+                    .doOnComplete(() -> {
+                        if(!overflow[0]) {
+                            this.cacheResponse(status, headers, copy.toByteArray(), lifetime);
+                        }
+                    }));
+        }
+
+        /**
+         * Places the fully received response into the cache.
+         *
+         * @param status    the response status code
+         * @param headers   the response headers
+         * @param body      the response body
+         * @param lifetime  the response freshness lifetime
+         */
+        private void cacheResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, Duration lifetime) {
+            final HttpHeaders cachedHeaders = new HttpHeaders();
+            headers.forEach((name, values) -> {
+                final String lowerCaseName = name.toLowerCase(Locale.ROOT);
+                if(!UNCACHED_HEADERS.contains(lowerCaseName) && !lowerCaseName.startsWith("access-control-")) {
+                    cachedHeaders.put(name, values);
+                }
+            });
+
+            // Make sure there is an entity tag to revalidate against
+            String etag = headers.getETag();
+            if(Objects.isNull(etag)) {
+                etag = "W/\"" + HexFormat.of().formatHex(HashingUtils.sha256(body), 0, 16) + "\"";
+                cachedHeaders.setETag(etag);
+            }
+
+            responseCache.put(this.key, this.requestHeaders, status.value(), cachedHeaders, body, etag, lifetime);
+            log.debug("Cached response for {} with a lifetime of {}", this.key, lifetime);
+        }
+
+    }
+
+    /**
+     * The Response Cache Configuration Class.
+     */
+    @Data
+    public static class Config {
+
+        /**
+         * The default freshness lifetime, for responses that do not define
+         * their own.
+         */
+        private Duration timeToLive = Duration.ofSeconds(60);
+
+        /**
+         * Whether to partition the cache entries by the caller identity.
+         * Otherwise, the responses to requests with credentials are only
+         * cached when explicitly allowed to be shared.
+         */
+        private boolean partitionByIdentity = false;
+
+    }
+
+}
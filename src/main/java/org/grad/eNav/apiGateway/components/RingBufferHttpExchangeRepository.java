@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.web.exchanges.HttpExchange;
+import org.springframework.boot.actuate.web.exchanges.HttpExchangeRepository;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * The Ring Buffer HTTP Exchange Repository Class.
+ *
+ * A bounded HTTP exchange repository for the httpexchanges actuator
+ * endpoint, which can be left on under production load. Unlike the
+ * in-memory repository of Spring Boot, it does not synchronise on every
+ * exchange; the exchanges are stored in a fixed-size ring buffer, where
+ * each writer claims its own slot through an atomic sequence. Only a sample
+ * of the exchanges is recorded, apart from the failed and the slow ones,
+ * which are always recorded.
+ * <p/>
+ * The recorded exchanges can optionally be spilled into a memory-mapped
+ * file, as one tab-separated line each, i.e. the timestamp, time taken in
+ * milliseconds, method, status, URI, principal and remote address. The file
+ * is also used as a ring, so its size stays fixed, and since it is mapped,
+ * its contents survive a crash of the gateway and can be read after an
+ * incident, e.g. through {@link #readSpill(Path)}. The file starts with a
+ * small header holding the current write offset, so that the gateway
+ * resumes from there after a restart. A line never wraps around the end of
+ * the file; the remaining space is padded instead, and whatever is left of
+ * an overwritten line is blanked, so the file only ever holds whole lines.
+ * <p/>
+ * The lines are written by a single background thread, so the request
+ * threads, i.e. the event loops, never touch the file. If that falls behind
+ * by more than the repository capacity, the further exchanges are only kept
+ * in memory.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Slf4j
+public class RingBufferHttpExchangeRepository implements HttpExchangeRepository {
+
+    /**
+     * The magic number identifying the spill file header.
+     */
+    public static final int SPILL_MAGIC = 0x47575831;
+
+    /**
+     * The size of the spill file header, i.e. the magic number and the write
+     * offset.
+     */
+    public static final int SPILL_HEADER_SIZE = 16;
+
+    // Class Variables
+    private static final int SPILL_OFFSET_POSITION = 8;
+    private final AtomicReferenceArray<HttpExchange> slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private final double samplingRate;
+    private final int errorStatus;
+    private final Duration slowThreshold;
+    private final MappedByteBuffer spillBuffer;
+    private final ThreadPoolExecutor spillExecutor;
+    private final AtomicLong spillDrops = new AtomicLong();
+    private int spillOffset;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param capacity          the number of exchanges to retain, rounded up to a power of two
+     * @param samplingRate      the fraction of the exchanges to be recorded
+     * @param errorStatus       the status from which exchanges are always recorded
+     * @param slowThreshold     the time taken from which exchanges are always recorded
+     * @param spillFile         the memory-mapped file to spill the exchanges into, if any
+     * @param spillSize         the size of the memory-mapped file in bytes
+     * @throws IOException if the memory-mapped file cannot be opened
+     */
+    public RingBufferHttpExchangeRepository(int capacity,
+                                            double samplingRate,
+                                            int errorStatus,
+                                            Duration slowThreshold,
+                                            Path spillFile,
+                                            long spillSize) throws IOException {
+        final int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.samplingRate = samplingRate;
+        this.errorStatus = errorStatus;
+        this.slowThreshold = slowThreshold;
+        if(Objects.nonNull(spillFile)) {
+            if(spillSize <= SPILL_HEADER_SIZE) {
+                throw new IOException("The HTTP exchange spill file must be larger than " + SPILL_HEADER_SIZE + " bytes");
+            }
+            try(FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                this.spillBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.min(spillSize, Integer.MAX_VALUE));
+            }
+            this.spillOffset = this.openSpill();
+            this.spillExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(size),
+                    runnable -> {
+                        final Thread thread = new Thread(runnable, "http-exchanges-spill");
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    (runnable, executor) -> this.spillDrops.incrementAndGet());
+            log.info("Spilling the HTTP exchanges into {} from offset {}", spillFile, this.spillOffset);
+        } else {
+            this.spillBuffer = null;
+            this.spillExecutor = null;
+        }
+    }
+
+    /**
+     * Returns the recorded exchanges, the most recent first. Since writers
+     * never wait for the readers, an exchange being overwritten while the
+     * buffer is read may already be replaced by a newer one.
+     *
+     * @return the recorded exchanges
+     */
+    @Override
+    public List<HttpExchange> findAll() {
+        final long end = this.sequence.get();
+        final List<HttpExchange> exchanges = new ArrayList<>(this.slots.length());
+        for(long seq = end - 1; seq >= 0 && seq >= end - this.slots.length(); seq--) {
+            Optional.ofNullable(this.slots.get((int) (seq & this.mask))).ifPresent(exchanges::add);
+        }
+        return exchanges;
+    }
+
+    /**
+     * Records the provided exchange, if it is sampled, failed or slow.
+     *
+     * @param httpExchange the exchange to be recorded
+     */
+    @Override
+    public void add(HttpExchange httpExchange) {
+        if(!this.shouldRecord(httpExchange)) {
+            return;
+        }
+        this.slots.set((int) (this.sequence.getAndIncrement() & this.mask), httpExchange);
+        if(Objects.nonNull(this.spillExecutor)) {
+            this.spillExecutor.execute(() -> this.spill(httpExchange));
+        }
+    }
+
+    /**
+     * Returns the number of exchanges that were not spilled, because the
+     * spill thread had fallen behind.
+     *
+     * @return the number of exchanges not spilled
+     */
+    public long getSpillDrops() {
+        return this.spillDrops.get();
+    }
+
+    /**
+     * Writes out the pending exchanges and flushes the memory-mapped file,
+     * if any, once the repository is closed.
+     */
+    public void close() {
+        if(Objects.nonNull(this.spillExecutor)) {
+            this.spillExecutor.shutdown();
+            try {
+                if(!this.spillExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("Could not spill all the pending HTTP exchanges");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            this.spillBuffer.force();
+        }
+    }
+
+    /**
+     * Reads the lines of the provided spill file, the oldest first.
+     *
+     * @param spillFile the spill file
+     * @return the spilled exchange lines
+     * @throws IOException if the spill file cannot be read or is invalid
+     */
+    public static List<String> readSpill(Path spillFile) throws IOException {
+        final byte[] bytes = Files.readAllBytes(spillFile);
+        final ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if(bytes.length <= SPILL_HEADER_SIZE || buffer.getInt(0) != SPILL_MAGIC) {
+            throw new IOException("Not an HTTP exchange spill file: " + spillFile);
+        }
+        final int offset = SPILL_HEADER_SIZE + buffer.getInt(SPILL_OFFSET_POSITION);
+        if(offset >= bytes.length) {
+            throw new IOException("Invalid write offset in the HTTP exchange spill file: " + spillFile);
+        }
+        final String contents = new String(bytes, offset, bytes.length - offset, StandardCharsets.UTF_8)
+                + new String(bytes, SPILL_HEADER_SIZE, offset - SPILL_HEADER_SIZE, StandardCharsets.UTF_8);
+        return Arrays.stream(contents.replace("\0", "").split("\n"))
+                .filter(line -> !line.isBlank())
+                .toList();
+    }
+
+    /**
+     * Determines whether the provided exchange should be recorded. Failed
+     * and slow exchanges are always recorded, while all others are sampled.
+     *
+     * @param httpExchange the exchange to be checked
+     * @return whether the exchange should be recorded
+     */
+    protected boolean shouldRecord(HttpExchange httpExchange) {
+        if(Objects.nonNull(httpExchange.getResponse()) && httpExchange.getResponse().getStatus() >= this.errorStatus) {
+            return true;
+        }
+        if(Objects.nonNull(httpExchange.getTimeTaken()) && httpExchange.getTimeTaken().compareTo(this.slowThreshold) >= 0) {
+            return true;
+        }
+        return this.samplingRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < this.samplingRate;
+    }
+
+    /**
+     * Reads the write offset from the header of the memory-mapped file, or
+     * initialises the header if the file is new or has an unknown format.
+     *
+     * @return the write offset, relative to the end of the header
+     */
+    private int openSpill() {
+        final int dataSize = this.spillBuffer.capacity() - SPILL_HEADER_SIZE;
+        if(this.spillBuffer.getInt(0) == SPILL_MAGIC) {
+            final int offset = this.spillBuffer.getInt(SPILL_OFFSET_POSITION);
+            if(offset >= 0 && offset < dataSize) {
+                return offset;
+            }
+        }
+        final byte[] zeros = new byte[8192];
+        for(int position = 0; position < this.spillBuffer.capacity(); position += zeros.length) {
+            this.spillBuffer.put(position, zeros, 0, Math.min(zeros.length, this.spillBuffer.capacity() - position));
+        }
+        this.spillBuffer.putInt(0, SPILL_MAGIC);
+        this.spillBuffer.putInt(SPILL_OFFSET_POSITION, 0);
+        return 0;
+    }
+
+    /**
+     * Spills the provided exchange into the memory-mapped file, at the
+     * current write offset. If the line does not fit before the end of the
+     * file, the rest of the file is padded and the line is written at the
+     * start. Whatever is left of a partially overwritten line is blanked, and
+     * the new write offset is stored in the header. Only ever called by the
+     * spill thread.
+     *
+     * @param httpExchange the exchange to be spilled
+     */
+    private void spill(HttpExchange httpExchange) {
+        final byte[] line = this.toLine(httpExchange).getBytes(StandardCharsets.UTF_8);
+        final int dataSize = this.spillBuffer.capacity() - SPILL_HEADER_SIZE;
+        if(line.length > dataSize) {
+            return;
+        }
+        if(this.spillOffset + line.length > dataSize) {
+            this.blank(this.spillOffset, dataSize);
+            this.spillOffset = 0;
+        }
+
+        // Check whether the line ends on the boundary of an older one
+        final int end = this.spillOffset + line.length;
+        final byte overwritten = this.spillBuffer.get(SPILL_HEADER_SIZE + end - 1);
+        this.spillBuffer.put(SPILL_HEADER_SIZE + this.spillOffset, line);
+        if(overwritten != '\n' && overwritten != 0) {
+            int tail = end;
+            while(tail < dataSize && this.spillBuffer.get(SPILL_HEADER_SIZE + tail) != '\n') {
+                tail++;
+            }
+            this.blank(end, tail);
+        }
+        this.spillOffset = end == dataSize ? 0 : end;
+        this.spillBuffer.putInt(SPILL_OFFSET_POSITION, this.spillOffset);
+    }
+
+    /**
+     * Blanks the provided region of the memory-mapped file with line breaks.
+     *
+     * @param from  the start of the region, relative to the end of the header
+     * @param to    the end of the region, relative to the end of the header
+     */
+    private void blank(int from, int to) {
+        for(int position = from; position < to; position++) {
+            this.spillBuffer.put(SPILL_HEADER_SIZE + position, (byte) '\n');
+        }
+    }
+
+    /**
+     * Describes the provided exchange as a single tab-separated line.
+     *
+     * @param httpExchange the exchange to be described
+     * @return the exchange line
+     */
+    private String toLine(HttpExchange httpExchange) {
+        final HttpExchange.Request request = httpExchange.getRequest();
+        final HttpExchange.Response response = httpExchange.getResponse();
+        return String.join("\t",
+                String.valueOf(httpExchange.getTimestamp()),
+                Optional.ofNullable(httpExchange.getTimeTaken()).map(Duration::toMillis).map(String::valueOf).orElse("-"),
+                Optional.ofNullable(request).map(HttpExchange.Request::getMethod).map(this::sanitise).orElse("-"),
+                Optional.ofNullable(response).map(HttpExchange.Response::getStatus).map(String::valueOf).orElse("-"),
+                Optional.ofNullable(request).map(HttpExchange.Request::getUri).map(String::valueOf).map(this::sanitise).orElse("-"),
+                Optional.ofNullable(httpExchange.getPrincipal()).map(HttpExchange.Principal::getName).map(this::sanitise).orElse("-"),
+                Optional.ofNullable(request).map(HttpExchange.Request::getRemoteAddress).map(this::sanitise).orElse("-")) + "\n";
+    }
+
+    /**
+     * Removes any tabs, line breaks or null characters from the provided
+     * value, so that it cannot break the line format.
+     *
+     * @param value the value to be sanitised
+     * @return the sanitised value
+     */
+    private String sanitise(String value) {
+        return value.replaceAll("[\\t\\r\\n\\x00]", " ");
+    }
+
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.models.ServiceCatalogueEntry;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The Service Catalogue Component.
+ *
+ * Keeps a snapshot of the services registered in the discovery server,
+ * along with their instance counts and status, for the index page. The
+ * snapshot is refreshed in the background whenever the discovery client
+ * refreshes its registry (i.e. on every heartbeat event), and only the
+ * entries of the services that have actually changed are rebuilt. A
+ * {@link CatalogueChangedEvent} is published whenever the snapshot changes,
+ * so that the index page can be re-rendered, and the discovery server is
+ * never called on the request path.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class ServiceCatalogue {
+
+    // Class Variables
+    private final DiscoveryClient discoveryClient;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private Map<String, ServiceCatalogueEntry> entries = new TreeMap<>();
+    private volatile List<ServiceCatalogueEntry> snapshot = List.of();
+
+    /**
+     * The Class Constructor.
+     *
+     * @param discoveryClient           the discovery client
+     * @param applicationEventPublisher the application event publisher
+     */
+    public ServiceCatalogue(DiscoveryClient discoveryClient,
+                            ApplicationEventPublisher applicationEventPublisher) {
+        this.discoveryClient = discoveryClient;
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    /**
+     * Returns the current catalogue snapshot, sorted by service ID.
+     *
+     * @return the catalogue snapshot
+     */
+    public List<ServiceCatalogueEntry> getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Builds the catalogue once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        this.refresh();
+    }
+
+    /**
+     * Refreshes the catalogue whenever the discovery client refreshes its
+     * registry.
+     *
+     * @param heartbeatEvent the discovery heartbeat event
+     */
+    @EventListener
+    public void onHeartbeat(HeartbeatEvent heartbeatEvent) {
+        this.refresh();
+    }
+
+    /**
+     * Refreshes the catalogue from the local registry of the discovery
+     * client. The unchanged entries are retained as they are, and the
+     * snapshot is only replaced, and the change published, if any of the
+     * entries have changed.
+     */
+    public synchronized void refresh() {
+        final Map<String, ServiceCatalogueEntry> updated = new TreeMap<>();
+        boolean changed = false;
+        try {
+            for(String serviceId : this.discoveryClient.getServices()) {
+                final ServiceCatalogueEntry entry = ServiceCatalogueEntry.of(serviceId, this.discoveryClient.getInstances(serviceId));
+                final ServiceCatalogueEntry previous = this.entries.get(serviceId);
+                if(entry.equals(previous)) {
+                    updated.put(serviceId, previous);
+                } else {
+                    updated.put(serviceId, entry);
+                    changed = true;
+                }
+            }
+        } catch (Exception ex) {
+            log.warn("Service catalogue could not be refreshed: {}", ex.getMessage());
+            return;
+        }
+        changed |= !updated.keySet().equals(this.entries.keySet());
+
+        // Only publish the actual changes
+        if(changed) {
+            this.entries = updated;
+            this.snapshot = List.copyOf(updated.values());
+            log.debug("Service catalogue updated with {} services", this.snapshot.size());
+            this.applicationEventPublisher.publishEvent(new CatalogueChangedEvent(this, this.snapshot));
+        }
+    }
+
+    /**
+     * The Catalogue Changed Event Class.
+     *
+     * Published whenever the service catalogue snapshot changes.
+     */
+    public static class CatalogueChangedEvent extends ApplicationEvent {
+
+        // Class Variables
+        private final List<ServiceCatalogueEntry> snapshot;
+
+        /**
+         * The Class Constructor.
+         *
+         * @param source    the service catalogue
+         * @param snapshot  the new catalogue snapshot
+         */
+        public CatalogueChangedEvent(Object source, List<ServiceCatalogueEntry> snapshot) {
+            super(source);
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * Returns the new catalogue snapshot.
+         *
+         * @return the catalogue snapshot
+         */
+        public List<ServiceCatalogueEntry> getSnapshot() {
+            return this.snapshot;
+        }
+
+    }
+
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.config.ConnectionPoolProperties;
+import org.grad.eNav.apiGateway.utils.StageTimings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.server.autoconfigure.ServerProperties;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientFactory;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+
+/**
+ * The Service Netty Routing Filter Component.
+ *
+ * This routing filter extends the default gateway netty routing filter, so
+ * that the services or routes with a dedicated connection pool configuration
+ * in {@link ConnectionPoolProperties} are routed through their own HTTP
+ * client and connection pool. This way a slow backend can only exhaust its
+ * own connections. All other routes keep using the default gateway HTTP
+ * client.
+ * <p/>
+ * The filter is ordered just before the default routing filter, which then
+ * finds the exchange already routed and steps aside. The dedicated pools
+ * publish the Reactor Netty connection provider metrics, i.e. the total,
+ * active, idle and pending connections and the pending acquisition time,
+ * tagged with the "api-gateway-{service}" pool name.
+ * <p/>
+ * The dedicated HTTP clients are built through the gateway
+ * {@link HttpClientFactory}, with only the connection provider replaced, so
+ * that they keep all the other settings of the default gateway client, e.g.
+ * the proxy, wiretap, response decoder limits, SSL, HTTP/2 and customizers.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class ServiceNettyRoutingFilter extends NettyRoutingFilter {
+
+    // Class Variables
+    private static final String LOAD_BALANCER_SCHEME = "lb";
+    private final ConnectionPoolProperties connectionPoolProperties;
+    private final HttpClientProperties httpClientProperties;
+    private final ServerProperties serverProperties;
+    private final ObjectProvider<HttpClientSslConfigurer> httpClientSslConfigurer;
+    private final ObjectProvider<HttpClientCustomizer> httpClientCustomizers;
+    private final Map<String, ConnectionProvider> connectionProviders = new ConcurrentHashMap<>();
+    private final Map<String, HttpClient> httpClients = new ConcurrentHashMap<>();
+
+    /**
+     * The Class Constructor.
+     *
+     * @param httpClient                the default gateway HTTP client
+     * @param headersFiltersProvider    the HTTP headers filters
+     * @param httpClientProperties      the gateway HTTP client properties
+     * @param serverProperties          the web server properties
+     * @param connectionPoolProperties  the dedicated connection pool properties
+     * @param httpClientSslConfigurer   the gateway HTTP client SSL configurer
+     * @param httpClientCustomizers     the gateway HTTP client customizers
+     */
+    public ServiceNettyRoutingFilter(HttpClient httpClient,
+                                     ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                     HttpClientProperties httpClientProperties,
+                                     ServerProperties serverProperties,
+                                     ConnectionPoolProperties connectionPoolProperties,
+                                     ObjectProvider<HttpClientSslConfigurer> httpClientSslConfigurer,
+                                     ObjectProvider<HttpClientCustomizer> httpClientCustomizers) {
+        super(httpClient, headersFiltersProvider, httpClientProperties);
+        this.httpClientProperties = httpClientProperties;
+        this.serverProperties = serverProperties;
+        this.connectionPoolProperties = connectionPoolProperties;
+        this.httpClientSslConfigurer = httpClientSslConfigurer;
+        this.httpClientCustomizers = httpClientCustomizers;
+    }
+
+    /**
+     * Runs just before the default gateway routing filter.
+     *
+     * @return the order of the filter
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+
+    /**
+     * Routes the exchange to the upstream service, recording the time spent
+     * in the gateway filters before it, and the time until the upstream
+     * response headers arrive, in the stage timings of the exchange.
+     *
+     * @param exchange  the server web exchange
+     * @param chain     the gateway filter chain
+     * @return the gateway filter chain result
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        final StageTimings timings = exchange.getAttribute(StageTimings.ATTRIBUTE);
+        if(Objects.isNull(timings) || isAlreadyRouted(exchange)) {
+            return super.filter(exchange, chain);
+        }
+        timings.lap("gateway-filters");
+        final int index = timings.begin("upstream");
+        return super.filter(exchange, chain)
+                .doFinally(signal -> timings.end(index));
+    }
+
+    /**
+     * Returns the dedicated HTTP client of the service or route, if one has
+     * been configured, otherwise the default gateway HTTP client.
+     *
+     * @param route     the matched route
+     * @param exchange  the server web exchange
+     * @return the HTTP client to route the exchange through
+     */
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        return Optional.ofNullable(this.getPoolKey(route))
+                .map(key -> this.httpClients.computeIfAbsent(key, this::createHttpClient))
+                .map(httpClient -> this.applyRouteConnectTimeout(httpClient, route))
+                .orElseGet(() -> super.getHttpClient(route, exchange));
+    }
+
+    /**
+     * Disposes all the dedicated connection pools.
+     */
+    @PreDestroy
+    public void destroy() {
+        this.connectionProviders.values().forEach(ConnectionProvider::dispose);
+        this.connectionProviders.clear();
+        this.httpClients.clear();
+    }
+
+    /**
+     * Identifies the dedicated connection pool of the route, if any. Routes
+     * to load balanced services are identified by their service ID, while
+     * all other routes by their route ID.
+     *
+     * @param route the matched route
+     * @return the dedicated connection pool key, or null if there is none
+     */
+    protected String getPoolKey(Route route) {
+        final Map<String, ConnectionPoolProperties.Pool> pools = this.connectionPoolProperties.getServices();
+        if(pools.isEmpty()) {
+            return null;
+        }
+        if(LOAD_BALANCER_SCHEME.equalsIgnoreCase(route.getUri().getScheme())
+                && Objects.nonNull(route.getUri().getHost())) {
+            final String serviceId = route.getUri().getHost().toLowerCase(Locale.ROOT);
+            if(pools.containsKey(serviceId)) {
+                return serviceId;
+            }
+        }
+        return pools.containsKey(route.getId()) ? route.getId() : null;
+    }
+
+    /**
+     * Creates the HTTP client of a dedicated connection pool, through the
+     * same factory and settings as the default gateway client.
+     *
+     * @param key the dedicated connection pool key
+     * @return the dedicated HTTP client
+     */
+    protected HttpClient createHttpClient(String key) {
+        final ConnectionPoolProperties.Pool pool = this.connectionPoolProperties.getServices().get(key);
+        log.info("Creating a dedicated upstream connection pool for {} with {} max connections", key, pool.getMaxConnections());
+
+        // Build the connection provider
+        final ConnectionProvider.Builder builder = ConnectionProvider.builder("api-gateway-" + key)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .metrics(true);
+        if("lifo".equalsIgnoreCase(pool.getLeasingStrategy())) {
+            builder.lifo();
+        } else {
+            builder.fifo();
+        }
+        if(Objects.nonNull(pool.getMaxIdleTime())) {
+            builder.maxIdleTime(pool.getMaxIdleTime());
+        }
+        if(Objects.nonNull(pool.getMaxLifeTime())) {
+            builder.maxLifeTime(pool.getMaxLifeTime());
+        }
+        if(Objects.nonNull(pool.getEvictionInterval())) {
+            builder.evictInBackground(pool.getEvictionInterval());
+        }
+        final ConnectionProvider connectionProvider = builder.build();
+        this.connectionProviders.put(key, connectionProvider);
+
+        // And the HTTP client like the default gateway one
+        return new DedicatedHttpClientFactory(
+                this.httpClientProperties,
+                this.serverProperties,
+                this.httpClientSslConfigurer.getObject(),
+                new ArrayList<>(this.httpClientCustomizers.orderedStream().toList()),
+                connectionProvider).create();
+    }
+
+    /**
+     * Applies the connect timeout of the route metadata, if any, in the same
+     * way as the default gateway routing filter does.
+     *
+     * @param httpClient    the dedicated HTTP client
+     * @param route         the matched route
+     * @return the HTTP client with the route connect timeout
+     */
+    private HttpClient applyRouteConnectTimeout(HttpClient httpClient, Route route) {
+        final Object connectTimeout = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if(Objects.isNull(connectTimeout)) {
+            return httpClient;
+        }
+        return httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS,
+                connectTimeout instanceof Number number ? number.intValue() : Integer.parseInt(connectTimeout.toString()));
+    }
+
+    /**
+     * The Dedicated HTTP Client Factory Class.
+     *
+     * The gateway HTTP client factory, with its connection provider replaced
+     * by the one of a dedicated connection pool.
+     */
+    private static class DedicatedHttpClientFactory extends HttpClientFactory {
+
+        // Class Variables
+        private final ConnectionProvider connectionProvider;
+
+        /**
+         * The Class Constructor.
+         *
+         * @param properties            the gateway HTTP client properties
+         * @param serverProperties      the web server properties
+         * @param sslConfigurer         the gateway HTTP client SSL configurer
+         * @param customizers           the gateway HTTP client customizers
+         * @param connectionProvider    the dedicated connection provider
+         */
+        DedicatedHttpClientFactory(HttpClientProperties properties,
+                                   ServerProperties serverProperties,
+                                   HttpClientSslConfigurer sslConfigurer,
+                                   List<HttpClientCustomizer> customizers,
+                                   ConnectionProvider connectionProvider) {
+            super(properties, serverProperties, sslConfigurer, customizers);
+            this.connectionProvider = connectionProvider;
+        }
+
+        /**
+         * Creates a new HTTP client on the dedicated connection provider.
+         *
+         * @return the dedicated HTTP client
+         */
+        HttpClient create() {
+            try {
+                return this.createInstance();
+            } catch (Exception ex) {
+                throw new IllegalStateException("Could not create the dedicated HTTP client", ex);
+            }
+        }
+
+        /**
+         * Provides the dedicated connection provider, instead of building
+         * one from the gateway HTTP client properties.
+         *
+         * @param properties the gateway HTTP client properties
+         * @return the dedicated connection provider
+         */
+        @Override
+        protected ConnectionProvider buildConnectionProvider(HttpClientProperties properties) {
+            return this.connectionProvider;
+        }
+
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.grad.eNav.apiGateway.models.StoredSession;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * The Session Backend Interface.
+ *
+ * Defines where the web sessions of the {@link CompactWebSessionStore} are
+ * actually kept. Since the sessions are only handed over in their compact
+ * serialised form, a backend can be shared by several gateway nodes, e.g.
+ * through a distributed cache, while the {@link LocalSessionBackend} keeps
+ * them in the memory of a single node.
+ * <p/>
+ * A backend must not return any sessions that have already expired. The
+ * backends that cannot expire their sessions on their own may implement
+ * the {@link #sweep(Instant, int)} operation, which is invoked periodically.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public interface SessionBackend {
+
+    /**
+     * Loads the session with the provided ID, unless it has expired.
+     *
+     * @param id the session ID
+     * @return the stored session, if found
+     */
+    Mono<StoredSession> load(String id);
+
+    /**
+     * Saves the provided session, replacing any previous version of it.
+     *
+     * @param session the session to be saved
+     * @return the completion signal
+     */
+    Mono<Void> save(StoredSession session);
+
+    /**
+     * Updates the last access and expiry times of the session with the
+     * provided ID, without rewriting its attributes.
+     *
+     * @param id                the session ID
+     * @param lastAccessTime    the last access time
+     * @param expiresAt         the new expiry time
+     * @return the completion signal
+     */
+    Mono<Void> touch(String id, Instant lastAccessTime, Instant expiresAt);
+
+    /**
+     * Removes the session with the provided ID.
+     *
+     * @param id the session ID
+     * @return the completion signal
+     */
+    Mono<Void> remove(String id);
+
+    /**
+     * Removes a bounded number of the expired sessions. By default, the
+     * backend is assumed to expire its sessions on its own.
+     *
+     * @param now   the current time
+     * @param limit the maximum number of sessions to be examined
+     * @return the number of sessions removed
+     */
+    default int sweep(Instant now, int limit) {
+        return 0;
+    }
+
+}
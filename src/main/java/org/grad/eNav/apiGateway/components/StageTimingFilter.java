@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.utils.StageTimings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * The Stage Timing Filter Component.
+ *
+ * Attaches the stage timings to each exchange as soon as it is received, so
+ * that the security filters, the route filters and the routing filter can
+ * record the time they spend on it. Once the exchange completes, all the
+ * recorded stages are published as "gateway.stage.latency" timers, tagged by
+ * the stage, the route ID and the authentication mode (forwarded X.509,
+ * direct mTLS, JWT or session). The stages recorded are:
+ * <ul>
+ *     <li>forwarded-x509, mtls-x509, jwt-validation and client-certificate:
+ *     the time spent in each authentication step.</li>
+ *     <li>security: the time spent in the whole security filter chain.</li>
+ *     <li>route-lookup: the time from the end of the security chain until
+ *     the route has been matched and the gateway filters start.</li>
+ *     <li>filter.[name]: the time spent in each route filter.</li>
+ *     <li>gateway-filters: the time spent in all the gateway filters before
+ *     the upstream call.</li>
+ *     <li>upstream: the time until the upstream response headers arrive.</li>
+ *     <li>total: the time until the exchange completes.</li>
+ * </ul>
+ * The filter also runs as the first gateway filter, to mark the end of the
+ * route lookup. The timers are cached and carry no histograms by default, so
+ * the overhead is a handful of clock reads per exchange. Percentiles can
+ * still be enabled through the standard metrics distribution properties,
+ * while the high-precision upstream and total latency distributions are
+ * fed into the {@link LatencyHistograms}, per route and status class.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@ConditionalOnProperty(value = "gla.rad.api-gateway.stage-timing.enabled", matchIfMissing = true)
+@Slf4j
+public class StageTimingFilter implements WebFilter, GlobalFilter, Ordered {
+
+    // Class Variables
+    private static final String NONE = "none";
+    private static final String SESSION_COOKIE = "SESSION";
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * The Meter Registry.
+     */
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    /**
+     * The Latency Histograms.
+     */
+    @Autowired
+    LatencyHistograms latencyHistograms;
+
+    /**
+     * Runs before any other filter, including the security filter chain,
+     * and as the first of the gateway filters.
+     *
+     * @return the order of the filter
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * Attaches the stage timings to the exchange and publishes them once the
+     * exchange completes.
+     *
+     * @param exchange  the server web exchange
+     * @param chain     the web filter chain
+     * @return the web filter chain result
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final StageTimings timings = new StageTimings(getAuthMode(exchange.getRequest()), System.nanoTime());
+        exchange.getAttributes().put(StageTimings.ATTRIBUTE, timings);
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(StageTimings.class, timings))
+                .doFinally(signal -> this.publish(exchange, timings));
+    }
+
+    /**
+     * Marks the end of the route lookup, as the first gateway filter.
+     *
+     * @param exchange  the server web exchange
+     * @param chain     the gateway filter chain
+     * @return the gateway filter chain result
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        StageTimings.lap(exchange, "route-lookup");
+        return chain.filter(exchange);
+    }
+
+    /**
+     * Identifies the authentication mode of the request, from the
+     * credentials it carries.
+     *
+     * @param request the server HTTP request
+     * @return the authentication mode
+     */
+    protected static String getAuthMode(ServerHttpRequest request) {
+        final HttpHeaders headers = request.getHeaders();
+        if(headers.containsHeader(ForwardedX509HeadersFilter.X_SSL_FORWARDED_HEADER)) {
+            return StageTimings.AUTH_FORWARDED_X509;
+        }
+        if(Objects.nonNull(request.getSslInfo())
+                && Objects.nonNull(request.getSslInfo().getPeerCertificates())
+                && request.getSslInfo().getPeerCertificates().length > 0) {
+            return StageTimings.AUTH_MTLS;
+        }
+        final String authorization = headers.getFirst(HttpHeaders.AUTHORIZATION);
+        if(Objects.nonNull(authorization) && authorization.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return StageTimings.AUTH_JWT;
+        }
+        if(request.getCookies().containsKey(SESSION_COOKIE)) {
+            return StageTimings.AUTH_SESSION;
+        }
+        return StageTimings.AUTH_NONE;
+    }
+
+    /**
+     * Publishes the recorded stages of the completed exchange.
+     *
+     * @param exchange  the server web exchange
+     * @param timings   the stage timings of the exchange
+     */
+    private void publish(ServerWebExchange exchange, StageTimings timings) {
+        final String routeId = Optional.ofNullable(exchange.<Route>getAttribute(GATEWAY_ROUTE_ATTR))
+                .map(Route::getId)
+                .orElse(NONE);
+        final String statusClass = Optional.ofNullable(exchange.getResponse().getStatusCode())
+                .map(status -> status.value() / 100 + "xx")
+                .orElse(NONE);
+        final long total = System.nanoTime() - timings.getStart();
+        timings.forEach((stage, nanos) -> {
+            this.getTimer(stage, routeId, timings.getAuthMode()).record(nanos, TimeUnit.NANOSECONDS);
+            if(LatencyHistograms.UPSTREAM.equals(stage)) {
+                this.latencyHistograms.record(routeId, statusClass, LatencyHistograms.UPSTREAM, nanos);
+            }
+        });
+        this.getTimer(LatencyHistograms.TOTAL, routeId, timings.getAuthMode()).record(total, TimeUnit.NANOSECONDS);
+        this.latencyHistograms.record(routeId, statusClass, LatencyHistograms.TOTAL, total);
+    }
+
+    /**
+     * Returns the cached timer of the provided stage, route and
+     * authentication mode, registering it on first use.
+     *
+     * @param stage     the name of the stage
+     * @param routeId   the route ID
+     * @param authMode  the authentication mode
+     * @return the stage timer
+     */
+    private Timer getTimer(String stage, String routeId, String authMode) {
+        return this.timers.computeIfAbsent(new TimerKey(stage, routeId, authMode), key -> Timer.builder("gateway.stage.latency")
+                .tag("stage", key.stage())
+                .tag("route", key.routeId())
+                .tag("auth", key.authMode())
+                .description("The time spent in each processing stage of the gateway exchanges")
+                .register(this.meterRegistry));
+    }
+
+    /**
+     * The Timer Key Record.
+     *
+     * @param stage     the name of the stage
+     * @param routeId   the route ID
+     * @param authMode  the authentication mode
+     */
+    private record TimerKey(String stage, String routeId, String authMode) {}
+
+}
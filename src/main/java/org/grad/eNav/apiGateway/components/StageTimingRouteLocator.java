@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.grad.eNav.apiGateway.utils.StageTimings;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.core.Ordered;
+import reactor.core.publisher.Flux;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The Stage Timing Route Locator Class.
+ *
+ * Delegates to the route locators of the gateway, so that each filter of
+ * each route is timed as a separate "filter.[name]" stage. The locator sits
+ * underneath the caching route locator, so the filters are only wrapped
+ * once, whenever the routes are (re)loaded, and they keep their original
+ * order, so the request path is not affected otherwise.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class StageTimingRouteLocator implements RouteLocator {
+
+    // Class Variables
+    private static final Pattern FILTER_NAME = Pattern.compile("^\\[(\\w+)");
+    private final RouteLocator delegate;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param delegate the route locator to be timed
+     */
+    public StageTimingRouteLocator(RouteLocator delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the routes of the delegate locator, with their filters timed.
+     *
+     * @return the timed routes
+     */
+    @Override
+    public Flux<Route> getRoutes() {
+        return this.delegate.getRoutes().map(StageTimingRouteLocator::timed);
+    }
+
+    /**
+     * Rebuilds the provided route with all its filters timed.
+     *
+     * @param route the route to be timed
+     * @return the timed route
+     */
+    protected static Route timed(Route route) {
+        return Route.async()
+                .id(route.getId())
+                .uri(route.getUri())
+                .order(route.getOrder())
+                .asyncPredicate(route.getPredicate())
+                .metadata(route.getMetadata())
+                .filters(route.getFilters().stream()
+                        .map(StageTimingRouteLocator::timed)
+                        .toList())
+                .build();
+    }
+
+    /**
+     * Wraps the provided route filter so that it is timed, retaining its
+     * original order.
+     *
+     * @param filter the route filter to be timed
+     * @return the timed route filter
+     */
+    protected static GatewayFilter timed(GatewayFilter filter) {
+        final int order = filter instanceof Ordered ordered ? ordered.getOrder() : 0;
+        return new OrderedGatewayFilter(StageTimings.timed("filter." + getFilterName(filter), filter), order);
+    }
+
+    /**
+     * Returns the name of the provided route filter. The filters generated
+     * by the filter factories are described as "[Name ...]", which gives the
+     * name of their factory. Any other filters are named after their class.
+     *
+     * @param filter the route filter
+     * @return the name of the filter
+     */
+    protected static String getFilterName(GatewayFilter filter) {
+        final GatewayFilter delegate = filter instanceof OrderedGatewayFilter orderedGatewayFilter
+                ? orderedGatewayFilter.getDelegate()
+                : filter;
+        final Matcher matcher = FILTER_NAME.matcher(String.valueOf(delegate));
+        if(matcher.find()) {
+            return matcher.group(1);
+        }
+        final String className = delegate.getClass().getName();
+        return className.substring(className.lastIndexOf('.') + 1).replaceAll("\\$.*", "");
+    }
+
+}
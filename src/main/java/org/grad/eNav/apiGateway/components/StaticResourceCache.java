@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.utils.StaticContent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * The Static Resource Cache Component.
+ *
+ * Loads all the static resources of the gateway (i.e. the classpath
+ * "static" directory) into memory at startup, along with their precompressed
+ * variants, so that the "/static/**" requests are served straight from
+ * memory. Since the resources cannot change while the gateway is running,
+ * the versioned ones, i.e. with a content hash in their filename or a "v"
+ * query parameter, are served with long-lived immutable caching headers.
+ * The unversioned ones however, e.g. the favicon, keep the same URL across
+ * releases, so they are served with a revalidating policy instead, which
+ * is cheap thanks to their entity tags.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Slf4j
+public class StaticResourceCache {
+
+    // Class Variables
+    public static final String LOCATION = "classpath:static/";
+    public static final String PATH_PREFIX = "/static/";
+    public static final String VERSION_PARAMETER = "v";
+    public static final Pattern VERSIONED_FILENAME = Pattern.compile(".*[.-][0-9a-fA-F]{8,}\\.[^./]+$");
+    private final Map<String, StaticContent> resources = new ConcurrentHashMap<>();
+
+    /**
+     * The Cache-Control header of the versioned static resources.
+     */
+    @Value("${gla.rad.api-gateway.resources.static.cache-control:public, max-age=31536000, immutable}")
+    private String cacheControl;
+
+    /**
+     * The Cache-Control header of the unversioned static resources.
+     */
+    @Value("${gla.rad.api-gateway.resources.static.unversioned-cache-control:public, no-cache}")
+    private String unversionedCacheControl;
+
+    /**
+     * Loads all the static resources into memory.
+     *
+     * @throws IOException if the static resources cannot be read
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        final Resource root = new PathMatchingResourcePatternResolver().getResource(LOCATION);
+        final String rootUrl = root.getURL().toString();
+        for(Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION + "**")) {
+            if(!resource.isReadable() || Objects.isNull(resource.getFilename()) || resource.getURL().toString().endsWith("/")) {
+                continue;
+            }
+            final String path = resource.getURL().toString().substring(rootUrl.length());
+            try(InputStream inputStream = resource.getInputStream()) {
+                final MediaType mediaType = MediaTypeFactory.getMediaType(resource).orElse(MediaType.APPLICATION_OCTET_STREAM);
+                this.resources.put(path, new StaticContent(inputStream.readAllBytes(), mediaType));
+            }
+        }
+        log.info("Loaded {} static resources into memory", this.resources.size());
+    }
+
+    /**
+     * Serves the static resource of the provided request from memory.
+     *
+     * @param request the server request
+     * @return the server response
+     */
+    public Mono<ServerResponse> handle(ServerRequest request) {
+        final String path = request.path().startsWith(PATH_PREFIX) ? request.path().substring(PATH_PREFIX.length()) : request.path();
+        final StaticContent content = this.resources.get(path);
+        if(Objects.isNull(content)) {
+            return ServerResponse.notFound().build();
+        }
+        return content.toServerResponse(request, isVersioned(request, path) ? this.cacheControl : this.unversionedCacheControl);
+    }
+
+    /**
+     * Checks whether the provided request addresses a versioned static
+     * resource, i.e. one whose URL changes whenever its content does, so
+     * that it can be safely cached as immutable.
+     *
+     * @param request   the server request
+     * @param path      the resource path
+     * @return whether the requested resource is versioned
+     */
+    protected static boolean isVersioned(ServerRequest request, String path) {
+        return request.queryParam(VERSION_PARAMETER).isPresent()
+                || VERSIONED_FILENAME.matcher(path).matches();
+    }
+
+}
@@ -25,13 +25,11 @@ import org.springframework.cloud.gateway.support.GatewayToStringStyler;
 import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * The StripContextAndPrefixGatewayFilterFactory Class.
@@ -114,33 +112,18 @@ public class StripContextAndPrefixGatewayFilterFactory extends AbstractGatewayFi
             public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
                 ServerHttpRequest request = exchange.getRequest();
                 ServerWebExchangeUtils.addOriginalRequestUrl(exchange, request.getURI());
-                String path = request.getURI().getRawPath();
-                String[] originalParts = StringUtils.tokenizeToStringArray(path, "/");
-                StringBuilder newPath = new StringBuilder("/");
-
-                for(int i = 0; i < originalParts.length; ++i) {
-                    if (i >= config.getParts()) {
-                        if (newPath.length() > 1) {
-                            newPath.append('/');
-                        }
-
-                        newPath.append(originalParts[i]);
-                    }
-                }
 
-                if (newPath.length() > 1 && path.endsWith("/")) {
-                    newPath.append('/');
-                }
+                // Compute the new path and the matching context path in one go
+                final String newPath = stripPath(request.getURI().getRawPath(), config.getParts());
+                final String contextPath = newPath.length() > 1 && newPath.charAt(newPath.length() - 1) == '/' ?
+                        newPath.substring(0, newPath.length() - 1) :
+                        newPath;
 
-                // Generate the suffix path
-                String contextPath = "/" + Arrays
-                        .stream(StringUtils.tokenizeToStringArray(path, "/"))
-                        .skip(config.getParts())
-                        .collect(Collectors.joining("/"));
-
-                ServerHttpRequest newRequest = request.mutate().contextPath(contextPath).path(newPath.toString()).build();
+                ServerHttpRequest newRequest = request.mutate().contextPath(contextPath).path(newPath).build();
                 exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR, newRequest.getURI());
-                log.debug("New request URI: " + newRequest.getURI().toString());
+                if(log.isDebugEnabled()) {
+                    log.debug("New request URI: {}", newRequest.getURI());
+                }
                 return chain.filter(exchange.mutate().request(newRequest).build());
             }
 
@@ -150,4 +133,57 @@ public class StripContextAndPrefixGatewayFilterFactory extends AbstractGatewayFi
         };
     }
 
+    /**
+     * Strips the first N non-empty parts of the provided raw path in a single
+     * pass. Empty parts (i.e. repeated slashes) are dropped and a trailing
+     * slash is retained, as long as something remains after the stripping.
+     * In the common case where the remaining path is already clean, it is
+     * returned as a substring of the original without any further copying.
+     *
+     * @param path  the raw request path
+     * @param parts the number of parts to be stripped
+     * @return the stripped path, which always starts with a slash
+     */
+    public static String stripPath(final String path, final int parts) {
+        final int length = path.length();
+
+        // Skip the first N non-empty parts
+        int index = 0;
+        for(int skipped = 0; skipped < parts && index < length; skipped++) {
+            while(index < length && path.charAt(index) == '/') {
+                index++;
+            }
+            while(index < length && path.charAt(index) != '/') {
+                index++;
+            }
+        }
+
+        // Fast path - the remainder is clean, so just reuse it
+        if(index >= length) {
+            return "/";
+        }
+        if(path.charAt(index) == '/' && path.indexOf("//", index) < 0) {
+            return index == 0 ? path : path.substring(index);
+        }
+
+        // Otherwise rebuild the remainder, dropping the empty parts
+        final StringBuilder newPath = new StringBuilder(length - index + 1);
+        for(int i = index; i < length; i++) {
+            final char c = path.charAt(i);
+            if(c != '/') {
+                if(i == index || path.charAt(i - 1) == '/') {
+                    newPath.append('/');
+                }
+                newPath.append(c);
+            }
+        }
+        if(newPath.isEmpty()) {
+            return "/";
+        }
+        if(path.charAt(length - 1) == '/') {
+            newPath.append('/');
+        }
+        return newPath.toString();
+    }
+
 }
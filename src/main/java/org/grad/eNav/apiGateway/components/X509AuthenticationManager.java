@@ -17,22 +17,16 @@
 package org.grad.eNav.apiGateway.components;
 
 import lombok.extern.slf4j.Slf4j;
-import org.apache.logging.log4j.util.Strings;
-import org.bouncycastle.asn1.ASN1ObjectIdentifier;
-import org.bouncycastle.asn1.x500.X500Name;
-import org.bouncycastle.asn1.x500.style.BCStyle;
-import org.bouncycastle.asn1.x500.style.IETFUtils;
-import org.springframework.beans.factory.annotation.Value;
+import org.grad.eNav.apiGateway.models.CertificateIdentity;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 
 import jakarta.annotation.PostConstruct;
-import javax.security.auth.x500.X500Principal;
+import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -47,8 +41,14 @@ public class X509AuthenticationManager implements ReactiveAuthenticationManager
     /**
      * The allowed organisation MRNs.
      */
-    @Value("${gla.rad.api-gateway.x509.organisation.mrn:}")
-    private String allowedOrganisationMrn;
+    @Autowired
+    OrganisationMrnAccessList organisationMrnAccessList;
+
+    /**
+     * The certificate revocation checker.
+     */
+    @Autowired
+    CertificateRevocationChecker certificateRevocationChecker;
 
     /**
      * The Component initialisation function.
@@ -69,19 +69,32 @@ public class X509AuthenticationManager implements ReactiveAuthenticationManager
     public Mono<Authentication> authenticate(Authentication authentication) {
         // Make sure we have what appears to be valid authentication credentials
         if(Objects.nonNull(authentication.getCredentials()) && (authentication.getCredentials() instanceof X509Certificate)) {
-            // Retrieve the principles from the authorisation credentials
-            final X500Principal x500Principal = ((X509Certificate)authentication.getCredentials()).getSubjectX500Principal();
-            final Map<ASN1ObjectIdentifier,String> x500PrincipalMap = this.parseX509Principal(x500Principal);
+            // Retrieve the certificate identity, preferably the one already
+            // resolved by the authentication converters
+            final CertificateIdentity certificateIdentity;
+            try {
+                certificateIdentity = this.getCertificateIdentity(authentication);
+            } catch (CertificateEncodingException ex) {
+                log.error(ex.getMessage());
+                authentication.setAuthenticated(false);
+                return Mono.just(authentication);
+            }
 
             // Put some debugging cause this is a really sticking point
             log.debug("X509 authentication request from {} for organisation {} received",
-                    x500PrincipalMap.get(BCStyle.CN),
-                    x500PrincipalMap.get(BCStyle.O));
+                    certificateIdentity.cn(),
+                    certificateIdentity.o());
+
+            // Revoked certificates should never be allowed in
+            if(this.certificateRevocationChecker.isRevoked((X509Certificate) authentication.getCredentials())) {
+                log.debug("The X509 certificate of {} has been revoked", certificateIdentity.cn());
+                authentication.setAuthenticated(false);
+                return Mono.just(authentication);
+            }
 
             // If the allowed organisations are restricted, apply that to the access
-            if(Strings.isNotBlank(this.allowedOrganisationMrn)) {
-                log.debug("Allowed organisations are with MRN prefix {}", this.allowedOrganisationMrn);
-                authentication.setAuthenticated(x500PrincipalMap.get(BCStyle.O).startsWith(this.allowedOrganisationMrn));
+            if(this.organisationMrnAccessList.isRestricted()) {
+                authentication.setAuthenticated(this.organisationMrnAccessList.isAllowed(certificateIdentity.o()));
             }
         } else {
             authentication.setAuthenticated(false);
@@ -93,24 +106,19 @@ public class X509AuthenticationManager implements ReactiveAuthenticationManager
     }
 
     /**
-     * Parses the provided X.509 principal into a nicely formatted map.
+     * Retrieves the certificate identity of the provided X.509 authentication.
+     * If this has already been resolved by the authentication converters, it
+     * will be found in the authentication details, otherwise it will be
+     * computed from the X.509 certificate credentials.
      *
-     * @param x500Principal the X.509 principal
-     * @return the generated map
+     * @param authentication the X.509 authentication
+     * @return the certificate identity
+     * @throws CertificateEncodingException if the certificate cannot be encoded
      */
-    Map<ASN1ObjectIdentifier,String> parseX509Principal(X500Principal x500Principal) {
-        // Initialise the map
-        final Map<ASN1ObjectIdentifier, String> principalMap = new HashMap();
-
-        // Parse using X500Name
-        X500Name x500name = new X500Name(x500Principal.getName(X500Principal.RFC1779));
-        principalMap.put(BCStyle.UID, IETFUtils.valueToString(x500name.getRDNs(BCStyle.UID)[0].getFirst().getValue()));
-        principalMap.put(BCStyle.CN, IETFUtils.valueToString(x500name.getRDNs(BCStyle.CN)[0].getFirst().getValue()));
-        principalMap.put(BCStyle.O, IETFUtils.valueToString(x500name.getRDNs(BCStyle.O)[0].getFirst().getValue()));
-        principalMap.put(BCStyle.OU, IETFUtils.valueToString(x500name.getRDNs(BCStyle.OU)[0].getFirst().getValue()));
-        principalMap.put(BCStyle.C, IETFUtils.valueToString(x500name.getRDNs(BCStyle.C)[0].getFirst().getValue()));
-
-        // Return the map
-        return principalMap;
+    CertificateIdentity getCertificateIdentity(Authentication authentication) throws CertificateEncodingException {
+        if(authentication.getDetails() instanceof CertificateIdentity certificateIdentity) {
+            return certificateIdentity;
+        }
+        return CertificateIdentity.of((X509Certificate) authentication.getCredentials());
     }
 }
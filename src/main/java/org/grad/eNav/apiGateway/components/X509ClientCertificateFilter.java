@@ -17,11 +17,7 @@
 package org.grad.eNav.apiGateway.components;
 
 import lombok.extern.slf4j.Slf4j;
-import org.bouncycastle.asn1.ASN1ObjectIdentifier;
-import org.bouncycastle.asn1.x500.AttributeTypeAndValue;
-import org.bouncycastle.asn1.x500.RDN;
-import org.bouncycastle.asn1.x500.X500Name;
-import org.bouncycastle.asn1.x500.style.IETFUtils;
+import org.grad.eNav.apiGateway.models.CertificateIdentity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
@@ -30,11 +26,9 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
-import javax.security.auth.x500.X500Principal;
+
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.X509Certificate;
-import java.util.Arrays;
-import java.util.Base64;
 import java.util.Optional;
 
 /**
@@ -54,7 +48,6 @@ public class X509ClientCertificateFilter implements WebFilter {
     // Static Variables
     private static final String MRN_HEADER = "X-SECOM-MRN";
     private static final String CERT_HEADER = "X-SECOM-CERT";
-    private static final String ANS10_MRN_OBJECT_IDENTIFIER = "0.9.2342.19200300.100.1.1";
 
     /**
      * This operation implements the X509 client certificate filtering process
@@ -74,32 +67,21 @@ public class X509ClientCertificateFilter implements WebFilter {
         // client certificate off of it to populate the forwarded message
         // header.
         return ReactiveSecurityContextHolder.getContext()
-                .map(SecurityContext::getAuthentication)
-                .map(Authentication::getCredentials)
-                .defaultIfEmpty(Mono.empty())
-                .flatMap(x509Certificate -> {
+                .mapNotNull(SecurityContext::getAuthentication)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(optionalAuthentication -> {
                     // Usr the SECOM client certificate to populate the headers
-                    return Optional.ofNullable(x509Certificate)
-                            .filter(X509Certificate.class::isInstance)
-                            .map(credentials -> {
-                                final X509Certificate clientX509Certificate = (X509Certificate) credentials;
-                                final X500Name x500Name = new X500Name(clientX509Certificate.getSubjectX500Principal()
-                                        .getName(X500Principal.RFC2253));
-                                final String mrn = Arrays.stream(x500Name.getRDNs(new ASN1ObjectIdentifier(ANS10_MRN_OBJECT_IDENTIFIER)))
-                                        .map(RDN::getFirst)
-                                        .map(AttributeTypeAndValue::getValue)
-                                        .map(IETFUtils::valueToString)
-                                        .findFirst()
+                    return optionalAuthentication
+                            .filter(authentication -> authentication.getCredentials() instanceof X509Certificate)
+                            .map(authentication -> {
+                                // Reuse the identity resolved during the authentication
+                                final CertificateIdentity certificateIdentity = this.getCertificateIdentity(authentication);
+                                final String mrn = Optional.ofNullable(certificateIdentity)
+                                        .map(CertificateIdentity::mrn)
                                         .orElse(null);
-                                final String encodedClientX509Certificate = Optional.of(clientX509Certificate)
-                                        .map(c -> {
-                                            try {
-                                                return c.getEncoded();
-                                            } catch (CertificateEncodingException ex) {
-                                                return null;
-                                            }
-                                        })
-                                        .map(Base64.getEncoder()::encodeToString)
+                                final String encodedClientX509Certificate = Optional.ofNullable(certificateIdentity)
+                                        .map(CertificateIdentity::encoded)
                                         .orElse(null);
 
                                 // Append to the request headers if certificate found
@@ -119,4 +101,23 @@ public class X509ClientCertificateFilter implements WebFilter {
                 });
     }
 
+    /**
+     * Retrieves the certificate identity of the provided authentication. This
+     * should normally have been resolved already during the authentication
+     * and placed in the authentication details.
+     *
+     * @param authentication the current X.509 authentication
+     * @return the certificate identity or null if it cannot be generated
+     */
+    private CertificateIdentity getCertificateIdentity(Authentication authentication) {
+        if(authentication.getDetails() instanceof CertificateIdentity certificateIdentity) {
+            return certificateIdentity;
+        }
+        try {
+            return CertificateIdentity.of((X509Certificate) authentication.getCredentials());
+        } catch (CertificateEncodingException ex) {
+            return null;
+        }
+    }
+
 }
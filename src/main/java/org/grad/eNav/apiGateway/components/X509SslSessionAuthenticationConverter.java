@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.models.CertificateIdentity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.SslInfo;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.preauth.PreAuthenticatedAuthenticationToken;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.Objects;
+
+/**
+ * The X.509 SSL Session Authentication Converter.
+ *
+ * This helper class is used to convert the client X.509 certificate of the
+ * SSL session (i.e. direct mTLS requests) into the actual authentication
+ * token used for the X.509 authentication. The certificate identity is
+ * resolved once per SSL session and attached to the authentication token
+ * details, so that it can be reused further down the filter chain.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Slf4j
+public class X509SslSessionAuthenticationConverter implements ServerAuthenticationConverter {
+
+    /**
+     * The certificate identity resolver.
+     */
+    private final CertificateIdentityResolver certificateIdentityResolver;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param certificateIdentityResolver the certificate identity resolver
+     */
+    public X509SslSessionAuthenticationConverter(CertificateIdentityResolver certificateIdentityResolver) {
+        this.certificateIdentityResolver = certificateIdentityResolver;
+    }
+
+    /**
+     * This is the actual function that performs the authentication token
+     * conversion from the client certificate of the SSL session.
+     *
+     * @param exchange the server web-exchange
+     * @return the authentication token to be used
+     */
+    @Override
+    public Mono<Authentication> convert(ServerWebExchange exchange) {
+        final ServerHttpRequest request = exchange.getRequest();
+        final SslInfo sslInfo = request.getSslInfo();
+        if(Objects.isNull(sslInfo) || Objects.isNull(sslInfo.getPeerCertificates()) || sslInfo.getPeerCertificates().length == 0) {
+            return Mono.empty();
+        }
+
+        // Get the client certificate and its identity
+        final X509Certificate certificate = sslInfo.getPeerCertificates()[0];
+        final CertificateIdentity identity;
+        try {
+            identity = this.certificateIdentityResolver.resolve(request, certificate);
+        } catch (CertificateEncodingException ex) {
+            log.error(ex.getMessage());
+            return Mono.empty();
+        }
+        if(Objects.isNull(identity.ou())) {
+            return Mono.error(new BadCredentialsException("No OU principal found in the client certificate subject"));
+        }
+
+        // Finally assign the new authentication token to be used
+        final PreAuthenticatedAuthenticationToken authentication = new PreAuthenticatedAuthenticationToken(identity.ou(), certificate);
+        authentication.setDetails(identity);
+        return Mono.just(authentication);
+    }
+
+}
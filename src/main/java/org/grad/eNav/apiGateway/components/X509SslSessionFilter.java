@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+
+/**
+ * The X.509 SSL Session Filter
+ *
+ * This filter handles the direct mTLS X.509 authentication, where the client
+ * certificate is provided through the SSL session of the connection. It
+ * replaces the default X.509 authentication support so that the client
+ * certificate identity is only computed once per SSL session.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Slf4j
+public class X509SslSessionFilter extends AuthenticationWebFilter {
+
+    /**
+     * Implements the filter's functionality where the client certificate of
+     * the SSL session is picked up and authenticated.
+     *
+     * @param authenticationManager The current X.509 authentication manager
+     * @param certificateIdentityResolver The certificate identity resolver
+     */
+    public X509SslSessionFilter(@Autowired X509AuthenticationManager authenticationManager,
+                                @Autowired CertificateIdentityResolver certificateIdentityResolver) {
+        super(authenticationManager);
+
+        // Set the authentication converter
+        this.setServerAuthenticationConverter(new X509SslSessionAuthenticationConverter(certificateIdentityResolver));
+    }
+
+}
@@ -16,34 +16,89 @@
 
 package org.grad.eNav.apiGateway.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.utils.MeteredTaskDecorator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 /**
  * The AsynchronousConfig Class
  *
- * This is a simple configuration that enables asynchronous operations and
- * provide a task executor for them.
+ * This is a simple configuration that enables asynchronous and scheduled
+ * operations and provide a task executor for them.
+ * <p/>
+ * The task executor can operate in two modes. The "platform" mode (the
+ * default) uses a fixed pool of platform threads, while the "virtual" mode
+ * starts a new virtual thread per task, guarded by a concurrency limit. In
+ * both cases the executor tasks are measured through the "async.tasks"
+ * metrics.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
+@Slf4j
 @Configuration
 @EnableAsync
+@EnableScheduling
 public class AsynchronousConfig {
 
+    /**
+     * The task executor mode, i.e. "platform" or "virtual".
+     */
+    @Value("${gla.rad.api-gateway.async.mode:platform}")
+    private String mode;
+
+    /**
+     * The thread pool size of the platform mode.
+     */
+    @Value("${gla.rad.api-gateway.async.pool-size:100}")
+    private int poolSize;
+
+    /**
+     * The maximum concurrent tasks of the virtual mode.
+     */
+    @Value("${gla.rad.api-gateway.async.concurrency-limit:1000}")
+    private int concurrencyLimit;
+
     /**
      * The default task executor for all asynchronous operations.
      *
+     * @param meterRegistry the meter registry
      * @return The default task executor for all asynchronous operations
      */
     @Bean("taskExecutor")
-    public TaskExecutor taskExecutor() {
+    public TaskExecutor taskExecutor(MeterRegistry meterRegistry) {
+        final boolean virtual = "virtual".equalsIgnoreCase(this.mode);
+        final MeteredTaskDecorator taskDecorator = new MeteredTaskDecorator(meterRegistry, Tags.of(
+                "name", "taskExecutor",
+                "mode", virtual ? "virtual" : "platform"));
+
+        // Use a virtual thread per task, with a concurrency limit, which
+        // blocks the submitting thread rather than rejecting any tasks
+        if(virtual) {
+            log.info("Using a virtual thread task executor with a concurrency limit of {}", this.concurrencyLimit);
+            SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("worker-");
+            taskExecutor.setVirtualThreads(true);
+            taskExecutor.setConcurrencyLimit(this.concurrencyLimit);
+            taskExecutor.setTaskDecorator(taskDecorator);
+            return taskExecutor;
+        }
+
+        // Otherwise use the platform thread pool
         ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
-        taskExecutor.setCorePoolSize(100);
+        taskExecutor.setCorePoolSize(this.poolSize);
         taskExecutor.setThreadNamePrefix("worker-");
+        taskExecutor.setTaskDecorator(taskDecorator);
+        taskExecutor.setRejectedExecutionHandler(taskDecorator.rejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy()));
         return taskExecutor;
     }
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The Connection Pool Properties.
+ *
+ * Defines the dedicated upstream connection pools of individual services
+ * (by their discovery service ID) or routes (by their route ID). Any service
+ * or route not listed here keeps using the default gateway connection pool.
+ * For example:
+ * <pre>
+ * gla.rad.api-gateway.connection-pools.services.s100-service.max-connections=50
+ * gla.rad.api-gateway.connection-pools.services.s100-service.pending-acquire-timeout=5s
+ * gla.rad.api-gateway.connection-pools.services.s100-service.leasing-strategy=lifo
+ * </pre>
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "gla.rad.api-gateway.connection-pools")
+public class ConnectionPoolProperties {
+
+    /**
+     * The connection pool settings per service or route ID.
+     */
+    private Map<String, Pool> services = new LinkedHashMap<>();
+
+    /**
+     * The Connection Pool Settings.
+     */
+    @Data
+    public static class Pool {
+
+        /**
+         * The maximum number of connections.
+         */
+        private int maxConnections = 100;
+
+        /**
+         * The maximum number of pending connection acquisitions (-1 for no
+         * limit).
+         */
+        private int pendingAcquireMaxCount = -1;
+
+        /**
+         * The maximum time to wait for a connection acquisition.
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(45);
+
+        /**
+         * The connection leasing strategy, i.e. "fifo" or "lifo".
+         */
+        private String leasingStrategy = "fifo";
+
+        /**
+         * The maximum time a connection can remain idle in the pool.
+         */
+        private Duration maxIdleTime;
+
+        /**
+         * The maximum lifetime of a connection.
+         */
+        private Duration maxLifeTime;
+
+        /**
+         * The interval of the background eviction of the expired connections.
+         */
+        private Duration evictionInterval;
+
+    }
+
+}
@@ -17,15 +17,23 @@
 package org.grad.eNav.apiGateway.config;
 
 import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.components.RingBufferHttpExchangeRepository;
+import org.grad.eNav.apiGateway.components.StaticResourceCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.web.exchanges.HttpExchangeRepository;
-import org.springframework.boot.actuate.web.exchanges.InMemoryHttpExchangeRepository;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
 /**
  * The Global Configuration.
  *
@@ -47,24 +55,52 @@ public class GlobalConfig {
      * more info see:
      * </p>
      * <a href="https://github.com/spring-projects/spring-boot/wiki/Spring-Boot-2.2.0-M3-Release-Notes#actuator-http-trace-and-auditing-are-disabled-by-default">...</a>
+     * <p>
+     * Instead of the default in-memory repository, a lock-free ring buffer is
+     * used, which only records a sample of the exchanges, apart from the
+     * failed and slow ones, and can also spill them into a memory-mapped
+     * file, so that it can be left on under production load. By default,
+     * one in ten of the remaining exchanges is sampled, as in the provided
+     * docker configuration.
+     * </p>
      *
-     * @return the in memory HTTP trance repository
+     * @param capacity          the number of exchanges to retain
+     * @param samplingRate      the fraction of the exchanges to be recorded
+     * @param errorStatus       the status from which exchanges are always recorded
+     * @param slowThreshold     the time taken from which exchanges are always recorded
+     * @param spillFile         the memory-mapped file to spill the exchanges into, if any
+     * @param spillSize         the size of the memory-mapped file
+     * @return the ring buffer HTTP trace repository
+     * @throws IOException if the memory-mapped file cannot be opened
      */
     @ConditionalOnProperty(value = "management.endpoint.httpexchanges.access", havingValue = "unrestricted")
     @Bean
-    public HttpExchangeRepository httpTraceRepository() {
-        return new InMemoryHttpExchangeRepository();
+    public HttpExchangeRepository httpTraceRepository(@Value("${gla.rad.api-gateway.http-exchanges.capacity:1024}") int capacity,
+                                                      @Value("${gla.rad.api-gateway.http-exchanges.sampling-rate:0.1}") double samplingRate,
+                                                      @Value("${gla.rad.api-gateway.http-exchanges.error-status:500}") int errorStatus,
+                                                      @Value("${gla.rad.api-gateway.http-exchanges.slow-threshold:1s}") Duration slowThreshold,
+                                                      @Value("${gla.rad.api-gateway.http-exchanges.spill-file:}") String spillFile,
+                                                      @Value("${gla.rad.api-gateway.http-exchanges.spill-size:64MB}") DataSize spillSize) throws IOException {
+        return new RingBufferHttpExchangeRepository(
+                capacity,
+                samplingRate,
+                errorStatus,
+                slowThreshold,
+                StringUtils.hasText(spillFile) ? Path.of(spillFile) : null,
+                spillSize.toBytes());
     }
 
     /**
      * Add a pool of static resources to server the favicon and other required
-     * images, files etc.
+     * images, files etc. The resources are served from memory, along with
+     * their precompressed variants.
      *
+     * @param staticResourceCache the in-memory static resource cache
      * @return the static router function handling
      */
     @Bean
-    RouterFunction staticResourceLocator(){
-        return RouterFunctions.resources("/static/**", new ClassPathResource("static/"));
+    RouterFunction staticResourceLocator(StaticResourceCache staticResourceCache){
+        return RouterFunctions.route(RequestPredicates.GET(StaticResourceCache.PATH_PREFIX + "**"), staticResourceCache::handle);
     }
 
 }
@@ -16,22 +16,65 @@
 
 package org.grad.eNav.apiGateway.config;
 
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.reactor.netty.NettyReactiveWebServerFactory;
 import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 /**
  * The Netty Configuration.
  *
  * A class to customize the netty configuration and allow larger web-socket
  * content sizes.
+ * <p/>
+ * It also provides the transport tuning of the server, i.e. the event loop
+ * threads, the native epoll transport (on the x86_64 and aarch64 Linux
+ * hosts, with a fallback to NIO elsewhere), the socket options, the
+ * connection timeouts, the keep-alive limits and the HTTP/2 settings. All these are driven by the
+ * "gla.rad.api-gateway.netty" properties and are reported through the
+ * "netty" actuator endpoint.
+ * <p/>
+ * If a specific thread count is requested, the event loops are provided
+ * through a dedicated {@link ReactorResourceFactory} bean, which the server
+ * picks up instead of the global Reactor Netty resources, and which also
+ * disposes the loops on shutdown. The gateway HTTP client is customised to
+ * run on the same loops, so that it remains colocated with the server.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
+@Slf4j
+@Getter
 @Configuration
 public class NettyConfiguration implements WebServerFactoryCustomizer<NettyReactiveWebServerFactory> {
 
+    // Class Variables
+    private static final String WRITE_TIMEOUT_HANDLER = "apiGatewayWriteTimeoutHandler";
+
+    /**
+     * The Reactor Resource Factory.
+     */
+    @Autowired
+    @Getter(AccessLevel.NONE)
+    private ObjectProvider<ReactorResourceFactory> reactorResourceFactory;
+
     /**
      * The Maximum HTTP Header Size.
      */
@@ -50,6 +93,118 @@ public class NettyConfiguration implements WebServerFactoryCustomizer<NettyReact
     @Value("${server.h2c-max-content-length:1000000}")
     private int h2cMaxContentLength;
 
+    /**
+     * The Event Loop Worker Thread Count (0 for the Reactor Netty default).
+     */
+    @Value("${gla.rad.api-gateway.netty.worker-count:0}")
+    private int workerCount;
+
+    /**
+     * The Event Loop Selector Thread Count (0 to share the worker threads).
+     */
+    @Value("${gla.rad.api-gateway.netty.select-count:0}")
+    private int selectCount;
+
+    /**
+     * Whether to prefer the native epoll transport over NIO.
+     */
+    @Value("${gla.rad.api-gateway.netty.native:true}")
+    private boolean preferNative;
+
+    /**
+     * Whether to enable SO_REUSEPORT (epoll transport only).
+     */
+    @Value("${gla.rad.api-gateway.netty.reuse-port:false}")
+    private boolean reusePort;
+
+    /**
+     * Whether to enable TCP_NODELAY on the accepted connections.
+     */
+    @Value("${gla.rad.api-gateway.netty.tcp-no-delay:true}")
+    private boolean tcpNoDelay;
+
+    /**
+     * The Server Socket Accept Backlog (0 for the system default).
+     */
+    @Value("${gla.rad.api-gateway.netty.backlog:0}")
+    private int backlog;
+
+    /**
+     * The Idle Connection Timeout.
+     */
+    @Value("${gla.rad.api-gateway.netty.idle-timeout:#{null}}")
+    private Duration idleTimeout;
+
+    /**
+     * The Request Read Timeout.
+     */
+    @Value("${gla.rad.api-gateway.netty.read-timeout:#{null}}")
+    private Duration readTimeout;
+
+    /**
+     * The Response Write Timeout.
+     */
+    @Value("${gla.rad.api-gateway.netty.write-timeout:#{null}}")
+    private Duration writeTimeout;
+
+    /**
+     * The Maximum Requests per Keep-Alive Connection (0 for unlimited).
+     */
+    @Value("${gla.rad.api-gateway.netty.max-keep-alive-requests:0}")
+    private int maxKeepAliveRequests;
+
+    /**
+     * The Maximum HTTP/2 Concurrent Streams per Connection (0 for the default).
+     */
+    @Value("${gla.rad.api-gateway.netty.http2.max-concurrent-streams:0}")
+    private long http2MaxConcurrentStreams;
+
+    /**
+     * The HTTP/2 Initial Window Size (0 for the default).
+     */
+    @Value("${gla.rad.api-gateway.netty.http2.initial-window-size:0}")
+    private int http2InitialWindowSize;
+
+    /**
+     * Provides the Reactor resources of the server and the gateway HTTP
+     * client, with the configured event loop thread counts. The loops are
+     * created and disposed along with the factory, instead of replacing the
+     * global Reactor Netty resources.
+     *
+     * @return the reactor resource factory
+     */
+    @Bean
+    @ConditionalOnExpression("${gla.rad.api-gateway.netty.worker-count:0} > 0")
+    public ReactorResourceFactory reactorResourceFactory() {
+        log.info("Using {} Netty event loop worker threads", this.workerCount);
+        final ReactorResourceFactory resourceFactory = new ReactorResourceFactory();
+        resourceFactory.setUseGlobalResources(false);
+        resourceFactory.setLoopResourcesSupplier(() -> LoopResources.create("api-gateway-http",
+                this.selectCount > 0 ? this.selectCount : -1,
+                this.workerCount,
+                true));
+        return resourceFactory;
+    }
+
+    /**
+     * Runs the gateway HTTP client on the dedicated event loops, so that it
+     * remains colocated with the server.
+     *
+     * @param reactorResourceFactory the reactor resource factory
+     * @return the gateway HTTP client customizer
+     */
+    @Bean
+    @ConditionalOnExpression("${gla.rad.api-gateway.netty.worker-count:0} > 0")
+    public HttpClientCustomizer loopResourcesHttpClientCustomizer(ReactorResourceFactory reactorResourceFactory) {
+        return httpClient -> httpClient.runOn(reactorResourceFactory.getLoopResources(), this.preferNative);
+    }
+
+    /**
+     * Customises the netty web server factory with the configured request
+     * decoder and transport settings.
+     *
+     * @param container the netty web server factory
+     */
     public void customize(NettyReactiveWebServerFactory container) {
         container.addServerCustomizers(
                 httpServer -> httpServer.httpRequestDecoder(
@@ -59,7 +214,37 @@ public class NettyConfiguration implements WebServerFactoryCustomizer<NettyReact
                             httpRequestDecoderSpec.h2cMaxContentLength(h2cMaxContentLength);
                             return httpRequestDecoderSpec;
                         }
-                )
+                ),
+                httpServer -> httpServer
+                        .runOn(this.reactorResourceFactory.getObject().getLoopResources(), this.preferNative)
+                        .childOption(ChannelOption.TCP_NODELAY, this.tcpNoDelay),
+                httpServer -> this.backlog > 0 ?
+                        httpServer.option(ChannelOption.SO_BACKLOG, this.backlog) :
+                        httpServer,
+                httpServer -> this.reusePort && this.preferNative && Epoll.isAvailable() ?
+                        httpServer.option(EpollChannelOption.SO_REUSEPORT, true) :
+                        httpServer,
+                httpServer -> Objects.nonNull(this.idleTimeout) ?
+                        httpServer.idleTimeout(this.idleTimeout) :
+                        httpServer,
+                httpServer -> Objects.nonNull(this.readTimeout) ?
+                        httpServer.readTimeout(this.readTimeout) :
+                        httpServer,
+                httpServer -> Objects.nonNull(this.writeTimeout) ?
+                        httpServer.doOnConnection(connection -> connection.addHandlerFirst(WRITE_TIMEOUT_HANDLER,
+                                new WriteTimeoutHandler(this.writeTimeout.toMillis(), TimeUnit.MILLISECONDS))) :
+                        httpServer,
+                httpServer -> this.maxKeepAliveRequests > 0 ?
+                        httpServer.maxKeepAliveRequests(this.maxKeepAliveRequests) :
+                        httpServer,
+                httpServer -> httpServer.http2Settings(http2SettingsSpec -> {
+                    if(this.http2MaxConcurrentStreams > 0) {
+                        http2SettingsSpec.maxConcurrentStreams(this.http2MaxConcurrentStreams);
+                    }
+                    if(this.http2InitialWindowSize > 0) {
+                        http2SettingsSpec.initialWindowSize(this.http2InitialWindowSize);
+                    }
+                })
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.config;
+
+import org.grad.eNav.apiGateway.models.CertificateIdentity;
+import org.grad.eNav.apiGateway.utils.IdentityUtils;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Optional;
+
+/**
+ * The Rate Limiter Configuration.
+ *
+ * Defines the key resolvers that can be used by the "RequestRateLimiter"
+ * gateway filter, alongside the local rate limiter. The keys are always
+ * taken from the authenticated principal, and never from headers that a
+ * client could set itself. Requests without a key are rejected by the
+ * filter, unless the "deny-empty-key" option is disabled.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Configuration
+public class RateLimiterConfig {
+
+    /**
+     * Resolves the MRN of the X.509 client certificate, i.e. the same MRN
+     * that is forwarded to the micro-services in the X-SECOM-MRN header.
+     *
+     * @return the MRN key resolver
+     */
+    @Bean
+    public KeyResolver mrnKeyResolver() {
+        return exchange -> exchange.getPrincipal()
+                .filter(Authentication.class::isInstance)
+                .map(principal -> ((Authentication) principal).getDetails())
+                .filter(CertificateIdentity.class::isInstance)
+                .mapNotNull(details -> ((CertificateIdentity) details).mrn());
+    }
+
+    /**
+     * Resolves the subject of the JWT bearer token.
+     *
+     * @return the JWT subject key resolver
+     */
+    @Bean
+    public KeyResolver subjectKeyResolver() {
+        return exchange -> exchange.getPrincipal()
+                .filter(Authentication.class::isInstance)
+                .map(principal -> ((Authentication) principal).getPrincipal())
+                .filter(Jwt.class::isInstance)
+                .mapNotNull(jwt -> ((Jwt) jwt).getSubject());
+    }
+
+    /**
+     * Resolves the client IP address.
+     *
+     * @return the client IP key resolver
+     */
+    @Bean
+    public KeyResolver clientIpKeyResolver() {
+        return exchange -> Mono.justOrEmpty(getClientIp(exchange));
+    }
+
+    /**
+     * Resolves the caller identity, i.e. the certificate MRN or the JWT
+     * subject, falling back to the client IP address for the anonymous
+     * requests. This is the default key resolver.
+     *
+     * @return the identity key resolver
+     */
+    @Bean
+    @Primary
+    public KeyResolver identityKeyResolver() {
+        return exchange -> exchange.getPrincipal()
+                .map(IdentityUtils::getIdentity)
+                .switchIfEmpty(Mono.justOrEmpty(getClientIp(exchange)));
+    }
+
+    /**
+     * Returns the client IP address of the provided exchange.
+     *
+     * @param exchange the server web exchange
+     * @return the client IP address, if known
+     */
+    private static Optional<String> getClientIp(ServerWebExchange exchange) {
+        return Optional.ofNullable(exchange.getRequest().getRemoteAddress())
+                .map(InetSocketAddress::getAddress)
+                .map(InetAddress::getHostAddress);
+    }
+
+}
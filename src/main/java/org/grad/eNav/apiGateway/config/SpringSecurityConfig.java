@@ -16,14 +16,23 @@
 
 package org.grad.eNav.apiGateway.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.components.AuthorityRegistry;
+import org.grad.eNav.apiGateway.components.CachingJwtAuthenticationManager;
+import org.grad.eNav.apiGateway.components.CertificateIdentityResolver;
+import org.grad.eNav.apiGateway.components.ForwardedX509CertificateCache;
 import org.grad.eNav.apiGateway.components.ForwardedX509HeadersFilter;
+import org.grad.eNav.apiGateway.components.JwkSetProvider;
+import org.grad.eNav.apiGateway.components.JwtAuthenticationCache;
 import org.grad.eNav.apiGateway.components.X509AuthenticationManager;
 import org.grad.eNav.apiGateway.components.X509ClientCertificateFilter;
-import org.grad.eNav.apiGateway.components.X509PrincipalExtractor;
+import org.grad.eNav.apiGateway.components.X509SslSessionFilter;
 import org.grad.eNav.apiGateway.config.keycloak.KeycloakGrantedAuthoritiesMapper;
 import org.grad.eNav.apiGateway.config.keycloak.KeycloakJwtAuthenticationConverter;
 import org.grad.eNav.apiGateway.config.keycloak.KeycloakLogoutHandler;
+import org.grad.eNav.apiGateway.utils.StageTimings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.info.InfoEndpoint;
@@ -38,8 +47,13 @@ import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.authority.mapping.GrantedAuthoritiesMapper;
 import org.springframework.security.oauth2.client.registration.ReactiveClientRegistrationRepository;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
 
 /**
  * The Web Security Configuration.
@@ -71,10 +85,10 @@ class SpringSecurityConfig {
     private String[] openResources;
 
     /**
-     * The X509 Principal Extractor.
+     * The Certificate Identity Resolver.
      */
     @Autowired
-    X509PrincipalExtractor x509PrincipalExtractor;
+    CertificateIdentityResolver certificateIdentityResolver;
 
     /**
      * The X509 Authentication Manager.
@@ -83,44 +97,82 @@ class SpringSecurityConfig {
     X509AuthenticationManager x509AuthenticationManager;
 
     /**
-     * The REST Template.
+     * The Forwarded X509 Certificate Cache.
+     */
+    @Autowired
+    ForwardedX509CertificateCache forwardedX509CertificateCache;
+
+    /**
+     * The JWT Authentication Cache.
+     */
+    @Autowired
+    JwtAuthenticationCache jwtAuthenticationCache;
+
+    /**
+     * Specify the resource server JWT decoder, which validates the tokens
+     * against the keys of the JWK set provider, instead of retrieving them
+     * from the issuer on demand.
      *
-     * @return the REST template
+     * @param issuerUri         the OpenID Connect provider issuer URI
+     * @param jwkSetProvider    the JWK set provider
+     * @return the reactive JWT decoder
      */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @ConditionalOnProperty("spring.security.oauth2.resourceserver.jwt.issuer-uri")
+    ReactiveJwtDecoder reactiveJwtDecoder(@Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuerUri,
+                                          JwkSetProvider jwkSetProvider) {
+        final NimbusReactiveJwtDecoder jwtDecoder = NimbusReactiveJwtDecoder
+                .withJwkSource(jwkSetProvider::getKeys)
+                .build();
+        jwtDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return jwtDecoder;
     }
 
     /**
      * Specify a converter for the Keycloak authority claims.
      *
+     * @param authorityRegistry the authority registry
      * @return The Keycloak JWT Authentication Converter
      */
     @Bean
-    KeycloakJwtAuthenticationConverter keycloakJwtAuthenticationConverter() {
-        return new KeycloakJwtAuthenticationConverter(this.clientId);
+    KeycloakJwtAuthenticationConverter keycloakJwtAuthenticationConverter(AuthorityRegistry authorityRegistry) {
+        return new KeycloakJwtAuthenticationConverter(this.clientId, authorityRegistry);
     }
 
     /**
      * Specify a mapper for the keycloak authority claims.
      *
+     * @param authorityRegistry the authority registry
      * @return the Keycloak Granted Authority Mapper
      */
     @Bean
-    protected GrantedAuthoritiesMapper keycloakGrantedAuthoritiesMapper() {
-        return new KeycloakGrantedAuthoritiesMapper(this.clientId);
+    protected GrantedAuthoritiesMapper keycloakGrantedAuthoritiesMapper(AuthorityRegistry authorityRegistry) {
+        return new KeycloakGrantedAuthoritiesMapper(this.clientId, authorityRegistry);
     }
 
     /**
-     * Define a logout handler for handling Keycloak logouts.
+     * Define a logout handler for handling Keycloak logouts. The Keycloak
+     * logout requests are queued and dispatched asynchronously, so that the
+     * user logout never waits for Keycloak.
      *
-     * @param restTemplate the REST template
+     * @param webClientBuilder  the application web client builder, if any
+     * @param meterRegistry     the meter registry
+     * @param queueCapacity     the capacity of the logout dispatch queue
+     * @param concurrency       the maximum concurrent logout requests
+     * @param timeout           the timeout of each logout request attempt
+     * @param maxRetries        the maximum retries of each logout request
+     * @param backoff           the initial backoff between the retries
      * @return the Keycloak logout handler
      */
     @Bean
-    protected KeycloakLogoutHandler keycloakLogoutHandler(RestTemplate restTemplate) {
-        return new KeycloakLogoutHandler(restTemplate);
+    protected KeycloakLogoutHandler keycloakLogoutHandler(ObjectProvider<WebClient.Builder> webClientBuilder,
+                                                          MeterRegistry meterRegistry,
+                                                          @Value("${gla.rad.api-gateway.keycloak.logout.queue-capacity:1024}") int queueCapacity,
+                                                          @Value("${gla.rad.api-gateway.keycloak.logout.concurrency:4}") int concurrency,
+                                                          @Value("${gla.rad.api-gateway.keycloak.logout.timeout:5s}") Duration timeout,
+                                                          @Value("${gla.rad.api-gateway.keycloak.logout.max-retries:3}") int maxRetries,
+                                                          @Value("${gla.rad.api-gateway.keycloak.logout.backoff:500ms}") Duration backoff) {
+        return new KeycloakLogoutHandler(webClientBuilder.getIfAvailable(WebClient::builder).build(), meterRegistry, queueCapacity, concurrency, timeout, maxRetries, backoff);
     }
 
     /**
@@ -133,22 +185,20 @@ class SpringSecurityConfig {
     @Bean
     public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http,
                                                             ReactiveClientRegistrationRepository clientRegistrationRepository,
-                                                            RestTemplate restTemplate) {
+                                                            ReactiveJwtDecoder reactiveJwtDecoder,
+                                                            KeycloakJwtAuthenticationConverter keycloakJwtAuthenticationConverter,
+                                                            KeycloakLogoutHandler keycloakLogoutHandler) {
         // Authenticate through configured OpenID Provide
         http.oauth2Login(oauth2 -> {}
 //                .authenticationMatcher(new PathPatternParserServerWebExchangeMatcher("{baseUrl}/login/oauth2/code/{registrationId}"))
         );
         // Also, logout at the OpenID Connect provider
         http.logout(logout -> logout
-                .logoutHandler(keycloakLogoutHandler(restTemplate))
+                .logoutHandler(keycloakLogoutHandler)
 //                .logoutSuccessHandler(new OidcClientInitiatedServerLogoutSuccessHandler(clientRegistrationRepository))
         );
         // Require authentication for all requests
-        http.x509(x509 -> x509
-                    .principalExtractor(this.x509PrincipalExtractor)
-                    .authenticationManager(this.x509AuthenticationManager)
-             )
-            .authorizeExchange(exchanges -> exchanges
+        http.authorizeExchange(exchanges -> exchanges
                     .matchers(EndpointRequest.to(
                             InfoEndpoint.class,         //info endpoints
                             HealthEndpoint.class        //health endpoints
@@ -167,13 +217,21 @@ class SpringSecurityConfig {
             )
             .oauth2ResourceServer(oauth2Rs -> oauth2Rs
                     .jwt( jwt -> jwt
-                            .jwtAuthenticationConverter(keycloakJwtAuthenticationConverter())
+                            .authenticationManager(StageTimings.timed("jwt-validation", new CachingJwtAuthenticationManager(
+                                    reactiveJwtDecoder,
+                                    keycloakJwtAuthenticationConverter,
+                                    this.jwtAuthenticationCache
+                            )))
                     )
             );
 
         // Add the forwarded X.509 certificate authentication support
-        http.addFilterAt(new ForwardedX509HeadersFilter(this.x509AuthenticationManager), SecurityWebFiltersOrder.AUTHENTICATION);
-        http.addFilterAfter(new X509ClientCertificateFilter(), SecurityWebFiltersOrder.AUTHENTICATION);
+        http.addFilterAt(StageTimings.timed("forwarded-x509", new ForwardedX509HeadersFilter(this.x509AuthenticationManager, this.forwardedX509CertificateCache)), SecurityWebFiltersOrder.AUTHENTICATION);
+        // Add the direct mTLS X.509 certificate authentication support
+        http.addFilterAt(StageTimings.timed("mtls-x509", new X509SslSessionFilter(this.x509AuthenticationManager, this.certificateIdentityResolver)), SecurityWebFiltersOrder.AUTHENTICATION);
+        http.addFilterAfter(StageTimings.timed("client-certificate", new X509ClientCertificateFilter()), SecurityWebFiltersOrder.AUTHENTICATION);
+        // Mark the end of the security chain for the stage timings
+        http.addFilterAt(StageTimings.lapFilter("security"), SecurityWebFiltersOrder.LAST);
 
         // Disable the CSRF
         http.csrf(ServerHttpSecurity.CsrfSpec::disable);
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.config;
+
+import org.grad.eNav.apiGateway.components.StageTimingRouteLocator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.route.CachingRouteLocator;
+import org.springframework.cloud.gateway.route.CompositeRouteLocator;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * The Stage Timing Configuration.
+ *
+ * Replaces the caching composite route locator of the gateway with one that
+ * times the route filters, through the {@link StageTimingRouteLocator}. The
+ * gateway only defines its own locator if no bean of the same name exists,
+ * so all the other route locators are left untouched and are still picked
+ * up by type.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Configuration
+@ConditionalOnProperty(value = "gla.rad.api-gateway.stage-timing.enabled", matchIfMissing = true)
+public class StageTimingConfig {
+
+    /**
+     * The caching composite route locator, with all the route filters
+     * timed.
+     *
+     * @param routeLocators the route locators of the gateway
+     * @return the timed caching composite route locator
+     */
+    @Bean
+    @Primary
+    public RouteLocator cachedCompositeRouteLocator(List<RouteLocator> routeLocators) {
+        return new CachingRouteLocator(new StageTimingRouteLocator(new CompositeRouteLocator(Flux.fromIterable(routeLocators))));
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.grad.eNav.apiGateway.components.CompactWebSessionStore;
+import org.grad.eNav.apiGateway.components.LocalSessionBackend;
+import org.grad.eNav.apiGateway.components.SessionBackend;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import org.springframework.web.server.session.DefaultWebSessionManager;
+import org.springframework.web.server.session.WebSessionIdResolver;
+import org.springframework.web.server.session.WebSessionManager;
+
+import java.time.Duration;
+
+/**
+ * The Web Session Configuration.
+ *
+ * Replaces the default in-memory web session store, used by the browser
+ * login flow, with the {@link CompactWebSessionStore}. The sessions are
+ * kept by the {@link LocalSessionBackend} within the configured memory
+ * budget, unless another {@link SessionBackend} bean is provided, e.g. to
+ * share the sessions between several gateway nodes.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Configuration
+public class WebSessionConfig {
+
+    /**
+     * The local session backend, sharded and bounded by a memory budget.
+     *
+     * @param shards          the number of shards
+     * @param memoryBudget    the total memory budget of the sessions
+     * @param anonymousShare  the share of the memory budget for the anonymous sessions
+     * @return the local session backend
+     */
+    @Bean
+    @ConditionalOnMissingBean(SessionBackend.class)
+    public SessionBackend sessionBackend(@Value("${gla.rad.api-gateway.sessions.shards:16}") int shards,
+                                         @Value("${gla.rad.api-gateway.sessions.memory-budget:64MB}") DataSize memoryBudget,
+                                         @Value("${gla.rad.api-gateway.sessions.anonymous-share:0.25}") double anonymousShare) {
+        return new LocalSessionBackend(shards, memoryBudget.toBytes(), anonymousShare);
+    }
+
+    /**
+     * The compact web session store. Unless set explicitly, the idle timeout
+     * of the sessions follows the standard Spring Boot session timeout.
+     *
+     * @param sessionBackend    the session backend
+     * @param idleTimeout       the default maximum idle time of the sessions
+     * @param absoluteTimeout   the maximum lifetime of the sessions
+     * @param sweepLimit        the maximum number of sessions examined per sweep
+     * @param meterRegistry     the meter registry
+     * @return the compact web session store
+     */
+    @Bean
+    public CompactWebSessionStore webSessionStore(SessionBackend sessionBackend,
+                                                  @Value("${gla.rad.api-gateway.sessions.idle-timeout:${server.reactive.session.timeout:30m}}") Duration idleTimeout,
+                                                  @Value("${gla.rad.api-gateway.sessions.absolute-timeout:8h}") Duration absoluteTimeout,
+                                                  @Value("${gla.rad.api-gateway.sessions.sweep-limit:256}") int sweepLimit,
+                                                  MeterRegistry meterRegistry) {
+        return new CompactWebSessionStore(sessionBackend, idleTimeout, absoluteTimeout, sweepLimit, meterRegistry);
+    }
+
+    /**
+     * The web session manager, using the compact web session store. The
+     * session ID resolver of Spring Boot is retained, so the session cookie
+     * can still be configured as usual.
+     *
+     * @param webSessionStore       the compact web session store
+     * @param webSessionIdResolver  the session ID resolver, if any
+     * @return the web session manager
+     */
+    @Bean(WebHttpHandlerBuilder.WEB_SESSION_MANAGER_BEAN_NAME)
+    public WebSessionManager webSessionManager(CompactWebSessionStore webSessionStore,
+                                               ObjectProvider<WebSessionIdResolver> webSessionIdResolver) {
+        final DefaultWebSessionManager webSessionManager = new DefaultWebSessionManager();
+        webSessionManager.setSessionStore(webSessionStore);
+        webSessionIdResolver.ifAvailable(webSessionManager::setSessionIdResolver);
+        return webSessionManager;
+    }
+
+}
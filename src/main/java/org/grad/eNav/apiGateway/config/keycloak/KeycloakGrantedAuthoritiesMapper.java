@@ -16,20 +16,21 @@
 
 package org.grad.eNav.apiGateway.config.keycloak;
 
+import org.grad.eNav.apiGateway.components.AuthorityRegistry;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.authority.mapping.GrantedAuthoritiesMapper;
 import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
 import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * The Keycloak Granted Authorities Mapper Class
  *
  * This class is used to convert the Keycloak roles into a format understood
- * by Springboot i.e. add the ROLE_ prefix.
+ * by Springboot i.e. add the ROLE_ prefix. The roles are mapped into the
+ * canonical authority instances of the {@link AuthorityRegistry}, so that
+ * the users holding the same roles also share the same authority instances.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
@@ -44,14 +45,21 @@ public class KeycloakGrantedAuthoritiesMapper implements GrantedAuthoritiesMappe
      */
     private final String resourceId;
 
+    /**
+     * The Authority Registry.
+     */
+    private final AuthorityRegistry authorityRegistry;
+
     /**
      * The Class Constructor.
      *
      * @param resourceId the name of the keycloak resource ID
+     * @param authorityRegistry the authority registry
      */
-    public KeycloakGrantedAuthoritiesMapper(String resourceId)
+    public KeycloakGrantedAuthoritiesMapper(String resourceId, AuthorityRegistry authorityRegistry)
     {
         this.resourceId = resourceId;
+        this.authorityRegistry = authorityRegistry;
     }
 
     /**
@@ -114,16 +122,13 @@ public class KeycloakGrantedAuthoritiesMapper implements GrantedAuthoritiesMappe
 
     /**
      * This helper function gets the provided collection of roles and translates
-     * them into a collection of GrantedAuthority objects, adding the "ROLE_"
-     * prefix so that they can be understood by Springboot.
+     * them into a collection of the canonical GrantedAuthority objects, adding
+     * the "ROLE_" prefix so that they can be understood by Springboot.
      *
      * @param roles the collection of roles
      * @return the respective collection of GrantedAuthority objects
      */
     private Collection<GrantedAuthority> generateAuthoritiesFromClaim(Collection<?> roles) {
-        return roles.stream()
-                .map(Object::toString)
-                .map(x -> new SimpleGrantedAuthority("ROLE_" + x.toUpperCase()))
-                .collect(Collectors.toList());
+        return this.authorityRegistry.roles(roles);
     }
 }
@@ -16,24 +16,25 @@
 
 package org.grad.eNav.apiGateway.config.keycloak;
 
+import org.grad.eNav.apiGateway.components.AuthorityRegistry;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import reactor.core.publisher.Mono;
 
 import java.util.*;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * The Keycloak JTW Authentication Converter Class
  *
  * This class is used to convert the Keycloak roles into a format understood
- * by Springboot i.e. add the ROLE_ prefix.
+ * by Springboot i.e. add the ROLE_ prefix. Both the scope and the role
+ * authorities are mapped into the canonical authority instances of the
+ * {@link AuthorityRegistry}.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
@@ -49,14 +50,21 @@ public class KeycloakJwtAuthenticationConverter implements Converter<Jwt, Mono<?
      */
     private final String resourceId;
 
+    /**
+     * The Authority Registry.
+     */
+    private final AuthorityRegistry authorityRegistry;
+
     /**
      * The Class Constructor.
      *
      * @param resourceId the name of the keycloak resource ID
+     * @param authorityRegistry the authority registry
      */
-    public KeycloakJwtAuthenticationConverter(String resourceId)
+    public KeycloakJwtAuthenticationConverter(String resourceId, AuthorityRegistry authorityRegistry)
     {
         this.resourceId = resourceId;
+        this.authorityRegistry = authorityRegistry;
     }
 
     /**
@@ -68,10 +76,10 @@ public class KeycloakJwtAuthenticationConverter implements Converter<Jwt, Mono<?
      */
     @Override
     public Mono<? extends AbstractAuthenticationToken> convert(Jwt jwt) {
-        Collection<GrantedAuthority> authorities = Stream.concat(
+        Collection<GrantedAuthority> authorities = authorityRegistry.authorities(Stream.concat(
                         defaultGrantedAuthoritiesConverter.convert(jwt).stream(),
                         extractResourceRoles(jwt.getClaim("resource_access"), resourceId).stream())
-                .collect(Collectors.toSet());
+                .toList());
         return Mono.just(new JwtAuthenticationToken(jwt, authorities));
     }
 
@@ -84,7 +92,7 @@ public class KeycloakJwtAuthenticationConverter implements Converter<Jwt, Mono<?
      * @param resourceId the resource ID to pick up the roles for
      * @return the adjusted authentication token
      */
-    public static Collection<? extends GrantedAuthority> extractResourceRoles(final Map<?,?> resourceAccess, final String resourceId)
+    public Collection<GrantedAuthority> extractResourceRoles(final Map<?,?> resourceAccess, final String resourceId)
     {
         // Parse the incoming JWT token
         final List<?> resourceRoles= Optional.ofNullable(resourceAccess)
@@ -97,12 +105,7 @@ public class KeycloakJwtAuthenticationConverter implements Converter<Jwt, Mono<?
                 .map(roles -> roles.stream().toList())
                 .orElseGet(Collections::emptyList);
         // Map the roles with a ROLE_ prefix
-        return Optional.of(resourceRoles)
-                .orElse(Collections.emptyList())
-                .stream()
-                .map(Objects::toString)
-                .map(x -> new SimpleGrantedAuthority("ROLE_" + x.toUpperCase()))
-                .collect(Collectors.toList());
+        return authorityRegistry.roles(resourceRoles);
     }
 
 }
@@ -16,21 +16,39 @@
 
 package org.grad.eNav.apiGateway.config.keycloak;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.security.web.server.WebFilterExchange;
 import org.springframework.security.web.server.authentication.logout.ServerLogoutHandler;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Queue;
 
 /**
  * The Keycloak Logout Handler
  *
  * This logout handler implementation takes care of the logout from the
  * Keycloak SSO side after a successful service logout.
+ * <p/>
+ * The Keycloak logout requests are not performed as part of the user logout
+ * itself, but are placed into a bounded queue and dispatched asynchronously
+ * through a non-blocking web client, with a limited concurrency, a timeout
+ * and a retry with backoff. This way the user logout response never depends
+ * on the Keycloak latency. If the queue is full, the Keycloak logout is
+ * dropped, and the Keycloak session will simply expire on its own.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
@@ -38,21 +56,73 @@ import reactor.core.publisher.Mono;
 public class KeycloakLogoutHandler implements ServerLogoutHandler {
 
     // Class Variables
-    private final RestTemplate restTemplate;
+    private final WebClient webClient;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Duration backoff;
+    private final Queue<String> queue;
+    private final Sinks.Many<String> sink;
+    private final Disposable dispatcher;
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter droppedCounter;
+    private final Timer latencyTimer;
 
     /**
      * Class Constructor.
      *
-     * @param restTemplate  the REST template
+     * @param webClient     the web client
+     * @param meterRegistry the meter registry
+     * @param queueCapacity the capacity of the logout dispatch queue
+     * @param concurrency   the maximum concurrent logout requests
+     * @param timeout       the timeout of each logout request attempt
+     * @param maxRetries    the maximum retries of each logout request
+     * @param backoff       the initial backoff between the retries
      */
-    public KeycloakLogoutHandler(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public KeycloakLogoutHandler(WebClient webClient,
+                                 MeterRegistry meterRegistry,
+                                 int queueCapacity,
+                                 int concurrency,
+                                 Duration timeout,
+                                 int maxRetries,
+                                 Duration backoff) {
+        this.webClient = webClient;
+        this.timeout = timeout;
+        this.maxRetries = maxRetries;
+        this.backoff = backoff;
+        this.queue = Queues.<String>get(queueCapacity).get();
+        this.sink = Sinks.many().unicast().onBackpressureBuffer(this.queue);
+
+        // Register the logout metrics
+        this.successCounter = Counter.builder("keycloak.logout.requests")
+                .tag("outcome", "success")
+                .description("The Keycloak logout requests")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("keycloak.logout.requests")
+                .tag("outcome", "failure")
+                .description("The Keycloak logout requests")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("keycloak.logout.requests")
+                .tag("outcome", "dropped")
+                .description("The Keycloak logout requests")
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("keycloak.logout.latency")
+                .description("The latency of the Keycloak logout requests, including any retries")
+                .register(meterRegistry);
+        Gauge.builder("keycloak.logout.queue.size", this.queue, Queue::size)
+                .description("The number of Keycloak logout requests waiting to be dispatched")
+                .register(meterRegistry);
+
+        // And start the logout request dispatcher
+        this.dispatcher = this.sink.asFlux()
+                .flatMap(this::logoutFromKeycloak, concurrency)
+                .subscribe();
     }
 
     /**
      * The implementation of the interface function that defines the logout
-     * operation. This simply makes sure that the user has also logged of the
-     * Keycloak SSO side.
+     * operation. This simply makes sure that the user will also be logged
+     * out of the Keycloak SSO side, without waiting for it.
      *
      * @param exchange  The web filter exchange
      * @param auth      The authentication
@@ -60,32 +130,72 @@ public class KeycloakLogoutHandler implements ServerLogoutHandler {
     @Override
     public Mono<Void> logout(WebFilterExchange exchange,
                              Authentication auth) {
-        logoutFromKeycloak((OidcUser) auth.getPrincipal());
+        if(auth.getPrincipal() instanceof OidcUser user) {
+            this.enqueue(user);
+        }
         return Mono.empty();
     }
 
     /**
-     * This function performs the actual Keycloak logout operation by calling
-     * the appropriate endpoing of the server in order to logout.
+     * Stops the logout request dispatcher.
+     */
+    public void shutdown() {
+        this.sink.tryEmitComplete();
+        this.dispatcher.dispose();
+    }
+
+    /**
+     * Places the Keycloak logout request of the provided user into the
+     * dispatch queue, or drops it if the queue is full.
      *
      * @param user  The user to be logged off
      */
-    private void logoutFromKeycloak(OidcUser user) {
+    private void enqueue(OidcUser user) {
         // Setup the logout query
         final String endSessionEndpoint = user.getIssuer() + "/protocol/openid-connect/logout";
-        final UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(endSessionEndpoint)
-                .queryParam("id_token_hint", user.getIdToken().getTokenValue());
+        final String logoutUri = UriComponentsBuilder.fromUriString(endSessionEndpoint)
+                .queryParam("id_token_hint", user.getIdToken().getTokenValue())
+                .toUriString();
 
-        // Perform the logout request
-        final ResponseEntity<String> logoutResponse = this.restTemplate.getForEntity(
-                builder.toUriString(),
-                String.class
-        );
+        // The queue only supports a single producer at a time
+        final Sinks.EmitResult result;
+        synchronized (this.sink) {
+            result = this.sink.tryEmitNext(logoutUri);
+        }
+        if(result.isFailure()) {
+            this.droppedCounter.increment();
+            log.warn("Could not queue the Keycloak logout of {}: {}", user.getName(), result);
+        }
+    }
 
-        // Log the output for debug purposes
-        log.debug(logoutResponse.getStatusCode().is2xxSuccessful() ?
-                "Successfully logged out from Keycloak" :
-                "Could not propagate logout to Keycloak");
+    /**
+     * This function performs the actual Keycloak logout operation by calling
+     * the appropriate endpoint of the server in order to logout. Server
+     * errors and timeouts are retried with an exponential backoff.
+     *
+     * @param logoutUri  The logout URI of the user to be logged off
+     * @return the completion of the logout operation
+     */
+    private Mono<Void> logoutFromKeycloak(String logoutUri) {
+        final Timer.Sample sample = Timer.start();
+        return this.webClient.get()
+                .uri(logoutUri)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(this.timeout)
+                .retryWhen(Retry.backoff(this.maxRetries, this.backoff)
+                        .filter(ex -> !(ex instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError())))
+                .doOnSuccess(response -> {
+                    this.successCounter.increment();
+                    log.debug("Successfully logged out from Keycloak");
+                })
+                .doOnError(ex -> {
+                    this.failureCounter.increment();
+                    log.debug("Could not propagate logout to Keycloak: {}", ex.getMessage());
+                })
+                .doFinally(signal -> sample.stop(this.latencyTimer))
+                .then()
+                .onErrorResume(ex -> Mono.empty());
     }
 
 }
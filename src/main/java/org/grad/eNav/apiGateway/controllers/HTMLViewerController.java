@@ -16,18 +16,62 @@
 
 package org.grad.eNav.apiGateway.controllers;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.grad.eNav.apiGateway.components.ServiceCatalogue;
+import org.grad.eNav.apiGateway.models.ServiceCatalogueEntry;
+import org.grad.eNav.apiGateway.utils.StaticContent;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
-import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.context.IExpressionContext;
+import org.thymeleaf.linkbuilder.StandardLinkBuilder;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import reactor.core.publisher.Mono;
 
-import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
 
 /**
  * The Home Viewer Controller.
  *
  * This is the home controller that allows user to view the main options.
+ * <p/>
+ * Since the index page only depends on fixed configuration and the service
+ * catalogue, it is pre-rendered and kept in memory, along with its
+ * precompressed variant, so that the visits do not go through the template
+ * engine or the discovery client at all. It is only re-rendered when the
+ * {@link ServiceCatalogue} changes.
+ * <p/>
+ * The service catalogue reveals the internal services and their health, so
+ * it is only listed to the authenticated users, unless it is explicitly
+ * made public. Two variants of the page are therefore pre-rendered, with
+ * and without the catalogue, and the one served is selected by the
+ * principal of the request.
+ * <p/>
+ * The context-relative links of the page depend on the path the gateway is
+ * reached through, i.e. its context path and any "X-Forwarded-Prefix" set
+ * by a reverse proxy. The pages are therefore pre-rendered per prefix, as
+ * each one is first seen, up to a fixed number of prefixes, after which the
+ * pages of the base path are served instead.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
@@ -53,21 +97,203 @@ public class HTMLViewerController {
     @Value("${gla.rad.api-gateway.niord.url:/niord}")
     String niordUrl;
 
+    /**
+     * The base path of the application, for the context-relative links.
+     */
+    @Value("${spring.webflux.base-path:}")
+    String basePath;
+
+    /**
+     * The Cache-Control header of the index page.
+     */
+    @Value("${gla.rad.api-gateway.resources.index-cache-control:no-cache}")
+    String cacheControl;
+
+    /**
+     * Whether to list the service catalogue to the anonymous users as well.
+     */
+    @Value("${gla.rad.api-gateway.resources.public-catalogue:false}")
+    boolean publicCatalogue;
+
+    /**
+     * The Template Engine.
+     */
+    @Autowired
+    TemplateEngine templateEngine;
+
+    // Class Variables
+    public static final String FORWARDED_PREFIX = "X-Forwarded-Prefix";
+    public static final Pattern PREFIX_PATTERN = Pattern.compile("^(/[A-Za-z0-9._~-]+)*$");
+    public static final String CONTEXT_PATH_VARIABLE = "contextPath";
+    public static final int MAX_PREFIXES = 16;
+    private final Map<String, IndexPages> pages = new ConcurrentHashMap<>();
+    private SpringTemplateEngine engine;
+    private volatile List<ServiceCatalogueEntry> services = List.of();
+    private volatile IndexPages defaultPages;
+
+    /**
+     * Renders the index page of the base path once at startup, with an
+     * empty service catalogue until the discovered services are known.
+     */
+    @PostConstruct
+    public void init() {
+        // Use a dedicated engine with the same templates, that can resolve
+        // the context-relative links outside a request
+        this.engine = new SpringTemplateEngine();
+        this.engine.setTemplateResolvers(this.templateEngine.getTemplateResolvers());
+        this.engine.setLinkBuilder(new StandardLinkBuilder() {
+            @Override
+            protected String computeContextPath(IExpressionContext context, String base, Map<String, Object> parameters) {
+                return (String) context.getVariable(CONTEXT_PATH_VARIABLE);
+            }
+        });
+        this.defaultPages = this.renderPages(this.basePath, this.services, null);
+        this.pages.put(this.basePath, this.defaultPages);
+    }
+
+    /**
+     * Re-renders the index page whenever the service catalogue changes.
+     * This happens in the background, so the visits keep being served the
+     * previous page until the new one is ready.
+     *
+     * @param catalogueChangedEvent the service catalogue change event
+     */
+    @EventListener
+    public void onCatalogueChanged(ServiceCatalogue.CatalogueChangedEvent catalogueChangedEvent) {
+        this.render(catalogueChangedEvent.getSnapshot());
+    }
+
+    /**
+     * Renders the index pages of all the known prefixes, listing the
+     * provided service catalogue.
+     *
+     * @param services the service catalogue entries
+     */
+    protected synchronized void render(List<ServiceCatalogueEntry> services) {
+        this.services = services;
+        this.pages.replaceAll((contextPath, previous) -> this.renderPages(contextPath, services, previous));
+        this.defaultPages = this.pages.get(this.basePath);
+    }
+
+    /**
+     * Returns the index pages of the provided context path, rendering them
+     * if this is the first time it is seen. Once the maximum number of
+     * prefixes is reached, the pages of the base path are returned instead.
+     *
+     * @param contextPath the context path of the request
+     * @return the index pages of the context path
+     */
+    protected IndexPages getPages(String contextPath) {
+        final IndexPages existing = this.pages.get(contextPath);
+        if(Objects.nonNull(existing)) {
+            return existing;
+        }
+        synchronized(this) {
+            if(this.pages.size() >= MAX_PREFIXES && !this.pages.containsKey(contextPath)) {
+                return this.defaultPages;
+            }
+            return this.pages.computeIfAbsent(contextPath, key -> this.renderPages(key, this.services, null));
+        }
+    }
+
+    /**
+     * Renders the index page variants of the provided context path. The
+     * anonymous variant does not list the catalogue, so the previous one
+     * is reused if available, unless the catalogue is public.
+     *
+     * @param contextPath   the context path of the links
+     * @param services      the service catalogue entries
+     * @param previous      the previous index pages, if any
+     * @return the rendered index pages
+     */
+    private IndexPages renderPages(String contextPath, List<ServiceCatalogueEntry> services, IndexPages previous) {
+        final StaticContent catalogueIndex = this.renderIndex(contextPath, services);
+        final StaticContent index = this.publicCatalogue ? catalogueIndex :
+                Objects.nonNull(previous) ? previous.index() : this.renderIndex(contextPath, List.of());
+        return new IndexPages(index, catalogueIndex);
+    }
+
+    /**
+     * Renders the index page with its fixed model attributes and the
+     * provided context path and service catalogue entries.
+     *
+     * @param contextPath   the context path of the links
+     * @param services      the service catalogue entries
+     * @return the rendered index page
+     */
+    private StaticContent renderIndex(String contextPath, List<ServiceCatalogueEntry> services) {
+        final Context context = new Context(Locale.getDefault());
+        context.setVariable(CONTEXT_PATH_VARIABLE, contextPath);
+        context.setVariable("eurekaUrl", this.eurekaUrl);
+        context.setVariable("niordUrl", this.niordUrl);
+        context.setVariable("services", services);
+        return new StaticContent(this.engine.process(this.resourceFile, context).getBytes(StandardCharsets.UTF_8),
+                new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8));
+    }
+
     /**
      * The home page of the API gateway.
      *
      * This can just be a list of all the services currently available along
-     * with link for easy access.
+     * with link for easy access. The page pre-rendered for the context path
+     * of the request is served, or a
+     * "304 Not Modified" response if the client already has it. Unless the
+     * service catalogue is public, it is only listed to the authenticated
+     * users, and that page is marked as private.
      *
-     * @param model The application UI model
+     * @param exchange The server web exchange
      * @return The home page output
      */
     @GetMapping("/")
-    public String index(Model model) throws IOException {
-        model.addAttribute("eurekaUrl", this.eurekaUrl);
-        model.addAttribute("niordUrl", this.niordUrl);
-        // Return the rendered index
-        return this.resourceFile;
+    public Mono<ResponseEntity<byte[]>> index(ServerWebExchange exchange) {
+        final HttpHeaders headers = exchange.getRequest().getHeaders();
+        final IndexPages indexPages = this.getPages(getContextPath(exchange.getRequest()));
+        return exchange.getPrincipal()
+                .filter(HTMLViewerController::isAuthenticated)
+                .map(principal -> indexPages.catalogueIndex().toResponseEntity(headers, this.publicCatalogue ?
+                        this.cacheControl : "private, " + this.cacheControl))
+                .switchIfEmpty(Mono.fromSupplier(() -> indexPages.index().toResponseEntity(headers, this.cacheControl)));
+    }
+
+    /**
+     * Returns the context path the provided request reached the gateway
+     * through, i.e. any "X-Forwarded-Prefix" of a reverse proxy followed by
+     * the context path of the request. Prefixes that are not plain path
+     * segments are ignored.
+     *
+     * @param request the server request
+     * @return the context path of the request
+     */
+    protected static String getContextPath(ServerHttpRequest request) {
+        final String prefix = Optional.ofNullable(request.getHeaders().getFirst(FORWARDED_PREFIX))
+                .map(value -> value.split(",")[0].trim())
+                .map(value -> value.endsWith("/") ? value.substring(0, value.length() - 1) : value)
+                .filter(value -> PREFIX_PATTERN.matcher(value).matches())
+                .orElse("");
+        return prefix + request.getPath().contextPath().value();
+    }
+
+    /**
+     * Checks whether the provided principal is an authenticated user, i.e.
+     * not an anonymous one.
+     *
+     * @param principal the request principal
+     * @return whether the principal is an authenticated user
+     */
+    protected static boolean isAuthenticated(Principal principal) {
+        return !(principal instanceof Authentication authentication)
+                || (authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken));
+    }
+
+    /**
+     * The pre-rendered index pages of a context path, without and with the
+     * service catalogue.
+     *
+     * @param index             the index page without the catalogue
+     * @param catalogueIndex    the index page with the catalogue
+     */
+    protected record IndexPages(StaticContent index, StaticContent catalogueIndex) {
+
     }
 
 }
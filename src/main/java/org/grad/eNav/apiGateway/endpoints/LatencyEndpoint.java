@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.endpoints;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.grad.eNav.apiGateway.components.LatencyHistograms;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The Latency Endpoint Component.
+ *
+ * This actuator endpoint reports the high-precision upstream and total
+ * latency distributions of the gateway routes, per response status class,
+ * over the rolling window of the {@link LatencyHistograms}. All latencies
+ * are reported in milliseconds. The endpoint supports:
+ * <ul>
+ *     <li>GET /actuator/latency: the main percentiles of all routes.</li>
+ *     <li>GET /actuator/latency/{routeId}: the full percentile distributions
+ *     of a single route.</li>
+ *     <li>DELETE /actuator/latency: resets all the histograms.</li>
+ * </ul>
+ * The raw interval histograms can be exported through the latencylog
+ * endpoint. Both endpoints are only available while the stage timing is
+ * enabled, since that is what feeds the histograms.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@ConditionalOnProperty(value = "gla.rad.api-gateway.stage-timing.enabled", matchIfMissing = true)
+@Endpoint(id = "latency")
+public class LatencyEndpoint {
+
+    // Class Variables
+    private static final double[] PERCENTILES = { 50.0, 90.0, 99.0, 99.9, 99.99 };
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final int PERCENTILE_TICKS_PER_HALF_DISTANCE = 5;
+
+    /**
+     * The Latency Histograms.
+     */
+    @Autowired
+    LatencyHistograms latencyHistograms;
+
+    /**
+     * Reports the main latency percentiles of all routes.
+     *
+     * @return the latency percentiles by route, status class and type
+     */
+    @ReadOperation
+    public Map<String, Object> latency() {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        for(LatencyHistograms.HistogramKey key : this.latencyHistograms.getKeys()) {
+            this.getEntry(report, key).put(key.type(), this.summarise(this.latencyHistograms.getHistogram(key)));
+        }
+        return report;
+    }
+
+    /**
+     * Reports the full latency percentile distributions of a single route.
+     *
+     * @param routeId the route ID
+     * @return the latency percentile distributions by status class and type
+     */
+    @ReadOperation
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> latencyOfRoute(@Selector String routeId) {
+        final Map<String, Object> report = new LinkedHashMap<>();
+        for(LatencyHistograms.HistogramKey key : this.latencyHistograms.getKeys()) {
+            if(key.routeId().equals(routeId)) {
+                final Histogram histogram = this.latencyHistograms.getHistogram(key);
+                final Map<String, Object> distribution = this.summarise(histogram);
+                distribution.put("distribution", this.distribute(histogram));
+                ((Map<String, Object>) report.computeIfAbsent(key.statusClass(), statusClass -> new LinkedHashMap<String, Object>()))
+                        .put(key.type(), distribution);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Resets all the latency histograms.
+     */
+    @DeleteOperation
+    public void reset() {
+        this.latencyHistograms.reset();
+    }
+
+    /**
+     * Returns the report entry of the route and status class of the
+     * provided key, creating it if required.
+     *
+     * @param report    the report
+     * @param key       the histogram key
+     * @return the report entry
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> getEntry(Map<String, Object> report, LatencyHistograms.HistogramKey key) {
+        final Map<String, Object> route = (Map<String, Object>) report.computeIfAbsent(key.routeId(), routeId -> new LinkedHashMap<String, Object>());
+        return (Map<String, Object>) route.computeIfAbsent(key.statusClass(), statusClass -> new LinkedHashMap<String, Object>());
+    }
+
+    /**
+     * Summarises the provided histogram into its count, mean, maximum and
+     * main percentiles.
+     *
+     * @param histogram the latency histogram
+     * @return the histogram summary
+     */
+    private Map<String, Object> summarise(Histogram histogram) {
+        final Map<String, Object> percentiles = new LinkedHashMap<>();
+        for(double percentile : PERCENTILES) {
+            percentiles.put(String.valueOf(percentile), histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI);
+        }
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("mean", histogram.getMean() / NANOS_PER_MILLI);
+        summary.put("max", histogram.getMaxValue() / NANOS_PER_MILLI);
+        summary.put("percentiles", percentiles);
+        return summary;
+    }
+
+    /**
+     * Lists the full percentile distribution of the provided histogram, in
+     * the same steps as the HdrHistogram percentile output.
+     *
+     * @param histogram the latency histogram
+     * @return the percentile distribution
+     */
+    private List<Map<String, Object>> distribute(Histogram histogram) {
+        final List<Map<String, Object>> distribution = new ArrayList<>();
+        if(histogram.getTotalCount() == 0) {
+            return distribution;
+        }
+        for(HistogramIterationValue value : histogram.percentiles(PERCENTILE_TICKS_PER_HALF_DISTANCE)) {
+            final Map<String, Object> step = new LinkedHashMap<>();
+            step.put("percentile", value.getPercentileLevelIteratedTo());
+            step.put("value", value.getValueIteratedTo() / NANOS_PER_MILLI);
+            step.put("count", value.getTotalCountToThisValue());
+            distribution.add(step);
+        }
+        return distribution;
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.endpoints;
+
+import org.grad.eNav.apiGateway.components.LatencyHistograms;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * The Latency Log Endpoint Component.
+ *
+ * This actuator endpoint exports the retained interval histograms of the
+ * {@link LatencyHistograms} in the HdrHistogram log format, tagged by
+ * route, status class and latency type, so that they can be further
+ * analysed or plotted by the standard HdrHistogram tools.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@ConditionalOnProperty(value = "gla.rad.api-gateway.stage-timing.enabled", matchIfMissing = true)
+@WebEndpoint(id = "latencylog")
+public class LatencyLogEndpoint {
+
+    /**
+     * The Latency Histograms.
+     */
+    @Autowired
+    LatencyHistograms latencyHistograms;
+
+    /**
+     * Exports the latency histograms in the HdrHistogram log format.
+     *
+     * @return the HdrHistogram log
+     */
+    @ReadOperation(produces = MediaType.TEXT_PLAIN_VALUE)
+    public String latencyLog() {
+        return this.latencyHistograms.exportLog();
+    }
+
+}
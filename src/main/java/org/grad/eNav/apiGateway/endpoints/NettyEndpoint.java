@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.endpoints;
+
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.socket.ServerSocketChannel;
+import org.grad.eNav.apiGateway.config.NettyConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.http.client.ReactorResourceFactory;
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.LoopResources;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The Netty Endpoint Component.
+ *
+ * This actuator endpoint reports the transport configuration of the netty
+ * web server, along with the transport actually selected at runtime, so that
+ * the effect of the "gla.rad.api-gateway.netty" properties can be verified
+ * without inspecting the server.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Component
+@Endpoint(id = "netty")
+public class NettyEndpoint {
+
+    /**
+     * The Netty Configuration.
+     */
+    @Autowired
+    NettyConfiguration nettyConfiguration;
+
+    /**
+     * The Reactor Resource Factory.
+     */
+    @Autowired
+    ReactorResourceFactory reactorResourceFactory;
+
+    /**
+     * Reports the netty server transport configuration.
+     *
+     * @return the netty server transport configuration
+     */
+    @ReadOperation
+    public Map<String, Object> netty() {
+        final LoopResources loopResources = this.reactorResourceFactory.getLoopResources();
+        final Map<String, Object> transport = new LinkedHashMap<>();
+        transport.put("preferNative", this.nettyConfiguration.isPreferNative());
+        transport.put("nativeSupport", LoopResources.hasNativeSupport());
+        transport.put("epollAvailable", Epoll.isAvailable());
+        transport.put("serverChannel", loopResources.onChannelClass(ServerSocketChannel.class,
+                loopResources.onServer(this.nettyConfiguration.isPreferNative())).getSimpleName());
+        transport.put("workerCount", this.nettyConfiguration.getWorkerCount() > 0 ?
+                this.nettyConfiguration.getWorkerCount() : LoopResources.DEFAULT_IO_WORKER_COUNT);
+        transport.put("selectCount", this.nettyConfiguration.getSelectCount());
+
+        final Map<String, Object> socket = new LinkedHashMap<>();
+        socket.put("reusePort", this.nettyConfiguration.isReusePort());
+        socket.put("tcpNoDelay", this.nettyConfiguration.isTcpNoDelay());
+        socket.put("backlog", this.nettyConfiguration.getBacklog());
+
+        final Map<String, Object> http = new LinkedHashMap<>();
+        http.put("maxHttpHeaderSize", this.nettyConfiguration.getMaxHttpHeaderSize());
+        http.put("maxInitialLineLength", this.nettyConfiguration.getMaxInitialLingLength());
+        http.put("h2cMaxContentLength", this.nettyConfiguration.getH2cMaxContentLength());
+        http.put("idleTimeout", Objects.toString(this.nettyConfiguration.getIdleTimeout(), null));
+        http.put("readTimeout", Objects.toString(this.nettyConfiguration.getReadTimeout(), null));
+        http.put("writeTimeout", Objects.toString(this.nettyConfiguration.getWriteTimeout(), null));
+        http.put("maxKeepAliveRequests", this.nettyConfiguration.getMaxKeepAliveRequests());
+
+        final Map<String, Object> http2 = new LinkedHashMap<>();
+        http2.put("maxConcurrentStreams", this.nettyConfiguration.getHttp2MaxConcurrentStreams());
+        http2.put("initialWindowSize", this.nettyConfiguration.getHttp2InitialWindowSize());
+
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("transport", transport);
+        report.put("socket", socket);
+        report.put("http", http);
+        report.put("http2", http2);
+        return report;
+    }
+
+}
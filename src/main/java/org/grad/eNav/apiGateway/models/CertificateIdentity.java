@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.models;
+
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.x500.RDN;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x500.style.IETFUtils;
+import org.grad.eNav.apiGateway.utils.HashingUtils;
+
+import java.io.Serializable;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * The Certificate Identity Class.
+ *
+ * An immutable summary of the information the API-Gateway needs out of a
+ * client X.509 certificate. The subject is parsed only once, directly from
+ * its DER encoding, and the result can then be shared between the
+ * authentication manager and the filters that forward the certificate
+ * information onto the internal micro-services.
+ *
+ * @param ou            the subject organisational unit
+ * @param o             the subject organisation (the organisation MRN)
+ * @param cn            the subject common name
+ * @param uid           the subject user ID
+ * @param c             the subject country
+ * @param mrn           the subject MRN (as found in the UID attribute)
+ * @param encoded       the Base64 encoded DER certificate
+ * @param fingerprint   the hexadecimal SHA-256 certificate fingerprint
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record CertificateIdentity(String ou,
+                                  String o,
+                                  String cn,
+                                  String uid,
+                                  String c,
+                                  String mrn,
+                                  String encoded,
+                                  String fingerprint) implements Serializable {
+
+    /**
+     * The object identifier of the MRN attribute in the MCP certificates.
+     */
+    public static final ASN1ObjectIdentifier MRN_OBJECT_IDENTIFIER = new ASN1ObjectIdentifier("0.9.2342.19200300.100.1.1");
+
+    /**
+     * Generates the certificate identity of the provided X.509 certificate.
+     * Missing subject attributes are left empty (i.e. null).
+     *
+     * @param certificate the X.509 certificate
+     * @return the certificate identity
+     * @throws CertificateEncodingException if the certificate cannot be encoded
+     */
+    public static CertificateIdentity of(X509Certificate certificate) throws CertificateEncodingException {
+        final X500Name x500Name = X500Name.getInstance(certificate.getSubjectX500Principal().getEncoded());
+        final byte[] encoded = certificate.getEncoded();
+        return new CertificateIdentity(
+                firstValue(x500Name, BCStyle.OU),
+                firstValue(x500Name, BCStyle.O),
+                firstValue(x500Name, BCStyle.CN),
+                firstValue(x500Name, BCStyle.UID),
+                firstValue(x500Name, BCStyle.C),
+                firstValue(x500Name, MRN_OBJECT_IDENTIFIER),
+                Base64.getEncoder().encodeToString(encoded),
+                HexFormat.of().formatHex(HashingUtils.sha256(encoded))
+        );
+    }
+
+    /**
+     * A helper function that retrieves the first value of the specified
+     * attribute in the provided X.500 name.
+     *
+     * @param x500Name  the X.500 name
+     * @param attribute the attribute object identifier
+     * @return the first attribute value if found, otherwise null
+     */
+    private static String firstValue(X500Name x500Name, ASN1ObjectIdentifier attribute) {
+        final RDN[] rdns = x500Name.getRDNs(attribute);
+        return rdns.length > 0 ? IETFUtils.valueToString(rdns[0].getFirst().getValue()) : null;
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.models;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.netflix.eureka.EurekaServiceInstance;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The Service Catalogue Entry Class.
+ *
+ * An immutable summary of a discovered service, as listed in the service
+ * catalogue of the index page. Since the entries are immutable, an entry
+ * is only ever rebuilt when the instances of its service change.
+ *
+ * @param serviceId     the service ID
+ * @param path          the gateway path of the service
+ * @param instances     the number of registered instances
+ * @param upInstances   the number of instances that are up
+ * @param status        the overall status, i.e. UP, DEGRADED or DOWN
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record ServiceCatalogueEntry(String serviceId,
+                                    String path,
+                                    int instances,
+                                    int upInstances,
+                                    String status) {
+
+    /**
+     * The overall service status values.
+     */
+    public static final String STATUS_UP = "UP";
+    public static final String STATUS_DEGRADED = "DEGRADED";
+    public static final String STATUS_DOWN = "DOWN";
+
+    /**
+     * Generates the catalogue entry of the provided service and its
+     * instances. The instance status is only known for the Eureka instances,
+     * so any other instances are considered to be up while registered.
+     *
+     * @param serviceId the service ID
+     * @param instances the service instances
+     * @return the service catalogue entry
+     */
+    public static ServiceCatalogueEntry of(String serviceId, List<ServiceInstance> instances) {
+        final int upInstances = (int) instances.stream()
+                .filter(instance -> !(instance instanceof EurekaServiceInstance eurekaServiceInstance)
+                        || STATUS_UP.equals(String.valueOf(eurekaServiceInstance.getInstanceInfo().getStatus())))
+                .count();
+        final String status = upInstances == 0 ? STATUS_DOWN : upInstances < instances.size() ? STATUS_DEGRADED : STATUS_UP;
+        return new ServiceCatalogueEntry(
+                serviceId,
+                serviceId.toLowerCase(Locale.ROOT) + "/",
+                instances.size(),
+                upInstances,
+                status);
+    }
+
+}
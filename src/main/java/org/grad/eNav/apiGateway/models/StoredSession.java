@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.models;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The Stored Session Class.
+ *
+ * The compact representation of a web session, as held by a session
+ * backend. The session attributes are only kept in their serialised form,
+ * so that a backend can hold and share the session without knowing any of
+ * the attribute types. The expiry time already accounts for both the idle
+ * and the absolute timeout, so a backend only has to honour that. Whether
+ * the session holds an authenticated user is also recorded, so a backend
+ * running out of space can evict the anonymous sessions first.
+ *
+ * @param id                the session ID
+ * @param creationTime      the creation time of the session
+ * @param lastAccessTime    the last access time of the session
+ * @param maxIdleTime       the maximum idle time of the session
+ * @param expiresAt         the time the session expires at
+ * @param attributes        the serialised session attributes
+ * @param authenticated     whether the session holds an authenticated user
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record StoredSession(String id,
+                            Instant creationTime,
+                            Instant lastAccessTime,
+                            Duration maxIdleTime,
+                            Instant expiresAt,
+                            byte[] attributes,
+                            boolean authenticated) {
+
+    /**
+     * The estimated memory overhead of a stored session, apart from its ID
+     * and attributes, i.e. the object headers, timestamps and map entry.
+     */
+    public static final int OVERHEAD = 160;
+
+    /**
+     * Checks whether the session has expired at the provided time.
+     *
+     * @param now the current time
+     * @return whether the session has expired
+     */
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(this.expiresAt);
+    }
+
+    /**
+     * Returns a copy of the session, accessed at the provided time.
+     *
+     * @param lastAccessTime    the new last access time
+     * @param expiresAt         the new expiry time
+     * @return the accessed session
+     */
+    public StoredSession touch(Instant lastAccessTime, Instant expiresAt) {
+        return new StoredSession(this.id, this.creationTime, lastAccessTime, this.maxIdleTime, expiresAt, this.attributes, this.authenticated);
+    }
+
+    /**
+     * Returns the estimated memory size of the session in bytes.
+     *
+     * @return the estimated session size
+     */
+    public long getSize() {
+        return OVERHEAD + 2L * this.id.length() + this.attributes.length;
+    }
+
+}
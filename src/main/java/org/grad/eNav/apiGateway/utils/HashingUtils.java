@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * The Hashing Utilities Class.
+ *
+ * A collection of utility functions used to generate compact digests of
+ * (potentially large) request values, such as forwarded certificates or
+ * bearer tokens, so that they can be used as cache keys without holding on
+ * to the original values.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class HashingUtils {
+
+    /**
+     * The digest algorithm used for all cache keys.
+     */
+    public static final String SHA_256 = "SHA-256";
+
+    /**
+     * Computes the SHA-256 digest of the provided bytes.
+     *
+     * @param value the bytes to be digested
+     * @return the SHA-256 digest
+     */
+    public static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance(SHA_256).digest(value);
+        } catch (NoSuchAlgorithmException ex) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Computes the SHA-256 digest of the provided string value and returns
+     * it in a hexadecimal representation, which is suitable to be used as a
+     * cache key.
+     *
+     * @param value the value to be digested
+     * @return the hexadecimal SHA-256 digest of the value
+     */
+    public static String sha256Hex(String value) {
+        return HexFormat.of().formatHex(sha256(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
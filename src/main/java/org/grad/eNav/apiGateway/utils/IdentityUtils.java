@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import org.grad.eNav.apiGateway.models.CertificateIdentity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.core.oidc.user.OidcUser;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.security.Principal;
+import java.util.Objects;
+
+/**
+ * The Identity Utilities Class.
+ *
+ * A collection of utility functions used to identify the caller of a
+ * request in a stable way, independently of how it was authenticated, so
+ * that per-caller state, such as cache partitions, can be keyed on it.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class IdentityUtils {
+
+    /**
+     * Returns the identity of the provided principal. That is the MRN for
+     * X.509 certificate authentications, the subject for JWT and OIDC
+     * authentications, or otherwise the principal name.
+     *
+     * @param principal the authenticated principal
+     * @return the identity of the principal
+     */
+    public static String getIdentity(Principal principal) {
+        if(principal instanceof Authentication authentication) {
+            if(authentication.getDetails() instanceof CertificateIdentity identity && Objects.nonNull(identity.mrn())) {
+                return identity.mrn();
+            }
+            if(authentication.getPrincipal() instanceof Jwt jwt && Objects.nonNull(jwt.getSubject())) {
+                return jwt.getSubject();
+            }
+            if(authentication.getPrincipal() instanceof OidcUser user && Objects.nonNull(user.getSubject())) {
+                return user.getSubject();
+            }
+        }
+        return principal.getName();
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The Metered Task Decorator Class.
+ *
+ * A task decorator that measures the tasks of an executor, independently of
+ * how the executor is implemented. It keeps track of the number of tasks
+ * waiting to be executed (either queued or waiting for a concurrency permit)
+ * and currently being executed, as well as how long each task waited before
+ * starting and how long its execution took.
+ * <p/>
+ * The tasks are counted as waiting as soon as they are decorated, i.e.
+ * before they are handed over to the executor, so any tasks rejected by
+ * the executor should be reported through the
+ * {@link #rejectedExecutionHandler(RejectedExecutionHandler)}.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class MeteredTaskDecorator implements TaskDecorator {
+
+    // Class Variables
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Timer executionTimer;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param meterRegistry the meter registry
+     * @param tags          the tags of the executor metrics
+     */
+    public MeteredTaskDecorator(MeterRegistry meterRegistry, Tags tags) {
+        Gauge.builder("async.tasks.queued", this.queued, AtomicInteger::get)
+                .tags(tags)
+                .description("The number of tasks waiting to be executed")
+                .register(meterRegistry);
+        Gauge.builder("async.tasks.active", this.active, AtomicInteger::get)
+                .tags(tags)
+                .description("The number of tasks currently being executed")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("async.tasks.wait")
+                .tags(tags)
+                .description("The time the tasks waited before being executed")
+                .register(meterRegistry);
+        this.executionTimer = Timer.builder("async.tasks.execution")
+                .tags(tags)
+                .description("The execution time of the tasks")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Decorates the provided task, at the time of its submission, so that
+     * its waiting and execution times are measured.
+     *
+     * @param runnable the submitted task
+     * @return the decorated task
+     */
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        this.queued.incrementAndGet();
+        return new MeteredTask(runnable, System.nanoTime());
+    }
+
+    /**
+     * Returns a rejected execution handler that removes the rejected tasks
+     * from the waiting ones, before handing them over to the provided
+     * handler. Since the tasks are decorated, and therefore counted, before
+     * they are submitted, the executors should use this handler so that the
+     * rejected tasks are not counted as waiting forever.
+     *
+     * @param delegate the rejected execution handler to delegate to
+     * @return the metered rejected execution handler
+     */
+    public RejectedExecutionHandler rejectedExecutionHandler(RejectedExecutionHandler delegate) {
+        return (runnable, executor) -> {
+            if(runnable instanceof MeteredTask task) {
+                task.dequeue();
+            }
+            delegate.rejectedExecution(runnable, executor);
+        };
+    }
+
+    /**
+     * The Metered Task Class.
+     *
+     * Wraps a submitted task, so that it is removed from the waiting tasks
+     * exactly once, either when it starts or when it is rejected.
+     */
+    private class MeteredTask implements Runnable {
+
+        // Class Variables
+        private final Runnable runnable;
+        private final long submitted;
+        private final AtomicBoolean waiting = new AtomicBoolean(true);
+
+        /**
+         * The Class Constructor.
+         *
+         * @param runnable  the submitted task
+         * @param submitted the submission time in nanoseconds
+         */
+        MeteredTask(Runnable runnable, long submitted) {
+            this.runnable = runnable;
+            this.submitted = submitted;
+        }
+
+        /**
+         * Removes the task from the waiting ones, unless already removed.
+         */
+        void dequeue() {
+            if(this.waiting.compareAndSet(true, false)) {
+                queued.decrementAndGet();
+            }
+        }
+
+        /**
+         * Executes the task, measuring its waiting and execution times.
+         */
+        @Override
+        public void run() {
+            final long started = System.nanoTime();
+            this.dequeue();
+            active.incrementAndGet();
+            waitTimer.record(started - this.submitted, TimeUnit.NANOSECONDS);
+            try {
+                this.runnable.run();
+            } finally {
+                active.decrementAndGet();
+                executionTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The MRN Prefix Trie Class.
+ *
+ * A compiled, immutable prefix trie of allowed and denied MRN prefixes. A
+ * lookup walks the provided MRN character by character and picks the
+ * decision of the longest matching prefix, so it costs O(MRN length)
+ * regardless of the number of configured prefixes. The matching is case
+ * insensitive, as the MRNs themselves are.
+ * <p/>
+ * If no prefix matches, the MRN is only allowed when there are no allowed
+ * prefixes configured at all, i.e. the trie only contains denials. This means
+ * that an empty trie allows everything.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class MrnPrefixTrie {
+
+    /**
+     * The decision associated with a prefix.
+     */
+    public enum Decision {
+        NONE,
+        ALLOW,
+        DENY
+    }
+
+    /**
+     * An empty trie, allowing everything.
+     */
+    public static final MrnPrefixTrie EMPTY = MrnPrefixTrie.compile(List.of(), List.of());
+
+    // Class Variables
+    private final char[][] labels;
+    private final int[][] children;
+    private final Decision[] decisions;
+    private final boolean hasAllowed;
+    private final int size;
+
+    /**
+     * The private Class Constructor. Use the compile function to generate
+     * new tries.
+     *
+     * @param labels    the sorted edge labels of each node
+     * @param children  the child node indexes of each node
+     * @param decisions the decision of each node
+     * @param hasAllowed whether any allowed prefixes exist
+     * @param size      the number of prefixes in the trie
+     */
+    private MrnPrefixTrie(char[][] labels, int[][] children, Decision[] decisions, boolean hasAllowed, int size) {
+        this.labels = labels;
+        this.children = children;
+        this.decisions = decisions;
+        this.hasAllowed = hasAllowed;
+        this.size = size;
+    }
+
+    /**
+     * Compiles the provided allowed and denied MRN prefixes into a new trie.
+     * If the same prefix is both allowed and denied, the denial wins.
+     *
+     * @param allowed   the allowed MRN prefixes
+     * @param denied    the denied MRN prefixes
+     * @return the compiled MRN prefix trie
+     */
+    public static MrnPrefixTrie compile(Collection<String> allowed, Collection<String> denied) {
+        // Build a simple mutable trie first
+        final BuildNode root = new BuildNode();
+        final int allowedCount = insertAll(root, allowed, Decision.ALLOW);
+        final int deniedCount = insertAll(root, denied, Decision.DENY);
+
+        // And then flatten it into arrays in breadth-first order
+        final List<BuildNode> nodes = new ArrayList<>();
+        nodes.add(root);
+        for(int i = 0; i < nodes.size(); i++) {
+            final BuildNode node = nodes.get(i);
+            for(BuildNode child : node.children.values()) {
+                child.index = nodes.size();
+                nodes.add(child);
+            }
+        }
+        final char[][] labels = new char[nodes.size()][];
+        final int[][] children = new int[nodes.size()][];
+        final Decision[] decisions = new Decision[nodes.size()];
+        for(int i = 0; i < nodes.size(); i++) {
+            final BuildNode node = nodes.get(i);
+            labels[i] = new char[node.children.size()];
+            children[i] = new int[node.children.size()];
+            int j = 0;
+            for(var entry : node.children.entrySet()) {
+                labels[i][j] = entry.getKey();
+                children[i][j] = entry.getValue().index;
+                j++;
+            }
+            decisions[i] = node.decision;
+        }
+        return new MrnPrefixTrie(labels, children, decisions, allowedCount > 0, allowedCount + deniedCount);
+    }
+
+    /**
+     * Looks up the decision of the longest prefix matching the provided MRN.
+     *
+     * @param mrn the MRN to be looked up
+     * @return the decision of the longest matching prefix, or NONE if no
+     * prefix matches
+     */
+    public Decision lookup(String mrn) {
+        if(Objects.isNull(mrn)) {
+            return Decision.NONE;
+        }
+        int node = 0;
+        Decision decision = this.decisions[0];
+        for(int i = 0; i < mrn.length(); i++) {
+            final int idx = Arrays.binarySearch(this.labels[node], Character.toLowerCase(mrn.charAt(i)));
+            if(idx < 0) {
+                break;
+            }
+            node = this.children[node][idx];
+            if(this.decisions[node] != Decision.NONE) {
+                decision = this.decisions[node];
+            }
+        }
+        return decision;
+    }
+
+    /**
+     * Returns whether the provided MRN is allowed, based on the longest
+     * matching prefix.
+     *
+     * @param mrn the MRN to be checked
+     * @return whether the provided MRN is allowed
+     */
+    public boolean isAllowed(String mrn) {
+        return switch (this.lookup(mrn)) {
+            case ALLOW -> true;
+            case DENY -> false;
+            case NONE -> !this.hasAllowed;
+        };
+    }
+
+    /**
+     * Returns the number of prefixes compiled in the trie.
+     *
+     * @return the number of prefixes in the trie
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns whether the trie contains no prefixes.
+     *
+     * @return whether the trie contains no prefixes
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Inserts all the provided prefixes with the specified decision into the
+     * trie under construction.
+     *
+     * @param root      the root of the trie under construction
+     * @param prefixes  the prefixes to be inserted
+     * @param decision  the decision of the prefixes
+     * @return the number of prefixes inserted
+     */
+    private static int insertAll(BuildNode root, Collection<String> prefixes, Decision decision) {
+        int count = 0;
+        for(String prefix : Objects.requireNonNullElse(prefixes, List.<String>of())) {
+            if(Objects.isNull(prefix) || prefix.isBlank()) {
+                continue;
+            }
+            BuildNode node = root;
+            for(char c : prefix.trim().toLowerCase(Locale.ROOT).toCharArray()) {
+                node = node.children.computeIfAbsent(c, k -> new BuildNode());
+            }
+            if(node.decision != Decision.DENY) {
+                node.decision = decision;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * The mutable trie node used while compiling.
+     */
+    private static class BuildNode {
+        private final TreeMap<Character, BuildNode> children = new TreeMap<>();
+        private Decision decision = Decision.NONE;
+        private int index;
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * The Negotiation Utilities Class.
+ *
+ * A collection of utility functions used to evaluate the conditional and
+ * content negotiation request headers, i.e. "If-None-Match" and
+ * "Accept-Encoding", in the same way wherever the gateway answers them,
+ * e.g. for the cached, compressed or static responses.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class NegotiationUtils {
+
+    /**
+     * Checks whether any of the provided request entity tags match the
+     * provided one, using the weak comparison, as required for the
+     * "If-None-Match" header.
+     *
+     * @param ifNoneMatch   the request entity tags
+     * @param etag          the entity tag of the representation
+     * @return whether the entity tags match
+     */
+    public static boolean matchesETag(List<String> ifNoneMatch, String etag) {
+        if(Objects.isNull(etag)) {
+            return false;
+        }
+        final String opaqueTag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        return ifNoneMatch.stream()
+                .map(String::trim)
+                .anyMatch(tag -> tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaqueTag));
+    }
+
+    /**
+     * Returns the quality with which the provided content coding is
+     * accepted by the provided "Accept-Encoding" values. An explicit entry
+     * of the coding takes precedence over the "*" wildcard.
+     *
+     * @param acceptEncodings   the "Accept-Encoding" values
+     * @param coding            the content coding, e.g. "gzip"
+     * @return the quality of the coding, or 0 if it is not acceptable
+     */
+    public static double getEncodingQuality(List<String> acceptEncodings, String coding) {
+        double wildcardQuality = 0;
+        for(String acceptEncoding : acceptEncodings) {
+            final String[] parts = acceptEncoding.split(";");
+            final String candidate = parts[0].trim().toLowerCase(Locale.ROOT);
+            if(candidate.equals(coding)) {
+                return getQuality(parts);
+            }
+            if(candidate.equals("*")) {
+                wildcardQuality = getQuality(parts);
+            }
+        }
+        return wildcardQuality;
+    }
+
+    /**
+     * Selects the preferred supported content encoding out of the provided
+     * "Accept-Encoding" values, i.e. "gzip" or "deflate", preferring "gzip"
+     * when both are equally acceptable.
+     *
+     * @param acceptEncodings the "Accept-Encoding" values
+     * @return the selected content encoding or null if none is acceptable
+     */
+    public static String selectEncoding(List<String> acceptEncodings) {
+        final double gzipQuality = getEncodingQuality(acceptEncodings, StreamingCompressor.GZIP);
+        final double deflateQuality = getEncodingQuality(acceptEncodings, StreamingCompressor.DEFLATE);
+        if(gzipQuality <= 0 && deflateQuality <= 0) {
+            return null;
+        }
+        return gzipQuality >= deflateQuality ? StreamingCompressor.GZIP : StreamingCompressor.DEFLATE;
+    }
+
+    /**
+     * Parses the quality parameter of a split "Accept-Encoding" entry.
+     *
+     * @param parts the entry coding and parameters
+     * @return the quality, i.e. 1 if not specified, or 0 if invalid
+     */
+    private static double getQuality(String[] parts) {
+        for(int i = 1; i < parts.length; i++) {
+            final String parameter = parts[i].trim();
+            if(parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The Revoked Serial Index Class.
+ *
+ * A compact, immutable index of revoked certificates, identified by their
+ * issuer and serial number. The entries are kept in parallel arrays sorted by
+ * a 64-bit key derived from the issuer and serial number, so that a lookup is
+ * a single binary search over primitive longs. Optionally, the index can be
+ * fronted by a Bloom filter, which answers the (by far most common) negative
+ * lookups without even touching the sorted keys.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class RevokedSerialIndex {
+
+    /**
+     * An empty index, where nothing is revoked.
+     */
+    public static final RevokedSerialIndex EMPTY = RevokedSerialIndex.build(List.of(), false);
+
+    // Class Variables
+    private static final int BLOOM_BITS_PER_ENTRY = 10;
+    private static final int BLOOM_HASHES = 7;
+
+    private final long[] keys;
+    private final BigInteger[] serials;
+    private final int[] issuerIds;
+    private final X500Principal[] issuers;
+    private final long[] bloom;
+    private final int bloomMask;
+
+    /**
+     * The private Class Constructor. Use the build function to generate new
+     * indexes.
+     *
+     * @param keys      the sorted entry keys
+     * @param serials   the entry serial numbers
+     * @param issuerIds the entry issuer indexes
+     * @param issuers   the distinct issuers
+     * @param bloom     the Bloom filter bits, or null if not used
+     */
+    private RevokedSerialIndex(long[] keys, BigInteger[] serials, int[] issuerIds, X500Principal[] issuers, long[] bloom) {
+        this.keys = keys;
+        this.serials = serials;
+        this.issuerIds = issuerIds;
+        this.issuers = issuers;
+        this.bloom = bloom;
+        this.bloomMask = Objects.nonNull(bloom) ? (bloom.length << 6) - 1 : 0;
+    }
+
+    /**
+     * Builds a new index out of the provided revoked entries.
+     *
+     * @param entries       the revoked certificate entries
+     * @param useBloomFilter whether to front the index with a Bloom filter
+     * @return the built index
+     */
+    public static RevokedSerialIndex build(Collection<RevokedEntry> entries, boolean useBloomFilter) {
+        // Assign an ID to each distinct issuer
+        final Map<X500Principal, Integer> issuerIdMap = new HashMap<>();
+        final List<X500Principal> issuerList = new ArrayList<>();
+        final RevokedEntry[] sorted = entries.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toArray(RevokedEntry[]::new);
+        for(RevokedEntry entry : sorted) {
+            issuerIdMap.computeIfAbsent(entry.issuer(), issuer -> {
+                issuerList.add(issuer);
+                return issuerList.size() - 1;
+            });
+        }
+
+        // Sort the entries by their keys and populate the arrays
+        Arrays.sort(sorted, (a, b) -> Long.compare(key(a.issuer(), a.serial()), key(b.issuer(), b.serial())));
+        final long[] keys = new long[sorted.length];
+        final BigInteger[] serials = new BigInteger[sorted.length];
+        final int[] issuerIds = new int[sorted.length];
+        for(int i = 0; i < sorted.length; i++) {
+            keys[i] = key(sorted[i].issuer(), sorted[i].serial());
+            serials[i] = sorted[i].serial();
+            issuerIds[i] = issuerIdMap.get(sorted[i].issuer());
+        }
+
+        // Build the Bloom filter if required, sized as a power of two
+        long[] bloom = null;
+        if(useBloomFilter && sorted.length > 0) {
+            final long bits = Long.highestOneBit(Math.max(64L, (long) sorted.length * BLOOM_BITS_PER_ENTRY - 1) << 1);
+            bloom = new long[(int) Math.min(bits >>> 6, 1 << 24)];
+            final int mask = (bloom.length << 6) - 1;
+            for(long key : keys) {
+                final int h1 = (int) key;
+                final int h2 = (int) (key >>> 32) | 1;
+                for(int i = 0; i < BLOOM_HASHES; i++) {
+                    final int bit = (h1 + i * h2) & mask;
+                    bloom[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+
+        return new RevokedSerialIndex(keys, serials, issuerIds, issuerList.toArray(X500Principal[]::new), bloom);
+    }
+
+    /**
+     * Checks whether the certificate with the provided issuer and serial
+     * number is included in the index.
+     *
+     * @param issuer the certificate issuer
+     * @param serial the certificate serial number
+     * @return whether the certificate is revoked
+     */
+    public boolean isRevoked(X500Principal issuer, BigInteger serial) {
+        if(this.keys.length == 0 || Objects.isNull(issuer) || Objects.isNull(serial)) {
+            return false;
+        }
+        final long key = key(issuer, serial);
+
+        // Check the Bloom filter first, if available
+        if(Objects.nonNull(this.bloom)) {
+            final int h1 = (int) key;
+            final int h2 = (int) (key >>> 32) | 1;
+            for(int i = 0; i < BLOOM_HASHES; i++) {
+                final int bit = (h1 + i * h2) & this.bloomMask;
+                if((this.bloom[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+        }
+
+        // Then perform the binary search, verifying any key collisions
+        int idx = Arrays.binarySearch(this.keys, key);
+        if(idx < 0) {
+            return false;
+        }
+        while(idx > 0 && this.keys[idx - 1] == key) {
+            idx--;
+        }
+        for(; idx < this.keys.length && this.keys[idx] == key; idx++) {
+            if(this.serials[idx].equals(serial) && this.issuers[this.issuerIds[idx]].equals(issuer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of revoked certificates in the index.
+     *
+     * @return the number of revoked certificates in the index
+     */
+    public int size() {
+        return this.keys.length;
+    }
+
+    /**
+     * Returns whether the index is fronted by a Bloom filter.
+     *
+     * @return whether the index is fronted by a Bloom filter
+     */
+    public boolean hasBloomFilter() {
+        return Objects.nonNull(this.bloom);
+    }
+
+    /**
+     * Generates the 64-bit key of the provided issuer and serial number,
+     * mixing the bits so that they are usable for the Bloom filter as well.
+     *
+     * @param issuer the certificate issuer
+     * @param serial the certificate serial number
+     * @return the 64-bit key
+     */
+    static long key(X500Principal issuer, BigInteger serial) {
+        long h = ((long) issuer.hashCode() << 32) ^ (serial.hashCode() & 0xffffffffL);
+        // The MurmurHash3 64-bit finaliser
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * A revoked certificate entry.
+     *
+     * @param issuer the certificate issuer
+     * @param serial the certificate serial number
+     */
+    public record RevokedEntry(X500Principal issuer, BigInteger serial) {
+
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The Session Serializer Class.
+ *
+ * Serialises the web session attributes into a compact byte array, so that
+ * the sessions can be kept in memory, or shared between gateway nodes,
+ * without holding on to the full attribute object graphs. The attributes
+ * are written with the standard Java serialisation, which all the Spring
+ * Security session attributes support, and then deflated, since most of
+ * their size consists of repeated class descriptors. Any attributes that
+ * are not serialisable are skipped.
+ * <p/>
+ * Since the serialised sessions may come from a backend shared between
+ * nodes, the deserialisation is restricted to an allow-list of the core
+ * Java, Spring Security and gateway types, and is also limited in depth,
+ * references and size, so that a corrupted or tampered session can neither
+ * instantiate arbitrary classes nor exhaust the gateway resources.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Slf4j
+public class SessionSerializer {
+
+    /**
+     * The deserialisation filter of the session attributes. Apart from the
+     * core Java, Spring Security and gateway types, the JSON map type of the
+     * Nimbus token parser is also allowed, as it is used by the token claims.
+     */
+    public static final String FILTER_PATTERN = "maxdepth=64;maxrefs=65536;maxarray=1048576;maxbytes=4194304;"
+            + "java.base/*;"
+            + "org.springframework.security.**;"
+            + "org.grad.eNav.apiGateway.**;"
+            + "com.nimbusds.jose.shaded.gson.internal.LinkedTreeMap;"
+            + "!*";
+
+    // Class Variables
+    private static final ObjectInputFilter FILTER = ObjectInputFilter.Config.createFilter(FILTER_PATTERN);
+
+    /**
+     * Serialises the provided session attributes.
+     *
+     * @param attributes the session attributes
+     * @return the serialised session attributes
+     */
+    public static byte[] serialize(Map<String, Object> attributes) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(512);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try(ObjectOutputStream objectOutput = new ObjectOutputStream(new DeflaterOutputStream(output, deflater))) {
+            final Map<String, Object> serializable = new HashMap<>();
+            attributes.forEach((name, value) -> {
+                if(value instanceof Serializable) {
+                    serializable.put(name, value);
+                } else {
+                    log.warn("Skipping the non-serialisable session attribute {}", name);
+                }
+            });
+            objectOutput.writeObject(serializable);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            deflater.end();
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Deserialises the provided session attributes.
+     *
+     * @param bytes the serialised session attributes
+     * @return the session attributes
+     * @throws IOException if the session attributes cannot be deserialised
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> deserialize(byte[] bytes) throws IOException {
+        final Inflater inflater = new Inflater();
+        try(ObjectInputStream objectInput = new ObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes), inflater))) {
+            objectInput.setObjectInputFilter(FILTER);
+            return (Map<String, Object>) objectInput.readObject();
+        } catch (ClassNotFoundException | ClassCastException ex) {
+            throw new IOException(ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * The Stage Timings Class.
+ *
+ * Holds the time spent in each processing stage of a single exchange, e.g.
+ * in each authentication filter, in the route lookup or in the upstream
+ * call. The timings are attached to the exchange attributes (and the reactor
+ * context) when the exchange is received, and are only published as metrics
+ * once it completes, so that every stage can be tagged with the route ID,
+ * which is only resolved half-way through the processing.
+ * <p/>
+ * Two kinds of stages are supported:
+ * <ul>
+ *     <li>Timed stages, which measure the time a filter or authentication
+ *     manager spends on the exchange itself, i.e. until it hands the exchange
+ *     over to the rest of the chain, or completes it.</li>
+ *     <li>Lap stages, which measure the time since the previous lap, or
+ *     since the exchange was received.</li>
+ * </ul>
+ * Stages are only ever recorded one after the other along the processing
+ * of the exchange, so the bookkeeping is just a few array slots.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class StageTimings {
+
+    // Class Variables
+    public static final String ATTRIBUTE = StageTimings.class.getName();
+    public static final String AUTH_FORWARDED_X509 = "forwarded-x509";
+    public static final String AUTH_MTLS = "mtls";
+    public static final String AUTH_JWT = "jwt";
+    public static final String AUTH_SESSION = "session";
+    public static final String AUTH_NONE = "none";
+    private final String authMode;
+    private final long start;
+    private long lap;
+    private int count;
+    private String[] stages = new String[8];
+    private long[] starts = new long[8];
+    private long[] durations = new long[8];
+
+    /**
+     * The Class Constructor.
+     *
+     * @param authMode  the authentication mode of the exchange
+     * @param start     the time the exchange was received in nanoseconds
+     */
+    public StageTimings(String authMode, long start) {
+        this.authMode = authMode;
+        this.start = start;
+        this.lap = start;
+    }
+
+    /**
+     * Returns the authentication mode of the exchange.
+     *
+     * @return the authentication mode
+     */
+    public String getAuthMode() {
+        return this.authMode;
+    }
+
+    /**
+     * Returns the time the exchange was received in nanoseconds.
+     *
+     * @return the start time of the exchange
+     */
+    public long getStart() {
+        return this.start;
+    }
+
+    /**
+     * Begins timing the provided stage.
+     *
+     * @param stage the name of the stage
+     * @return the index of the stage, to end it with
+     */
+    public synchronized int begin(String stage) {
+        if(this.count == this.stages.length) {
+            this.stages = Arrays.copyOf(this.stages, this.count * 2);
+            this.starts = Arrays.copyOf(this.starts, this.count * 2);
+            this.durations = Arrays.copyOf(this.durations, this.count * 2);
+        }
+        this.stages[this.count] = stage;
+        this.starts[this.count] = System.nanoTime();
+        this.durations[this.count] = -1;
+        return this.count++;
+    }
+
+    /**
+     * Ends timing the stage of the provided index. Only the first call has
+     * any effect, so it is safe to end a stage both when the exchange is
+     * handed over and when it completes.
+     *
+     * @param index the index of the stage
+     */
+    public synchronized void end(int index) {
+        if(this.durations[index] < 0) {
+            this.durations[index] = System.nanoTime() - this.starts[index];
+        }
+    }
+
+    /**
+     * Records the provided stage as the time since the previous lap, or since
+     * the exchange was received.
+     *
+     * @param stage the name of the stage
+     */
+    public synchronized void lap(String stage) {
+        final long now = System.nanoTime();
+        final int index = this.begin(stage);
+        this.durations[index] = now - this.lap;
+        this.lap = now;
+    }
+
+    /**
+     * Passes each completed stage, along with its duration in nanoseconds, to
+     * the provided consumer.
+     *
+     * @param consumer the stage consumer
+     */
+    public synchronized void forEach(ObjLongConsumer<String> consumer) {
+        for(int i = 0; i < this.count; i++) {
+            if(this.durations[i] >= 0) {
+                consumer.accept(this.stages[i], this.durations[i]);
+            }
+        }
+    }
+
+    /**
+     * Wraps the provided web filter so that the time it spends on each
+     * exchange is recorded as the provided stage.
+     *
+     * @param stage     the name of the stage
+     * @param filter    the web filter to be timed
+     * @return the timed web filter
+     */
+    public static WebFilter timed(String stage, WebFilter filter) {
+        return (exchange, chain) -> {
+            final StageTimings timings = exchange.getAttribute(ATTRIBUTE);
+            if(Objects.isNull(timings)) {
+                return filter.filter(exchange, chain);
+            }
+            final int index = timings.begin(stage);
+            return filter.filter(exchange, handedOver -> {
+                        timings.end(index);
+                        return chain.filter(handedOver);
+                    })
+                    .doFinally(signal -> timings.end(index));
+        };
+    }
+
+    /**
+     * Wraps the provided gateway filter so that the time it spends on each
+     * exchange is recorded as the provided stage.
+     *
+     * @param stage     the name of the stage
+     * @param filter    the gateway filter to be timed
+     * @return the timed gateway filter
+     */
+    public static GatewayFilter timed(String stage, GatewayFilter filter) {
+        return (exchange, chain) -> {
+            final StageTimings timings = exchange.getAttribute(ATTRIBUTE);
+            if(Objects.isNull(timings)) {
+                return filter.filter(exchange, chain);
+            }
+            final int index = timings.begin(stage);
+            return filter.filter(exchange, handedOver -> {
+                        timings.end(index);
+                        return chain.filter(handedOver);
+                    })
+                    .doFinally(signal -> timings.end(index));
+        };
+    }
+
+    /**
+     * Wraps the provided authentication manager so that the time it spends
+     * on each authentication is recorded as the provided stage. Since the
+     * authentication managers have no access to the exchange, the timings
+     * are picked up from the reactor context instead.
+     *
+     * @param stage     the name of the stage
+     * @param manager   the authentication manager to be timed
+     * @return the timed authentication manager
+     */
+    public static ReactiveAuthenticationManager timed(String stage, ReactiveAuthenticationManager manager) {
+        return authentication -> Mono.deferContextual(context -> {
+            final StageTimings timings = context.getOrDefault(StageTimings.class, null);
+            if(Objects.isNull(timings)) {
+                return manager.authenticate(authentication);
+            }
+            final int index = timings.begin(stage);
+            return manager.authenticate(authentication)
+                    .doFinally(signal -> timings.end(index));
+        });
+    }
+
+    /**
+     * Returns a web filter that records the provided stage as a lap, i.e.
+     * the time since the previous lap, or since the exchange was received.
+     *
+     * @param stage the name of the stage
+     * @return the lap web filter
+     */
+    public static WebFilter lapFilter(String stage) {
+        return (exchange, chain) -> {
+            lap(exchange, stage);
+            return chain.filter(exchange);
+        };
+    }
+
+    /**
+     * Records the provided stage of the exchange as a lap, if the exchange
+     * is being timed.
+     *
+     * @param exchange  the server web exchange
+     * @param stage     the name of the stage
+     */
+    public static void lap(ServerWebExchange exchange, String stage) {
+        final StageTimings timings = exchange.getAttribute(ATTRIBUTE);
+        if(Objects.nonNull(timings)) {
+            timings.lap(stage);
+        }
+    }
+
+}
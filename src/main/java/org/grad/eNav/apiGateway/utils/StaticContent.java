@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The Static Content Class.
+ *
+ * Holds a static resource in memory, along with its precompressed gzip
+ * variant and the strong entity tags of both representations, so that it
+ * can be served without touching the classpath or compressing it again.
+ * The gzip variant is only kept if it is actually smaller. Conditional
+ * requests with a matching "If-None-Match" header are answered with a
+ * "304 Not Modified" response.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class StaticContent {
+
+    // Class Variables
+    private final byte[] body;
+    private final byte[] gzipBody;
+    private final MediaType mediaType;
+    private final String etag;
+    private final String gzipETag;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param body      the uncompressed content
+     * @param mediaType the media type of the content
+     */
+    public StaticContent(byte[] body, MediaType mediaType) {
+        final String hash = HexFormat.of().formatHex(HashingUtils.sha256(body), 0, 16);
+        final byte[] gzipBody = compress(body);
+        this.body = body;
+        this.gzipBody = gzipBody.length < body.length ? gzipBody : null;
+        this.mediaType = mediaType;
+        this.etag = "\"" + hash + "\"";
+        this.gzipETag = "\"" + hash + "-" + StreamingCompressor.GZIP + "\"";
+    }
+
+    /**
+     * Returns the uncompressed content.
+     *
+     * @return the uncompressed content
+     */
+    public byte[] getBody() {
+        return this.body;
+    }
+
+    /**
+     * Returns the precompressed gzip content, if it is smaller than the
+     * uncompressed one.
+     *
+     * @return the gzip content, or null if not available
+     */
+    public byte[] getGzipBody() {
+        return this.gzipBody;
+    }
+
+    /**
+     * Returns the strong entity tag of the uncompressed content.
+     *
+     * @return the entity tag
+     */
+    public String getETag() {
+        return this.etag;
+    }
+
+    /**
+     * Builds the response for the provided request headers, as a response
+     * entity of an annotated controller.
+     *
+     * @param requestHeaders    the request headers
+     * @param cacheControl      the Cache-Control header value
+     * @return the response entity
+     */
+    public ResponseEntity<byte[]> toResponseEntity(HttpHeaders requestHeaders, String cacheControl) {
+        final boolean gzip = this.acceptsGzip(requestHeaders);
+        final HttpHeaders headers = this.getHeaders(gzip, cacheControl);
+        if(NegotiationUtils.matchesETag(requestHeaders.getIfNoneMatch(), gzip ? this.gzipETag : this.etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        return ResponseEntity.ok()
+                .headers(headers)
+                .contentType(this.mediaType)
+                .contentLength(gzip ? this.gzipBody.length : this.body.length)
+                .body(gzip ? this.gzipBody : this.body);
+    }
+
+    /**
+     * Builds the response for the provided request, as a server response of
+     * a router function.
+     *
+     * @param request       the server request
+     * @param cacheControl  the Cache-Control header value
+     * @return the server response
+     */
+    public Mono<ServerResponse> toServerResponse(ServerRequest request, String cacheControl) {
+        final boolean gzip = this.acceptsGzip(request.headers().asHttpHeaders());
+        final HttpHeaders headers = this.getHeaders(gzip, cacheControl);
+        if(NegotiationUtils.matchesETag(request.headers().asHttpHeaders().getIfNoneMatch(), gzip ? this.gzipETag : this.etag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).headers(h -> h.addAll(headers)).build();
+        }
+        return ServerResponse.ok()
+                .headers(h -> h.addAll(headers))
+                .contentType(this.mediaType)
+                .contentLength(gzip ? this.gzipBody.length : this.body.length)
+                .body(BodyInserters.fromValue(gzip ? this.gzipBody : this.body));
+    }
+
+    /**
+     * Returns the representation headers, i.e. the entity tag, encoding and
+     * caching headers of the selected representation.
+     *
+     * @param gzip          whether the gzip representation is selected
+     * @param cacheControl  the Cache-Control header value
+     * @return the representation headers
+     */
+    private HttpHeaders getHeaders(boolean gzip, String cacheControl) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setETag(gzip ? this.gzipETag : this.etag);
+        headers.setCacheControl(cacheControl);
+        if(Objects.nonNull(this.gzipBody)) {
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        }
+        if(gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, StreamingCompressor.GZIP);
+        }
+        return headers;
+    }
+
+    /**
+     * Checks whether the gzip representation is available and accepted by
+     * the provided request headers.
+     *
+     * @param requestHeaders the request headers
+     * @return whether the gzip representation should be served
+     */
+    private boolean acceptsGzip(HttpHeaders requestHeaders) {
+        return Objects.nonNull(this.gzipBody)
+                && NegotiationUtils.getEncodingQuality(requestHeaders.getValuesAsList(HttpHeaders.ACCEPT_ENCODING), StreamingCompressor.GZIP) > 0;
+    }
+
+    /**
+     * Compresses the provided content with gzip, at the maximum compression
+     * level, since it is only compressed once.
+     *
+     * @param body the content to be compressed
+     * @return the gzip content
+     */
+    private static byte[] compress(byte[] body) {
+        final StreamingCompressor compressor = new StreamingCompressor(StreamingCompressor.GZIP, 9);
+        try {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            output.writeBytes(compressor.compress(body));
+            output.writeBytes(compressor.finish());
+            return output.toByteArray();
+        } finally {
+            compressor.end();
+        }
+    }
+
+}
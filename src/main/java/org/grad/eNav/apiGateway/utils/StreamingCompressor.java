@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * The Streaming Compressor Class.
+ *
+ * Compresses a body chunk by chunk, as it becomes available, into either
+ * the "gzip" or the "deflate" (zlib) HTTP content encoding, so that bodies
+ * never need to be buffered as a whole. Each instance compresses a single
+ * body and must be ended once done, to release the native deflater memory.
+ * The compressor also keeps track of the input and output sizes and the
+ * time spent compressing.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class StreamingCompressor {
+
+    // Class Variables
+    public static final String GZIP = "gzip";
+    public static final String DEFLATE = "deflate";
+    private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+    private final String encoding;
+    private final Deflater deflater;
+    private final CRC32 crc;
+    private final byte[] buffer = new byte[8192];
+    private boolean headerWritten;
+    private long inputBytes;
+    private long outputBytes;
+    private long nanos;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param encoding  the content encoding, i.e. "gzip" or "deflate"
+     * @param level     the compression level
+     */
+    public StreamingCompressor(String encoding, int level) {
+        this.encoding = encoding;
+        this.deflater = new Deflater(level, GZIP.equals(encoding));
+        this.crc = GZIP.equals(encoding) ? new CRC32() : null;
+    }
+
+    /**
+     * Returns the content encoding of the compressor.
+     *
+     * @return the content encoding
+     */
+    public String getEncoding() {
+        return this.encoding;
+    }
+
+    /**
+     * Returns the number of uncompressed bytes so far.
+     *
+     * @return the number of uncompressed bytes
+     */
+    public long getInputBytes() {
+        return this.inputBytes;
+    }
+
+    /**
+     * Returns the number of compressed bytes so far.
+     *
+     * @return the number of compressed bytes
+     */
+    public long getOutputBytes() {
+        return this.outputBytes;
+    }
+
+    /**
+     * Returns the time spent compressing so far in nanoseconds.
+     *
+     * @return the time spent compressing
+     */
+    public long getNanos() {
+        return this.nanos;
+    }
+
+    /**
+     * Compresses the next chunk of the body. The compressed output may be
+     * empty if the deflater needs more input to produce it.
+     *
+     * @param input the next uncompressed chunk
+     * @return the compressed output available so far
+     */
+    public byte[] compress(byte[] input) {
+        return this.compress(input, false);
+    }
+
+    /**
+     * Compresses the next chunk of the body. If flushed, all the compressed
+     * output of the chunk is returned straight away (a sync flush), so that
+     * the receiver can decompress everything sent so far, at a small cost in
+     * the compression ratio. Otherwise, the compressed output may be empty if
+     * the deflater needs more input to produce it.
+     *
+     * @param input the next uncompressed chunk
+     * @param flush whether to flush the compressed output of the chunk
+     * @return the compressed output available so far
+     */
+    public synchronized byte[] compress(byte[] input, boolean flush) {
+        final long start = System.nanoTime();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        this.writeHeader(output);
+        this.inputBytes += input.length;
+        if(Objects.nonNull(this.crc)) {
+            this.crc.update(input);
+        }
+        this.deflater.setInput(input);
+        while(!this.deflater.needsInput()) {
+            this.deflate(output, Deflater.NO_FLUSH);
+        }
+        if(flush && input.length > 0) {
+            // A full buffer means that there may be more output pending
+            int length;
+            do {
+                length = this.deflate(output, Deflater.SYNC_FLUSH);
+            } while(length == this.buffer.length);
+        }
+        this.nanos += System.nanoTime() - start;
+        return this.collect(output);
+    }
+
+    /**
+     * Finishes the compression and returns the remaining output, including
+     * the gzip trailer where applicable.
+     *
+     * @return the remaining compressed output
+     */
+    public synchronized byte[] finish() {
+        final long start = System.nanoTime();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        this.writeHeader(output);
+        this.deflater.finish();
+        while(!this.deflater.finished()) {
+            this.deflate(output, Deflater.NO_FLUSH);
+        }
+        if(Objects.nonNull(this.crc)) {
+            this.writeInt(output, (int) this.crc.getValue());
+            this.writeInt(output, (int) this.inputBytes);
+        }
+        this.nanos += System.nanoTime() - start;
+        return this.collect(output);
+    }
+
+    /**
+     * Releases the native deflater memory.
+     */
+    public synchronized void end() {
+        this.deflater.end();
+    }
+
+    /**
+     * Deflates the pending input into the provided output.
+     *
+     * @param output    the compressed output
+     * @param flushMode the deflater flush mode
+     * @return the number of compressed bytes written
+     */
+    private int deflate(ByteArrayOutputStream output, int flushMode) {
+        final int length = this.deflater.deflate(this.buffer, 0, this.buffer.length, flushMode);
+        output.write(this.buffer, 0, length);
+        return length;
+    }
+
+    /**
+     * Writes the gzip header once, before any other output.
+     *
+     * @param output the compressed output
+     */
+    private void writeHeader(ByteArrayOutputStream output) {
+        if(Objects.nonNull(this.crc) && !this.headerWritten) {
+            output.writeBytes(GZIP_HEADER);
+            this.headerWritten = true;
+        }
+    }
+
+    /**
+     * Writes an integer in the little-endian order of the gzip trailer.
+     *
+     * @param output    the compressed output
+     * @param value     the integer value
+     */
+    private void writeInt(ByteArrayOutputStream output, int value) {
+        output.write(value & 0xff);
+        output.write((value >> 8) & 0xff);
+        output.write((value >> 16) & 0xff);
+        output.write((value >> 24) & 0xff);
+    }
+
+    /**
+     * Collects the compressed output and updates the output size.
+     *
+     * @param output the compressed output
+     * @return the compressed output bytes
+     */
+    private byte[] collect(ByteArrayOutputStream output) {
+        this.outputBytes += output.size();
+        return output.toByteArray();
+    }
+
+}
@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.grad.eNav.apiGateway.components.ForwardedX509AuthenticationConverter;
+import org.grad.eNav.apiGateway.components.ForwardedX509HeadersFilter;
+import org.grad.eNav.apiGateway.models.CertificateIdentity;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.Http11SslContextSpec;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The API-Gateway End-to-End Load Test.
+ *
+ * Starts the complete API-Gateway, with TLS and the Keycloak security
+ * enabled, against a local stub backend that also acts as the Keycloak JWKS
+ * endpoint. A static route table is used instead of the Eureka discovery.
+ * The gateway is then driven with forwarded X.509, direct mTLS and bearer
+ * JWT traffic, first separately and then as a mix, reporting the latency
+ * percentiles, throughput and allocations of each authentication mode.
+ * <p/>
+ * This test is excluded from the normal builds and can be run through the
+ * "load-test" Maven profile. The load and the regression thresholds can be
+ * adjusted through the following system properties:
+ * <ul>
+ *     <li>load.requests: the measured requests per run (default 20000)</li>
+ *     <li>load.warmup-requests: the warm-up requests per run (default 5000)</li>
+ *     <li>load.concurrency: the concurrent requests in flight (default 64)</li>
+ *     <li>load.mix: the traffic mix weights (default FORWARDED_X509:1,MTLS:1,BEARER_JWT:1)</li>
+ *     <li>load.threshold.p99-ms: the maximum p99 latency in milliseconds (default 100)</li>
+ *     <li>load.threshold.min-rps: the minimum requests per second (default 0, i.e. disabled)</li>
+ *     <li>load.report: the CSV report file (default target/load-test-report.csv)</li>
+ * </ul>
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(TestingConfiguration.class)
+@TestPropertySource("classpath:application.properties")
+class APIGatewayLoadTest {
+
+    /**
+     * The authentication modes of the generated traffic.
+     */
+    enum AuthenticationMode {
+        FORWARDED_X509,
+        MTLS,
+        BEARER_JWT
+    }
+
+    /**
+     * The results of a single load run.
+     *
+     * @param name              the run name
+     * @param requests          the number of requests
+     * @param errors            the number of failed requests
+     * @param requestsPerSecond the achieved throughput
+     * @param p50Millis         the median latency in milliseconds
+     * @param p99Millis         the 99th percentile latency in milliseconds
+     * @param p999Millis        the 99.9th percentile latency in milliseconds
+     * @param bytesPerRequest   the bytes allocated in the JVM per request
+     */
+    record LoadResult(String name, long requests, long errors, double requestsPerSecond, double p50Millis, double p99Millis, double p999Millis, long bytesPerRequest) {
+
+    }
+
+    // Test Variables
+    private static final String PASSWORD = "changeit";
+    private static final String KEY_ID = "load-test-key";
+    private static final String STUB_SERVICE_PATH = "/stub-service/api/secom/v1/capability";
+    private static final String STUB_MRN_HEADER = "X-Stub-MRN";
+    private static final String MRN_HEADER = "X-SECOM-MRN";
+    private static final String SSL_FORWARDED = "true";
+    private static final String SSL_VERIFY = "SUCCESS";
+    private static final String STUB_RESPONSE = "{\"capability\":[{\"containerType\":0,\"dataProductType\":\"S125\",\"productSchemaVersion\":\"1.0.0\"}]}";
+    private static final TestingFixtures.McpCertificate CA = TestingFixtures.generateMcpCa();
+    private static final TestingFixtures.McpCertificate CLIENT_CERTIFICATE = TestingFixtures.generateMcpCertificate(CA, "device", "Load Test Device");
+    private static final KeyPair JWT_KEY_PAIR = TestingFixtures.generateRsaKeyPair();
+    private static DisposableServer stubServer;
+
+    private final int requests = Integer.getInteger("load.requests", 20000);
+    private final int warmupRequests = Integer.getInteger("load.warmup-requests", 5000);
+    private final int concurrency = Integer.getInteger("load.concurrency", 64);
+    private final double p99ThresholdMillis = Double.parseDouble(System.getProperty("load.threshold.p99-ms", "100"));
+    private final double minRequestsPerSecond = Double.parseDouble(System.getProperty("load.threshold.min-rps", "0"));
+    private final Map<AuthenticationMode, HttpClient> httpClients = new EnumMap<>(AuthenticationMode.class);
+    private final List<ConnectionProvider> connectionProviders = new ArrayList<>();
+
+    @Value("${local.server.port}")
+    private int port;
+
+    /**
+     * Starts the stub backend and points the gateway to it. The stub serves
+     * both the backend service responses, and the Keycloak JWKS.
+     *
+     * @param registry the dynamic property registry
+     */
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        final String jwkSet = new JWKSet(new RSAKey.Builder((RSAPublicKey) JWT_KEY_PAIR.getPublic()).keyID(KEY_ID).build()).toString();
+        stubServer = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/realms/test/protocol/openid-connect/certs", (request, response) -> response
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .sendString(Mono.just(jwkSet)))
+                        .route(request -> true, (request, response) -> response
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .header(STUB_MRN_HEADER, Objects.requireNonNullElse(request.requestHeaders().get(MRN_HEADER), ""))
+                                .sendString(Mono.just(STUB_RESPONSE))))
+                .bindNow();
+        final String stubUrl = "http://localhost:" + stubServer.port();
+        final String realmUrl = stubUrl + "/realms/test/protocol/openid-connect";
+
+        // Enable the security with TLS and optional client certificates
+        final Path keyStore = TestingFixtures.writeKeyStore(TestingFixtures.generateServerCertificate(CA, "localhost"), CA, "api-gateway", PASSWORD);
+        final Path trustStore = TestingFixtures.writeTrustStore(CA, PASSWORD);
+        registry.add("keycloak.enabled", () -> "true");
+        registry.add("server.ssl.enabled", () -> "true");
+        registry.add("server.ssl.key-store", keyStore::toString);
+        registry.add("server.ssl.key-store-type", () -> "PKCS12");
+        registry.add("server.ssl.key-store-password", () -> PASSWORD);
+        registry.add("server.ssl.key-alias", () -> "api-gateway");
+        registry.add("server.ssl.trust-store", trustStore::toString);
+        registry.add("server.ssl.trust-store-type", () -> "PKCS12");
+        registry.add("server.ssl.trust-store-password", () -> PASSWORD);
+        registry.add("server.ssl.client-auth", () -> "want");
+        registry.add("gla.rad.api-gateway.x509.organisation.mrn", () -> TestingFixtures.ORGANISATION_MRN);
+
+        // Use the stub as the Keycloak stand-in
+        registry.add("spring.security.oauth2.client.registration.keycloak.client-id", () -> TestingFixtures.RESOURCE_ID);
+        registry.add("spring.security.oauth2.client.registration.keycloak.client-secret", () -> PASSWORD);
+        registry.add("spring.security.oauth2.client.registration.keycloak.provider", () -> "keycloak");
+        registry.add("spring.security.oauth2.client.registration.keycloak.authorization-grant-type", () -> "authorization_code");
+        registry.add("spring.security.oauth2.client.registration.keycloak.scope", () -> "openid");
+        registry.add("spring.security.oauth2.client.registration.keycloak.redirect-uri", () -> "{baseUrl}/login/oauth2/code/{registrationId}");
+        registry.add("spring.security.oauth2.client.provider.keycloak.authorization-uri", () -> realmUrl + "/auth");
+        registry.add("spring.security.oauth2.client.provider.keycloak.token-uri", () -> realmUrl + "/token");
+        registry.add("spring.security.oauth2.client.provider.keycloak.user-info-uri", () -> realmUrl + "/userinfo");
+        registry.add("spring.security.oauth2.client.provider.keycloak.jwk-set-uri", () -> realmUrl + "/certs");
+        registry.add("spring.security.oauth2.client.provider.keycloak.user-name-attribute", () -> "preferred_username");
+        registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", () -> realmUrl + "/certs");
+
+        // Use a static route table instead of the Eureka discovery
+        registry.add("spring.cloud.gateway.server.webflux.discovery.locator.enabled", () -> "false");
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].id", () -> "stub-service");
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].uri", () -> stubUrl);
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].predicates[0]", () -> "Path=/stub-service/**");
+        registry.add("spring.cloud.gateway.server.webflux.routes[0].filters[0]", () -> "StripContextAndPrefix=1");
+        registry.add("logging.level.org.grad.eNav", () -> "WARN");
+    }
+
+    /**
+     * Stops the stub backend.
+     */
+    @AfterAll
+    static void stopStubServer() {
+        if(Objects.nonNull(stubServer)) {
+            stubServer.disposeNow();
+        }
+    }
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        final String forwardedHeader = CLIENT_CERTIFICATE.toForwardedHeader();
+        final String bearerToken = TestingFixtures.generateKeycloakToken(JWT_KEY_PAIR, KEY_ID, "load-test-user", List.of("user")).serialize();
+        this.httpClients.put(AuthenticationMode.FORWARDED_X509, this.createHttpClient(false)
+                .headers(headers -> headers
+                        .set(ForwardedX509HeadersFilter.X_SSL_FORWARDED_HEADER, SSL_FORWARDED)
+                        .set(ForwardedX509HeadersFilter.X_SSL_VERIFY_HEADER, SSL_VERIFY)
+                        .set(ForwardedX509AuthenticationConverter.X_SSL_CERT_HEADER, forwardedHeader)));
+        this.httpClients.put(AuthenticationMode.MTLS, this.createHttpClient(true));
+        this.httpClients.put(AuthenticationMode.BEARER_JWT, this.createHttpClient(false)
+                .headers(headers -> headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + bearerToken)));
+    }
+
+    /**
+     * Test that the forwarded X.509 requests of the traffic are actually
+     * authenticated, i.e. reach the backend with the MRN of the client
+     * certificate, rather than being rejected.
+     */
+    @Test
+    void testForwardedX509Authenticated() throws Exception {
+        final String mrn = this.httpClients.get(AuthenticationMode.FORWARDED_X509)
+                .get()
+                .uri(STUB_SERVICE_PATH)
+                .responseSingle((response, body) -> body.asByteArray()
+                        .then(Mono.fromSupplier(() -> response.status().code() == 200 ?
+                                response.responseHeaders().get(STUB_MRN_HEADER) : "HTTP " + response.status().code())))
+                .block(Duration.ofSeconds(30));
+
+        assertEquals(CertificateIdentity.of(CLIENT_CERTIFICATE.certificate()).mrn(), mrn);
+    }
+
+    /**
+     * Test that the gateway sustains the configured load for each of the
+     * authentication modes, as well as for the traffic mix, within the
+     * configured regression thresholds.
+     */
+    @Test
+    void testLoad() throws IOException {
+        final List<LoadResult> results = new ArrayList<>();
+        try {
+            // Measure each authentication mode separately
+            for(AuthenticationMode mode : AuthenticationMode.values()) {
+                final AuthenticationMode[] traffic = new AuthenticationMode[]{mode};
+                this.run(mode.name(), traffic, this.warmupRequests);
+                results.add(this.run(mode.name(), traffic, this.requests));
+            }
+
+            // And then the traffic mix
+            final AuthenticationMode[] mix = this.parseMix(System.getProperty("load.mix", "FORWARDED_X509:1,MTLS:1,BEARER_JWT:1"));
+            this.run("MIX", mix, this.warmupRequests);
+            results.add(this.run("MIX", mix, this.requests));
+        } finally {
+            this.connectionProviders.forEach(ConnectionProvider::dispose);
+        }
+
+        // Report the results
+        this.report(results);
+
+        // And check the regression thresholds
+        for(LoadResult result : results) {
+            assertEquals(0, result.errors(), result.name() + " had failed requests");
+            assertTrue(result.p99Millis() <= this.p99ThresholdMillis,
+                    String.format("%s p99 latency %.2fms exceeds %.2fms", result.name(), result.p99Millis(), this.p99ThresholdMillis));
+            assertTrue(result.requestsPerSecond() >= this.minRequestsPerSecond,
+                    String.format("%s throughput %.0f rps is below %.0f rps", result.name(), result.requestsPerSecond(), this.minRequestsPerSecond));
+        }
+    }
+
+    /**
+     * Performs a single load run with the provided traffic pattern, with the
+     * configured number of requests in flight.
+     *
+     * @param name      the run name
+     * @param traffic   the authentication modes to cycle through
+     * @param requests  the number of requests to be performed
+     * @return the load run results
+     */
+    private LoadResult run(String name, AuthenticationMode[] traffic, int requests) {
+        final Histogram histogram = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(1), 3);
+        final AtomicLong errors = new AtomicLong();
+        final long allocatedBefore = this.getAllocatedBytes();
+        final long start = System.nanoTime();
+
+        Flux.range(0, requests)
+                .flatMap(i -> Mono.defer(() -> {
+                    final long requestStart = System.nanoTime();
+                    return this.request(traffic[i % traffic.length])
+                            .doOnNext(status -> {
+                                histogram.recordValue(Math.min(System.nanoTime() - requestStart, histogram.getHighestTrackableValue()));
+                                if(status != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            });
+                }).onErrorResume(ex -> {
+                    errors.incrementAndGet();
+                    return Mono.empty();
+                }), this.concurrency)
+                .blockLast(Duration.ofMinutes(10));
+
+        final double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        final long allocated = this.getAllocatedBytes() - allocatedBefore;
+        return new LoadResult(name,
+                requests,
+                errors.get(),
+                requests / elapsedSeconds,
+                histogram.getValueAtPercentile(50) / 1e6,
+                histogram.getValueAtPercentile(99) / 1e6,
+                histogram.getValueAtPercentile(99.9) / 1e6,
+                allocated < 0 ? -1 : allocated / requests);
+    }
+
+    /**
+     * Performs a single request through the gateway with the specified
+     * authentication mode.
+     *
+     * @param mode the authentication mode
+     * @return the response status code
+     */
+    private Mono<Integer> request(AuthenticationMode mode) {
+        return this.httpClients.get(mode)
+                .get()
+                .uri(STUB_SERVICE_PATH)
+                .responseSingle((response, body) -> body.asByteArray()
+                        .then(Mono.just(response.status().code())));
+    }
+
+    /**
+     * Creates a new HTTP client towards the gateway, with its own connection
+     * pool.
+     *
+     * @param clientCertificate whether to present the client certificate
+     * @return the HTTP client
+     */
+    private HttpClient createHttpClient(boolean clientCertificate) {
+        final ConnectionProvider connectionProvider = ConnectionProvider.builder("load-test")
+                .maxConnections(this.concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.connectionProviders.add(connectionProvider);
+        final Http11SslContextSpec sslContextSpec = Http11SslContextSpec.forClient()
+                .configure(builder -> {
+                    builder.trustManager(CA.certificate());
+                    if(clientCertificate) {
+                        builder.keyManager(CLIENT_CERTIFICATE.keyPair().getPrivate(), CLIENT_CERTIFICATE.certificate(), CA.certificate());
+                    }
+                });
+        return HttpClient.create(connectionProvider)
+                .baseUrl("https://localhost:" + this.port)
+                .secure(spec -> spec.sslContext(sslContextSpec));
+    }
+
+    /**
+     * Parses the traffic mix weights, e.g. "FORWARDED_X509:2,MTLS:1", into
+     * the sequence of authentication modes to cycle through.
+     *
+     * @param mix the traffic mix weights
+     * @return the sequence of authentication modes
+     */
+    private AuthenticationMode[] parseMix(String mix) {
+        final List<AuthenticationMode> traffic = new ArrayList<>();
+        for(String entry : mix.split(",")) {
+            final String[] parts = entry.trim().split(":");
+            final int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            for(int i = 0; i < weight; i++) {
+                traffic.add(AuthenticationMode.valueOf(parts[0].trim()));
+            }
+        }
+        return traffic.toArray(AuthenticationMode[]::new);
+    }
+
+    /**
+     * Returns the total bytes allocated by all the JVM threads so far, or -1
+     * if that is not supported by the JVM. Note that this includes the load
+     * generating client as well as the gateway.
+     *
+     * @return the total bytes allocated
+     */
+    private long getAllocatedBytes() {
+        if(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported()
+                && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getTotalThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * Logs the load results and writes them into the CSV report file, so
+     * that they can be compared between releases.
+     *
+     * @param results the load results
+     * @throws IOException if the report file could not be written
+     */
+    private void report(List<LoadResult> results) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        lines.add("mode,requests,errors,rps,p50_ms,p99_ms,p999_ms,bytes_per_request");
+        log.info(String.format("%-16s %10s %8s %10s %10s %10s %10s %14s", "MODE", "REQUESTS", "ERRORS", "RPS", "P50(ms)", "P99(ms)", "P999(ms)", "BYTES/REQUEST"));
+        for(LoadResult result : results) {
+            log.info(String.format("%-16s %10d %8d %10.0f %10.2f %10.2f %10.2f %14d", result.name(), result.requests(), result.errors(),
+                    result.requestsPerSecond(), result.p50Millis(), result.p99Millis(), result.p999Millis(), result.bytesPerRequest()));
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.0f,%.3f,%.3f,%.3f,%d", result.name(), result.requests(), result.errors(),
+                    result.requestsPerSecond(), result.p50Millis(), result.p99Millis(), result.p999Millis(), result.bytesPerRequest()));
+        }
+        final Path reportFile = Path.of(System.getProperty("load.report", "target/load-test-report.csv"));
+        Files.createDirectories(reportFile.toAbsolutePath().getParent());
+        Files.write(reportFile, lines);
+    }
+
+}
@@ -0,0 +1,435 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x500.X500NameBuilder;
+import org.bouncycastle.asn1.x500.style.BCStyle;
+import org.bouncycastle.asn1.x509.BasicConstraints;
+import org.bouncycastle.asn1.x509.ExtendedKeyUsage;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.asn1.x509.KeyPurposeId;
+import org.bouncycastle.asn1.x509.KeyUsage;
+import org.bouncycastle.cert.X509v3CertificateBuilder;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509ExtensionUtils;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.OperatorCreationException;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.OidcUserInfo;
+import org.springframework.security.oauth2.core.oidc.user.OidcUserAuthority;
+import org.springframework.security.oauth2.core.user.OAuth2UserAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.X509Certificate;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.spec.ECGenParameterSpec;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The Testing Fixtures Class.
+ *
+ * Generates realistic test and benchmark inputs locally, i.e. Maritime
+ * Connectivity Platform (MCP) style X.509 certificates, signed by a locally
+ * generated MCP style issuing CA, as well as Keycloak style access tokens.
+ * This way the tests and benchmarks do not depend on any external PKI or
+ * identity provider.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class TestingFixtures {
+
+    /**
+     * The organisation MRN of the generated MCP certificates.
+     */
+    public static final String ORGANISATION_MRN = "urn:mrn:mcp:org:mcc:grad";
+
+    /**
+     * The Keycloak resource ID of the generated access tokens.
+     */
+    public static final String RESOURCE_ID = "api-gateway";
+
+    /**
+     * The Keycloak issuer of the generated access tokens.
+     */
+    public static final String ISSUER = "https://keycloak.grad-rnd.net/realms/niord";
+
+    // Class Variables
+    private static final String EC_CURVE = "secp384r1";
+    private static final String EC_SIGNATURE_ALGORITHM = "SHA384withECDSA";
+
+    /**
+     * A generated MCP style certificate and its key pair.
+     *
+     * @param certificate   the X.509 certificate
+     * @param keyPair       the certificate key pair
+     */
+    public record McpCertificate(X509Certificate certificate, KeyPair keyPair) {
+
+        /**
+         * Returns the certificate in a URL-encoded PEM format, as it would be
+         * forwarded in the X-SSL-CERT header by the reverse proxy.
+         *
+         * @return the URL-encoded PEM certificate
+         */
+        public String toForwardedHeader() {
+            try {
+                final String pem = "-----BEGIN CERTIFICATE-----\n"
+                        + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(this.certificate.getEncoded())
+                        + "\n-----END CERTIFICATE-----\n";
+                return URLEncoder.encode(pem, StandardCharsets.UTF_8).replace("+", "%20");
+            } catch (CertificateException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+    }
+
+    /**
+     * Generates a new MCP style identity provider CA certificate.
+     *
+     * @return the generated CA certificate
+     */
+    public static McpCertificate generateMcpCa() {
+        final KeyPair keyPair = generateEcKeyPair();
+        final X500Name name = new X500NameBuilder(BCStyle.INSTANCE)
+                .addRDN(BCStyle.C, "GB")
+                .addRDN(BCStyle.O, "urn:mrn:mcp:org:mcc:idp")
+                .addRDN(BCStyle.OU, "MCP Identity Registry")
+                .addRDN(BCStyle.CN, "MCP Test Identity Provider CA")
+                .build();
+        return new McpCertificate(signCertificate(name, keyPair, name, keyPair, true, null), keyPair);
+    }
+
+    /**
+     * Generates a new MCP style client certificate for the specified entity,
+     * issued by the provided CA.
+     *
+     * @param ca            the issuing CA
+     * @param entityType    the MCP entity type, e.g. device, service or user
+     * @param entityName    the entity name
+     * @return the generated client certificate
+     */
+    public static McpCertificate generateMcpCertificate(McpCertificate ca, String entityType, String entityName) {
+        final KeyPair keyPair = generateEcKeyPair();
+        final X500Name name = new X500NameBuilder(BCStyle.INSTANCE)
+                .addRDN(BCStyle.C, "GB")
+                .addRDN(BCStyle.O, ORGANISATION_MRN)
+                .addRDN(BCStyle.OU, entityType)
+                .addRDN(BCStyle.CN, entityName)
+                .addRDN(BCStyle.UID, String.format("urn:mrn:mcp:%s:mcc:grad:%s", entityType, entityName.toLowerCase().replace(' ', '-')))
+                .addRDN(BCStyle.EmailAddress, "info@gla-rad.org")
+                .build();
+        final X500Name issuer = X500Name.getInstance(ca.certificate().getSubjectX500Principal().getEncoded());
+        return new McpCertificate(signCertificate(issuer, ca.keyPair(), name, keyPair, false, null), keyPair);
+    }
+
+    /**
+     * Generates a new client certificate with only a common name in its
+     * subject, i.e. without the MCP attributes, issued by the provided CA.
+     *
+     * @param ca            the issuing CA
+     * @param commonName    the subject common name
+     * @return the generated client certificate
+     */
+    public static McpCertificate generatePlainCertificate(McpCertificate ca, String commonName) {
+        final KeyPair keyPair = generateEcKeyPair();
+        final X500Name name = new X500NameBuilder(BCStyle.INSTANCE)
+                .addRDN(BCStyle.CN, commonName)
+                .build();
+        final X500Name issuer = X500Name.getInstance(ca.certificate().getSubjectX500Principal().getEncoded());
+        return new McpCertificate(signCertificate(issuer, ca.keyPair(), name, keyPair, false, null), keyPair);
+    }
+
+    /**
+     * Generates a new server certificate for the provided hostname, issued by
+     * the provided CA.
+     *
+     * @param ca        the issuing CA
+     * @param hostname  the server hostname
+     * @return the generated server certificate
+     */
+    public static McpCertificate generateServerCertificate(McpCertificate ca, String hostname) {
+        final KeyPair keyPair = generateEcKeyPair();
+        final X500Name name = new X500NameBuilder(BCStyle.INSTANCE)
+                .addRDN(BCStyle.C, "GB")
+                .addRDN(BCStyle.O, ORGANISATION_MRN)
+                .addRDN(BCStyle.OU, "service")
+                .addRDN(BCStyle.CN, hostname)
+                .build();
+        final X500Name issuer = X500Name.getInstance(ca.certificate().getSubjectX500Principal().getEncoded());
+        final GeneralNames subjectAlternativeNames = new GeneralNames(new GeneralName[]{
+                new GeneralName(GeneralName.dNSName, hostname),
+                new GeneralName(GeneralName.iPAddress, "127.0.0.1")
+        });
+        return new McpCertificate(signCertificate(issuer, ca.keyPair(), name, keyPair, false, subjectAlternativeNames), keyPair);
+    }
+
+    /**
+     * Writes the provided certificate and its private key into a new PKCS12
+     * key store file.
+     *
+     * @param certificate   the certificate to be stored
+     * @param ca            the issuing CA of the certificate
+     * @param alias         the key store entry alias
+     * @param password      the key store password
+     * @return the path of the generated key store file
+     */
+    public static Path writeKeyStore(McpCertificate certificate, McpCertificate ca, String alias, String password) {
+        try {
+            final KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(null, null);
+            keyStore.setKeyEntry(alias, certificate.keyPair().getPrivate(), password.toCharArray(), new Certificate[]{certificate.certificate(), ca.certificate()});
+            return writeStore(keyStore, password);
+        } catch (GeneralSecurityException | IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Writes the provided CA certificate into a new PKCS12 trust store file.
+     *
+     * @param ca        the CA certificate to be trusted
+     * @param password  the trust store password
+     * @return the path of the generated trust store file
+     */
+    public static Path writeTrustStore(McpCertificate ca, String password) {
+        try {
+            final KeyStore trustStore = KeyStore.getInstance("PKCS12");
+            trustStore.load(null, null);
+            trustStore.setCertificateEntry("ca", ca.certificate());
+            return writeStore(trustStore, password);
+        } catch (GeneralSecurityException | IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Generates a new RSA key pair for signing the access tokens.
+     *
+     * @return the generated RSA key pair
+     */
+    public static KeyPair generateRsaKeyPair() {
+        try {
+            final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+            keyPairGenerator.initialize(2048);
+            return keyPairGenerator.generateKeyPair();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Generates a new RS256 signed Keycloak style access token for the
+     * provided user and resource roles.
+     *
+     * @param keyPair   the RSA signing key pair
+     * @param keyId     the ID of the signing key
+     * @param username  the username of the token subject
+     * @param roles     the resource roles of the user
+     * @return the signed access token
+     */
+    public static SignedJWT generateKeycloakToken(KeyPair keyPair, String keyId, String username, List<String> roles) {
+        final Instant now = Instant.now();
+        final JWTClaimsSet claimsSet = new JWTClaimsSet.Builder()
+                .jwtID(UUID.randomUUID().toString())
+                .issuer(ISSUER)
+                .audience(List.of(RESOURCE_ID, "account"))
+                .subject(UUID.randomUUID().toString())
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+                .claim("typ", "Bearer")
+                .claim("azp", RESOURCE_ID)
+                .claim("sid", UUID.randomUUID().toString())
+                .claim("acr", "1")
+                .claim("allowed-origins", List.of("*"))
+                .claim("realm_access", Map.of("roles", List.of("default-roles-niord", "offline_access", "uma_authorization")))
+                .claim("resource_access", Map.of(
+                        RESOURCE_ID, Map.of("roles", roles),
+                        "account", Map.of("roles", List.of("manage-account", "manage-account-links", "view-profile"))))
+                .claim("scope", "openid email profile")
+                .claim("email_verified", true)
+                .claim("name", "Test User")
+                .claim("preferred_username", username)
+                .claim("given_name", "Test")
+                .claim("family_name", "User")
+                .claim("email", username + "@gla-rad.org")
+                .build();
+        try {
+            final SignedJWT signedJWT = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256)
+                    .type(JOSEObjectType.JWT)
+                    .keyID(keyId)
+                    .build(), claimsSet);
+            signedJWT.sign(new RSASSASigner((RSAPrivateKey) keyPair.getPrivate()));
+            return signedJWT;
+        } catch (JOSEException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Converts the provided signed token into a Spring Security JWT, in the
+     * same way the JWT decoders would.
+     *
+     * @param signedJWT the signed token
+     * @return the Spring Security JWT
+     */
+    public static Jwt toJwt(SignedJWT signedJWT) {
+        try {
+            final Map<String, Object> claims = MappedJwtClaimSetConverter
+                    .withDefaults(Map.of())
+                    .convert(signedJWT.getJWTClaimsSet().toJSONObject());
+            return Jwt.withTokenValue(signedJWT.serialize())
+                    .headers(headers -> headers.putAll(signedJWT.getHeader().toJSONObject()))
+                    .claims(c -> c.putAll(claims))
+                    .build();
+        } catch (ParseException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Generates the OIDC user authority of a user login, as provided by the
+     * OAuth2 client login flow.
+     *
+     * @param jwt   the user access token
+     * @return the OIDC user authority
+     */
+    public static OidcUserAuthority toOidcUserAuthority(Jwt jwt) {
+        final OidcIdToken idToken = new OidcIdToken(jwt.getTokenValue(), jwt.getIssuedAt(), jwt.getExpiresAt(), jwt.getClaims());
+        return new OidcUserAuthority(idToken, new OidcUserInfo(jwt.getClaims()));
+    }
+
+    /**
+     * Generates the OAuth2 user authority of a user login, as provided by the
+     * OAuth2 client login flow.
+     *
+     * @param jwt   the user access token
+     * @return the OAuth2 user authority
+     */
+    public static OAuth2UserAuthority toOAuth2UserAuthority(Jwt jwt) {
+        return new OAuth2UserAuthority(jwt.getClaims(), "sub");
+    }
+
+    /**
+     * Writes the provided key store into a new temporary file, which is
+     * deleted when the JVM exits.
+     *
+     * @param keyStore  the key store to be written
+     * @param password  the key store password
+     * @return the path of the generated file
+     */
+    private static Path writeStore(KeyStore keyStore, String password) throws GeneralSecurityException, IOException {
+        final Path path = Files.createTempFile("api-gateway", ".p12");
+        path.toFile().deleteOnExit();
+        try(OutputStream outputStream = Files.newOutputStream(path)) {
+            keyStore.store(outputStream, password.toCharArray());
+        }
+        return path;
+    }
+
+    /**
+     * Generates a new EC key pair on the curve used by the MCP PKI.
+     *
+     * @return the generated EC key pair
+     */
+    private static KeyPair generateEcKeyPair() {
+        try {
+            final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+            keyPairGenerator.initialize(new ECGenParameterSpec(EC_CURVE));
+            return keyPairGenerator.generateKeyPair();
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Generates and signs a new X.509 certificate with the usual MCP
+     * extensions.
+     *
+     * @param issuer        the issuer name
+     * @param issuerKeyPair the issuer key pair
+     * @param subject       the subject name
+     * @param keyPair       the subject key pair
+     * @param ca            whether this is a CA certificate
+     * @param subjectAlternativeNames the subject alternative names, if any
+     * @return the signed X.509 certificate
+     */
+    private static X509Certificate signCertificate(X500Name issuer, KeyPair issuerKeyPair, X500Name subject, KeyPair keyPair, boolean ca, GeneralNames subjectAlternativeNames) {
+        final Instant now = Instant.now();
+        try {
+            final JcaX509ExtensionUtils extensionUtils = new JcaX509ExtensionUtils();
+            final X509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(
+                    issuer,
+                    new BigInteger(128, ThreadLocalRandom.current()),
+                    Date.from(now.minus(Duration.ofDays(1))),
+                    Date.from(now.plus(Duration.ofDays(365))),
+                    subject,
+                    keyPair.getPublic())
+                    .addExtension(Extension.basicConstraints, true, new BasicConstraints(ca))
+                    .addExtension(Extension.subjectKeyIdentifier, false, extensionUtils.createSubjectKeyIdentifier(keyPair.getPublic()))
+                    .addExtension(Extension.authorityKeyIdentifier, false, extensionUtils.createAuthorityKeyIdentifier(issuerKeyPair.getPublic()));
+            if(ca) {
+                builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.keyCertSign | KeyUsage.cRLSign));
+            } else {
+                builder.addExtension(Extension.keyUsage, true, new KeyUsage(KeyUsage.digitalSignature | KeyUsage.keyAgreement))
+                        .addExtension(Extension.extendedKeyUsage, false, new ExtendedKeyUsage(new KeyPurposeId[]{KeyPurposeId.id_kp_clientAuth, KeyPurposeId.id_kp_serverAuth}));
+            }
+            if(Objects.nonNull(subjectAlternativeNames)) {
+                builder.addExtension(Extension.subjectAlternativeName, false, subjectAlternativeNames);
+            }
+            return new JcaX509CertificateConverter().getCertificate(builder.build(
+                    new JcaContentSignerBuilder(EC_SIGNATURE_ALGORITHM).build(issuerKeyPair.getPrivate())));
+        } catch (GeneralSecurityException | OperatorCreationException | IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.grad.eNav.apiGateway.config.keycloak.KeycloakJwtAuthenticationConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthorityRegistryTest {
+
+    /**
+     * Test that the Keycloak roles are mapped into the same canonical
+     * authority instances every time they are mapped.
+     */
+    @Test
+    void testCanonicalRoles() {
+        final AuthorityRegistry authorityRegistry = new AuthorityRegistry(64);
+        final KeycloakJwtAuthenticationConverter converter = new KeycloakJwtAuthenticationConverter("api-gateway", authorityRegistry);
+        final Map<String, Object> resourceAccess = Map.of("api-gateway", Map.of("roles", List.of("admin", "user", "admin")));
+
+        final Collection<GrantedAuthority> first = converter.extractResourceRoles(resourceAccess, "api-gateway");
+        final Collection<GrantedAuthority> second = converter.extractResourceRoles(resourceAccess, "api-gateway");
+
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), first.stream().map(GrantedAuthority::getAuthority).toList());
+        assertSame(authorityRegistry.role("admin"), first.iterator().next());
+        assertSame(authorityRegistry.role("admin"), second.iterator().next());
+        assertEquals(first, second);
+    }
+
+    /**
+     * Test that the roles differing only in case are mapped into the same
+     * canonical upper-cased authority.
+     */
+    @Test
+    void testRoleCase() {
+        final AuthorityRegistry authorityRegistry = new AuthorityRegistry(64);
+
+        assertEquals("ROLE_OPERATOR", authorityRegistry.role("Operator").getAuthority());
+        assertSame(authorityRegistry.role("operator"), authorityRegistry.role("OPERATOR"));
+        assertSame(authorityRegistry.authority("ROLE_OPERATOR"), authorityRegistry.role("operator"));
+    }
+
+    /**
+     * Test that the converted JWT authentication holds the canonical scope
+     * and role authorities, without any duplicates.
+     */
+    @Test
+    void testConvertedAuthorities() {
+        final AuthorityRegistry authorityRegistry = new AuthorityRegistry(64);
+        final KeycloakJwtAuthenticationConverter converter = new KeycloakJwtAuthenticationConverter("api-gateway", authorityRegistry);
+        final Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("test-user")
+                .claim("scope", "openid profile")
+                .claim("resource_access", Map.of("api-gateway", Map.of("roles", List.of("user", "USER"))))
+                .build();
+
+        final AbstractAuthenticationToken authentication = converter.convert(jwt).block();
+
+        assertNotNull(authentication);
+        assertEquals(Set.of("SCOPE_openid", "SCOPE_profile", "ROLE_USER"), authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
+        assertEquals(3, authentication.getAuthorities().size());
+        assertTrue(authentication.getAuthorities().stream().anyMatch(authority -> authority == authorityRegistry.role("user")));
+        assertTrue(authentication.getAuthorities().stream().anyMatch(authority -> authority == authorityRegistry.authority("SCOPE_openid")));
+    }
+
+    /**
+     * Test that the registry stays within its maximum size, however many
+     * distinct authorities it is presented with, while still mapping them.
+     */
+    @Test
+    void testMaximumSize() {
+        final AuthorityRegistry authorityRegistry = new AuthorityRegistry(16);
+        for(int i = 0; i < 1000; i++) {
+            assertEquals("ROLE_ROLE-" + i, authorityRegistry.role("role-" + i).getAuthority());
+        }
+
+        assertTrue(authorityRegistry.size() <= 16);
+        assertEquals("ROLE_ROLE-0", authorityRegistry.role("role-0").getAuthority());
+    }
+
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.endpoint.OAuth2RefreshTokenGrantRequest;
+import org.springframework.security.oauth2.client.endpoint.ReactiveOAuth2AccessTokenResponseClient;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.security.oauth2.core.OAuth2AuthorizationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+import org.springframework.security.oauth2.core.OAuth2RefreshToken;
+import org.springframework.security.oauth2.core.endpoint.OAuth2AccessTokenResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedAuthorizedClientServiceTest {
+
+    // Class Variables
+    private static final ClientRegistration CLIENT_REGISTRATION = ClientRegistration.withRegistrationId("keycloak")
+            .clientId("api-gateway")
+            .authorizationGrantType(AuthorizationGrantType.AUTHORIZATION_CODE)
+            .redirectUri("{baseUrl}/login/oauth2/code/{registrationId}")
+            .authorizationUri("http://localhost/auth")
+            .tokenUri("http://localhost/token")
+            .build();
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    /**
+     * Test that only the clients with a refresh token and an access token
+     * expiring before the threshold are considered expiring.
+     */
+    @Test
+    void testIsExpiring() {
+        final Instant threshold = NOW.plusSeconds(60);
+
+        assertTrue(BoundedAuthorizedClientService.isExpiring(newClient("alice", "token", NOW.plusSeconds(30), true), threshold));
+        assertFalse(BoundedAuthorizedClientService.isExpiring(newClient("alice", "token", NOW.plusSeconds(90), true), threshold));
+        assertFalse(BoundedAuthorizedClientService.isExpiring(newClient("alice", "token", NOW.plusSeconds(30), false), threshold));
+        assertFalse(BoundedAuthorizedClientService.isExpiring(newClient("alice", "token", null, true), threshold));
+    }
+
+    /**
+     * Test that the expiring access tokens are refreshed, keeping the
+     * previous refresh token if no new one is issued, and that the other
+     * clients are left untouched.
+     */
+    @Test
+    void testRefreshExpiring() {
+        final BoundedAuthorizedClientService service = newService(100);
+        final AtomicInteger requests = new AtomicInteger();
+        service.setRefreshTokenResponseClient(request -> {
+            requests.incrementAndGet();
+            return Mono.just(newResponse("refreshed"));
+        });
+        save(service, newClient("alice", "expiring", NOW.plusSeconds(30), true));
+        save(service, newClient("bob", "valid", NOW.plus(Duration.ofHours(1)), true));
+
+        service.refreshExpiring();
+
+        final OAuth2AuthorizedClient alice = load(service, "alice");
+        assertEquals(1, requests.get());
+        assertEquals("refreshed", alice.getAccessToken().getTokenValue());
+        assertEquals("refresh-alice", alice.getRefreshToken().getTokenValue());
+        assertEquals("valid", load(service, "bob").getAccessToken().getTokenValue());
+    }
+
+    /**
+     * Test that a client is removed when its refresh token is rejected, but
+     * kept when the refresh fails for any other reason.
+     */
+    @Test
+    void testRefreshExpiringFailed() {
+        final BoundedAuthorizedClientService service = newService(100);
+        service.setRefreshTokenResponseClient(request -> Mono.error(new OAuth2AuthorizationException(new OAuth2Error(
+                request.getAccessToken().getTokenValue().equals("rejected") ? OAuth2ErrorCodes.INVALID_GRANT : OAuth2ErrorCodes.SERVER_ERROR))));
+        save(service, newClient("alice", "rejected", NOW.plusSeconds(30), true));
+        save(service, newClient("bob", "unavailable", NOW.plusSeconds(30), true));
+
+        service.refreshExpiring();
+
+        assertNull(load(service, "alice"));
+        assertEquals("unavailable", load(service, "bob").getAccessToken().getTokenValue());
+    }
+
+    /**
+     * Test that a refresh that never completes times out, keeping the
+     * client, so that the next runs are not held back.
+     */
+    @Test
+    void testRefreshExpiringTimeout() throws InterruptedException {
+        final BoundedAuthorizedClientService service = newService(100, Duration.ofMillis(50));
+        final AtomicInteger requests = new AtomicInteger();
+        service.setRefreshTokenResponseClient(request -> {
+            requests.incrementAndGet();
+            return Mono.never();
+        });
+        save(service, newClient("alice", "expiring", NOW.plusSeconds(30), true));
+
+        service.refreshExpiring();
+        for(int i = 0; i < 100 && requests.get() < 2; i++) {
+            Thread.sleep(50);
+            service.refreshExpiring();
+        }
+
+        assertEquals(2, requests.get());
+        assertEquals("expiring", load(service, "alice").getAccessToken().getTokenValue());
+    }
+
+    /**
+     * Test that a refresh completing after the client was saved again, e.g.
+     * by a new login, does not overwrite the new client, and that no other
+     * refresh is started while it is still in progress.
+     */
+    @Test
+    void testRefreshExpiringConcurrentSave() {
+        final BoundedAuthorizedClientService service = newService(100);
+        final PendingResponseClient responseClient = new PendingResponseClient();
+        service.setRefreshTokenResponseClient(responseClient);
+        save(service, newClient("alice", "expiring", NOW.plusSeconds(30), true));
+
+        service.refreshExpiring();
+        save(service, newClient("alice", "login", NOW.plusSeconds(45), true));
+        service.refreshExpiring();
+        responseClient.complete(newResponse("refreshed"));
+
+        assertEquals(1, responseClient.requests.get());
+        assertEquals("login", load(service, "alice").getAccessToken().getTokenValue());
+    }
+
+    /**
+     * Test that a refresh completing after the client was removed, e.g. by
+     * a logout, does not restore the client.
+     */
+    @Test
+    void testRefreshExpiringConcurrentRemove() {
+        final BoundedAuthorizedClientService service = newService(100);
+        final PendingResponseClient responseClient = new PendingResponseClient();
+        service.setRefreshTokenResponseClient(responseClient);
+        save(service, newClient("alice", "expiring", NOW.plusSeconds(30), true));
+
+        service.refreshExpiring();
+        service.removeAuthorizedClient(CLIENT_REGISTRATION.getRegistrationId(), "alice").block();
+        responseClient.complete(newResponse("refreshed"));
+
+        assertNull(load(service, "alice"));
+        assertEquals(0, service.size());
+    }
+
+    /**
+     * Test that the clients are evicted once they have not been used for
+     * the idle timeout, and that a background refresh does not count as a
+     * use of the client.
+     */
+    @Test
+    void testIdleExpiry() {
+        final BoundedAuthorizedClientService service = newService(100);
+        service.setRefreshTokenResponseClient(request -> Mono.just(newResponse("refreshed")));
+        save(service, newClient("alice", "token", NOW.plus(Duration.ofHours(1)), true));
+        save(service, newClient("bob", "token", NOW.plus(Duration.ofMinutes(29)).plusSeconds(30), true));
+
+        // Using a client restarts its idle time
+        service.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(20)), ZoneOffset.UTC));
+        assertNotNull(load(service, "alice"));
+
+        // While refreshing it in the background does not
+        service.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(29)), ZoneOffset.UTC));
+        service.refreshExpiring();
+
+        service.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(31)), ZoneOffset.UTC));
+        assertNotNull(load(service, "alice"));
+        assertNull(load(service, "bob"));
+
+        service.setClock(Clock.fixed(NOW.plus(Duration.ofMinutes(62)), ZoneOffset.UTC));
+        assertNull(load(service, "alice"));
+    }
+
+    /**
+     * Test that the number of clients held is bounded.
+     */
+    @Test
+    void testMaximumSize() {
+        final BoundedAuthorizedClientService service = newService(16);
+        for(int i = 0; i < 1000; i++) {
+            save(service, newClient("user-" + i, "token", NOW.plus(Duration.ofHours(1)), true));
+        }
+
+        assertTrue(service.size() <= 16);
+    }
+
+    /**
+     * Creates a new service, holding up to the provided number of clients
+     * that expire after 30 minutes of idle time, at a fixed clock.
+     *
+     * @param maxSize the maximum number of clients
+     * @return the new service
+     */
+    private static BoundedAuthorizedClientService newService(long maxSize) {
+        return newService(maxSize, Duration.ofSeconds(10));
+    }
+
+    /**
+     * Creates a new service, holding up to the provided number of clients
+     * that expire after 30 minutes of idle time, at a fixed clock, with the
+     * provided refresh timeout.
+     *
+     * @param maxSize           the maximum number of clients
+     * @param refreshTimeout    the timeout of each refresh
+     * @return the new service
+     */
+    private static BoundedAuthorizedClientService newService(long maxSize, Duration refreshTimeout) {
+        final BoundedAuthorizedClientService service = new BoundedAuthorizedClientService(
+                new SimpleMeterRegistry(), maxSize, Duration.ofMinutes(30), Duration.ofSeconds(60), refreshTimeout, 4);
+        service.setClock(Clock.fixed(NOW, ZoneOffset.UTC));
+        return service;
+    }
+
+    /**
+     * Creates a new authorized client of the provided principal.
+     *
+     * @param principalName the principal name
+     * @param tokenValue    the access token value
+     * @param expiresAt     the access token expiry, if any
+     * @param refreshable   whether the client holds a refresh token
+     * @return the new authorized client
+     */
+    private static OAuth2AuthorizedClient newClient(String principalName, String tokenValue, Instant expiresAt, boolean refreshable) {
+        return new OAuth2AuthorizedClient(CLIENT_REGISTRATION, principalName,
+                new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, tokenValue, NOW.minusSeconds(1), expiresAt),
+                refreshable ? new OAuth2RefreshToken("refresh-" + principalName, NOW.minusSeconds(1)) : null);
+    }
+
+    /**
+     * Creates a new token response, without a new refresh token.
+     *
+     * @param tokenValue the access token value
+     * @return the new token response
+     */
+    private static OAuth2AccessTokenResponse newResponse(String tokenValue) {
+        return OAuth2AccessTokenResponse.withToken(tokenValue)
+                .tokenType(OAuth2AccessToken.TokenType.BEARER)
+                .expiresIn(300)
+                .build();
+    }
+
+    /**
+     * Saves the provided authorized client for its principal.
+     *
+     * @param service   the authorized client service
+     * @param client    the authorized client
+     */
+    private static void save(BoundedAuthorizedClientService service, OAuth2AuthorizedClient client) {
+        service.saveAuthorizedClient(client, new TestingAuthenticationToken(client.getPrincipalName(), null)).block();
+    }
+
+    /**
+     * Loads the authorized client of the provided principal.
+     *
+     * @param service       the authorized client service
+     * @param principalName the principal name
+     * @return the authorized client, if held
+     */
+    private static OAuth2AuthorizedClient load(BoundedAuthorizedClientService service, String principalName) {
+        return service.loadAuthorizedClient(CLIENT_REGISTRATION.getRegistrationId(), principalName).block();
+    }
+
+    /**
+     * A refresh token response client that holds the responses back until
+     * they are explicitly completed.
+     */
+    static class PendingResponseClient implements ReactiveOAuth2AccessTokenResponseClient<OAuth2RefreshTokenGrantRequest> {
+
+        // Class Variables
+        private final Sinks.One<OAuth2AccessTokenResponse> response = Sinks.one();
+        private final AtomicInteger requests = new AtomicInteger();
+
+        @Override
+        public Mono<OAuth2AccessTokenResponse> getTokenResponse(OAuth2RefreshTokenGrantRequest grantRequest) {
+            this.requests.incrementAndGet();
+            return this.response.asMono();
+        }
+
+        /**
+         * Completes the pending requests with the provided response.
+         *
+         * @param tokenResponse the token response
+         */
+        void complete(OAuth2AccessTokenResponse tokenResponse) {
+            this.response.tryEmitValue(tokenResponse);
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.grad.eNav.apiGateway.config.keycloak.KeycloakJwtAuthenticationConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingJwtAuthenticationManagerTest {
+
+    /**
+     * Test that repeat requests with the same token are authenticated from
+     * the cache, without decoding the token again, but each with its own
+     * authentication instance.
+     */
+    @Test
+    void testAuthenticateCached() {
+        final JwtAuthenticationCache jwtAuthenticationCache = new JwtAuthenticationCache(new SimpleMeterRegistry(), 100);
+        final AtomicInteger decodeCount = new AtomicInteger();
+        final CachingJwtAuthenticationManager manager = newManager(jwtAuthenticationCache, decodeCount);
+
+        final Authentication first = manager.authenticate(new BearerTokenAuthenticationToken("token")).block();
+        final Authentication second = manager.authenticate(new BearerTokenAuthenticationToken("token")).block();
+
+        assertNotNull(first);
+        assertNotNull(second);
+        assertTrue(second.isAuthenticated());
+        assertTrue(second.getAuthorities().stream().anyMatch(authority -> authority.getAuthority().equals("ROLE_USER")));
+        assertEquals(first.getName(), second.getName());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        assertSame(first.getCredentials(), second.getCredentials());
+        assertEquals(1, decodeCount.get());
+        assertEquals(1, jwtAuthenticationCache.size());
+
+        // Changing one authentication does not affect the other requests
+        assertNotSame(first, second);
+        second.setAuthenticated(false);
+        final Authentication third = manager.authenticate(new BearerTokenAuthenticationToken("token")).block();
+        assertNotNull(third);
+        assertTrue(third.isAuthenticated());
+    }
+
+    /**
+     * Test that invalid tokens are never cached.
+     */
+    @Test
+    void testAuthenticateInvalidNotCached() {
+        final JwtAuthenticationCache jwtAuthenticationCache = new JwtAuthenticationCache(new SimpleMeterRegistry(), 100);
+        final AtomicInteger decodeCount = new AtomicInteger();
+        final CachingJwtAuthenticationManager manager = newManager(jwtAuthenticationCache, decodeCount);
+
+        for(int i = 0; i < 2; i++) {
+            assertThrows(Exception.class, () -> manager.authenticate(new BearerTokenAuthenticationToken("invalid")).block());
+        }
+        assertEquals(2, decodeCount.get());
+        assertNull(jwtAuthenticationCache.get("invalid"));
+    }
+
+    /**
+     * Test that expired tokens are not served from the cache.
+     */
+    @Test
+    void testAuthenticateExpiredNotCached() {
+        final JwtAuthenticationCache jwtAuthenticationCache = new JwtAuthenticationCache(new SimpleMeterRegistry(), 100);
+        jwtAuthenticationCache.putJwt("expired", Jwt.withTokenValue("expired")
+                .header("alg", "RS256")
+                .subject("test-user")
+                .expiresAt(Instant.now().minusSeconds(1))
+                .build());
+        assertNull(jwtAuthenticationCache.get("expired"));
+    }
+
+    /**
+     * Creates a new caching JWT authentication manager, with a decoder that
+     * counts the decoding operations and rejects the "invalid" token.
+     *
+     * @param jwtAuthenticationCache    the JWT authentication cache
+     * @param decodeCount               the decoding operations counter
+     * @return the caching JWT authentication manager
+     */
+    private static CachingJwtAuthenticationManager newManager(JwtAuthenticationCache jwtAuthenticationCache, AtomicInteger decodeCount) {
+        return new CachingJwtAuthenticationManager(token -> {
+            decodeCount.incrementAndGet();
+            if(token.equals("invalid")) {
+                return Mono.error(new BadJwtException("Invalid token"));
+            }
+            return Mono.just(Jwt.withTokenValue(token)
+                    .header("alg", "RS256")
+                    .subject("test-user")
+                    .issuedAt(Instant.now())
+                    .expiresAt(Instant.now().plusSeconds(300))
+                    .claim("resource_access", Map.of("api-gateway", Map.of("roles", List.of("user"))))
+                    .build());
+        }, new KeycloakJwtAuthenticationConverter("api-gateway", new AuthorityRegistry(64)), jwtAuthenticationCache);
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.grad.eNav.apiGateway.TestingFixtures;
+import org.grad.eNav.apiGateway.models.CertificateIdentity;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import javax.net.ssl.SSLSession;
+import java.lang.reflect.Proxy;
+import java.security.cert.CertificateEncodingException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CertificateIdentityResolverTest {
+
+    // Class Variables
+    private static final TestingFixtures.McpCertificate CA = TestingFixtures.generateMcpCa();
+    private static final TestingFixtures.McpCertificate CERTIFICATE = TestingFixtures.generateMcpCertificate(CA, "device", "Test Device");
+    private static final TestingFixtures.McpCertificate OTHER_CERTIFICATE = TestingFixtures.generateMcpCertificate(CA, "service", "Test Service");
+
+    /**
+     * Test that the identity bound to an SSL session is reused for the same
+     * certificate on the same session, but not on a different session.
+     */
+    @Test
+    void testResolveSameSession() throws CertificateEncodingException {
+        final SSLSession sslSession = newSslSession();
+        final MockServerHttpRequest request = MockServerHttpRequest.get("/").build();
+
+        final CertificateIdentity identity = new SessionResolver(sslSession).resolve(request, CERTIFICATE.certificate());
+        final CertificateIdentity reused = new SessionResolver(sslSession).resolve(request, CERTIFICATE.certificate());
+        final CertificateIdentity otherSession = new SessionResolver(newSslSession()).resolve(request, CERTIFICATE.certificate());
+
+        assertEquals(CertificateIdentity.of(CERTIFICATE.certificate()), identity);
+        assertSame(identity, reused);
+        assertNotSame(identity, otherSession);
+        assertEquals(identity, otherSession);
+    }
+
+    /**
+     * Test that the identity is recomputed, and bound again, when the SSL
+     * session carries a different certificate.
+     */
+    @Test
+    void testResolveDifferentCertificate() throws CertificateEncodingException {
+        final SessionResolver resolver = new SessionResolver(newSslSession());
+        final MockServerHttpRequest request = MockServerHttpRequest.get("/").build();
+
+        final CertificateIdentity identity = resolver.resolve(request, CERTIFICATE.certificate());
+        final CertificateIdentity otherIdentity = resolver.resolve(request, OTHER_CERTIFICATE.certificate());
+
+        assertEquals("device", identity.ou());
+        assertEquals("service", otherIdentity.ou());
+        assertEquals(CertificateIdentity.of(OTHER_CERTIFICATE.certificate()), otherIdentity);
+        assertSame(otherIdentity, resolver.resolve(request, OTHER_CERTIFICATE.certificate()));
+    }
+
+    /**
+     * Test that the identity is still computed for the requests that are
+     * not received through an SSL session.
+     */
+    @Test
+    void testResolveWithoutSession() throws CertificateEncodingException {
+        final CertificateIdentity identity = new CertificateIdentityResolver().resolve(MockServerHttpRequest.get("/").build(), CERTIFICATE.certificate());
+
+        assertEquals(CertificateIdentity.of(CERTIFICATE.certificate()), identity);
+    }
+
+    /**
+     * Creates a new SSL session that only holds the session values.
+     *
+     * @return the new SSL session
+     */
+    static SSLSession newSslSession() {
+        final Map<String, Object> values = new HashMap<>();
+        return (SSLSession) Proxy.newProxyInstance(SSLSession.class.getClassLoader(), new Class<?>[]{SSLSession.class}, (proxy, method, args) -> switch(method.getName()) {
+            case "getValue" -> values.get((String) args[0]);
+            case "putValue" -> values.put((String) args[0], args[1]);
+            case "removeValue" -> values.remove((String) args[0]);
+            case "getValueNames" -> values.keySet().toArray(String[]::new);
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    /**
+     * A certificate identity resolver that receives all the requests
+     * through the provided SSL session.
+     */
+    static class SessionResolver extends CertificateIdentityResolver {
+
+        // Class Variables
+        private final SSLSession sslSession;
+
+        /**
+         * The Class Constructor.
+         *
+         * @param sslSession the SSL session of the requests
+         */
+        SessionResolver(SSLSession sslSession) {
+            this.sslSession = sslSession;
+        }
+
+        @Override
+        protected SSLSession getSslSession(ServerHttpRequest exchangeRequest) {
+            return this.sslSession;
+        }
+
+    }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.server.context.WebSessionServerSecurityContextRepository;
+import org.springframework.web.server.WebSession;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactWebSessionStoreTest {
+
+    /**
+     * Test that a session saved by one store can be retrieved by another
+     * store sharing the same backend, i.e. by another gateway node.
+     */
+    @Test
+    void testSharedBackend() {
+        final LocalSessionBackend backend = new LocalSessionBackend(4, 1024 * 1024, 0.25);
+        final CompactWebSessionStore store = newStore(backend);
+        final CompactWebSessionStore otherStore = newStore(backend);
+        final WebSession session = createSession(store, "user", "alice");
+
+        final WebSession retrieved = otherStore.retrieveSession(session.getId()).block();
+        assertNotNull(retrieved);
+        assertEquals("alice", retrieved.getAttribute("user"));
+        assertEquals(session.getCreationTime(), retrieved.getCreationTime());
+
+        // Invalidating the session on one node removes it from all of them
+        retrieved.invalidate().block();
+        assertNull(store.retrieveSession(session.getId()).block());
+    }
+
+    /**
+     * Test that the sessions expire after the idle timeout, and after the
+     * absolute timeout even if they are still in use.
+     */
+    @Test
+    void testTimeouts() {
+        final Instant now = Instant.now();
+        final CompactWebSessionStore store = newStore(new LocalSessionBackend(4, 1024 * 1024, 0.25));
+        store.setClock(Clock.fixed(now, ZoneOffset.UTC));
+        final WebSession idleSession = createSession(store, "user", "alice");
+        final WebSession activeSession = createSession(store, "user", "bob");
+
+        // Keep accessing the active session, while the other one goes idle
+        for(int minutes = 20; minutes < 8 * 60; minutes += 20) {
+            store.setClock(Clock.fixed(now.plus(Duration.ofMinutes(minutes)), ZoneOffset.UTC));
+            final WebSession session = store.retrieveSession(activeSession.getId())
+                    .flatMap(store::updateLastAccessTime)
+                    .block();
+            assertNotNull(session);
+            session.save().block();
+        }
+        assertNull(store.retrieveSession(idleSession.getId()).block());
+
+        // The active session still expires once its absolute timeout is reached
+        store.setClock(Clock.fixed(now.plus(Duration.ofHours(8)), ZoneOffset.UTC));
+        assertNull(store.retrieveSession(activeSession.getId()).block());
+    }
+
+    /**
+     * Test that the sweeper removes the expired sessions from the backend.
+     */
+    @Test
+    void testSweep() {
+        final Instant now = Instant.now();
+        final LocalSessionBackend backend = new LocalSessionBackend(4, 1024 * 1024, 0.25);
+        final CompactWebSessionStore store = newStore(backend);
+        store.setClock(Clock.fixed(now, ZoneOffset.UTC));
+        for(int i = 0; i < 10; i++) {
+            createSession(store, "user", "user" + i);
+        }
+        assertEquals(10, backend.size());
+
+        store.setClock(Clock.fixed(now.plus(Duration.ofHours(1)), ZoneOffset.UTC));
+        for(int i = 0; i < 4; i++) {
+            store.sweep();
+        }
+        assertEquals(0, backend.size());
+        assertEquals(0, backend.getUsedBytes());
+    }
+
+    /**
+     * Test that the least recently used sessions are evicted once the memory
+     * budget is exceeded.
+     */
+    @Test
+    void testMemoryBudget() {
+        final LocalSessionBackend backend = new LocalSessionBackend(1, 4096, 1.0);
+        final CompactWebSessionStore store = newStore(backend);
+        final Random random = new Random(42);
+        final WebSession first = createSession(store, "data", randomBytes(random));
+        for(int i = 0; i < 10; i++) {
+            createSession(store, "data", randomBytes(random));
+        }
+
+        assertTrue(backend.getUsedBytes() <= 4096);
+        assertTrue(backend.getEvictions() > 0);
+        assertNull(store.retrieveSession(first.getId()).block());
+    }
+
+    /**
+     * Test that a flood of anonymous sessions is kept within its share of
+     * the memory budget, and evicts neither the older authenticated sessions
+     * nor the latest anonymous one.
+     */
+    @Test
+    void testAnonymousSessionsEvictedFirst() {
+        final LocalSessionBackend backend = new LocalSessionBackend(1, 16 * 1024, 0.25);
+        final CompactWebSessionStore store = newStore(backend);
+        final Random random = new Random(42);
+        final WebSession alice = createAuthenticatedSession(store, "alice", randomBytes(random));
+        final WebSession bob = createAuthenticatedSession(store, "bob", randomBytes(random));
+        WebSession latest = null;
+        for(int i = 0; i < 100; i++) {
+            latest = createSession(store, "data", randomBytes(random));
+        }
+
+        assertTrue(backend.getUsedBytes() <= 16 * 1024);
+        assertTrue(backend.getEvictions() >= 96);
+        assertNotNull(store.retrieveSession(alice.getId()).block());
+        assertNotNull(store.retrieveSession(bob.getId()).block());
+        assertNotNull(store.retrieveSession(latest.getId()).block());
+    }
+
+    /**
+     * Test that the authenticated sessions are still evicted among
+     * themselves, once they exceed the memory budget on their own.
+     */
+    @Test
+    void testAuthenticatedSessionsEvictedLast() {
+        final LocalSessionBackend backend = new LocalSessionBackend(1, 8 * 1024, 0.25);
+        final CompactWebSessionStore store = newStore(backend);
+        final Random random = new Random(42);
+        final WebSession anonymous = createSession(store, "data", randomBytes(random));
+        final WebSession first = createAuthenticatedSession(store, "user0", randomBytes(random));
+        for(int i = 1; i < 20; i++) {
+            createAuthenticatedSession(store, "user" + i, randomBytes(random));
+        }
+
+        assertTrue(backend.getUsedBytes() <= 8 * 1024);
+        assertNull(store.retrieveSession(anonymous.getId()).block());
+        assertNull(store.retrieveSession(first.getId()).block());
+    }
+
+    /**
+     * Creates a new compact web session store on the provided backend.
+     *
+     * @param backend the session backend
+     * @return the compact web session store
+     */
+    private static CompactWebSessionStore newStore(SessionBackend backend) {
+        return new CompactWebSessionStore(backend, Duration.ofMinutes(30), Duration.ofHours(8), 256, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Creates, starts and saves a new session with the provided attribute.
+     *
+     * @param store the session store
+     * @param name  the attribute name
+     * @param value the attribute value
+     * @return the saved session
+     */
+    private static WebSession createSession(CompactWebSessionStore store, String name, Object value) {
+        final WebSession session = store.createWebSession().block();
+        assertNotNull(session);
+        session.getAttributes().put(name, value);
+        session.save().block();
+        return session;
+    }
+
+    /**
+     * Creates, starts and saves a new session holding an authenticated user.
+     *
+     * @param store     the session store
+     * @param username  the username
+     * @param data      additional session data
+     * @return the saved session
+     */
+    private static WebSession createAuthenticatedSession(CompactWebSessionStore store, String username, byte[] data) {
+        final WebSession session = store.createWebSession().block();
+        assertNotNull(session);
+        session.getAttributes().put(WebSessionServerSecurityContextRepository.DEFAULT_SPRING_SECURITY_CONTEXT_ATTR_NAME,
+                new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+                        username, null, List.of(new SimpleGrantedAuthority("ROLE_USER")))));
+        session.getAttributes().put("data", data);
+        session.save().block();
+        return session;
+    }
+
+    /**
+     * Generates 1KB of random, i.e. incompressible, session data.
+     *
+     * @param random the random generator
+     * @return the random session data
+     */
+    private static byte[] randomBytes(Random random) {
+        final byte[] bytes = new byte[1024];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+}
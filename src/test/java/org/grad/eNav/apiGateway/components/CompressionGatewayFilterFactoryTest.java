@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionGatewayFilterFactoryTest {
+
+    /**
+     * Test that a qualifying response is compressed, and that the meters are
+     * only registered once, however many responses are compressed.
+     */
+    @Test
+    void testFilterCompressed() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final GatewayFilter filter = new CompressionGatewayFilterFactory(meterRegistry, 6)
+                .apply(new CompressionGatewayFilterFactory.Config());
+        final int meters = meterRegistry.getMeters().size();
+
+        for(int i = 0; i < 3; i++) {
+            final MockServerWebExchange exchange = route(filter, HttpStatus.OK, headers -> {});
+            assertEquals("gzip", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        assertEquals(meters, meterRegistry.getMeters().size());
+        assertEquals(3, meterRegistry.get("gateway.compression.responses").tag("outcome", "compressed").counter().count());
+    }
+
+    /**
+     * Test that partial content responses are not compressed, since their
+     * byte ranges refer to the uncompressed representation.
+     */
+    @Test
+    void testFilterPartialContent() {
+        final GatewayFilter filter = new CompressionGatewayFilterFactory(new SimpleMeterRegistry(), 6)
+                .apply(new CompressionGatewayFilterFactory.Config());
+
+        final MockServerWebExchange exchange = route(filter, HttpStatus.PARTIAL_CONTENT,
+                headers -> headers.set(HttpHeaders.CONTENT_RANGE, "bytes 0-4095/8192"));
+
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(4096, exchange.getResponse().getBodyAsString().block().length());
+    }
+
+    /**
+     * Test that the responses marked with the "no-transform" cache directive
+     * are not compressed.
+     */
+    @Test
+    void testFilterNoTransform() {
+        final GatewayFilter filter = new CompressionGatewayFilterFactory(new SimpleMeterRegistry(), 6)
+                .apply(new CompressionGatewayFilterFactory.Config());
+
+        final MockServerWebExchange exchange = route(filter, HttpStatus.OK,
+                headers -> headers.set(HttpHeaders.CACHE_CONTROL, "public, No-Transform, max-age=60"));
+
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(4096, exchange.getResponse().getBodyAsString().block().length());
+    }
+
+    /**
+     * Test that each chunk of a streamed response, i.e. one without a
+     * content length, is flushed as soon as it is compressed, so that it can
+     * be decompressed without waiting for the rest of the body.
+     */
+    @Test
+    void testFilterStreamed() throws DataFormatException {
+        final GatewayFilter filter = new CompressionGatewayFilterFactory(new SimpleMeterRegistry(), 6)
+                .apply(new CompressionGatewayFilterFactory.Config());
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/events")
+                .header(HttpHeaders.ACCEPT_ENCODING, "deflate"));
+
+        filter.filter(exchange, routed -> {
+            final ServerHttpResponse response = routed.getResponse();
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Flux.just("{\"event\":1}", "{\"event\":2}")
+                    .map(event -> DefaultDataBufferFactory.sharedInstance.wrap(event.repeat(100).getBytes(StandardCharsets.UTF_8))));
+        }).block();
+
+        assertEquals("deflate", exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        final DataBuffer first = exchange.getResponse().getBody().blockFirst();
+        final byte[] compressed = new byte[first.readableByteCount()];
+        first.read(compressed);
+        final Inflater inflater = new Inflater();
+        inflater.setInput(compressed);
+        final byte[] inflated = new byte[4096];
+        final int length = inflater.inflate(inflated);
+        inflater.end();
+        assertEquals("{\"event\":1}".repeat(100), new String(inflated, 0, length, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Routes a gzip-accepting request through the provided filter, to an
+     * upstream responding with a 4KB JSON body.
+     *
+     * @param filter    the compression filter
+     * @param status    the upstream response status
+     * @param headers   the upstream response header customisation
+     * @return the routed exchange
+     */
+    private static MockServerWebExchange route(GatewayFilter filter, HttpStatus status, Consumer<HttpHeaders> headers) {
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/datasets")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+        filter.filter(exchange, routed -> {
+            final ServerHttpResponse response = routed.getResponse();
+            response.setStatusCode(status);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            headers.accept(response.getHeaders());
+            return response.writeWith(Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(
+                    "x".repeat(4096).getBytes(StandardCharsets.UTF_8))));
+        }).block();
+        return exchange;
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class JwkSetProviderTest {
+
+    /**
+     * Test that only snapshot files that no other user can modify are
+     * trusted, and that links to them are not followed.
+     */
+    @Test
+    void testIsTrusted(@TempDir Path directory) throws IOException {
+        assumeTrue(directory.getFileSystem().supportedFileAttributeViews().contains("posix"));
+        Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwx------"));
+        final Path snapshot = Files.writeString(directory.resolve("jwks.json"), "{}");
+        Files.setPosixFilePermissions(snapshot, PosixFilePermissions.fromString("rw-------"));
+        assertTrue(JwkSetProvider.isTrusted(snapshot));
+
+        // Links are never followed
+        final Path link = Files.createSymbolicLink(directory.resolve("link.json"), snapshot);
+        assertFalse(JwkSetProvider.isTrusted(link));
+
+        // Neither the file nor its directory may be writable by others
+        Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwxrwxrwx"));
+        assertFalse(JwkSetProvider.isTrusted(snapshot));
+        Files.setPosixFilePermissions(directory, PosixFilePermissions.fromString("rwx------"));
+        Files.setPosixFilePermissions(snapshot, PosixFilePermissions.fromString("rw-rw-rw-"));
+        assertFalse(JwkSetProvider.isTrusted(snapshot));
+
+        // Missing files are not trusted either
+        assertFalse(JwkSetProvider.isTrusted(directory.resolve("missing.json")));
+    }
+
+}
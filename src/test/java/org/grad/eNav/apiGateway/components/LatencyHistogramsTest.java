@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramsTest {
+
+    // Test Variables
+    private LatencyHistograms latencyHistograms;
+
+    /**
+     * Common setup for all the tests, retaining two intervals.
+     */
+    @BeforeEach
+    void setUp() {
+        this.latencyHistograms = new LatencyHistograms(3, 2);
+    }
+
+    /**
+     * Test that the recorded values only become visible once the current
+     * interval is rolled, and that only the last intervals of the window
+     * are retained.
+     */
+    @Test
+    void testRoll() {
+        final LatencyHistograms.HistogramKey key = new LatencyHistograms.HistogramKey("route", "2xx", LatencyHistograms.TOTAL);
+
+        this.latencyHistograms.record("route", "2xx", LatencyHistograms.TOTAL, TimeUnit.MILLISECONDS.toNanos(1));
+        assertEquals(List.of(key), this.latencyHistograms.getKeys());
+        assertEquals(0, this.latencyHistograms.getHistogram(key).getTotalCount());
+
+        this.latencyHistograms.roll();
+        assertEquals(1, this.latencyHistograms.getHistogram(key).getTotalCount());
+
+        this.latencyHistograms.record("route", "2xx", LatencyHistograms.TOTAL, TimeUnit.MILLISECONDS.toNanos(2));
+        this.latencyHistograms.roll();
+        this.latencyHistograms.record("route", "2xx", LatencyHistograms.TOTAL, TimeUnit.MILLISECONDS.toNanos(3));
+        this.latencyHistograms.roll();
+
+        final Histogram histogram = this.latencyHistograms.getHistogram(key);
+        assertEquals(2, histogram.getTotalCount());
+        assertTrue(histogram.valuesAreEquivalent(TimeUnit.MILLISECONDS.toNanos(2), histogram.getMinValue()));
+        assertTrue(histogram.valuesAreEquivalent(TimeUnit.MILLISECONDS.toNanos(3), histogram.getMaxValue()));
+    }
+
+    /**
+     * Test that negative latencies are recorded as zero.
+     */
+    @Test
+    void testRecordNegative() {
+        final LatencyHistograms.HistogramKey key = new LatencyHistograms.HistogramKey("route", "5xx", LatencyHistograms.UPSTREAM);
+
+        this.latencyHistograms.record("route", "5xx", LatencyHistograms.UPSTREAM, -1);
+        this.latencyHistograms.roll();
+
+        assertEquals(1, this.latencyHistograms.getHistogram(key).getTotalCount());
+        assertEquals(0, this.latencyHistograms.getHistogram(key).getMaxValue());
+    }
+
+    /**
+     * Test that resetting discards both the current interval and the
+     * retained ones.
+     */
+    @Test
+    void testReset() {
+        final LatencyHistograms.HistogramKey key = new LatencyHistograms.HistogramKey("route", "2xx", LatencyHistograms.TOTAL);
+
+        this.latencyHistograms.record("route", "2xx", LatencyHistograms.TOTAL, 1000);
+        this.latencyHistograms.roll();
+        this.latencyHistograms.record("route", "2xx", LatencyHistograms.TOTAL, 2000);
+        this.latencyHistograms.reset();
+        assertEquals(0, this.latencyHistograms.getHistogram(key).getTotalCount());
+
+        this.latencyHistograms.roll();
+        assertEquals(0, this.latencyHistograms.getHistogram(key).getTotalCount());
+    }
+
+    /**
+     * Test that an unknown key returns an empty histogram.
+     */
+    @Test
+    void testGetHistogramUnknown() {
+        assertEquals(0, this.latencyHistograms.getHistogram(new LatencyHistograms.HistogramKey("unknown", "2xx", LatencyHistograms.TOTAL)).getTotalCount());
+    }
+
+    /**
+     * Test that the retained intervals are exported in the HdrHistogram log
+     * format, tagged by route, status class and type, and that they can be
+     * read back by the standard log reader.
+     */
+    @Test
+    void testExportLog() {
+        this.latencyHistograms.record("my route", "2xx", LatencyHistograms.UPSTREAM, 1000);
+        this.latencyHistograms.record("my route", "2xx", LatencyHistograms.TOTAL, 2000);
+        this.latencyHistograms.record("my route", "2xx", LatencyHistograms.TOTAL, 3000);
+        this.latencyHistograms.roll();
+
+        final String log = this.latencyHistograms.exportLog();
+        assertTrue(log.contains("#[StartTime: "));
+        assertTrue(log.contains("Tag=my_route/2xx/total,"));
+        assertTrue(log.contains("Tag=my_route/2xx/upstream,"));
+
+        final HistogramLogReader reader = new HistogramLogReader(new ByteArrayInputStream(log.getBytes(StandardCharsets.UTF_8)));
+        final List<EncodableHistogram> intervals = new ArrayList<>();
+        for(EncodableHistogram interval = reader.nextIntervalHistogram(); interval != null; interval = reader.nextIntervalHistogram()) {
+            intervals.add(interval);
+        }
+        assertEquals(2, intervals.size());
+        assertEquals("my_route/2xx/total", intervals.get(0).getTag());
+        assertEquals(2, ((Histogram) intervals.get(0)).getTotalCount());
+        assertEquals("my_route/2xx/upstream", intervals.get(1).getTag());
+        assertEquals(1, ((Histogram) intervals.get(1)).getTotalCount());
+    }
+
+    /**
+     * Test that the log of empty histograms only contains its header.
+     */
+    @Test
+    void testExportLogEmpty() {
+        final String log = this.latencyHistograms.exportLog();
+
+        assertTrue(log.contains("#[Histogram log format version"));
+        assertFalse(log.contains("Tag="));
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalRateLimiterTest {
+
+    // Test Variables
+    private LocalRateLimiter.Config config;
+    private AtomicLong bucket;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.config = new LocalRateLimiter.Config();
+        this.config.setReplenishRate(10);
+        this.config.setBurstCapacity(5);
+        this.bucket = new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Test that a full bucket allows a burst up to its capacity, and then
+     * denies any further requests until it is replenished.
+     */
+    @Test
+    void testTryAcquireBurst() {
+        final long now = 1_000_000_000L;
+        for(int i = 4; i >= 0; i--) {
+            assertEquals(i, LocalRateLimiter.tryAcquire(this.bucket, now, this.config));
+        }
+        assertEquals(-1, LocalRateLimiter.tryAcquire(this.bucket, now, this.config));
+
+        // One token is replenished every 100ms
+        assertEquals(-1, LocalRateLimiter.tryAcquire(this.bucket, now + TimeUnit.MILLISECONDS.toNanos(50), this.config));
+        assertEquals(0, LocalRateLimiter.tryAcquire(this.bucket, now + TimeUnit.MILLISECONDS.toNanos(100), this.config));
+    }
+
+    /**
+     * Test that an idle bucket is never refilled beyond its capacity.
+     */
+    @Test
+    void testTryAcquireIdle() {
+        final long now = 1_000_000_000L;
+        assertEquals(4, LocalRateLimiter.tryAcquire(this.bucket, now, this.config));
+        assertEquals(4, LocalRateLimiter.tryAcquire(this.bucket, now + TimeUnit.SECONDS.toNanos(60), this.config));
+    }
+
+    /**
+     * Test that a throttled key is never evicted to make room for new keys,
+     * even once the maximum number of keys is reached, in which case the new
+     * keys are not tracked individually.
+     */
+    @Test
+    void testThrottledKeyRetained() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final LocalRateLimiter limiter = new LocalRateLimiter(null, meterRegistry, 1, 100, 2, Duration.ofMinutes(10));
+        for(int i = 0; i < 100; i++) {
+            assertTrue(limiter.isAllowed("route", "throttled").block().isAllowed());
+        }
+        assertFalse(limiter.isAllowed("route", "throttled").block().isAllowed());
+
+        for(int i = 0; i < 99; i++) {
+            assertTrue(limiter.isAllowed("route", "key-" + i).block().isAllowed());
+        }
+
+        assertFalse(limiter.isAllowed("route", "throttled").block().isAllowed());
+        assertTrue(limiter.size() <= 2);
+        assertEquals(98, meterRegistry.get("gateway.rate-limiter.untracked").counter().count());
+    }
+
+    /**
+     * Test that once the maximum number of keys is reached, the new keys of
+     * each route share a single overflow bucket, so that they are still
+     * limited as a group rather than allowed through.
+     */
+    @Test
+    void testOverflowKeysLimited() {
+        final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final LocalRateLimiter limiter = new LocalRateLimiter(null, meterRegistry, 1, 1, 1, Duration.ofMinutes(10));
+        assertTrue(limiter.isAllowed("route", "tracked").block().isAllowed());
+
+        assertTrue(limiter.isAllowed("route", "key-0").block().isAllowed());
+        for(int i = 1; i < 100; i++) {
+            assertFalse(limiter.isAllowed("route", "key-" + i).block().isAllowed());
+        }
+        assertSame(limiter.getBucket("route", "key-0"), limiter.getBucket("route", "key-1"));
+
+        // Each route has its own overflow bucket
+        assertTrue(limiter.isAllowed("other", "key-0").block().isAllowed());
+        assertNotSame(limiter.getBucket("route", "key-0"), limiter.getBucket("other", "key-0"));
+        assertEquals(1, limiter.size());
+    }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescingGatewayFilterFactoryTest {
+
+    /**
+     * Test that concurrent identical requests are collapsed into a single
+     * upstream request, and all receive the same response.
+     */
+    @Test
+    void testFilterCoalesced() {
+        final RequestCoalescingGatewayFilterFactory factory = new RequestCoalescingGatewayFilterFactory(new SimpleMeterRegistry(), 1024);
+        final Upstream upstream = new Upstream();
+        final MockServerWebExchange leader = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/datasets")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer a"));
+        final MockServerWebExchange follower = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/datasets")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer a"));
+
+        upstream.route(factory.apply(new RequestCoalescingGatewayFilterFactory.Config()), leader, follower);
+
+        assertEquals(1, upstream.count.get());
+        assertEquals("Bearer a", leader.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.OK, follower.getResponse().getStatusCode());
+        assertEquals("Bearer a", follower.getResponse().getBodyAsString().block());
+        assertEquals(0.5, factory.getCollapseRatio());
+    }
+
+    /**
+     * Test that concurrent requests with different identity headers are
+     * never collapsed together.
+     */
+    @Test
+    void testFilterDifferentIdentityHeaders() {
+        final RequestCoalescingGatewayFilterFactory factory = new RequestCoalescingGatewayFilterFactory(new SimpleMeterRegistry(), 1024);
+        final Upstream upstream = new Upstream();
+        final MockServerWebExchange first = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/datasets")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer a"));
+        final MockServerWebExchange second = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/datasets")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer b"));
+
+        upstream.route(factory.apply(new RequestCoalescingGatewayFilterFactory.Config()), first, second);
+
+        assertEquals(2, upstream.count.get());
+        assertEquals("Bearer a", first.getResponse().getBodyAsString().block());
+        assertEquals("Bearer b", second.getResponse().getBodyAsString().block());
+    }
+
+    /**
+     * Test that concurrent requests of different authenticated users are
+     * never collapsed together, even when they carry no identity headers,
+     * e.g. when authenticated through a session cookie or a certificate.
+     */
+    @Test
+    void testFilterDifferentPrincipals() {
+        final RequestCoalescingGatewayFilterFactory factory = new RequestCoalescingGatewayFilterFactory(new SimpleMeterRegistry(), 1024);
+        final Upstream upstream = new Upstream();
+        final MockServerWebExchange alice = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/datasets"));
+        final MockServerWebExchange bob = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/datasets"));
+
+        upstream.route(factory.apply(new RequestCoalescingGatewayFilterFactory.Config()),
+                withPrincipal(alice, "alice"),
+                withPrincipal(bob, "bob"));
+
+        assertEquals(2, upstream.count.get());
+        assertEquals("alice", alice.getResponse().getBodyAsString().block());
+        assertEquals("bob", bob.getResponse().getBodyAsString().block());
+    }
+
+    /**
+     * Test that the coalesced HEAD requests receive the headers of the
+     * leader, including its content length.
+     */
+    @Test
+    void testFilterCoalescedHead() {
+        final RequestCoalescingGatewayFilterFactory factory = new RequestCoalescingGatewayFilterFactory(new SimpleMeterRegistry(), 1024);
+        final Upstream upstream = new Upstream();
+        final MockServerWebExchange leader = MockServerWebExchange.from(MockServerHttpRequest.head("/api/v1/datasets")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer a"));
+        final MockServerWebExchange follower = MockServerWebExchange.from(MockServerHttpRequest.head("/api/v1/datasets")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer a"));
+
+        upstream.route(factory.apply(new RequestCoalescingGatewayFilterFactory.Config()), leader, follower);
+
+        assertEquals(1, upstream.count.get());
+        assertEquals(HttpStatus.OK, follower.getResponse().getStatusCode());
+        assertEquals(8, follower.getResponse().getHeaders().getContentLength());
+        assertEquals("", follower.getResponse().getBodyAsString().defaultIfEmpty("").block());
+    }
+
+    /**
+     * Returns a copy of the provided exchange, authenticated as the user
+     * with the provided name.
+     *
+     * @param exchange  the server web exchange
+     * @param username  the username
+     * @return the authenticated server web exchange
+     */
+    private static ServerWebExchange withPrincipal(ServerWebExchange exchange, String username) {
+        final Principal principal = UsernamePasswordAuthenticationToken.authenticated(username, null, AuthorityUtils.NO_AUTHORITIES);
+        return exchange.mutate().principal(Mono.just(principal)).build();
+    }
+
+    /**
+     * The Upstream Class.
+     *
+     * Simulates an upstream service that answers all the requests at once,
+     * with the caller's credentials as the body. The HEAD requests only
+     * receive the content length of that body.
+     */
+    private static class Upstream implements GatewayFilterChain {
+
+        // Class Variables
+        private final AtomicInteger count = new AtomicInteger();
+        private final Sinks.Empty<Void> latch = Sinks.empty();
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange) {
+            this.count.incrementAndGet();
+            return this.latch.asMono().then(exchange.getPrincipal()
+                    .map(Principal::getName)
+                    .defaultIfEmpty("")
+                    .flatMap(name -> {
+                        final String credentials = Objects.requireNonNullElse(
+                                exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION), name);
+                        final byte[] body = credentials.getBytes(StandardCharsets.UTF_8);
+                        exchange.getResponse().setStatusCode(HttpStatus.OK);
+                        exchange.getResponse().getHeaders().setContentLength(body.length);
+                        if(exchange.getRequest().getMethod() == HttpMethod.HEAD) {
+                            return exchange.getResponse().setComplete();
+                        }
+                        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+                    }));
+        }
+
+        /**
+         * Routes the provided exchanges concurrently through the filter,
+         * answers them all, and waits for them to complete.
+         *
+         * @param filter    the gateway filter
+         * @param exchanges the server web exchanges
+         */
+        void route(GatewayFilter filter, ServerWebExchange... exchanges) {
+            final List<Mono<Void>> results = Arrays.stream(exchanges)
+                    .map(exchange -> filter.filter(exchange, this).cache())
+                    .toList();
+            results.forEach(Mono::subscribe);
+            this.latch.tryEmitEmpty();
+            results.forEach(Mono::block);
+        }
+
+    }
+
+}
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheGatewayFilterFactoryTest {
+
+    /**
+     * Test that repeat GET requests are answered from the cache, without
+     * reaching the upstream service.
+     */
+    @Test
+    void testFilterCached() {
+        final Upstream upstream = new Upstream("max-age=60");
+        final GatewayFilter filter = newFilter(newCache(), false);
+        final MockServerWebExchange first = upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets?page=1"));
+        final MockServerWebExchange second = upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets?page=1"));
+
+        assertEquals(1, upstream.count.get());
+        assertEquals("{\"datasets\":[]}", first.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals("{\"datasets\":[]}", second.getResponse().getBodyAsString().block());
+        assertEquals("\"v1\"", second.getResponse().getHeaders().getETag());
+        assertNotNull(second.getResponse().getHeaders().getFirst(HttpHeaders.AGE));
+    }
+
+    /**
+     * Test that conditional requests matching the cached entity tag are
+     * answered locally with a 304 (Not Modified) response.
+     */
+    @Test
+    void testFilterNotModified() {
+        final Upstream upstream = new Upstream("max-age=60");
+        final GatewayFilter filter = newFilter(newCache(), false);
+        upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets"));
+        final MockServerWebExchange conditional = upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets")
+                .header(HttpHeaders.IF_NONE_MATCH, "W/\"v1\""));
+
+        assertEquals(1, upstream.count.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+    }
+
+    /**
+     * Test that responses not cacheable by a shared cache always reach the
+     * upstream service.
+     */
+    @Test
+    void testFilterNotCacheable() {
+        final ResponseCache responseCache = newCache();
+        final Upstream upstream = new Upstream("private, max-age=60");
+        final GatewayFilter filter = newFilter(responseCache, false);
+        upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets"));
+        upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets"));
+
+        assertEquals(2, upstream.count.get());
+        assertEquals(0, responseCache.size());
+    }
+
+    /**
+     * Test that the responses to authenticated requests are not shared
+     * between different callers, unless explicitly marked as public.
+     */
+    @Test
+    void testFilterCredentialsNotShared() {
+        final ResponseCache responseCache = newCache();
+        final Upstream upstream = new Upstream("max-age=60");
+        final GatewayFilter filter = newFilter(responseCache, false);
+        final MockServerWebExchange alice = upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets"), "alice");
+        final MockServerWebExchange bob = upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets"), "bob");
+        final MockServerWebExchange bearer = upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+
+        assertEquals(3, upstream.count.get());
+        assertEquals(0, responseCache.size());
+        assertEquals("alice", alice.getResponse().getBodyAsString().block());
+        assertEquals("bob", bob.getResponse().getBodyAsString().block());
+        assertEquals("Bearer token", bearer.getResponse().getBodyAsString().block());
+
+        // Responses explicitly marked as public can still be shared
+        final Upstream publicUpstream = new Upstream("public, max-age=60");
+        publicUpstream.perform(filter, MockServerHttpRequest.get("/api/v1/public"), "alice");
+        final MockServerWebExchange shared = publicUpstream.perform(filter, MockServerHttpRequest.get("/api/v1/public"), "bob");
+        assertEquals(1, publicUpstream.count.get());
+        assertEquals("alice", shared.getResponse().getBodyAsString().block());
+    }
+
+    /**
+     * Test that, when partitioned by identity, the responses are cached
+     * separately for each caller.
+     */
+    @Test
+    void testFilterPartitionedByIdentity() {
+        final Upstream upstream = new Upstream("max-age=60");
+        final GatewayFilter filter = newFilter(newCache(), true);
+        upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets"), "alice");
+        upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets"), "bob");
+        final MockServerWebExchange alice = upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets"), "alice");
+        final MockServerWebExchange bob = upstream.perform(filter, MockServerHttpRequest.get("/api/v1/datasets"), "bob");
+
+        assertEquals(2, upstream.count.get());
+        assertEquals("alice", alice.getResponse().getBodyAsString().block());
+        assertEquals("bob", bob.getResponse().getBodyAsString().block());
+    }
+
+    /**
+     * Test that a cached direct buffer body remains readable while it is
+     * being written out, even if its response is removed from the cache.
+     */
+    @Test
+    void testDirectBufferRetainedWhileInUse() {
+        final ResponseCache responseCache = newCache();
+        final byte[] body = "{\"datasets\":[]}".getBytes(StandardCharsets.UTF_8);
+        responseCache.put("key", new HttpHeaders(), 200, new HttpHeaders(), body, "\"v1\"", Duration.ofMinutes(1));
+
+        final ResponseCache.CachedResponse cached = responseCache.get("key", new HttpHeaders());
+        assertNotNull(cached);
+        assertTrue(cached.body().isDirect());
+        responseCache.invalidateAll();
+
+        assertNull(responseCache.get("key", new HttpHeaders()));
+        assertEquals(body.length, cached.contentLength());
+        assertEquals(1, cached.body().refCnt());
+        cached.release();
+        assertEquals(0, cached.body().refCnt());
+    }
+
+    /**
+     * Test that the freshness lifetime follows the Cache-Control directives
+     * and the upstream age.
+     */
+    @Test
+    void testGetFreshnessLifetime() {
+        final HttpHeaders headers = new HttpHeaders();
+        assertEquals(Duration.ofSeconds(30), ResponseCacheGatewayFilterFactory.getFreshnessLifetime(headers, Duration.ofSeconds(30), false));
+        assertNull(ResponseCacheGatewayFilterFactory.getFreshnessLifetime(headers, Duration.ofSeconds(30), true));
+
+        headers.setCacheControl("public, max-age=120, s-maxage=300");
+        headers.set(HttpHeaders.AGE, "100");
+        assertEquals(Duration.ofSeconds(200), ResponseCacheGatewayFilterFactory.getFreshnessLifetime(headers, Duration.ofSeconds(30), false));
+        assertEquals(Duration.ofSeconds(200), ResponseCacheGatewayFilterFactory.getFreshnessLifetime(headers, Duration.ofSeconds(30), true));
+
+        headers.setVary(List.of("*"));
+        assertNull(ResponseCacheGatewayFilterFactory.getFreshnessLifetime(headers, Duration.ofSeconds(30), false));
+    }
+
+    /**
+     * Creates a new response cache, storing the bodies in direct buffers.
+     *
+     * @return the response cache
+     */
+    private static ResponseCache newCache() {
+        return new ResponseCache(new SimpleMeterRegistry(), 1048576L, "direct");
+    }
+
+    /**
+     * Creates a new response cache filter on the provided cache.
+     *
+     * @param responseCache         the response cache
+     * @param partitionByIdentity   whether to partition the cache by identity
+     * @return the response cache filter
+     */
+    private static GatewayFilter newFilter(ResponseCache responseCache, boolean partitionByIdentity) {
+        final ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setPartitionByIdentity(partitionByIdentity);
+        return new ResponseCacheGatewayFilterFactory(responseCache, 1024).apply(config);
+    }
+
+    /**
+     * The Upstream Class.
+     *
+     * Simulates an upstream service that answers with the caller's
+     * credentials as the body, if any, and the provided Cache-Control
+     * directives.
+     */
+    private static class Upstream implements GatewayFilterChain {
+
+        // Class Variables
+        private final AtomicInteger count = new AtomicInteger();
+        private final String cacheControl;
+
+        /**
+         * The Class Constructor.
+         *
+         * @param cacheControl the Cache-Control directives of the responses
+         */
+        Upstream(String cacheControl) {
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange) {
+            this.count.incrementAndGet();
+            return exchange.getPrincipal()
+                    .map(Principal::getName)
+                    .switchIfEmpty(Mono.justOrEmpty(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION)))
+                    .defaultIfEmpty("{\"datasets\":[]}")
+                    .flatMap(body -> {
+                        exchange.getResponse().setStatusCode(HttpStatus.OK);
+                        exchange.getResponse().getHeaders().set(HttpHeaders.CACHE_CONTROL, this.cacheControl);
+                        exchange.getResponse().getHeaders().setETag("\"v1\"");
+                        return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+                                .wrap(body.getBytes(StandardCharsets.UTF_8))));
+                    });
+        }
+
+        /**
+         * Performs an anonymous request through the provided filter.
+         *
+         * @param filter    the response cache filter
+         * @param request   the request to be performed
+         * @return the completed exchange
+         */
+        MockServerWebExchange perform(GatewayFilter filter, MockServerHttpRequest.BaseBuilder<?> request) {
+            final MockServerWebExchange exchange = MockServerWebExchange.from(request);
+            filter.filter(exchange, this).block();
+            return exchange;
+        }
+
+        /**
+         * Performs a request through the provided filter, authenticated as
+         * the user with the provided name.
+         *
+         * @param filter    the response cache filter
+         * @param request   the request to be performed
+         * @param username  the username
+         * @return the completed exchange
+         */
+        MockServerWebExchange perform(GatewayFilter filter, MockServerHttpRequest.BaseBuilder<?> request, String username) {
+            final MockServerWebExchange exchange = MockServerWebExchange.from(request);
+            final Principal principal = UsernamePasswordAuthenticationToken.authenticated(username, null, AuthorityUtils.NO_AUTHORITIES);
+            filter.filter(exchange.mutate().principal(Mono.just(principal)).build(), this).block();
+            return exchange;
+        }
+
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.web.exchanges.HttpExchange;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferHttpExchangeRepositoryTest {
+
+    // Test Variables
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Test that the repository only retains the most recent exchanges up to
+     * its capacity, the most recent first.
+     */
+    @Test
+    void testCapacity() throws IOException {
+        final RingBufferHttpExchangeRepository repository = new RingBufferHttpExchangeRepository(4, 1.0, 500, Duration.ofSeconds(1), null, 0);
+        for(int i = 0; i < 10; i++) {
+            repository.add(this.exchange("/path/" + i, 200, Duration.ofMillis(10)));
+        }
+        final List<HttpExchange> exchanges = repository.findAll();
+        assertEquals(4, exchanges.size());
+        assertEquals(URI.create("http://localhost/path/9"), exchanges.get(0).getRequest().getUri());
+        assertEquals(URI.create("http://localhost/path/6"), exchanges.get(3).getRequest().getUri());
+    }
+
+    /**
+     * Test that the failed and slow exchanges are recorded even when no
+     * other exchanges are sampled.
+     */
+    @Test
+    void testAlwaysRecord() throws IOException {
+        final RingBufferHttpExchangeRepository repository = new RingBufferHttpExchangeRepository(16, 0.0, 500, Duration.ofSeconds(1), null, 0);
+        repository.add(this.exchange("/ok", 200, Duration.ofMillis(10)));
+        repository.add(this.exchange("/failed", 503, Duration.ofMillis(10)));
+        repository.add(this.exchange("/slow", 200, Duration.ofSeconds(2)));
+        final List<HttpExchange> exchanges = repository.findAll();
+        assertEquals(2, exchanges.size());
+        assertEquals("/slow", exchanges.get(0).getRequest().getUri().getPath());
+        assertEquals("/failed", exchanges.get(1).getRequest().getUri().getPath());
+    }
+
+    /**
+     * Test that the recorded exchanges are spilled into the memory-mapped
+     * file.
+     */
+    @Test
+    void testSpill() throws IOException {
+        final Path spillFile = this.tempDir.resolve("http-exchanges.log");
+        final RingBufferHttpExchangeRepository repository = new RingBufferHttpExchangeRepository(16, 1.0, 500, Duration.ofSeconds(1), spillFile, 4096);
+        repository.add(this.exchange("/spilled", 404, Duration.ofMillis(25)));
+        repository.close();
+        final List<String> lines = RingBufferHttpExchangeRepository.readSpill(spillFile);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).endsWith("\t25\tGET\t404\thttp://localhost/spilled\t-\t127.0.0.1"));
+    }
+
+    /**
+     * Test that a reopened spill file is appended to from its stored write
+     * offset, rather than overwritten from the start.
+     */
+    @Test
+    void testSpillResume() throws IOException {
+        final Path spillFile = this.tempDir.resolve("http-exchanges.log");
+        final RingBufferHttpExchangeRepository first = new RingBufferHttpExchangeRepository(16, 1.0, 500, Duration.ofSeconds(1), spillFile, 4096);
+        first.add(this.exchange("/before", 200, Duration.ofMillis(10)));
+        first.close();
+        final RingBufferHttpExchangeRepository second = new RingBufferHttpExchangeRepository(16, 1.0, 500, Duration.ofSeconds(1), spillFile, 4096);
+        second.add(this.exchange("/after", 200, Duration.ofMillis(10)));
+        second.close();
+
+        final List<String> lines = RingBufferHttpExchangeRepository.readSpill(spillFile);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("http://localhost/before"));
+        assertTrue(lines.get(1).contains("http://localhost/after"));
+    }
+
+    /**
+     * Test that once the spill file wraps around, it only holds whole lines,
+     * the oldest first, and no fragments of the overwritten ones.
+     */
+    @Test
+    void testSpillWrap() throws IOException {
+        final Path spillFile = this.tempDir.resolve("http-exchanges.log");
+        final RingBufferHttpExchangeRepository repository = new RingBufferHttpExchangeRepository(64, 1.0, 500, Duration.ofSeconds(1), spillFile, 512);
+        for(int i = 0; i < 40; i++) {
+            repository.add(this.exchange("/path/" + "x".repeat(i % 7) + i, 200, Duration.ofMillis(10)));
+        }
+        repository.close();
+
+        final List<String> lines = RingBufferHttpExchangeRepository.readSpill(spillFile);
+        assertFalse(lines.isEmpty());
+        for(String line : lines) {
+            assertEquals(7, line.split("\t").length, line);
+            assertTrue(line.endsWith("\t-\t127.0.0.1"), line);
+        }
+        assertTrue(lines.get(lines.size() - 1).contains("http://localhost/path/" + "x".repeat(39 % 7) + 39));
+        int previous = -1;
+        for(String line : lines) {
+            final String path = line.split("\t")[4];
+            final int index = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1).replace("x", ""));
+            assertTrue(index > previous, line);
+            previous = index;
+        }
+    }
+
+    /**
+     * Generates a test HTTP exchange.
+     *
+     * @param path      the request path
+     * @param status    the response status
+     * @param timeTaken the time taken
+     * @return the test HTTP exchange
+     */
+    private HttpExchange exchange(String path, int status, Duration timeTaken) {
+        return new HttpExchange(Instant.now(),
+                new HttpExchange.Request(URI.create("http://localhost" + path), "127.0.0.1", "GET", Map.of()),
+                new HttpExchange.Response(status, Map.of()),
+                null,
+                null,
+                timeTaken);
+    }
+
+}
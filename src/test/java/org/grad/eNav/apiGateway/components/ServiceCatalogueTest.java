@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import com.netflix.appinfo.InstanceInfo;
+import org.grad.eNav.apiGateway.models.ServiceCatalogueEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.netflix.eureka.EurekaServiceInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceCatalogueTest {
+
+    /**
+     * Test that the catalogue lists the registered services sorted by their
+     * ID, and publishes the new snapshot.
+     */
+    @Test
+    void testRefresh() {
+        final Registry registry = new Registry();
+        registry.services.put("niord", List.of(instance("niord", 1)));
+        registry.services.put("ais", List.of(instance("ais", 1), instance("ais", 2)));
+        final List<ServiceCatalogue.CatalogueChangedEvent> events = new ArrayList<>();
+        final ServiceCatalogue catalogue = new ServiceCatalogue(registry, event -> events.add((ServiceCatalogue.CatalogueChangedEvent) event));
+
+        catalogue.refresh();
+
+        assertEquals(List.of(
+                new ServiceCatalogueEntry("ais", "ais/", 2, 2, ServiceCatalogueEntry.STATUS_UP),
+                new ServiceCatalogueEntry("niord", "niord/", 1, 1, ServiceCatalogueEntry.STATUS_UP)), catalogue.getSnapshot());
+        assertEquals(1, events.size());
+        assertSame(catalogue.getSnapshot(), events.get(0).getSnapshot());
+    }
+
+    /**
+     * Test that a refresh without any changes neither replaces the snapshot
+     * nor publishes a change.
+     */
+    @Test
+    void testRefreshUnchanged() {
+        final Registry registry = new Registry();
+        registry.services.put("ais", List.of(instance("ais", 1)));
+        final List<Object> events = new ArrayList<>();
+        final ServiceCatalogue catalogue = new ServiceCatalogue(registry, events::add);
+
+        catalogue.refresh();
+        final List<ServiceCatalogueEntry> snapshot = catalogue.getSnapshot();
+        catalogue.refresh();
+
+        assertSame(snapshot, catalogue.getSnapshot());
+        assertEquals(1, events.size());
+    }
+
+    /**
+     * Test that a refresh only rebuilds the entries of the changed services,
+     * and publishes the change, including the removed services.
+     */
+    @Test
+    void testRefreshChanged() {
+        final Registry registry = new Registry();
+        registry.services.put("ais", List.of(instance("ais", 1)));
+        registry.services.put("niord", List.of(instance("niord", 1)));
+        registry.services.put("vdes", List.of(instance("vdes", 1)));
+        final List<Object> events = new ArrayList<>();
+        final ServiceCatalogue catalogue = new ServiceCatalogue(registry, events::add);
+        catalogue.refresh();
+        final ServiceCatalogueEntry ais = catalogue.getSnapshot().get(0);
+
+        registry.services.put("niord", List.of(instance("niord", 1), instance("niord", 2)));
+        registry.services.remove("vdes");
+        catalogue.refresh();
+
+        assertEquals(2, events.size());
+        assertEquals(2, catalogue.getSnapshot().size());
+        assertSame(ais, catalogue.getSnapshot().get(0));
+        assertEquals(2, catalogue.getSnapshot().get(1).instances());
+    }
+
+    /**
+     * Test that a failed refresh keeps the previous snapshot.
+     */
+    @Test
+    void testRefreshFailed() {
+        final Registry registry = new Registry();
+        registry.services.put("ais", List.of(instance("ais", 1)));
+        final List<Object> events = new ArrayList<>();
+        final ServiceCatalogue catalogue = new ServiceCatalogue(registry, events::add);
+        catalogue.refresh();
+        final List<ServiceCatalogueEntry> snapshot = catalogue.getSnapshot();
+
+        registry.failing = true;
+        catalogue.refresh();
+
+        assertSame(snapshot, catalogue.getSnapshot());
+        assertEquals(1, events.size());
+    }
+
+    /**
+     * Test that the overall service status accounts for the status of the
+     * Eureka instances.
+     */
+    @Test
+    void testStatus() {
+        final ServiceInstance up = eurekaInstance("ais", 1, InstanceInfo.InstanceStatus.UP);
+        final ServiceInstance down = eurekaInstance("ais", 2, InstanceInfo.InstanceStatus.DOWN);
+
+        assertEquals(ServiceCatalogueEntry.STATUS_UP, ServiceCatalogueEntry.of("ais", List.of(up)).status());
+        assertEquals(ServiceCatalogueEntry.STATUS_DEGRADED, ServiceCatalogueEntry.of("ais", List.of(up, down)).status());
+        assertEquals(ServiceCatalogueEntry.STATUS_DOWN, ServiceCatalogueEntry.of("ais", List.of(down)).status());
+        assertEquals(ServiceCatalogueEntry.STATUS_DOWN, ServiceCatalogueEntry.of("ais", List.of()).status());
+        assertEquals(1, ServiceCatalogueEntry.of("ais", List.of(up, down)).upInstances());
+    }
+
+    /**
+     * Generates a plain test service instance.
+     *
+     * @param serviceId the service ID
+     * @param index     the instance index
+     * @return the test service instance
+     */
+    private static ServiceInstance instance(String serviceId, int index) {
+        return new DefaultServiceInstance(serviceId + "-" + index, serviceId, "localhost", 8080 + index, false);
+    }
+
+    /**
+     * Generates a test Eureka service instance.
+     *
+     * @param serviceId the service ID
+     * @param index     the instance index
+     * @param status    the instance status
+     * @return the test Eureka service instance
+     */
+    private static ServiceInstance eurekaInstance(String serviceId, int index, InstanceInfo.InstanceStatus status) {
+        return new EurekaServiceInstance(InstanceInfo.Builder.newBuilder()
+                .setAppName(serviceId)
+                .setInstanceId(serviceId + "-" + index)
+                .setHostName("localhost")
+                .setStatus(status)
+                .build());
+    }
+
+    /**
+     * A discovery client over a mutable map of the registered services.
+     */
+    private static class Registry implements DiscoveryClient {
+
+        // Class Variables
+        private final Map<String, List<ServiceInstance>> services = new TreeMap<>();
+        private boolean failing = false;
+
+        @Override
+        public String description() {
+            return "Test Registry";
+        }
+
+        @Override
+        public List<ServiceInstance> getInstances(String serviceId) {
+            return this.services.getOrDefault(serviceId, List.of());
+        }
+
+        @Override
+        public List<String> getServices() {
+            if(this.failing) {
+                throw new IllegalStateException("Registry unavailable");
+            }
+            return List.copyOf(this.services.keySet());
+        }
+
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.grad.eNav.apiGateway.config.ConnectionPoolProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceNettyRoutingFilterTest {
+
+    // Class Variables
+    private static final HttpClient DEFAULT_CLIENT = HttpClient.create();
+
+    /**
+     * Test that the routes to load balanced services are matched by their
+     * service ID, regardless of its case.
+     */
+    @Test
+    void testGetPoolKeyServiceId() {
+        final TestFilter filter = newFilter("s100-service", "niord-route");
+
+        assertEquals("s100-service", filter.getPoolKey(newRoute("any-route", "lb://s100-service")));
+        assertEquals("s100-service", filter.getPoolKey(newRoute("any-route", "lb://S100-Service")));
+        assertEquals("s100-service", filter.getPoolKey(newRoute("any-route", "LB://S100-SERVICE")));
+        assertNull(filter.getPoolKey(newRoute("any-route", "lb://other-service")));
+        assertNull(filter.getPoolKey(newRoute("any-route", "http://s100-service")));
+    }
+
+    /**
+     * Test that the routes without a matching service ID fall back to their
+     * route ID.
+     */
+    @Test
+    void testGetPoolKeyRouteId() {
+        final TestFilter filter = newFilter("s100-service", "niord-route");
+
+        assertEquals("niord-route", filter.getPoolKey(newRoute("niord-route", "http://localhost:8888")));
+        assertEquals("niord-route", filter.getPoolKey(newRoute("niord-route", "lb://other-service")));
+        assertEquals("s100-service", filter.getPoolKey(newRoute("niord-route", "lb://s100-service")));
+        assertNull(filter.getPoolKey(newRoute("other-route", "http://localhost:8888")));
+    }
+
+    /**
+     * Test that the default gateway HTTP client is used when no dedicated
+     * connection pools are configured.
+     */
+    @Test
+    void testGetHttpClientDefault() {
+        final TestFilter filter = newFilter();
+
+        assertNull(filter.getPoolKey(newRoute("niord-route", "lb://s100-service")));
+        assertSame(DEFAULT_CLIENT, filter.getHttpClient(newRoute("niord-route", "lb://s100-service"), newExchange()));
+        assertTrue(filter.created.isEmpty());
+    }
+
+    /**
+     * Test that the dedicated HTTP client of each pool is only created once,
+     * and then reused for all its routes.
+     */
+    @Test
+    void testGetHttpClientDedicated() {
+        final TestFilter filter = newFilter("s100-service", "niord-route");
+
+        final HttpClient serviceClient = filter.getHttpClient(newRoute("route-1", "lb://s100-service"), newExchange());
+        final HttpClient sameServiceClient = filter.getHttpClient(newRoute("route-2", "lb://S100-SERVICE"), newExchange());
+        final HttpClient routeClient = filter.getHttpClient(newRoute("niord-route", "http://localhost:8888"), newExchange());
+        final HttpClient defaultClient = filter.getHttpClient(newRoute("other-route", "http://localhost:8888"), newExchange());
+
+        assertSame(serviceClient, sameServiceClient);
+        assertNotSame(serviceClient, routeClient);
+        assertSame(DEFAULT_CLIENT, defaultClient);
+        assertEquals(List.of("s100-service", "niord-route"), filter.created);
+    }
+
+    /**
+     * Creates a new filter with the dedicated connection pools of the
+     * provided services or routes.
+     *
+     * @param keys the service or route IDs of the dedicated pools
+     * @return the new filter
+     */
+    private static TestFilter newFilter(String... keys) {
+        final ConnectionPoolProperties connectionPoolProperties = new ConnectionPoolProperties();
+        for(String key : keys) {
+            connectionPoolProperties.getServices().put(key, new ConnectionPoolProperties.Pool());
+        }
+        return new TestFilter(connectionPoolProperties);
+    }
+
+    /**
+     * Creates a new route with the provided ID and URI.
+     *
+     * @param id    the route ID
+     * @param uri   the route URI
+     * @return the new route
+     */
+    private static Route newRoute(String id, String uri) {
+        return Route.async()
+                .id(id)
+                .uri(uri)
+                .asyncPredicate(exchange -> Mono.just(true))
+                .metadata(Map.of())
+                .build();
+    }
+
+    /**
+     * Creates a new server web exchange.
+     *
+     * @return the new server web exchange
+     */
+    private static MockServerWebExchange newExchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+    }
+
+    /**
+     * A routing filter that records the dedicated HTTP clients it creates,
+     * instead of building them through the gateway HTTP client factory.
+     */
+    static class TestFilter extends ServiceNettyRoutingFilter {
+
+        // Class Variables
+        private final List<String> created = new CopyOnWriteArrayList<>();
+
+        /**
+         * The Class Constructor.
+         *
+         * @param connectionPoolProperties the dedicated connection pool properties
+         */
+        TestFilter(ConnectionPoolProperties connectionPoolProperties) {
+            super(DEFAULT_CLIENT, null, new HttpClientProperties(), null, connectionPoolProperties, null, null);
+        }
+
+        @Override
+        protected HttpClient createHttpClient(String key) {
+            this.created.add(key);
+            return HttpClient.create();
+        }
+
+    }
+
+}
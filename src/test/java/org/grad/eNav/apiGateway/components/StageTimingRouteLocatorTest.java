@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StageTimingRouteLocatorTest {
+
+    /**
+     * Test that the routes of the delegate locator are returned with all
+     * their filters timed, retaining the route attributes and the original
+     * filter order.
+     */
+    @Test
+    void testGetRoutes() {
+        final Route route = Route.async()
+                .id("test")
+                .uri("http://localhost:8080")
+                .order(3)
+                .asyncPredicate(exchange -> Mono.just(true))
+                .filters(List.of(new OrderedGatewayFilter(new NamedFilter("[AddRequestHeader name = 'X-Test']"), 5), new NamedFilter("other")))
+                .build();
+
+        final List<Route> routes = new StageTimingRouteLocator(() -> Flux.just(route)).getRoutes().collectList().block();
+
+        assertEquals(1, routes.size());
+        assertEquals("test", routes.get(0).getId());
+        assertEquals(route.getUri(), routes.get(0).getUri());
+        assertEquals(3, routes.get(0).getOrder());
+        assertEquals(List.of(5, 0), routes.get(0).getFilters().stream()
+                .map(filter -> ((Ordered) filter).getOrder())
+                .toList());
+        assertTrue(routes.get(0).getFilters().stream().noneMatch(route.getFilters()::contains));
+    }
+
+    /**
+     * Test that the route filters are named after their factory, or their
+     * class otherwise.
+     */
+    @Test
+    void testGetFilterName() {
+        assertEquals("AddRequestHeader", StageTimingRouteLocator.getFilterName(new NamedFilter("[AddRequestHeader name = 'X-Test']")));
+        assertEquals("AddRequestHeader", StageTimingRouteLocator.getFilterName(new OrderedGatewayFilter(new NamedFilter("[AddRequestHeader name = 'X-Test']"), 1)));
+        assertEquals("StageTimingRouteLocatorTest", StageTimingRouteLocator.getFilterName(new NamedFilter("other")));
+    }
+
+    /**
+     * A pass-through route filter with a fixed description.
+     */
+    static class NamedFilter implements GatewayFilter {
+
+        // Class Variables
+        private final String description;
+
+        /**
+         * The Class Constructor.
+         *
+         * @param description the filter description
+         */
+        NamedFilter(String description) {
+            this.description = description;
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            return chain.filter(exchange);
+        }
+
+        @Override
+        public String toString() {
+            return this.description;
+        }
+
+    }
+
+}
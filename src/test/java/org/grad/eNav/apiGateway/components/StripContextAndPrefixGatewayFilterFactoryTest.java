@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.StripPrefixGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripContextAndPrefixGatewayFilterFactoryTest {
+
+    // Test Variables
+    private StripContextAndPrefixGatewayFilterFactory stripContextAndPrefixGatewayFilterFactory;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.stripContextAndPrefixGatewayFilterFactory = new StripContextAndPrefixGatewayFilterFactory();
+    }
+
+    /**
+     * Test that the paths are stripped of the requested number of parts,
+     * dropping any empty parts and retaining the trailing slashes.
+     */
+    @Test
+    void testStripPath() {
+        assertEquals("/api/v1/atons", StripContextAndPrefixGatewayFilterFactory.stripPath("/enav/aton-service/api/v1/atons", 2));
+        assertEquals("/api/v1/atons/", StripContextAndPrefixGatewayFilterFactory.stripPath("/enav/aton-service/api/v1/atons/", 2));
+        assertEquals("/api/v1", StripContextAndPrefixGatewayFilterFactory.stripPath("//enav//aton-service//api//v1", 2));
+        assertEquals("/", StripContextAndPrefixGatewayFilterFactory.stripPath("/enav/aton-service/", 2));
+        assertEquals("/", StripContextAndPrefixGatewayFilterFactory.stripPath("/enav", 2));
+        assertEquals("/", StripContextAndPrefixGatewayFilterFactory.stripPath("", 2));
+        assertEquals("/enav/aton-service", StripContextAndPrefixGatewayFilterFactory.stripPath("/enav/aton-service", 0));
+    }
+
+    /**
+     * Test that the filter updates both the request path and context path.
+     */
+    @Test
+    void testFilter() {
+        final StripPrefixGatewayFilterFactory.Config config = new StripPrefixGatewayFilterFactory.Config();
+        config.setParts(2);
+        final GatewayFilter gatewayFilter = this.stripContextAndPrefixGatewayFilterFactory.apply(config);
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/enav/aton-service/api/v1/atons/?page=1"));
+
+        // Perform the filtering
+        final AtomicReference<ServerWebExchange> filtered = new AtomicReference<>();
+        gatewayFilter.filter(exchange, e -> {
+            filtered.set(e);
+            return Mono.empty();
+        }).block();
+
+        // Make sure the paths were updated correctly
+        assertNotNull(filtered.get());
+        assertEquals("/api/v1/atons/", filtered.get().getRequest().getPath().value());
+        assertEquals("/api/v1/atons", filtered.get().getRequest().getPath().contextPath().value());
+        assertEquals("page=1", filtered.get().getRequest().getURI().getRawQuery());
+        assertEquals(URI.create("/api/v1/atons/?page=1").getPath(), ((URI) exchange.getAttributes().get(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR)).getPath());
+    }
+
+}
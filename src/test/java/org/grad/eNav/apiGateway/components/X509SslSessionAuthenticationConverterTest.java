@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.components;
+
+import org.grad.eNav.apiGateway.TestingFixtures;
+import org.grad.eNav.apiGateway.models.CertificateIdentity;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.reactive.SslInfo;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import reactor.core.publisher.Mono;
+
+import java.security.cert.X509Certificate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class X509SslSessionAuthenticationConverterTest {
+
+    // Class Variables
+    private static final TestingFixtures.McpCertificate CA = TestingFixtures.generateMcpCa();
+    private static final TestingFixtures.McpCertificate CERTIFICATE = TestingFixtures.generateMcpCertificate(CA, "device", "Test Device");
+
+    /**
+     * Test that the principal name of the authentication is still the OU of
+     * the client certificate, with the certificate as its credentials and
+     * the certificate identity as its details.
+     */
+    @Test
+    void testConvert() throws Exception {
+        final Authentication authentication = convert(CERTIFICATE.certificate()).block();
+
+        assertNotNull(authentication);
+        assertEquals("device", authentication.getName());
+        assertEquals(CERTIFICATE.certificate(), authentication.getCredentials());
+        assertEquals(CertificateIdentity.of(CERTIFICATE.certificate()), authentication.getDetails());
+    }
+
+    /**
+     * Test that a client certificate without an OU in its subject is
+     * rejected.
+     */
+    @Test
+    void testConvertWithoutOu() {
+        final X509Certificate certificate = TestingFixtures.generatePlainCertificate(CA, "No OU").certificate();
+
+        assertThrows(BadCredentialsException.class, () -> convert(certificate).block());
+    }
+
+    /**
+     * Test that the requests without a client certificate are not
+     * converted.
+     */
+    @Test
+    void testConvertWithoutCertificate() {
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+
+        assertNull(new X509SslSessionAuthenticationConverter(new CertificateIdentityResolver()).convert(exchange).block());
+    }
+
+    /**
+     * Converts a request received with the provided client certificate.
+     *
+     * @param certificate the client certificate
+     * @return the converted authentication
+     */
+    private static Mono<Authentication> convert(X509Certificate certificate) {
+        final SslInfo sslInfo = new SslInfo() {
+            @Override
+            public String getSessionId() {
+                return "session";
+            }
+
+            @Override
+            public X509Certificate[] getPeerCertificates() {
+                return new X509Certificate[]{certificate, CA.certificate()};
+            }
+        };
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/").sslInfo(sslInfo));
+        return new X509SslSessionAuthenticationConverter(new CertificateIdentityResolver()).convert(exchange);
+    }
+
+}
@@ -17,12 +17,29 @@
 package org.grad.eNav.apiGateway.controllers;
 
 import org.grad.eNav.apiGateway.TestingConfiguration;
+import org.grad.eNav.apiGateway.components.ServiceCatalogue;
+import org.grad.eNav.apiGateway.models.ServiceCatalogueEntry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webflux.test.autoconfigure.WebFluxTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 @WebFluxTest(HTMLViewerController.class)
 @Import(TestingConfiguration.class)
@@ -34,6 +51,12 @@ class HTMLViewerControllerTest {
     @Autowired
     WebTestClient webTestClient;
 
+    /**
+     * The HTML Viewer Controller.
+     */
+    @Autowired
+    HTMLViewerController htmlViewerController;
+
     /**
      * Test that we can access the main index HTML page.
      */
@@ -48,4 +71,128 @@ class HTMLViewerControllerTest {
                 .isOk();
     }
 
-}
\ No newline at end of file
+    /**
+     * Test that a conditional request for the main index HTML page, with the
+     * entity tag of the pre-rendered page, is answered with a 304 response.
+     */
+    @Test
+    void testGetIndexNotModified() throws Exception {
+        // Retrieve the entity tag of the index
+        final String etag = this.webTestClient.get()
+                .uri("/")
+                .accept(MediaType.TEXT_HTML)
+                .exchange()
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .exists(HttpHeaders.ETAG)
+                .returnResult(byte[].class)
+                .getResponseHeaders()
+                .getETag();
+
+        // And perform the conditional request
+        this.webTestClient.get()
+                .uri("/")
+                .accept(MediaType.TEXT_HTML)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus()
+                .isNotModified();
+    }
+
+    /**
+     * Test that the service catalogue is only listed to the authenticated
+     * users, and that their page is marked as private.
+     */
+    @Test
+    void testGetIndexCatalogue() {
+        this.htmlViewerController.onCatalogueChanged(new ServiceCatalogue.CatalogueChangedEvent(this, List.of(
+                new ServiceCatalogueEntry("AIS", "ais/", 2, 1, ServiceCatalogueEntry.STATUS_DEGRADED))));
+
+        final ResponseEntity<byte[]> authenticated = this.index(new TestingAuthenticationToken("user", null, "ROLE_USER"));
+        final String page = new String(authenticated.getBody(), StandardCharsets.UTF_8);
+        assertTrue(page.contains("Discovered Services"));
+        assertTrue(page.contains(">AIS</a>"));
+        assertTrue(page.contains("1/2"));
+        assertTrue(page.contains("DEGRADED"));
+        assertTrue(authenticated.getHeaders().getCacheControl().startsWith("private"));
+
+        final ResponseEntity<byte[]> anonymous = this.index(null);
+        assertFalse(new String(anonymous.getBody(), StandardCharsets.UTF_8).contains("Discovered Services"));
+        assertFalse(anonymous.getHeaders().getCacheControl().startsWith("private"));
+
+        final ResponseEntity<byte[]> anonymousToken = this.index(new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        assertArrayEquals(anonymous.getBody(), anonymousToken.getBody());
+    }
+
+    /**
+     * Test that the index page is re-rendered once the service catalogue
+     * changes.
+     */
+    @Test
+    void testGetIndexCatalogueChanged() {
+        this.htmlViewerController.onCatalogueChanged(new ServiceCatalogue.CatalogueChangedEvent(this, List.of(
+                new ServiceCatalogueEntry("AIS", "ais/", 1, 1, ServiceCatalogueEntry.STATUS_UP))));
+        final String before = new String(this.index(new TestingAuthenticationToken("user", null, "ROLE_USER")).getBody(), StandardCharsets.UTF_8);
+
+        this.htmlViewerController.onCatalogueChanged(new ServiceCatalogue.CatalogueChangedEvent(this, List.of(
+                new ServiceCatalogueEntry("NIORD", "niord/", 1, 0, ServiceCatalogueEntry.STATUS_DOWN))));
+        final String after = new String(this.index(new TestingAuthenticationToken("user", null, "ROLE_USER")).getBody(), StandardCharsets.UTF_8);
+
+        assertTrue(before.contains(">AIS</a>"));
+        assertFalse(after.contains(">AIS</a>"));
+        assertTrue(after.contains(">NIORD</a>"));
+        assertTrue(after.contains("DOWN"));
+    }
+
+    /**
+     * Test that the context-relative links of the index page honour the
+     * "X-Forwarded-Prefix" of the request, and that invalid prefixes are
+     * ignored.
+     */
+    @Test
+    void testGetIndexForwardedPrefix() {
+        this.htmlViewerController.onCatalogueChanged(new ServiceCatalogue.CatalogueChangedEvent(this, List.of(
+                new ServiceCatalogueEntry("AIS", "/ais/", 1, 1, ServiceCatalogueEntry.STATUS_UP))));
+        final TestingAuthenticationToken user = new TestingAuthenticationToken("user", null, "ROLE_USER");
+
+        final String prefixed = new String(this.index(user, "/gateway").getBody(), StandardCharsets.UTF_8);
+        final String unprefixed = new String(this.index(user, null).getBody(), StandardCharsets.UTF_8);
+        final String invalid = new String(this.index(user, "/gateway\"><script>").getBody(), StandardCharsets.UTF_8);
+
+        assertTrue(prefixed.contains("href=\"/gateway/ais/\""));
+        assertTrue(unprefixed.contains("href=\"/ais/\""));
+        assertEquals(unprefixed, invalid);
+    }
+
+    /**
+     * Requests the index page directly from the controller, as the provided
+     * principal.
+     *
+     * @param principal the request principal, if any
+     * @return the index page response
+     */
+    private ResponseEntity<byte[]> index(Principal principal) {
+        return this.index(principal, null);
+    }
+
+    /**
+     * Requests the index page directly from the controller, as the provided
+     * principal and through the provided forwarded prefix.
+     *
+     * @param principal the request principal, if any
+     * @param prefix    the forwarded prefix, if any
+     * @return the index page response
+     */
+    private ResponseEntity<byte[]> index(Principal principal, String prefix) {
+        final MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/");
+        if(Objects.nonNull(prefix)) {
+            request.header(HTMLViewerController.FORWARDED_PREFIX, prefix);
+        }
+        final MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        return this.htmlViewerController.index(Objects.isNull(principal) ? exchange :
+                exchange.mutate().principal(Mono.just(principal)).build()).block();
+    }
+
+}
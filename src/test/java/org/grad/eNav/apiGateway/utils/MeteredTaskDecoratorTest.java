@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredTaskDecoratorTest {
+
+    // Test Variables
+    private SimpleMeterRegistry meterRegistry;
+    private MeteredTaskDecorator taskDecorator;
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    /**
+     * Common setup for all the tests, using a single thread executor that
+     * cannot queue any tasks.
+     */
+    @BeforeEach
+    void setUp() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.taskDecorator = new MeteredTaskDecorator(this.meterRegistry, Tags.of("name", "test"));
+        this.taskExecutor = new ThreadPoolTaskExecutor();
+        this.taskExecutor.setCorePoolSize(1);
+        this.taskExecutor.setMaxPoolSize(1);
+        this.taskExecutor.setQueueCapacity(0);
+        this.taskExecutor.setTaskDecorator(this.taskDecorator);
+        this.taskExecutor.setRejectedExecutionHandler(this.taskDecorator.rejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy()));
+        this.taskExecutor.initialize();
+    }
+
+    /**
+     * Common teardown for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.taskExecutor.shutdown();
+    }
+
+    /**
+     * Test that the executed tasks are measured, and no longer counted as
+     * waiting or active once they complete.
+     */
+    @Test
+    void testExecute() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        this.taskExecutor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(0, this.getGauge("async.tasks.queued"));
+        assertEquals(1, this.getGauge("async.tasks.active"));
+
+        release.countDown();
+        this.taskExecutor.shutdown();
+        assertTrue(this.taskExecutor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(0, this.getGauge("async.tasks.active"));
+        assertEquals(1, this.meterRegistry.get("async.tasks.wait").timer().count());
+        assertEquals(1, this.meterRegistry.get("async.tasks.execution").timer().count());
+    }
+
+    /**
+     * Test that the rejected tasks are no longer counted as waiting, even
+     * though they were already decorated when they were submitted.
+     */
+    @Test
+    void testRejected() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        this.taskExecutor.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for(int i = 0; i < 10; i++) {
+            assertThrows(TaskRejectedException.class, () -> this.taskExecutor.execute(() -> {}));
+        }
+
+        assertEquals(0, this.getGauge("async.tasks.queued"));
+        assertEquals(1, this.getGauge("async.tasks.active"));
+        release.countDown();
+    }
+
+    /**
+     * Test that a decorated task is only counted as waiting until it starts,
+     * even if it is also reported as rejected afterwards.
+     */
+    @Test
+    void testDequeueOnce() {
+        final Runnable task = this.taskDecorator.decorate(() -> {});
+        assertEquals(1, this.getGauge("async.tasks.queued"));
+
+        task.run();
+        this.taskDecorator.rejectedExecutionHandler((runnable, executor) -> {}).rejectedExecution(task, null);
+        assertEquals(0, this.getGauge("async.tasks.queued"));
+    }
+
+    /**
+     * Returns the value of the provided gauge.
+     *
+     * @param name the gauge name
+     * @return the gauge value
+     */
+    private double getGauge(String name) {
+        return this.meterRegistry.get(name).gauge().value();
+    }
+
+    /**
+     * Waits for the provided latch, for up to five seconds.
+     *
+     * @param latch the latch to wait for
+     */
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
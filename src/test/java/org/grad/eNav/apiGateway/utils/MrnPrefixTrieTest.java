@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MrnPrefixTrieTest {
+
+    // Test Variables
+    private MrnPrefixTrie mrnPrefixTrie;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.mrnPrefixTrie = MrnPrefixTrie.compile(
+                List.of("urn:mrn:mcp:org:mcc", "urn:mrn:mcp:org:mcc:grad:public"),
+                List.of("urn:mrn:mcp:org:mcc:grad", "urn:mrn:mcp:org:mcc:blocked")
+        );
+    }
+
+    /**
+     * Test that the longest matching prefix decides whether an MRN is
+     * allowed or not.
+     */
+    @Test
+    void testLongestMatch() {
+        assertEquals(4, this.mrnPrefixTrie.size());
+        assertTrue(this.mrnPrefixTrie.isAllowed("urn:mrn:mcp:org:mcc:other"));
+        assertFalse(this.mrnPrefixTrie.isAllowed("urn:mrn:mcp:org:mcc:grad"));
+        assertFalse(this.mrnPrefixTrie.isAllowed("urn:mrn:mcp:org:mcc:grad:private"));
+        assertTrue(this.mrnPrefixTrie.isAllowed("urn:mrn:mcp:org:mcc:grad:public:service"));
+        assertFalse(this.mrnPrefixTrie.isAllowed("urn:mrn:mcp:org:mcc:blocked"));
+    }
+
+    /**
+     * Test that MRNs not matching any prefix are denied when there are
+     * allowed prefixes, and that the lookups are case-insensitive.
+     */
+    @Test
+    void testNoMatchAndCase() {
+        assertEquals(MrnPrefixTrie.Decision.NONE, this.mrnPrefixTrie.lookup("urn:mrn:iala:org"));
+        assertFalse(this.mrnPrefixTrie.isAllowed("urn:mrn:iala:org"));
+        assertFalse(this.mrnPrefixTrie.isAllowed(null));
+        assertTrue(this.mrnPrefixTrie.isAllowed("URN:MRN:MCP:ORG:MCC:OTHER"));
+    }
+
+    /**
+     * Test that a deny-only trie allows everything else, and that an empty
+     * trie allows everything.
+     */
+    @Test
+    void testDenyOnlyAndEmpty() {
+        final MrnPrefixTrie denyOnly = MrnPrefixTrie.compile(List.of(), List.of("urn:mrn:mcp:org:blocked"));
+        assertTrue(denyOnly.isAllowed("urn:mrn:mcp:org:mcc"));
+        assertFalse(denyOnly.isAllowed("urn:mrn:mcp:org:blocked:sub"));
+
+        assertTrue(MrnPrefixTrie.EMPTY.isEmpty());
+        assertTrue(MrnPrefixTrie.EMPTY.isAllowed("urn:mrn:anything"));
+    }
+
+    /**
+     * Test that a prefix both allowed and denied is denied.
+     */
+    @Test
+    void testDenyWinsOnConflict() {
+        final MrnPrefixTrie conflicting = MrnPrefixTrie.compile(List.of("urn:mrn:mcp"), List.of("urn:mrn:mcp"));
+        assertFalse(conflicting.isAllowed("urn:mrn:mcp:org"));
+    }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NegotiationUtilsTest {
+
+    /**
+     * Test that the entity tags are matched with the weak comparison, and
+     * that the wildcard matches any entity tag.
+     */
+    @Test
+    void testMatchesETag() {
+        assertTrue(NegotiationUtils.matchesETag(List.of("\"abc\""), "\"abc\""));
+        assertTrue(NegotiationUtils.matchesETag(List.of("W/\"abc\""), "\"abc\""));
+        assertTrue(NegotiationUtils.matchesETag(List.of("\"abc\""), "W/\"abc\""));
+        assertTrue(NegotiationUtils.matchesETag(List.of("\"xyz\"", " \"abc\""), "\"abc\""));
+        assertTrue(NegotiationUtils.matchesETag(List.of("*"), "\"abc\""));
+        assertFalse(NegotiationUtils.matchesETag(List.of("\"xyz\""), "\"abc\""));
+        assertFalse(NegotiationUtils.matchesETag(List.of("*"), null));
+    }
+
+    /**
+     * Test that the quality of a content coding is parsed, and that an
+     * explicit entry takes precedence over the wildcard.
+     */
+    @Test
+    void testGetEncodingQuality() {
+        assertEquals(1, NegotiationUtils.getEncodingQuality(List.of("gzip"), "gzip"));
+        assertEquals(0.5, NegotiationUtils.getEncodingQuality(List.of("deflate", "gzip;q=0.5"), "gzip"));
+        assertEquals(0.3, NegotiationUtils.getEncodingQuality(List.of("*;q=0.3"), "gzip"));
+        assertEquals(0, NegotiationUtils.getEncodingQuality(List.of("gzip;q=0", "*"), "gzip"));
+        assertEquals(0, NegotiationUtils.getEncodingQuality(List.of("gzip;q=abc"), "gzip"));
+        assertEquals(0, NegotiationUtils.getEncodingQuality(List.of("br"), "gzip"));
+    }
+
+    /**
+     * Test that the preferred supported content encoding is selected, with
+     * gzip preferred on a tie.
+     */
+    @Test
+    void testSelectEncoding() {
+        assertEquals("gzip", NegotiationUtils.selectEncoding(List.of("gzip", "deflate")));
+        assertEquals("gzip", NegotiationUtils.selectEncoding(List.of("deflate", "gzip")));
+        assertEquals("deflate", NegotiationUtils.selectEncoding(List.of("gzip;q=0.5", "deflate")));
+        assertEquals("gzip", NegotiationUtils.selectEncoding(List.of("*")));
+        assertEquals("deflate", NegotiationUtils.selectEncoding(List.of("gzip;q=0", "*")));
+        assertNull(NegotiationUtils.selectEncoding(List.of("br")));
+        assertNull(NegotiationUtils.selectEncoding(List.of()));
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevokedSerialIndexTest {
+
+    // Test Variables
+    private X500Principal issuer;
+    private X500Principal otherIssuer;
+    private List<RevokedSerialIndex.RevokedEntry> entries;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.issuer = new X500Principal("CN=MCP Test Sub CA, O=urn:mrn:mcp:org:mcc:grad, C=GB");
+        this.otherIssuer = new X500Principal("CN=Other CA, O=urn:mrn:mcp:org:mcc:other, C=GB");
+        this.entries = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) {
+            this.entries.add(new RevokedSerialIndex.RevokedEntry(this.issuer, BigInteger.valueOf(i * 7L)));
+        }
+        this.entries.add(new RevokedSerialIndex.RevokedEntry(this.otherIssuer, new BigInteger("123456789012345678901234567890")));
+    }
+
+    /**
+     * Test that revoked entries are found, with and without the Bloom filter,
+     * and that the issuer is taken into account.
+     */
+    @Test
+    void testIsRevoked() {
+        for(boolean useBloomFilter : new boolean[]{true, false}) {
+            final RevokedSerialIndex index = RevokedSerialIndex.build(this.entries, useBloomFilter);
+            assertEquals(1001, index.size());
+            assertEquals(useBloomFilter, index.hasBloomFilter());
+
+            assertTrue(index.isRevoked(this.issuer, BigInteger.valueOf(0)));
+            assertTrue(index.isRevoked(this.issuer, BigInteger.valueOf(6993)));
+            assertTrue(index.isRevoked(new X500Principal("cn=mcp test sub ca,o=urn:mrn:mcp:org:mcc:grad,c=gb"), BigInteger.valueOf(14)));
+            assertTrue(index.isRevoked(this.otherIssuer, new BigInteger("123456789012345678901234567890")));
+
+            assertFalse(index.isRevoked(this.issuer, BigInteger.valueOf(1)));
+            assertFalse(index.isRevoked(this.otherIssuer, BigInteger.valueOf(7)));
+            assertFalse(index.isRevoked(this.issuer, null));
+        }
+    }
+
+    /**
+     * Test that the empty index never reports a revocation.
+     */
+    @Test
+    void testEmpty() {
+        assertEquals(0, RevokedSerialIndex.EMPTY.size());
+        assertFalse(RevokedSerialIndex.EMPTY.isRevoked(this.issuer, BigInteger.ONE));
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.util.LinkedMultiValueMap;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionSerializerTest {
+
+    /**
+     * Test that the allowed session attributes, i.e. core Java and Spring
+     * Security types, survive a serialisation round trip.
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        final SecurityContextImpl securityContext = new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated(
+                "alice", null, List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        final Instant now = Instant.now();
+
+        final Map<String, Object> attributes = SessionSerializer.deserialize(SessionSerializer.serialize(Map.of(
+                "SPRING_SECURITY_CONTEXT", securityContext,
+                "created", now)));
+
+        assertEquals(securityContext, attributes.get("SPRING_SECURITY_CONTEXT"));
+        assertEquals(now, attributes.get("created"));
+    }
+
+    /**
+     * Test that a session attribute of a class outside the allow-list is
+     * rejected when deserialised, even though it is serialisable.
+     */
+    @Test
+    void testRejectsClassOutsideAllowList() {
+        final LinkedMultiValueMap<String, String> value = new LinkedMultiValueMap<>();
+        value.add("key", "value");
+        final byte[] bytes = SessionSerializer.serialize(Map.of("attribute", value));
+
+        assertThrows(IOException.class, () -> SessionSerializer.deserialize(bytes));
+    }
+
+}
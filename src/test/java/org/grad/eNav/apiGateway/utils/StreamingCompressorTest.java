@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.eNav.apiGateway.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingCompressorTest {
+
+    // Test Variables
+    private byte[] body;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.body = "<Dataset><Feature id=\"1\"/></Dataset>".repeat(1000).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Test that a body compressed chunk by chunk with gzip can be read back
+     * by a standard gzip decoder.
+     */
+    @Test
+    void testGzip() throws IOException {
+        final byte[] compressed = this.compress(new StreamingCompressor(StreamingCompressor.GZIP, 6));
+        assertArrayEquals(this.body, new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes());
+    }
+
+    /**
+     * Test that a body compressed chunk by chunk with deflate can be read
+     * back by a standard zlib decoder, and that the sizes are tracked.
+     */
+    @Test
+    void testDeflate() throws IOException {
+        final StreamingCompressor compressor = new StreamingCompressor(StreamingCompressor.DEFLATE, 6);
+        final byte[] compressed = this.compress(compressor);
+        final InputStream inflater = new InflaterInputStream(new ByteArrayInputStream(compressed));
+        assertArrayEquals(this.body, inflater.readAllBytes());
+        assertEquals(this.body.length, compressor.getInputBytes());
+        assertEquals(compressed.length, compressor.getOutputBytes());
+        assertTrue(compressor.getOutputBytes() < compressor.getInputBytes());
+    }
+
+    /**
+     * Test that the output of a flushed chunk can be decompressed on its
+     * own, while the flushed body remains valid as a whole.
+     */
+    @Test
+    void testFlush() throws IOException, DataFormatException {
+        final StreamingCompressor compressor = new StreamingCompressor(StreamingCompressor.DEFLATE, 6);
+        final byte[] chunk = new byte[1000];
+        System.arraycopy(this.body, 0, chunk, 0, chunk.length);
+        try {
+            final byte[] flushed = compressor.compress(chunk, true);
+            final Inflater inflater = new Inflater();
+            inflater.setInput(flushed);
+            final byte[] inflated = new byte[this.body.length];
+            assertEquals(chunk.length, inflater.inflate(inflated));
+            assertArrayEquals(chunk, Arrays.copyOf(inflated, chunk.length));
+            inflater.end();
+
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            output.writeBytes(flushed);
+            output.writeBytes(compressor.compress(chunk, true));
+            output.writeBytes(compressor.finish());
+            final byte[] expected = new byte[2 * chunk.length];
+            System.arraycopy(chunk, 0, expected, 0, chunk.length);
+            System.arraycopy(chunk, 0, expected, chunk.length, chunk.length);
+            assertArrayEquals(expected, new InflaterInputStream(new ByteArrayInputStream(output.toByteArray())).readAllBytes());
+        } finally {
+            compressor.end();
+        }
+    }
+
+    /**
+     * Test that the output of an unflushed chunk may be held back until
+     * more input arrives.
+     */
+    @Test
+    void testNoFlush() throws DataFormatException {
+        final StreamingCompressor compressor = new StreamingCompressor(StreamingCompressor.DEFLATE, 6);
+        final byte[] chunk = new byte[1000];
+        System.arraycopy(this.body, 0, chunk, 0, chunk.length);
+        try {
+            final Inflater inflater = new Inflater();
+            inflater.setInput(compressor.compress(chunk));
+            assertTrue(inflater.inflate(new byte[this.body.length]) < chunk.length);
+            inflater.end();
+        } finally {
+            compressor.end();
+        }
+    }
+
+    /**
+     * Compresses the test body in chunks with the provided compressor.
+     *
+     * @param compressor the compressor to be used
+     * @return the compressed test body
+     */
+    private byte[] compress(StreamingCompressor compressor) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            for(int offset = 0; offset < this.body.length; offset += 1000) {
+                final byte[] chunk = new byte[Math.min(1000, this.body.length - offset)];
+                System.arraycopy(this.body, offset, chunk, 0, chunk.length);
+                output.writeBytes(compressor.compress(chunk));
+            }
+            output.writeBytes(compressor.finish());
+        } finally {
+            compressor.end();
+        }
+        return output.toByteArray();
+    }
+
+}